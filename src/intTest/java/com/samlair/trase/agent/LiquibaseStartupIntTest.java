@@ -1,5 +1,10 @@
 package com.samlair.trase.agent;
 
+import com.samlair.trase.agent.rdbms.dao.AgentAuditDao;
+import com.samlair.trase.agent.service.AuditPartitionService;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.List;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.jdbc.core.JdbcTemplate;
@@ -11,6 +16,12 @@ class LiquibaseStartupIntTest extends IntegrationTestBase {
 	@Autowired
 	private JdbcTemplate jdbcTemplate;
 
+	@Autowired
+	private AuditPartitionService auditPartitionService;
+
+	@Autowired
+	private AgentAuditDao agentAuditDao;
+
 	@Test
 	void liquibaseCreatesCoreTables() {
 		String agentsTable = jdbcTemplate.queryForObject(
@@ -36,4 +47,24 @@ class LiquibaseStartupIntTest extends IntegrationTestBase {
 		assertThat(changelogCount).isNotNull();
 		assertThat(changelogCount).isGreaterThan(0);
 	}
+
+	@Test
+	void auditTablesArePartitionedByMonth() {
+		List<String> partitioned = jdbcTemplate.queryForList(
+				"SELECT c.relname FROM pg_partitioned_table p JOIN pg_class c ON c.oid = p.partrelid ORDER BY 1",
+				String.class
+		);
+		assertThat(partitioned).contains("agents_audit", "task_runs_audit", "tasks_audit");
+
+		YearMonth current = YearMonth.now(ZoneOffset.UTC);
+		auditPartitionService.maintainPartitions(current);
+		assertThat(agentAuditDao.findMonthlyPartitions()).contains(current, current.plusMonths(3));
+
+		jdbcTemplate.update("INSERT INTO agents_audit (agent_id, action) VALUES (1, 'CREATE')");
+		String partition = jdbcTemplate.queryForObject(
+				"SELECT tableoid::regclass::text FROM agents_audit ORDER BY id DESC LIMIT 1",
+				String.class
+		);
+		assertThat(partition).isEqualTo("agents_audit_p" + current.toString().replace('-', '_'));
+	}
 }
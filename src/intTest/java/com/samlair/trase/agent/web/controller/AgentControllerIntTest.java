@@ -5,15 +5,18 @@ import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.samlair.trase.agent.IntegrationTestBase;
 import com.samlair.trase.agent.domain.enumeration.TaskRunStatus;
 import com.samlair.trase.agent.web.dto.ApiErrorDto;
+import com.samlair.trase.agent.web.dto.BatchItemResultDto;
 import com.samlair.trase.agent.web.dto.CreateAgentRequestDto;
 import com.samlair.trase.agent.web.dto.AgentResponseDto;
 import com.samlair.trase.agent.web.dto.CreateTaskRequestDto;
 import com.samlair.trase.agent.web.dto.TaskResponseDto;
 import com.samlair.trase.agent.web.dto.CreateTaskRunRequestDto;
 import com.samlair.trase.agent.web.dto.TaskRunResponseDto;
+import com.samlair.trase.agent.web.dto.UpdateAgentRequestDto;
 import java.util.List;
 import java.util.Set;
 import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.client.HttpClientErrorException;
@@ -104,6 +107,68 @@ class AgentControllerIntTest extends IntegrationTestBase {
 		assertThat(error.validationErrors()).containsKeys("name", "description");
 	}
 
+	@Test
+	void importAgentsReportsDuplicatesPerItem() {
+		restClient.post()
+				.uri("/agents")
+				.body(new CreateAgentRequestDto("Existing", "Already there"))
+				.retrieve()
+				.toBodilessEntity();
+
+		ResponseEntity<List<BatchItemResultDto<AgentResponseDto>>> response = restClient.post()
+				.uri("/agents/batch")
+				.body(List.of(
+						new CreateAgentRequestDto("Imported A", "Desc"),
+						new CreateAgentRequestDto("Existing", "Desc"),
+						new CreateAgentRequestDto("Imported A", "Desc"),
+						new CreateAgentRequestDto("Imported B", "Desc")))
+				.retrieve()
+				.toEntity(new ParameterizedTypeReference<>() {});
+
+		assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+		List<BatchItemResultDto<AgentResponseDto>> results = response.getBody();
+		assertThat(results).extracting(BatchItemResultDto::status).containsExactly(201, 400, 400, 201);
+		assertThat(results.get(1).message()).isEqualTo("Agent name already exists: Existing");
+		assertThat(results.get(3).result().name()).isEqualTo("Imported B");
+
+		ResponseEntity<List<AgentResponseDto>> agents = restClient.get()
+				.uri("/agents")
+				.retrieve()
+				.toEntity(new ParameterizedTypeReference<>() {});
+		assertThat(agents.getBody()).extracting(AgentResponseDto::name)
+				.containsExactly("Existing", "Imported A", "Imported B");
+	}
+
+	@Test
+	void getAgentReflectsWritesThroughCache() {
+		AgentResponseDto agent = restClient.post()
+				.uri("/agents")
+				.body(new CreateAgentRequestDto("Cached", "Before"))
+				.retrieve()
+				.toEntity(AgentResponseDto.class)
+				.getBody();
+		restClient.get().uri("/agents/{id}", agent.id()).retrieve().toEntity(AgentResponseDto.class);
+
+		restClient.put()
+				.uri("/agents/{id}", agent.id())
+				.body(new UpdateAgentRequestDto("Cached", "After"))
+				.retrieve()
+				.toBodilessEntity();
+		AgentResponseDto updated = restClient.get()
+				.uri("/agents/{id}", agent.id())
+				.retrieve()
+				.toEntity(AgentResponseDto.class)
+				.getBody();
+		assertThat(updated.description()).isEqualTo("After");
+
+		restClient.delete().uri("/agents/{id}", agent.id()).retrieve().toBodilessEntity();
+		HttpClientErrorException ex = assertThrows(HttpClientErrorException.class, () -> restClient.get()
+				.uri("/agents/{id}", agent.id())
+				.retrieve()
+				.toEntity(AgentResponseDto.class));
+		assertThat(ex.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+	}
+
 	@Test
 	void getAgentReturnsAgent() {
 		CreateAgentRequestDto agentRequest = new CreateAgentRequestDto("Agent Fetch", "Fetchable");
@@ -127,6 +192,47 @@ class AgentControllerIntTest extends IntegrationTestBase {
 		assertThat(fetched.description()).isEqualTo("Fetchable");
 	}
 
+	@Test
+	void getAgentReturnsNotModifiedForMatchingValidators() {
+		AgentResponseDto agent = restClient.post()
+				.uri("/agents")
+				.body(new CreateAgentRequestDto("Agent Poll", "Polled"))
+				.retrieve()
+				.toEntity(AgentResponseDto.class)
+				.getBody();
+
+		ResponseEntity<AgentResponseDto> first = restClient.get()
+				.uri("/agents/{id}", agent.id())
+				.retrieve()
+				.toEntity(AgentResponseDto.class);
+		String etag = first.getHeaders().getETag();
+		long lastModified = first.getHeaders().getLastModified();
+		assertThat(etag).isNotBlank();
+		assertThat(lastModified).isPositive();
+
+		ResponseEntity<Void> byEtag = restClient.get()
+				.uri("/agents/{id}", agent.id())
+				.header(HttpHeaders.IF_NONE_MATCH, etag)
+				.retrieve()
+				.toBodilessEntity();
+		assertThat(byEtag.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+
+		ResponseEntity<Void> byDate = restClient.get()
+				.uri("/agents/{id}", agent.id())
+				.headers(headers -> headers.setIfModifiedSince(lastModified))
+				.retrieve()
+				.toBodilessEntity();
+		assertThat(byDate.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+
+		ResponseEntity<AgentResponseDto> stale = restClient.get()
+				.uri("/agents/{id}", agent.id())
+				.header(HttpHeaders.IF_NONE_MATCH, "\"0\"")
+				.retrieve()
+				.toEntity(AgentResponseDto.class);
+		assertThat(stale.getStatusCode()).isEqualTo(HttpStatus.OK);
+		assertThat(stale.getBody().name()).isEqualTo("Agent Poll");
+	}
+
 	@Test
 	void updateAgentUpdatesResponse() {
 		CreateAgentRequestDto agentRequest = new CreateAgentRequestDto("Agent Update", "Before");
@@ -0,0 +1,59 @@
+package com.samlair.trase.agent.web.controller;
+
+import com.samlair.trase.agent.IntegrationTestBase;
+import com.samlair.trase.agent.config.PermitLimitedDataSource;
+import com.samlair.trase.agent.web.dto.AgentResponseDto;
+import com.samlair.trase.agent.web.dto.CreateAgentRequestDto;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.TestPropertySource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@TestPropertySource(properties = {"spring.threads.virtual.enabled=true", "spring.datasource.hikari.maximum-pool-size=4"})
+class AgentControllerVirtualThreadsIntTest extends IntegrationTestBase {
+
+	@Autowired
+	private DataSource dataSource;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Test
+	void concurrentRequestsShareThePermitLimitedPool() throws Exception {
+		AgentResponseDto agent = restClient.post()
+				.uri("/agents")
+				.body(new CreateAgentRequestDto("Agent A", "desc"))
+				.retrieve()
+				.toEntity(AgentResponseDto.class)
+				.getBody();
+		assertThat(agent).isNotNull();
+
+		List<Future<HttpStatus>> responses = new ArrayList<>();
+		try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+			for (int i = 0; i < 50; i++) {
+				responses.add(clients.submit(() -> HttpStatus.valueOf(restClient.get()
+						.uri("/agents/{id}", agent.id())
+						.retrieve()
+						.toBodilessEntity()
+						.getStatusCode()
+						.value())));
+			}
+		}
+
+		assertThat(dataSource).isInstanceOf(PermitLimitedDataSource.class);
+		for (Future<HttpStatus> response : responses) {
+			assertThat(response.get()).isEqualTo(HttpStatus.OK);
+		}
+		assertThat(meterRegistry.get("jdbc.connections.permit.wait").timer().count()).isPositive();
+		assertThat(meterRegistry.get("jdbc.connections.permit.timeouts").counter().count()).isZero();
+	}
+}
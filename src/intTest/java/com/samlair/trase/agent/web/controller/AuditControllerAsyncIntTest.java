@@ -0,0 +1,43 @@
+package com.samlair.trase.agent.web.controller;
+
+import com.samlair.trase.agent.IntegrationTestBase;
+import com.samlair.trase.agent.domain.enumeration.AuditAction;
+import com.samlair.trase.agent.web.dto.AgentAuditResponseDto;
+import com.samlair.trase.agent.web.dto.AgentResponseDto;
+import com.samlair.trase.agent.web.dto.CreateAgentRequestDto;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.test.context.TestPropertySource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@TestPropertySource(properties = {"audit.write-mode=async", "audit.async.flush-interval=20ms"})
+class AuditControllerAsyncIntTest extends IntegrationTestBase {
+
+	@Test
+	void asyncModeEventuallyWritesAudits() throws InterruptedException {
+		AgentResponseDto agent = restClient.post()
+				.uri("/agents")
+				.body(new CreateAgentRequestDto("Agent A", "desc"))
+				.retrieve()
+				.toEntity(AgentResponseDto.class)
+				.getBody();
+		assertThat(agent).isNotNull();
+
+		List<AgentAuditResponseDto> audits = List.of();
+		for (int attempt = 0; attempt < 50 && audits.isEmpty(); attempt++) {
+			Thread.sleep(100);
+			audits = restClient.get()
+					.uri("/audits/agents")
+					.retrieve()
+					.body(new ParameterizedTypeReference<List<AgentAuditResponseDto>>() {});
+		}
+
+		assertThat(audits)
+				.anySatisfy(audit -> {
+					assertThat(audit.agentId()).isEqualTo(agent.id());
+					assertThat(audit.action()).isEqualTo(AuditAction.CREATE);
+				});
+	}
+}
@@ -99,6 +99,162 @@ class AuditControllerIntTest extends IntegrationTestBase {
 				});
 	}
 
+	@Test
+	void listAgentAuditsPagesWithCursor() {
+		createAgent("Agent A");
+		createAgent("Agent B");
+		createAgent("Agent C");
+
+		ResponseEntity<List<AgentAuditResponseDto>> first = restClient.get()
+				.uri("/audits/agents?size=2")
+				.retrieve()
+				.toEntity(new ParameterizedTypeReference<>() {});
+
+		assertThat(first.getBody()).hasSize(2);
+		String cursor = first.getHeaders().getFirst("X-Next-Cursor");
+		assertThat(cursor).isNotBlank();
+
+		ResponseEntity<List<AgentAuditResponseDto>> second = restClient.get()
+				.uri("/audits/agents?size=2&cursor={cursor}", cursor)
+				.retrieve()
+				.toEntity(new ParameterizedTypeReference<>() {});
+
+		assertThat(second.getBody()).hasSize(1);
+		assertThat(second.getBody().get(0).id()).isLessThan(first.getBody().get(1).id());
+		assertThat(second.getHeaders().getFirst("X-Next-Cursor")).isNull();
+
+		ResponseEntity<List<AgentAuditResponseDto>> after = restClient.get()
+				.uri("/audits/agents?size=5&afterId={id}", second.getBody().get(0).id())
+				.retrieve()
+				.toEntity(new ParameterizedTypeReference<>() {});
+
+		assertThat(after.getBody()).extracting(AgentAuditResponseDto::id)
+				.containsExactly(first.getBody().get(1).id(), first.getBody().get(0).id());
+	}
+
+	@Test
+	void listAuditsRejectsConflictingCursors() {
+		HttpClientErrorException ex = assertThrows(HttpClientErrorException.class, () -> restClient.get()
+				.uri("/audits/tasks?beforeId=10&afterId=1")
+				.retrieve()
+				.toEntity(String.class));
+
+		assertThat(ex.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+
+		HttpClientErrorException invalid = assertThrows(HttpClientErrorException.class, () -> restClient.get()
+				.uri("/audits/tasks?cursor=not-a-cursor")
+				.retrieve()
+				.toEntity(String.class));
+
+		assertThat(invalid.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+	}
+
+	@Test
+	void listAgentAuditsFiltersByAgentAndAction() {
+		AgentResponseDto first = createAgent("Agent A");
+		AgentResponseDto second = createAgent("Agent B");
+		restClient.delete()
+				.uri("/agents/{id}", first.id())
+				.retrieve()
+				.toBodilessEntity();
+
+		ResponseEntity<List<AgentAuditResponseDto>> byAgent = restClient.get()
+				.uri("/audits/agents?agentId={id}", first.id())
+				.retrieve()
+				.toEntity(new ParameterizedTypeReference<>() {});
+
+		assertThat(byAgent.getBody()).extracting(AgentAuditResponseDto::action)
+				.containsExactly(AuditAction.DELETE, AuditAction.CREATE);
+
+		ResponseEntity<List<AgentAuditResponseDto>> creates = restClient.get()
+				.uri("/audits/agents?action=CREATE&actorUserId={userId}&size=1",
+						byAgent.getBody().get(0).actorUserId())
+				.retrieve()
+				.toEntity(new ParameterizedTypeReference<>() {});
+
+		assertThat(creates.getBody()).singleElement()
+				.satisfies(audit -> assertThat(audit.agentId()).isEqualTo(second.id()));
+		String cursor = creates.getHeaders().getFirst("X-Next-Cursor");
+		assertThat(cursor).isNotBlank();
+
+		ResponseEntity<List<AgentAuditResponseDto>> next = restClient.get()
+				.uri("/audits/agents?action=CREATE&size=1&cursor={cursor}", cursor)
+				.retrieve()
+				.toEntity(new ParameterizedTypeReference<>() {});
+
+		assertThat(next.getBody()).singleElement()
+				.satisfies(audit -> assertThat(audit.agentId()).isEqualTo(first.id()));
+
+		ResponseEntity<List<AgentAuditResponseDto>> none = restClient.get()
+				.uri("/audits/agents?occurredTo=2000-01-01T00:00:00Z")
+				.retrieve()
+				.toEntity(new ParameterizedTypeReference<>() {});
+
+		assertThat(none.getBody()).isEmpty();
+	}
+
+	@Test
+	void listAuditsRejectsEmptyTimeWindow() {
+		HttpClientErrorException ex = assertThrows(HttpClientErrorException.class, () -> restClient.get()
+				.uri("/audits/task-runs?occurredFrom=2026-01-02T00:00:00Z&occurredTo=2026-01-01T00:00:00Z")
+				.retrieve()
+				.toEntity(String.class));
+
+		assertThat(ex.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+	}
+
+	@Test
+	void exportAgentAuditsStreamsNdjsonAndCsv() {
+		AgentResponseDto first = createAgent("Agent A");
+		AgentResponseDto second = createAgent("Agent B");
+
+		ResponseEntity<String> ndjson = restClient.get()
+				.uri("/audits/agents/export")
+				.retrieve()
+				.toEntity(String.class);
+
+		assertThat(ndjson.getHeaders().getContentType()).isNotNull();
+		assertThat(ndjson.getHeaders().getContentType().toString()).startsWith("application/x-ndjson");
+		List<String> lines = ndjson.getBody().lines().toList();
+		assertThat(lines).hasSize(2);
+		assertThat(lines.get(0)).contains("\"agentId\":" + first.id()).contains("\"action\":\"CREATE\"");
+		assertThat(lines.get(1)).contains("\"agentId\":" + second.id());
+
+		ResponseEntity<String> csv = restClient.get()
+				.uri("/audits/agents/export?format=csv&occurredFrom=2000-01-01T00:00:00Z")
+				.retrieve()
+				.toEntity(String.class);
+
+		assertThat(csv.getHeaders().getContentType().toString()).startsWith("text/csv");
+		assertThat(csv.getHeaders().getContentDisposition().getFilename()).isEqualTo("agents-audits.csv");
+		List<String> rows = csv.getBody().lines().toList();
+		assertThat(rows.get(0)).isEqualTo("id,agentId,action,actorUserId,actorUsername,requestId,occurredAt");
+		assertThat(rows).hasSize(3);
+		assertThat(rows.get(2)).contains("," + second.id() + ",CREATE,");
+
+		ResponseEntity<String> empty = restClient.get()
+				.uri("/audits/agents/export?occurredTo=2000-01-01T00:00:00Z")
+				.retrieve()
+				.toEntity(String.class);
+
+		assertThat(empty.getBody()).isNullOrEmpty();
+	}
+
+	@Test
+	void exportAuditsRejectsUnknownKindAndFormat() {
+		HttpClientErrorException unknownKind = assertThrows(HttpClientErrorException.class, () -> restClient.get()
+				.uri("/audits/users/export")
+				.retrieve()
+				.toEntity(String.class));
+		assertThat(unknownKind.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+
+		HttpClientErrorException unknownFormat = assertThrows(HttpClientErrorException.class, () -> restClient.get()
+				.uri("/audits/tasks/export?format=xml")
+				.retrieve()
+				.toEntity(String.class));
+		assertThat(unknownFormat.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+	}
+
 	@Test
 	void readerCannotAccessAudits() {
 		String baseUrl = "http://localhost:" + getPort();
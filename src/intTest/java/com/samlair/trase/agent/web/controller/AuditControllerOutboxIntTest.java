@@ -0,0 +1,53 @@
+package com.samlair.trase.agent.web.controller;
+
+import com.samlair.trase.agent.IntegrationTestBase;
+import com.samlair.trase.agent.domain.enumeration.AuditAction;
+import com.samlair.trase.agent.web.dto.AgentResponseDto;
+import com.samlair.trase.agent.web.dto.CreateAgentRequestDto;
+import com.samlair.trase.agent.web.dto.CreateTaskRequestDto;
+import com.samlair.trase.agent.web.dto.TaskAuditResponseDto;
+import com.samlair.trase.agent.web.dto.TaskResponseDto;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.test.context.TestPropertySource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@TestPropertySource(properties = {"audit.write-mode=outbox", "audit.outbox.relay-delay-ms=50"})
+class AuditControllerOutboxIntTest extends IntegrationTestBase {
+
+	@Test
+	void outboxModeRelaysAuditsIntoAuditTables() throws InterruptedException {
+		AgentResponseDto agent = restClient.post()
+				.uri("/agents")
+				.body(new CreateAgentRequestDto("Agent A", "desc"))
+				.retrieve()
+				.toEntity(AgentResponseDto.class)
+				.getBody();
+		assertThat(agent).isNotNull();
+		TaskResponseDto task = restClient.post()
+				.uri("/tasks")
+				.body(new CreateTaskRequestDto("Task A", "desc", Set.of(agent.id()), null))
+				.retrieve()
+				.toEntity(TaskResponseDto.class)
+				.getBody();
+		assertThat(task).isNotNull();
+
+		List<TaskAuditResponseDto> audits = List.of();
+		for (int attempt = 0; attempt < 50 && audits.isEmpty(); attempt++) {
+			Thread.sleep(100);
+			audits = restClient.get()
+					.uri("/audits/tasks")
+					.retrieve()
+					.body(new ParameterizedTypeReference<List<TaskAuditResponseDto>>() {});
+		}
+
+		assertThat(audits)
+				.anySatisfy(audit -> {
+					assertThat(audit.taskId()).isEqualTo(task.id());
+					assertThat(audit.action()).isEqualTo(AuditAction.CREATE);
+				});
+	}
+}
@@ -34,6 +34,21 @@ class AuthControllerIntTest extends IntegrationTestBase {
 		assertThat(response.roles()).contains("ADMIN");
 	}
 
+	@Test
+	void loginOmitsRefreshTokenWhenRefreshIsDisabled() {
+		RestClient rawClient = RestClient.builder()
+				.baseUrl("http://localhost:" + getPort())
+				.build();
+
+		String body = rawClient.post()
+				.uri("/auth/login")
+				.body(new LoginRequestDto("admin", "admin123!"))
+				.retrieve()
+				.body(String.class);
+
+		assertThat(body).contains("\"accessToken\"").doesNotContain("refreshToken");
+	}
+
 	@Test
 	void readerCannotCreateAgent() {
 		RestClient rawClient = RestClient.builder()
@@ -0,0 +1,90 @@
+package com.samlair.trase.agent.web.controller;
+
+import com.samlair.trase.agent.IntegrationTestBase;
+import com.samlair.trase.agent.web.dto.LoginRequestDto;
+import com.samlair.trase.agent.web.dto.LoginResponseDto;
+import com.samlair.trase.agent.web.dto.RefreshTokenRequestDto;
+import java.time.Duration;
+import java.time.Instant;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClient;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@TestPropertySource(properties = {"security.jwt.refresh.enabled=true", "security.jwt.refresh.access-token-ttl=2m"})
+class AuthRefreshIntTest extends IntegrationTestBase {
+
+	@Test
+	void loginReturnsShortLivedTokenAndRefreshToken() {
+		Instant before = Instant.now();
+		LoginResponseDto response = login();
+
+		assertThat(response.refreshToken()).isNotBlank();
+		assertThat(response.expiresAt()).isBefore(before.plus(Duration.ofMinutes(3)));
+		assertThat(bearerClient(response.accessToken()).get()
+				.uri("/agents")
+				.retrieve()
+				.toBodilessEntity()
+				.getStatusCode()).isEqualTo(HttpStatus.OK);
+	}
+
+	@Test
+	void refreshRotatesTokenAndRejectsReuse() {
+		LoginResponseDto login = login();
+
+		LoginResponseDto refreshed = refresh(login.refreshToken());
+
+		assertThat(refreshed.accessToken()).isNotBlank();
+		assertThat(refreshed.refreshToken()).isNotEqualTo(login.refreshToken());
+		HttpClientErrorException ex = assertThrows(HttpClientErrorException.class,
+				() -> refresh(login.refreshToken()));
+		assertThat(ex.getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+	}
+
+	@Test
+	void logoutEndsSession() {
+		LoginResponseDto login = login();
+
+		bearerClient(login.accessToken()).post()
+				.uri("/auth/logout")
+				.retrieve()
+				.toBodilessEntity();
+
+		HttpClientErrorException ex = assertThrows(HttpClientErrorException.class,
+				() -> refresh(login.refreshToken()));
+		assertThat(ex.getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+	}
+
+	private LoginResponseDto login() {
+		LoginResponseDto response = bearerClient(null).post()
+				.uri("/auth/login")
+				.body(new LoginRequestDto("admin", "admin123!"))
+				.retrieve()
+				.toEntity(LoginResponseDto.class)
+				.getBody();
+		assertThat(response).isNotNull();
+		return response;
+	}
+
+	private LoginResponseDto refresh(String refreshToken) {
+		return bearerClient(null).post()
+				.uri("/auth/refresh")
+				.body(new RefreshTokenRequestDto(refreshToken))
+				.retrieve()
+				.toEntity(LoginResponseDto.class)
+				.getBody();
+	}
+
+	private RestClient bearerClient(String token) {
+		RestClient.Builder builder = RestClient.builder().baseUrl("http://localhost:" + getPort());
+		if (token != null) {
+			builder.defaultHeader(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+		}
+		return builder.build();
+	}
+}
@@ -0,0 +1,108 @@
+package com.samlair.trase.agent.web.controller;
+
+import com.samlair.trase.agent.IntegrationTestBase;
+import com.samlair.trase.agent.service.CacheInvalidationBus;
+import com.samlair.trase.agent.web.dto.AgentResponseDto;
+import com.samlair.trase.agent.web.dto.CreateAgentRequestDto;
+import com.samlair.trase.agent.web.dto.UpdateAgentRequestDto;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CacheInvalidationIntTest extends IntegrationTestBase {
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private CacheInvalidationBus cacheInvalidationBus;
+
+	@Value("${spring.datasource.url}")
+	private String url;
+
+	@Value("${spring.datasource.username}")
+	private String username;
+
+	@Value("${spring.datasource.password}")
+	private String password;
+
+	@Test
+	void notificationFromAnotherNodeEvictsCachedAgent() throws InterruptedException {
+		awaitListener();
+		AgentResponseDto agent = createAgent("Remote", "Before");
+		assertThat(fetchAgent(agent.id()).description()).isEqualTo("Before");
+
+		jdbcTemplate.update("UPDATE agents SET description = 'After' WHERE id = ?", agent.id());
+		assertThat(fetchAgent(agent.id()).description()).isEqualTo("Before");
+		jdbcTemplate.queryForList("SELECT pg_notify('cache_invalidation', ?)", "other-node:agent:" + agent.id());
+
+		String description = "Before";
+		for (int attempt = 0; attempt < 50 && description.equals("Before"); attempt++) {
+			Thread.sleep(100);
+			description = fetchAgent(agent.id()).description();
+		}
+		assertThat(description).isEqualTo("After");
+	}
+
+	@Test
+	void committedWriteIsBroadcast() throws Exception {
+		AgentResponseDto agent = createAgent("Broadcast", "Before");
+
+		try (Connection connection = DriverManager.getConnection(url, username, password)) {
+			try (Statement statement = connection.createStatement()) {
+				statement.execute("LISTEN cache_invalidation");
+			}
+			restClient.put()
+					.uri("/agents/{id}", agent.id())
+					.body(new UpdateAgentRequestDto("Broadcast", "After"))
+					.retrieve()
+					.toBodilessEntity();
+
+			List<String> payloads = new ArrayList<>();
+			PGConnection pgConnection = connection.unwrap(PGConnection.class);
+			for (int attempt = 0; attempt < 50 && payloads.isEmpty(); attempt++) {
+				PGNotification[] notifications = pgConnection.getNotifications(100);
+				if (notifications != null) {
+					for (PGNotification notification : notifications) {
+						payloads.add(notification.getParameter());
+					}
+				}
+			}
+			assertThat(payloads).anySatisfy(payload -> assertThat(payload).endsWith(":agent:" + agent.id()));
+		}
+	}
+
+	private void awaitListener() throws InterruptedException {
+		for (int attempt = 0; attempt < 50 && !cacheInvalidationBus.isConnected(); attempt++) {
+			Thread.sleep(100);
+		}
+		assertThat(cacheInvalidationBus.isConnected()).isTrue();
+	}
+
+	private AgentResponseDto createAgent(String name, String description) {
+		return restClient.post()
+				.uri("/agents")
+				.body(new CreateAgentRequestDto(name, description))
+				.retrieve()
+				.toEntity(AgentResponseDto.class)
+				.getBody();
+	}
+
+	private AgentResponseDto fetchAgent(long id) {
+		return restClient.get()
+				.uri("/agents/{id}", id)
+				.retrieve()
+				.toEntity(AgentResponseDto.class)
+				.getBody();
+	}
+}
@@ -0,0 +1,47 @@
+package com.samlair.trase.agent.web.controller;
+
+import com.nimbusds.jwt.SignedJWT;
+import com.samlair.trase.agent.IntegrationTestBase;
+import com.samlair.trase.agent.web.dto.LoginRequestDto;
+import com.samlair.trase.agent.web.dto.LoginResponseDto;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.RestClient;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JwksControllerIntTest extends IntegrationTestBase {
+
+	@Test
+	void jwksPublishesKeyThatSignsLoginTokens() throws Exception {
+		RestClient rawClient = RestClient.builder()
+				.baseUrl("http://localhost:" + getPort())
+				.build();
+
+		ResponseEntity<Map<String, List<Map<String, Object>>>> jwks = rawClient.get()
+				.uri("/.well-known/jwks.json")
+				.retrieve()
+				.toEntity(new ParameterizedTypeReference<>() {
+				});
+		LoginResponseDto login = rawClient.post()
+				.uri("/auth/login")
+				.body(new LoginRequestDto("admin", "admin123!"))
+				.retrieve()
+				.toEntity(LoginResponseDto.class)
+				.getBody();
+
+		assertThat(jwks.getStatusCode()).isEqualTo(HttpStatus.OK);
+		assertThat(jwks.getHeaders().getFirst(HttpHeaders.CACHE_CONTROL)).contains("max-age=300");
+		List<Map<String, Object>> keys = jwks.getBody().get("keys");
+		assertThat(keys).hasSize(1);
+		assertThat(keys.get(0)).doesNotContainKey("d");
+		assertThat(login).isNotNull();
+		String kid = SignedJWT.parse(login.accessToken()).getHeader().getKeyID();
+		assertThat(keys.get(0).get("kid")).isEqualTo(kid);
+	}
+}
@@ -1,7 +1,7 @@
 package com.samlair.trase.agent.web.controller;
 
 import com.samlair.trase.agent.IntegrationTestBase;
-import com.samlair.trase.agent.web.dto.AgentResponseDto;
+import com.samlair.trase.agent.web.dto.AgentAuditResponseDto;
 import java.util.List;
 import org.junit.jupiter.api.Test;
 import org.springframework.core.ParameterizedTypeReference;
@@ -22,13 +22,13 @@ class RateLimitingIntTest extends IntegrationTestBase {
 
 	@Test
 	void rateLimitReturns429AfterLimitExceeded() {
-		ResponseEntity<List<AgentResponseDto>> first = restClient.get()
-				.uri("/agents")
+		ResponseEntity<List<AgentAuditResponseDto>> first = restClient.get()
+				.uri("/audits/agents")
 				.retrieve()
 				.toEntity(new ParameterizedTypeReference<>() {});
 
-		ResponseEntity<List<AgentResponseDto>> second = restClient.get()
-				.uri("/agents")
+		ResponseEntity<List<AgentAuditResponseDto>> second = restClient.get()
+				.uri("/audits/agents")
 				.retrieve()
 				.toEntity(new ParameterizedTypeReference<>() {});
 
@@ -36,7 +36,7 @@ class RateLimitingIntTest extends IntegrationTestBase {
 		assertThat(second.getStatusCode()).isEqualTo(HttpStatus.OK);
 
 		HttpClientErrorException ex = assertThrows(HttpClientErrorException.class, () -> restClient.get()
-				.uri("/agents")
+				.uri("/audits/agents")
 				.retrieve()
 				.toEntity(String.class));
 
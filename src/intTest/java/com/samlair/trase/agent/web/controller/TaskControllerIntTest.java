@@ -4,16 +4,19 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.samlair.trase.agent.IntegrationTestBase;
 import com.samlair.trase.agent.web.dto.ApiErrorDto;
+import com.samlair.trase.agent.web.dto.BatchItemResultDto;
 import com.samlair.trase.agent.web.dto.CreateAgentRequestDto;
 import com.samlair.trase.agent.web.dto.CreateTaskRequestDto;
 import com.samlair.trase.agent.web.dto.TaskResponseDto;
 import com.samlair.trase.agent.web.dto.UpdateTaskRequestDto;
+import com.samlair.trase.agent.web.dto.UpsertTaskRequestDto;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import org.junit.jupiter.api.Test;
 import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.client.HttpClientErrorException;
@@ -102,6 +105,61 @@ class TaskControllerIntTest extends IntegrationTestBase {
 		assertThat(fetched.supportedAgentId()).isEqualTo(agentId);
 	}
 
+	@Test
+	void getTaskAnswersConditionalRequestsUntilSupportedAgentsChange() {
+		Long firstAgentId = restClient.post()
+				.uri("/agents")
+				.body(new CreateAgentRequestDto("Agent One", "Agent desc"))
+				.retrieve()
+				.toEntity(com.samlair.trase.agent.web.dto.AgentResponseDto.class)
+				.getBody()
+				.id();
+		Long secondAgentId = restClient.post()
+				.uri("/agents")
+				.body(new CreateAgentRequestDto("Agent Two", "Agent desc"))
+				.retrieve()
+				.toEntity(com.samlair.trase.agent.web.dto.AgentResponseDto.class)
+				.getBody()
+				.id();
+		TaskResponseDto task = restClient.post()
+				.uri("/tasks")
+				.body(new CreateTaskRequestDto("Task", "Task desc", Set.of(firstAgentId), null))
+				.retrieve()
+				.toEntity(TaskResponseDto.class)
+				.getBody();
+
+		ResponseEntity<TaskResponseDto> first = restClient.get()
+				.uri("/tasks/{id}", task.id())
+				.retrieve()
+				.toEntity(TaskResponseDto.class);
+		String etag = first.getHeaders().getETag();
+		assertThat(etag).isNotBlank();
+		assertThat(first.getHeaders().getLastModified()).isPositive();
+
+		ResponseEntity<Void> notModified = restClient.get()
+				.uri("/tasks/{id}", task.id())
+				.header(HttpHeaders.IF_NONE_MATCH, etag)
+				.retrieve()
+				.toBodilessEntity();
+		assertThat(notModified.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+		assertThat(notModified.getHeaders().getETag()).isEqualTo(etag);
+
+		restClient.put()
+				.uri("/tasks/{id}", task.id())
+				.body(new UpdateTaskRequestDto("Task", "Task desc", Set.of(secondAgentId), null))
+				.retrieve()
+				.toBodilessEntity();
+
+		ResponseEntity<TaskResponseDto> changed = restClient.get()
+				.uri("/tasks/{id}", task.id())
+				.header(HttpHeaders.IF_NONE_MATCH, etag)
+				.retrieve()
+				.toEntity(TaskResponseDto.class);
+		assertThat(changed.getStatusCode()).isEqualTo(HttpStatus.OK);
+		assertThat(changed.getHeaders().getETag()).isNotEqualTo(etag);
+		assertThat(changed.getBody().supportedAgentIds()).containsExactly(secondAgentId);
+	}
+
 	@Test
 	void updateTaskUpdatesResponse() {
 		Long agentId = restClient.post()
@@ -228,6 +286,96 @@ class TaskControllerIntTest extends IntegrationTestBase {
 		assertThat(page2.getBody().get(0).supportedAgentId()).isEqualTo(agentId);
 	}
 
+	@Test
+	void listTasksAggregatesSupportedAgentsAndHonoursSort() {
+		Long agentA = restClient.post()
+				.uri("/agents")
+				.body(new CreateAgentRequestDto("Agent A", "Agent desc"))
+				.retrieve()
+				.toEntity(com.samlair.trase.agent.web.dto.AgentResponseDto.class)
+				.getBody()
+				.id();
+		Long agentB = restClient.post()
+				.uri("/agents")
+				.body(new CreateAgentRequestDto("Agent B", "Agent desc"))
+				.retrieve()
+				.toEntity(com.samlair.trase.agent.web.dto.AgentResponseDto.class)
+				.getBody()
+				.id();
+		restClient.post()
+				.uri("/tasks")
+				.body(new CreateTaskRequestDto("Alpha", "Desc", Set.of(agentA, agentB), null))
+				.retrieve()
+				.toBodilessEntity();
+		restClient.post()
+				.uri("/tasks")
+				.body(new CreateTaskRequestDto("Beta", "Desc", Set.of(agentB), null))
+				.retrieve()
+				.toBodilessEntity();
+
+		ResponseEntity<List<TaskResponseDto>> page = restClient.get()
+				.uri("/tasks?sort=title,desc")
+				.retrieve()
+				.toEntity(new ParameterizedTypeReference<>() {});
+
+		assertThat(page.getBody()).extracting(TaskResponseDto::title).containsExactly("Beta", "Alpha");
+		assertThat(page.getBody().get(0).supportedAgentIds()).containsExactly(agentB);
+		assertThat(page.getBody().get(1).supportedAgentIds()).containsExactlyInAnyOrder(agentA, agentB);
+		assertThat(page.getBody().get(1).supportedAgentId()).isNull();
+	}
+
+	@Test
+	void upsertTasksReportsPerItemStatus() {
+		Long agentA = restClient.post()
+				.uri("/agents")
+				.body(new CreateAgentRequestDto("Agent A", "Agent desc"))
+				.retrieve()
+				.toEntity(com.samlair.trase.agent.web.dto.AgentResponseDto.class)
+				.getBody()
+				.id();
+		Long agentB = restClient.post()
+				.uri("/agents")
+				.body(new CreateAgentRequestDto("Agent B", "Agent desc"))
+				.retrieve()
+				.toEntity(com.samlair.trase.agent.web.dto.AgentResponseDto.class)
+				.getBody()
+				.id();
+		TaskResponseDto existing = restClient.post()
+				.uri("/tasks")
+				.body(new CreateTaskRequestDto("Existing", "Desc", Set.of(agentA), null))
+				.retrieve()
+				.toEntity(TaskResponseDto.class)
+				.getBody();
+
+		ResponseEntity<List<BatchItemResultDto<TaskResponseDto>>> response = restClient.post()
+				.uri("/tasks/batch")
+				.body(List.of(
+						new UpsertTaskRequestDto(null, "New", "Desc", Set.of(agentA, agentB), null),
+						new UpsertTaskRequestDto(existing.id(), "Renamed", "Desc", null, agentB),
+						new UpsertTaskRequestDto(99999L, "Missing", "Desc", Set.of(agentA), null),
+						new UpsertTaskRequestDto(null, "Unknown agent", "Desc", Set.of(99999L), null)))
+				.retrieve()
+				.toEntity(new ParameterizedTypeReference<>() {});
+
+		assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+		assertThat(response.getBody()).extracting(BatchItemResultDto::status).containsExactly(201, 200, 404, 400);
+
+		TaskResponseDto updated = restClient.get()
+				.uri("/tasks/{id}", existing.id())
+				.retrieve()
+				.toEntity(TaskResponseDto.class)
+				.getBody();
+		assertThat(updated.title()).isEqualTo("Renamed");
+		assertThat(updated.supportedAgentIds()).containsExactly(agentB);
+
+		ResponseEntity<List<TaskResponseDto>> tasks = restClient.get()
+				.uri("/tasks")
+				.retrieve()
+				.toEntity(new ParameterizedTypeReference<>() {});
+		assertThat(tasks.getBody()).hasSize(2);
+		assertThat(tasks.getBody().get(1).supportedAgentIds()).containsExactlyInAnyOrder(agentA, agentB);
+	}
+
 	@Test
 	void taskAliasRoutesBehaveLikeTasks() {
 		Long agentId = restClient.post()
@@ -1,13 +1,18 @@
 package com.samlair.trase.agent.web.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.samlair.trase.agent.IntegrationTestBase;
 import com.samlair.trase.agent.domain.enumeration.TaskRunStatus;
+import com.samlair.trase.agent.web.dto.BatchItemResultDto;
 import com.samlair.trase.agent.web.dto.CreateAgentRequestDto;
 import com.samlair.trase.agent.web.dto.CreateTaskRequestDto;
 import com.samlair.trase.agent.web.dto.CreateTaskRunRequestDto;
 import com.samlair.trase.agent.web.dto.TaskResponseDto;
 import com.samlair.trase.agent.web.dto.TaskRunResponseDto;
+import com.samlair.trase.agent.web.dto.UpdateTaskRequestDto;
 import com.samlair.trase.agent.web.dto.UpdateTaskRunStatusRequestDto;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
 import org.junit.jupiter.api.Test;
@@ -60,6 +65,40 @@ class TaskRunControllerIntTest extends IntegrationTestBase {
 		assertThat(ex.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
 	}
 
+	@Test
+	void startTaskRunSeesSupportedAgentChanges() {
+		Long firstAgentId = createAgent("Agent A").id();
+		Long secondAgentId = createAgent("Agent B").id();
+		TaskResponseDto task = createTask("Task", Set.of(firstAgentId));
+
+		ResponseEntity<TaskRunResponseDto> first = restClient.post()
+				.uri("/task-runs")
+				.body(new CreateTaskRunRequestDto(task.id(), firstAgentId))
+				.retrieve()
+				.toEntity(TaskRunResponseDto.class);
+		assertThat(first.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+
+		restClient.put()
+				.uri("/tasks/" + task.id())
+				.body(new UpdateTaskRequestDto("Task", "desc", Set.of(secondAgentId), null))
+				.retrieve()
+				.toEntity(TaskResponseDto.class);
+
+		HttpClientErrorException ex = assertThrows(HttpClientErrorException.class, () -> restClient.post()
+				.uri("/task-runs")
+				.body(new CreateTaskRunRequestDto(task.id(), firstAgentId))
+				.retrieve()
+				.toEntity(String.class));
+		assertThat(ex.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+
+		ResponseEntity<TaskRunResponseDto> second = restClient.post()
+				.uri("/task-runs")
+				.body(new CreateTaskRunRequestDto(task.id(), secondAgentId))
+				.retrieve()
+				.toEntity(TaskRunResponseDto.class);
+		assertThat(second.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+	}
+
 	@Test
 	void startTaskRunHonorsIdempotencyKey() {
 		Long agentId = createAgent("Agent A").id();
@@ -86,6 +125,45 @@ class TaskRunControllerIntTest extends IntegrationTestBase {
 		assertThat(second.id()).isEqualTo(first.id());
 	}
 
+	@Test
+	void startTaskRunsReportsPerItemStatus() {
+		Long supportedAgentId = createAgent("Agent A").id();
+		Long unsupportedAgentId = createAgent("Agent B").id();
+		TaskResponseDto task = createTask("Task", Set.of(supportedAgentId));
+
+		ResponseEntity<List<BatchItemResultDto<TaskRunResponseDto>>> response = restClient.post()
+				.uri("/task-runs/batch")
+				.body(List.of(
+						new CreateTaskRunRequestDto(task.id(), supportedAgentId),
+						new CreateTaskRunRequestDto(task.id(), unsupportedAgentId),
+						new CreateTaskRunRequestDto(99999L, supportedAgentId),
+						new CreateTaskRunRequestDto(task.id(), supportedAgentId)))
+				.retrieve()
+				.toEntity(new ParameterizedTypeReference<>() {});
+
+		assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+		List<BatchItemResultDto<TaskRunResponseDto>> results = response.getBody();
+		assertThat(results).extracting(BatchItemResultDto::status).containsExactly(201, 400, 404, 201);
+		assertThat(results.get(0).result().status()).isEqualTo(TaskRunStatus.RUNNING);
+		assertThat(results.get(3).result().id()).isNotEqualTo(results.get(0).result().id());
+
+		ResponseEntity<List<TaskRunResponseDto>> runs = restClient.get()
+				.uri("/task-runs")
+				.retrieve()
+				.toEntity(new ParameterizedTypeReference<>() {});
+		assertThat(runs.getBody()).hasSize(2);
+	}
+
+	@Test
+	void startTaskRunsRejectsEmptyBatch() {
+		HttpClientErrorException ex = assertThrows(HttpClientErrorException.class, () -> restClient.post()
+				.uri("/task-runs/batch")
+				.body(List.of())
+				.retrieve()
+				.toEntity(String.class));
+		assertThat(ex.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+	}
+
 	@Test
 	void listTaskRunsFiltersByStatus() {
 		Long agentId = createAgent("Agent A").id();
@@ -201,6 +279,57 @@ class TaskRunControllerIntTest extends IntegrationTestBase {
 		assertThat(ex.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
 	}
 
+	@Test
+	void exportTaskRunsStreamsNdjson() throws Exception {
+		Long agentId = createAgent("Agent A").id();
+		TaskResponseDto task = createTask("Task", Set.of(agentId));
+		List<TaskRunResponseDto> runs = new ArrayList<>();
+		for (int i = 0; i < 3; i++) {
+			runs.add(restClient.post()
+					.uri("/task-runs")
+					.body(new CreateTaskRunRequestDto(task.id(), agentId))
+					.retrieve()
+					.toEntity(TaskRunResponseDto.class)
+					.getBody());
+		}
+		restClient.patch()
+				.uri("/task-runs/{id}", runs.get(2).id())
+				.body(new UpdateTaskRunStatusRequestDto(TaskRunStatus.COMPLETED))
+				.retrieve()
+				.toBodilessEntity();
+
+		ResponseEntity<String> all = restClient.get()
+				.uri("/task-runs/export?afterId={id}", runs.get(0).id())
+				.retrieve()
+				.toEntity(String.class);
+
+		assertThat(all.getHeaders().getContentType()).isNotNull();
+		assertThat(all.getHeaders().getContentType().toString()).startsWith("application/x-ndjson");
+		List<TaskRunResponseDto> exported = readNdjson(all.getBody());
+		assertThat(exported).extracting(TaskRunResponseDto::id)
+				.containsExactly(runs.get(1).id(), runs.get(2).id());
+		assertThat(exported.get(0).startedAt()).isNotNull();
+
+		ResponseEntity<String> completed = restClient.get()
+				.uri("/task-runs/export?status=COMPLETED")
+				.retrieve()
+				.toEntity(String.class);
+
+		assertThat(readNdjson(completed.getBody())).singleElement()
+				.satisfies(run -> assertThat(run.id()).isEqualTo(runs.get(2).id()));
+	}
+
+	private List<TaskRunResponseDto> readNdjson(String body) throws Exception {
+		ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+		List<TaskRunResponseDto> rows = new ArrayList<>();
+		for (String line : body.split("\n")) {
+			if (!line.isBlank()) {
+				rows.add(objectMapper.readValue(line, TaskRunResponseDto.class));
+			}
+		}
+		return rows;
+	}
+
 	private com.samlair.trase.agent.web.dto.AgentResponseDto createAgent(String name) {
 		return restClient.post()
 				.uri("/agents")
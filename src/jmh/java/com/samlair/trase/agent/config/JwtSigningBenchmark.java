@@ -0,0 +1,101 @@
+package com.samlair.trase.agent.config;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.security.oauth2.jwt.JwsHeader;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+
+/**
+ * Compares the cost of signing and verifying the access tokens {@code AuthServiceImpl} issues, per algorithm.
+ *
+ * <p>Uses the dev keys and the same encoder/decoder construction as {@link JwtConfig}, without the verified-token
+ * cache. {@code session} adds the {@code sid} claim carried by refresh-mode tokens. Run with
+ * {@code ./gradlew jmh -PjmhArgs="JwtSigningBenchmark"}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtSigningBenchmark {
+
+	@Param({"RS256", "ES256", "EdDSA"})
+	public String algorithm;
+
+	@Param({"false", "true"})
+	public boolean session;
+
+	private JwtEncoder encoder;
+	private JwtDecoder decoder;
+	private JwtEncoderParameters parameters;
+	private String token;
+
+	@Setup
+	public void setUp() {
+		JwtKeyRing keyRing = new JwtKeyRing(algorithm, new ClassPathResource(publicKeyPath()),
+				new ClassPathResource(privateKeyPath()), null, null);
+		encoder = new JwtConfig().jwtEncoder(keyRing);
+		decoder = JwtConfig.verifyingDecoder(keyRing);
+
+		Instant now = Instant.now();
+		JwtClaimsSet.Builder claims = JwtClaimsSet.builder()
+				.issuer("trase")
+				.issuedAt(now)
+				.expiresAt(now.plusSeconds(3600))
+				.subject("runner")
+				.id(UUID.randomUUID().toString())
+				.claim("uid", 3L)
+				.claim("roles", List.of("RUNNER"));
+		if (session) {
+			claims.claim("sid", 42L);
+		}
+		JwsHeader header = JwsHeader.with(() -> algorithm).keyId(keyRing.activeKeyId()).build();
+		parameters = JwtEncoderParameters.from(header, claims.build());
+		token = encoder.encode(parameters).getTokenValue();
+	}
+
+	@Benchmark
+	public String sign() {
+		return encoder.encode(parameters).getTokenValue();
+	}
+
+	@Benchmark
+	public Jwt verify() {
+		return decoder.decode(token);
+	}
+
+	private String publicKeyPath() {
+		return switch (algorithm) {
+			case "ES256" -> "keys/dev-es256-public.pem";
+			case "EdDSA" -> "keys/dev-ed25519-public.pem";
+			default -> "keys/dev-public.pem";
+		};
+	}
+
+	private String privateKeyPath() {
+		return switch (algorithm) {
+			case "ES256" -> "keys/dev-es256-private.pem";
+			case "EdDSA" -> "keys/dev-ed25519-private.pem";
+			default -> "keys/dev-private.pem";
+		};
+	}
+}
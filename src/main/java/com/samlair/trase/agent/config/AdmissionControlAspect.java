@@ -0,0 +1,44 @@
+package com.samlair.trase.agent.config;
+
+import com.samlair.trase.agent.service.AdmissionLimiter;
+import java.sql.SQLTransientConnectionException;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+/**
+ * Admits {@link AdmissionControlled} handler calls through the {@link AdmissionLimiter} and reports whether each one
+ * failed waiting for a database connection.
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class AdmissionControlAspect {
+
+	private final AdmissionLimiter admissionLimiter;
+
+	@Around("@within(com.samlair.trase.agent.config.AdmissionControlled)"
+			+ " || @annotation(com.samlair.trase.agent.config.AdmissionControlled)")
+	public Object admit(ProceedingJoinPoint joinPoint) throws Throwable {
+		AdmissionLimiter.Permit permit = admissionLimiter.acquire();
+		try {
+			Object result = joinPoint.proceed();
+			permit.release(false);
+			return result;
+		} catch (Throwable ex) {
+			permit.release(isConnectionTimeout(ex));
+			throw ex;
+		}
+	}
+
+	private static boolean isConnectionTimeout(Throwable ex) {
+		for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+			if (cause instanceof SQLTransientConnectionException) {
+				return true;
+			}
+		}
+		return false;
+	}
+}
@@ -0,0 +1,17 @@
+package com.samlair.trase.agent.config;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Runs the annotated controller, or all of its handler methods, under the adaptive
+ * {@link com.samlair.trase.agent.service.AdmissionLimiter}.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+public @interface AdmissionControlled {
+}
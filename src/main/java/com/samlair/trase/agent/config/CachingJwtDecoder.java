@@ -0,0 +1,132 @@
+package com.samlair.trase.agent.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+
+/**
+ * {@link JwtDecoder} that remembers tokens it has already verified.
+ *
+ * <p>Entries are keyed by the SHA-256 of the token string and kept until {@code expirySkew} before the token's
+ * {@code exp}, so a cached token is never accepted after the delegate would have rejected it as expired. Tokens
+ * without {@code exp}, or closer to expiry than the skew, are not cached. Failures are never cached. Revocation is
+ * checked separately by {@link RevokedTokenFilter} on every request, so caching does not delay logout.
+ *
+ * <p>Concurrent misses for the same token may both run the delegate; the result is identical, so the duplicate work
+ * is preferred over holding a per-key lock across RSA verification.
+ */
+public class CachingJwtDecoder implements JwtDecoder {
+
+	private final JwtDecoder delegate;
+	private final Duration expirySkew;
+	private final Clock clock;
+	private final Cache<String, Jwt> cache;
+	private final Timer verifications;
+
+	public CachingJwtDecoder(JwtDecoder delegate, MeterRegistry meterRegistry, long maxSize, Duration expirySkew) {
+		this(delegate, meterRegistry, maxSize, expirySkew, Clock.systemUTC());
+	}
+
+	CachingJwtDecoder(JwtDecoder delegate, MeterRegistry meterRegistry, long maxSize, Duration expirySkew,
+			Clock clock) {
+		this.delegate = delegate;
+		this.expirySkew = expirySkew;
+		this.clock = clock;
+		this.cache = Caffeine.newBuilder()
+				.maximumSize(maxSize)
+				.expireAfter(new UntilTokenExpiry())
+				.recordStats()
+				.build();
+		CaffeineCacheMetrics.monitor(meterRegistry, cache, "jwt");
+		this.verifications = Timer.builder("security.jwt.decode")
+				.description("Time spent parsing and verifying JWTs that were not cached")
+				.register(meterRegistry);
+	}
+
+	@Override
+	public Jwt decode(String token) throws JwtException {
+		if (token == null) {
+			return delegate.decode(null);
+		}
+		String key = hash(token);
+		Jwt cached = cache.getIfPresent(key);
+		if (cached != null) {
+			return cached;
+		}
+		long startedAt = System.nanoTime();
+		Jwt jwt;
+		try {
+			jwt = delegate.decode(token);
+		} finally {
+			verifications.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+		}
+		if (remainingNanos(jwt) > 0) {
+			cache.put(key, jwt);
+		}
+		return jwt;
+	}
+
+	/**
+	 * Drops all cached tokens, e.g. after the verification key changes.
+	 */
+	public void evictAll() {
+		cache.invalidateAll();
+	}
+
+	long size() {
+		cache.cleanUp();
+		return cache.estimatedSize();
+	}
+
+	private long remainingNanos(Jwt jwt) {
+		Instant expiresAt = jwt.getExpiresAt();
+		if (expiresAt == null) {
+			return 0;
+		}
+		return Math.max(0, Duration.between(clock.instant(), expiresAt.minus(expirySkew)).toNanos());
+	}
+
+	private static String hash(String token) {
+		try {
+			byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+			return Base64.getEncoder().encodeToString(digest);
+		} catch (NoSuchAlgorithmException ex) {
+			throw new IllegalStateException("SHA-256 is not available", ex);
+		}
+	}
+
+	/**
+	 * Expires each entry shortly before its token does.
+	 */
+	private final class UntilTokenExpiry implements Expiry<String, Jwt> {
+
+		@Override
+		public long expireAfterCreate(String key, Jwt jwt, long currentTime) {
+			return remainingNanos(jwt);
+		}
+
+		@Override
+		public long expireAfterUpdate(String key, Jwt jwt, long currentTime, long currentDuration) {
+			return remainingNanos(jwt);
+		}
+
+		@Override
+		public long expireAfterRead(String key, Jwt jwt, long currentTime, long currentDuration) {
+			return currentDuration;
+		}
+	}
+}
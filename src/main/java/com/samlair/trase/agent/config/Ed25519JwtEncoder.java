@@ -0,0 +1,74 @@
+package com.samlair.trase.agent.config;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.Ed25519Signer;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.OctetKeyPair;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import java.time.Instant;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.security.oauth2.jwt.JwsHeader;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+import org.springframework.security.oauth2.jwt.JwtEncodingException;
+
+/**
+ * {@link JwtEncoder} that signs with Ed25519 keys ({@code EdDSA}) from a {@link JwtKeyRing}.
+ *
+ * <p>{@code NimbusJwtEncoder} only selects RSA, EC and HMAC keys, so this encoder signs directly with Nimbus. The
+ * header's {@code kid} picks the key (the active key when absent); other requested header fields are ignored.
+ */
+public class Ed25519JwtEncoder implements JwtEncoder {
+
+	private final JwtKeyRing keyRing;
+	private final Map<OctetKeyPair, Ed25519Signer> signers = new ConcurrentHashMap<>();
+
+	public Ed25519JwtEncoder(JwtKeyRing keyRing) {
+		this.keyRing = keyRing;
+	}
+
+	@Override
+	public Jwt encode(JwtEncoderParameters parameters) throws JwtEncodingException {
+		JwsHeader requested = parameters.getJwsHeader();
+		if (requested != null && !JWSAlgorithm.EdDSA.getName().equals(requested.getAlgorithm().getName())) {
+			throw new JwtEncodingException("Unsupported JWS algorithm: " + requested.getAlgorithm().getName());
+		}
+		String kid = requested != null && requested.getKeyId() != null ? requested.getKeyId() : keyRing.activeKeyId();
+		JWSHeader header = new JWSHeader.Builder(JWSAlgorithm.EdDSA).keyID(kid).build();
+
+		JwtClaimsSet claims = parameters.getClaims();
+		JWTClaimsSet.Builder builder = new JWTClaimsSet.Builder();
+		claims.getClaims().forEach((name, value) ->
+				builder.claim(name, value instanceof Instant instant ? Date.from(instant) : value));
+
+		SignedJWT jwt = new SignedJWT(header, builder.build());
+		try {
+			jwt.sign(signer(kid));
+		} catch (JOSEException ex) {
+			throw new JwtEncodingException("Unable to sign JWT", ex);
+		}
+		return new Jwt(jwt.serialize(), claims.getIssuedAt(), claims.getExpiresAt(), header.toJSONObject(),
+				claims.getClaims());
+	}
+
+	private Ed25519Signer signer(String kid) {
+		JWK key = keyRing.signingKey(kid);
+		if (!(key instanceof OctetKeyPair octetKeyPair)) {
+			throw new JwtEncodingException("No Ed25519 signing key for kid=" + kid);
+		}
+		return signers.computeIfAbsent(octetKeyPair, ignored -> {
+			try {
+				return new Ed25519Signer(octetKeyPair);
+			} catch (JOSEException ex) {
+				throw new JwtEncodingException("Unable to create Ed25519 signer", ex);
+			}
+		});
+	}
+}
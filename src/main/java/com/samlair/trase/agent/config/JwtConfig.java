@@ -1,21 +1,16 @@
 package com.samlair.trase.agent.config;
 
-import com.nimbusds.jose.jwk.JWKSet;
-import com.nimbusds.jose.jwk.RSAKey;
-import com.nimbusds.jose.jwk.source.ImmutableJWKSet;
-import java.io.IOException;
-import java.nio.charset.StandardCharsets;
-import java.security.KeyFactory;
-import java.security.interfaces.RSAPrivateKey;
-import java.security.interfaces.RSAPublicKey;
-import java.security.spec.PKCS8EncodedKeySpec;
-import java.security.spec.X509EncodedKeySpec;
-import java.util.Base64;
+import com.nimbusds.jose.JWSAlgorithm;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.io.Resource;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.oauth2.jwt.JwtDecoder;
 import org.springframework.security.oauth2.jwt.JwtEncoder;
@@ -24,70 +19,65 @@ import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
 
 /**
  * Configures JWT signing and password hashing.
+ *
+ * <p>{@code security.jwt.algorithm} selects {@code RS256} (RSA keys), {@code ES256} (P-256 keys) or {@code EdDSA}
+ * (Ed25519 keys). Keys come from {@link JwtKeyRing}: a single PEM pair, or a directory of rotating pairs.
  */
 @Configuration
 public class JwtConfig {
 
 	@Bean
-	public RSAPublicKey jwtPublicKey(@Value("${security.jwt.public-key}") Resource resource) {
-		return readPublicKey(resource);
+	public JwtKeyRing jwtKeyRing(
+			@Value("${security.jwt.algorithm:RS256}") String algorithm,
+			@Value("${security.jwt.public-key}") Resource publicKey,
+			@Value("${security.jwt.private-key}") Resource privateKey,
+			@Value("${security.jwt.keys-dir:}") String keysDir,
+			@Value("${security.jwt.active-key-id:}") String activeKeyId) {
+		return new JwtKeyRing(algorithm, publicKey, privateKey,
+				keysDir.isBlank() ? null : Path.of(keysDir),
+				activeKeyId.isBlank() ? null : activeKeyId);
 	}
 
 	@Bean
-	public RSAPrivateKey jwtPrivateKey(@Value("${security.jwt.private-key}") Resource resource) {
-		return readPrivateKey(resource);
-	}
-
-	@Bean
-	public JwtDecoder jwtDecoder(RSAPublicKey publicKey) {
-		return NimbusJwtDecoder.withPublicKey(publicKey).build();
-	}
-
-	@Bean
-	public JwtEncoder jwtEncoder(RSAPublicKey publicKey, RSAPrivateKey privateKey) {
-		RSAKey rsaKey = new RSAKey.Builder(publicKey).privateKey(privateKey).build();
-		JWKSet jwkSet = new JWKSet(rsaKey);
-		return new NimbusJwtEncoder(new ImmutableJWKSet<>(jwkSet));
+	public JwtDecoder jwtDecoder(
+			JwtKeyRing jwtKeyRing,
+			MeterRegistry meterRegistry,
+			@Value("${security.jwt.decoder-cache.max-size:10000}") long cacheMaxSize,
+			@Value("${security.jwt.decoder-cache.expiry-skew:5s}") Duration cacheExpirySkew) {
+		JwtDecoder decoder = verifyingDecoder(jwtKeyRing);
+		if (cacheMaxSize <= 0) {
+			return decoder;
+		}
+		CachingJwtDecoder cachingDecoder = new CachingJwtDecoder(decoder, meterRegistry, cacheMaxSize,
+				cacheExpirySkew);
+		jwtKeyRing.addRemovalListener(cachingDecoder::evictAll);
+		return cachingDecoder;
 	}
 
 	@Bean
-	public PasswordEncoder passwordEncoder() {
-		return new BCryptPasswordEncoder();
-	}
-
-	private RSAPublicKey readPublicKey(Resource resource) {
-		byte[] keyBytes = readPem(resource, "PUBLIC KEY");
-		try {
-			X509EncodedKeySpec spec = new X509EncodedKeySpec(keyBytes);
-			KeyFactory factory = KeyFactory.getInstance("RSA");
-			return (RSAPublicKey) factory.generatePublic(spec);
-		} catch (Exception ex) {
-			throw new IllegalStateException("Unable to load public key", ex);
+	public JwtEncoder jwtEncoder(JwtKeyRing jwtKeyRing) {
+		if (JWSAlgorithm.EdDSA.equals(jwtKeyRing.algorithm())) {
+			return new Ed25519JwtEncoder(jwtKeyRing);
 		}
+		return new NimbusJwtEncoder(jwtKeyRing);
 	}
 
-	private RSAPrivateKey readPrivateKey(Resource resource) {
-		byte[] keyBytes = readPem(resource, "PRIVATE KEY");
-		try {
-			PKCS8EncodedKeySpec spec = new PKCS8EncodedKeySpec(keyBytes);
-			KeyFactory factory = KeyFactory.getInstance("RSA");
-			return (RSAPrivateKey) factory.generatePrivate(spec);
-		} catch (Exception ex) {
-			throw new IllegalStateException("Unable to load private key", ex);
-		}
+	/**
+	 * Encodes new hashes as {@code {bcrypt}} at {@code security.password.bcrypt-strength}. Legacy hashes without an
+	 * id prefix are matched as bcrypt and report {@code upgradeEncoding}, so they are rewritten on the next login.
+	 */
+	@Bean
+	public PasswordEncoder passwordEncoder(@Value("${security.password.bcrypt-strength:10}") int bcryptStrength) {
+		DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder("bcrypt",
+				Map.of("bcrypt", new BCryptPasswordEncoder(bcryptStrength)));
+		encoder.setDefaultPasswordEncoderForMatches(new BCryptPasswordEncoder(bcryptStrength));
+		return encoder;
 	}
 
-	private byte[] readPem(Resource resource, String type) {
-		try {
-			String pem = resource.getContentAsString(StandardCharsets.US_ASCII);
-			String begin = "-----BEGIN " + type + "-----";
-			String end = "-----END " + type + "-----";
-			String content = pem.replace(begin, "")
-					.replace(end, "")
-					.replaceAll("\\s", "");
-			return Base64.getDecoder().decode(content);
-		} catch (IOException ex) {
-			throw new IllegalStateException("Unable to read key", ex);
-		}
+	/**
+	 * Builds an uncached decoder that verifies signatures with the key ring's key for each token's {@code kid}.
+	 */
+	static JwtDecoder verifyingDecoder(JwtKeyRing keyRing) {
+		return new NimbusJwtDecoder(new KeyRingJwtProcessor(keyRing));
 	}
 }
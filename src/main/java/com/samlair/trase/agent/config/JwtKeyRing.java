@@ -0,0 +1,312 @@
+package com.samlair.trase.agent.config;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSVerifier;
+import com.nimbusds.jose.crypto.ECDSAVerifier;
+import com.nimbusds.jose.crypto.Ed25519Verifier;
+import com.nimbusds.jose.crypto.RSASSAVerifier;
+import com.nimbusds.jose.jwk.Curve;
+import com.nimbusds.jose.jwk.ECKey;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSelector;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.OctetKeyPair;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.source.JWKSource;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jose.util.Base64URL;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.KeyFactory;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.interfaces.ECPrivateKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.interfaces.EdECPrivateKey;
+import java.security.interfaces.RSAPrivateKey;
+import java.security.interfaces.RSAPublicKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * JWT signing and verification keys indexed by key id ({@code kid}).
+ *
+ * <p>Without {@code security.jwt.keys-dir} the ring holds the single pair from {@code security.jwt.public-key} and
+ * {@code security.jwt.private-key}, identified by its RFC 7638 thumbprint. With a directory, every
+ * {@code <kid>-public.pem} is a verification key, and a matching {@code <kid>-private.pem} also makes it a signing
+ * key. New tokens are signed with {@code security.jwt.active-key-id}, or else the lexically last signing kid. The
+ * directory is re-read every {@code security.jwt.keys-reload-delay-ms}; a reload that fails keeps the current keys.
+ *
+ * <p>All keys use {@code security.jwt.algorithm}. Verifiers are built once per load, so verifying a token is a map
+ * lookup by {@code kid} plus one signature check.
+ */
+public class JwtKeyRing implements JWKSource<SecurityContext> {
+
+	private static final Logger log = LoggerFactory.getLogger(JwtKeyRing.class);
+	private static final String PUBLIC_SUFFIX = "-public.pem";
+	private static final String PRIVATE_SUFFIX = "-private.pem";
+	private static final int ED25519_KEY_LENGTH = 32;
+
+	private final JWSAlgorithm algorithm;
+	private final Path keysDir;
+	private final String configuredActiveKeyId;
+	private final List<Runnable> removalListeners = new CopyOnWriteArrayList<>();
+	private volatile Keys keys;
+
+	public JwtKeyRing(String algorithm, Resource publicKey, Resource privateKey, Path keysDir, String activeKeyId) {
+		this.algorithm = JWSAlgorithm.parse(algorithm);
+		this.keysDir = keysDir;
+		this.configuredActiveKeyId = activeKeyId;
+		if (keysDir == null) {
+			JWK key = readKey(this.algorithm, null, publicKey, privateKey);
+			this.keys = Keys.of(key.getKeyID(), List.of(key));
+		} else {
+			this.keys = loadDirectory();
+		}
+		log.info("Loaded JWT keys algorithm={} kids={} active={}", algorithm, keys.byKid().keySet(),
+				keys.activeKeyId());
+	}
+
+	public JWSAlgorithm algorithm() {
+		return algorithm;
+	}
+
+	/**
+	 * Key id new tokens should be signed with.
+	 */
+	public String activeKeyId() {
+		return keys.activeKeyId();
+	}
+
+	/**
+	 * Signing key for {@code kid}, or {@code null} if unknown or verification-only.
+	 */
+	public JWK signingKey(String kid) {
+		JWK key = keys.byKid().get(kid);
+		return key != null && key.isPrivate() ? key : null;
+	}
+
+	/**
+	 * Verifier for a token header. Tokens without {@code kid} are checked against the active key.
+	 *
+	 * @return verifier, or {@code null} when the kid is unknown or the algorithm does not match
+	 */
+	public JWSVerifier verifier(String kid, JWSAlgorithm headerAlgorithm) {
+		Keys current = keys;
+		if (!algorithm.equals(headerAlgorithm)) {
+			return null;
+		}
+		return current.verifiers().get(kid == null ? current.activeKeyId() : kid);
+	}
+
+	/**
+	 * Public keys for the JWKS endpoint.
+	 */
+	public Map<String, Object> publicJwkSet() {
+		return keys.publicKeys().toJSONObject(true);
+	}
+
+	/**
+	 * Registers a callback run when a reload drops keys, e.g. to evict tokens verified with them.
+	 */
+	public void addRemovalListener(Runnable listener) {
+		removalListeners.add(listener);
+	}
+
+	@Override
+	public List<JWK> get(JWKSelector jwkSelector, SecurityContext context) {
+		return jwkSelector.select(keys.signingKeys());
+	}
+
+	@Scheduled(fixedDelayString = "${security.jwt.keys-reload-delay-ms:60000}")
+	public void reload() {
+		if (keysDir == null) {
+			return;
+		}
+		Keys previous = keys;
+		Keys loaded;
+		try {
+			loaded = loadDirectory();
+		} catch (RuntimeException ex) {
+			log.warn("Keeping current JWT keys; reload from {} failed", keysDir, ex);
+			return;
+		}
+		keys = loaded;
+		if (!loaded.byKid().keySet().equals(previous.byKid().keySet())
+				|| !loaded.activeKeyId().equals(previous.activeKeyId())) {
+			log.info("Reloaded JWT keys kids={} active={}", loaded.byKid().keySet(), loaded.activeKeyId());
+		}
+		if (!loaded.byKid().keySet().containsAll(previous.byKid().keySet())) {
+			removalListeners.forEach(Runnable::run);
+		}
+	}
+
+	private Keys loadDirectory() {
+		List<JWK> loaded = new ArrayList<>();
+		try (Stream<Path> files = Files.list(keysDir)) {
+			for (Path publicFile : files.filter(path -> path.getFileName().toString().endsWith(PUBLIC_SUFFIX))
+					.sorted().toList()) {
+				String fileName = publicFile.getFileName().toString();
+				String kid = fileName.substring(0, fileName.length() - PUBLIC_SUFFIX.length());
+				Path privateFile = keysDir.resolve(kid + PRIVATE_SUFFIX);
+				loaded.add(readKey(algorithm, kid, new FileSystemResource(publicFile),
+						Files.exists(privateFile) ? new FileSystemResource(privateFile) : null));
+			}
+		} catch (IOException ex) {
+			throw new IllegalStateException("Unable to list JWT keys in " + keysDir, ex);
+		}
+		String active = configuredActiveKeyId;
+		if (active == null) {
+			active = loaded.stream()
+					.filter(JWK::isPrivate)
+					.map(JWK::getKeyID)
+					.max(String::compareTo)
+					.orElseThrow(() -> new IllegalStateException("No JWT signing key in " + keysDir));
+		}
+		Keys result = Keys.of(active, loaded);
+		if (result.byKid().get(active) == null || !result.byKid().get(active).isPrivate()) {
+			throw new IllegalStateException("Active JWT key " + active + " has no private key in " + keysDir);
+		}
+		return result;
+	}
+
+	/**
+	 * Reads a PEM key pair for {@code algorithm}. The private key is optional; without a kid the key's thumbprint is
+	 * used.
+	 */
+	static JWK readKey(JWSAlgorithm algorithm, String kid, Resource publicKey, Resource privateKey) {
+		try {
+			if (JWSAlgorithm.RS256.equals(algorithm)) {
+				RSAKey.Builder builder = new RSAKey.Builder((RSAPublicKey) readPublicKey(publicKey, "RSA"));
+				if (privateKey != null) {
+					builder.privateKey((RSAPrivateKey) readPrivateKey(privateKey, "RSA"));
+				}
+				return withKeyId(builder.algorithm(algorithm), kid).build();
+			}
+			if (JWSAlgorithm.ES256.equals(algorithm)) {
+				ECKey.Builder builder = new ECKey.Builder(Curve.P_256, (ECPublicKey) readPublicKey(publicKey, "EC"));
+				if (privateKey != null) {
+					builder.privateKey((ECPrivateKey) readPrivateKey(privateKey, "EC"));
+				}
+				return withKeyId(builder.algorithm(algorithm), kid).build();
+			}
+			if (JWSAlgorithm.EdDSA.equals(algorithm)) {
+				byte[] encodedPublicKey = readPublicKey(publicKey, "Ed25519").getEncoded();
+				byte[] x = Arrays.copyOfRange(encodedPublicKey, encodedPublicKey.length - ED25519_KEY_LENGTH,
+						encodedPublicKey.length);
+				OctetKeyPair.Builder builder = new OctetKeyPair.Builder(Curve.Ed25519, Base64URL.encode(x));
+				if (privateKey != null) {
+					byte[] d = ((EdECPrivateKey) readPrivateKey(privateKey, "Ed25519")).getBytes()
+							.orElseThrow(() -> new IllegalStateException("Unable to load private key"));
+					builder.d(Base64URL.encode(d));
+				}
+				return withKeyId(builder.algorithm(algorithm), kid).build();
+			}
+		} catch (JOSEException ex) {
+			throw new IllegalStateException("Unable to compute JWT key id", ex);
+		}
+		throw new IllegalStateException("Unsupported JWT algorithm: " + algorithm);
+	}
+
+	private static RSAKey.Builder withKeyId(RSAKey.Builder builder, String kid) throws JOSEException {
+		return kid == null ? builder.keyIDFromThumbprint() : builder.keyID(kid);
+	}
+
+	private static ECKey.Builder withKeyId(ECKey.Builder builder, String kid) throws JOSEException {
+		return kid == null ? builder.keyIDFromThumbprint() : builder.keyID(kid);
+	}
+
+	private static OctetKeyPair.Builder withKeyId(OctetKeyPair.Builder builder, String kid) throws JOSEException {
+		return kid == null ? builder.keyIDFromThumbprint() : builder.keyID(kid);
+	}
+
+	private static JWSVerifier verifierFor(JWK key) {
+		try {
+			return switch (key) {
+				case RSAKey rsaKey -> new RSASSAVerifier(rsaKey);
+				case ECKey ecKey -> new ECDSAVerifier(ecKey);
+				case OctetKeyPair octetKeyPair -> new Ed25519Verifier(octetKeyPair.toPublicJWK());
+				default -> throw new IllegalStateException("Unsupported JWT key type: " + key.getKeyType());
+			};
+		} catch (JOSEException ex) {
+			throw new IllegalStateException("Unable to create verifier for JWT key " + key.getKeyID(), ex);
+		}
+	}
+
+	private static PublicKey readPublicKey(Resource resource, String keyAlgorithm) {
+		byte[] keyBytes = readPem(resource, "PUBLIC KEY");
+		try {
+			return KeyFactory.getInstance(keyAlgorithm).generatePublic(new X509EncodedKeySpec(keyBytes));
+		} catch (Exception ex) {
+			throw new IllegalStateException("Unable to load public key", ex);
+		}
+	}
+
+	private static PrivateKey readPrivateKey(Resource resource, String keyAlgorithm) {
+		byte[] keyBytes = readPem(resource, "PRIVATE KEY");
+		try {
+			return KeyFactory.getInstance(keyAlgorithm).generatePrivate(new PKCS8EncodedKeySpec(keyBytes));
+		} catch (Exception ex) {
+			throw new IllegalStateException("Unable to load private key", ex);
+		}
+	}
+
+	private static byte[] readPem(Resource resource, String type) {
+		try {
+			String pem = resource.getContentAsString(StandardCharsets.US_ASCII);
+			String begin = "-----BEGIN " + type + "-----";
+			String end = "-----END " + type + "-----";
+			String content = pem.replace(begin, "")
+					.replace(end, "")
+					.replaceAll("\\s", "");
+			return Base64.getDecoder().decode(content);
+		} catch (IOException ex) {
+			throw new IllegalStateException("Unable to read key", ex);
+		}
+	}
+
+	/**
+	 * Immutable view of one load, swapped atomically on reload.
+	 */
+	private record Keys(
+			String activeKeyId,
+			Map<String, JWK> byKid,
+			Map<String, JWSVerifier> verifiers,
+			JWKSet signingKeys,
+			JWKSet publicKeys) {
+
+		static Keys of(String activeKeyId, List<JWK> keys) {
+			Map<String, JWK> byKid = new TreeMap<>();
+			Map<String, JWSVerifier> verifiers = new HashMap<>();
+			List<JWK> signing = new ArrayList<>();
+			List<JWK> published = new ArrayList<>();
+			for (JWK key : keys) {
+				byKid.put(key.getKeyID(), key);
+				verifiers.put(key.getKeyID(), verifierFor(key));
+				if (key.isPrivate()) {
+					signing.add(key);
+				}
+				published.add(key.toPublicJWK());
+			}
+			return new Keys(activeKeyId, Map.copyOf(byKid), Map.copyOf(verifiers), new JWKSet(signing),
+					new JWKSet(published));
+		}
+	}
+}
@@ -0,0 +1,74 @@
+package com.samlair.trase.agent.config;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.JWSVerifier;
+import com.nimbusds.jose.proc.BadJOSEException;
+import com.nimbusds.jose.proc.BadJWSException;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jwt.EncryptedJWT;
+import com.nimbusds.jwt.JWT;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.JWTParser;
+import com.nimbusds.jwt.PlainJWT;
+import com.nimbusds.jwt.SignedJWT;
+import com.nimbusds.jwt.proc.BadJWTException;
+import com.nimbusds.jwt.proc.JWTProcessor;
+import java.text.ParseException;
+
+/**
+ * Verifies signed JWTs against {@link JwtKeyRing}, looking the key up directly by the {@code kid} header.
+ *
+ * <p>Only signature checks happen here. Expiry and other claims are validated by {@code NimbusJwtDecoder}'s
+ * validators, as with the processors its builders create.
+ */
+class KeyRingJwtProcessor implements JWTProcessor<SecurityContext> {
+
+	private final JwtKeyRing keyRing;
+
+	KeyRingJwtProcessor(JwtKeyRing keyRing) {
+		this.keyRing = keyRing;
+	}
+
+	@Override
+	public JWTClaimsSet process(String jwtString, SecurityContext context)
+			throws ParseException, BadJOSEException, JOSEException {
+		return process(JWTParser.parse(jwtString), context);
+	}
+
+	@Override
+	public JWTClaimsSet process(JWT jwt, SecurityContext context) throws BadJOSEException, JOSEException {
+		if (jwt instanceof SignedJWT signedJwt) {
+			return process(signedJwt, context);
+		}
+		throw new BadJOSEException("Only signed JWTs are accepted");
+	}
+
+	@Override
+	public JWTClaimsSet process(PlainJWT plainJwt, SecurityContext context) throws BadJOSEException {
+		throw new BadJOSEException("Unsecured (plain) JWTs are rejected");
+	}
+
+	@Override
+	public JWTClaimsSet process(EncryptedJWT encryptedJwt, SecurityContext context) throws BadJOSEException {
+		throw new BadJOSEException("Encrypted JWTs are not accepted");
+	}
+
+	@Override
+	public JWTClaimsSet process(SignedJWT signedJwt, SecurityContext context) throws BadJOSEException, JOSEException {
+		JWSHeader header = signedJwt.getHeader();
+		JWSVerifier verifier = keyRing.verifier(header.getKeyID(), header.getAlgorithm());
+		if (verifier == null) {
+			throw new BadJOSEException("Signed JWT rejected: no key for kid=" + header.getKeyID()
+					+ " alg=" + header.getAlgorithm());
+		}
+		if (!signedJwt.verify(verifier)) {
+			throw new BadJWSException("Signed JWT rejected: Invalid signature");
+		}
+		try {
+			return signedJwt.getJWTClaimsSet();
+		} catch (ParseException ex) {
+			throw new BadJWTException("Invalid JWT claims", ex);
+		}
+	}
+}
@@ -0,0 +1,127 @@
+package com.samlair.trase.agent.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * {@link DataSource} that lets at most {@code permits} connections be checked out at once.
+ *
+ * <p>With virtual threads every in-flight request can ask the pool for a connection at the same moment. Callers
+ * beyond the limit park on a fair semaphore, in arrival order, instead of all contending inside the pool; the permit
+ * is returned when the connection is closed. Waiting longer than {@code timeout} fails like a pool timeout, with an
+ * {@link SQLTransientConnectionException}.
+ */
+public class PermitLimitedDataSource extends DelegatingDataSource {
+
+	private final Semaphore permits;
+	private final int permitCount;
+	private final Duration timeout;
+	private final Timer waits;
+	private final Counter timeouts;
+
+	public PermitLimitedDataSource(DataSource target, int permits, Duration timeout, MeterRegistry meterRegistry) {
+		super(target);
+		this.permits = new Semaphore(permits, true);
+		this.permitCount = permits;
+		this.timeout = timeout;
+		this.waits = Timer.builder("jdbc.connections.permit.wait")
+				.description("Time spent waiting for a connection permit")
+				.register(meterRegistry);
+		this.timeouts = Counter.builder("jdbc.connections.permit.timeouts")
+				.description("Connection requests that gave up waiting for a permit")
+				.register(meterRegistry);
+		Gauge.builder("jdbc.connections.permit.waiting", this.permits, Semaphore::getQueueLength)
+				.description("Threads waiting for a connection permit")
+				.register(meterRegistry);
+	}
+
+	@Override
+	public Connection getConnection() throws SQLException {
+		acquire();
+		try {
+			return releasingOnClose(super.getConnection());
+		} catch (SQLException | RuntimeException ex) {
+			permits.release();
+			throw ex;
+		}
+	}
+
+	@Override
+	public Connection getConnection(String username, String password) throws SQLException {
+		acquire();
+		try {
+			return releasingOnClose(super.getConnection(username, password));
+		} catch (SQLException | RuntimeException ex) {
+			permits.release();
+			throw ex;
+		}
+	}
+
+	/**
+	 * Number of callers currently waiting for a permit.
+	 */
+	public int waitingThreads() {
+		return permits.getQueueLength();
+	}
+
+	int availablePermits() {
+		return permits.availablePermits();
+	}
+
+	private void acquire() throws SQLException {
+		long startedAt = System.nanoTime();
+		try {
+			if (!permits.tryAcquire(timeout.toNanos(), TimeUnit.NANOSECONDS)) {
+				timeouts.increment();
+				throw new SQLTransientConnectionException("Timed out after " + timeout.toMillis()
+						+ "ms waiting for one of " + permitCount + " connection permits");
+			}
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new SQLTransientConnectionException("Interrupted while waiting for a connection permit", ex);
+		} finally {
+			waits.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+		}
+	}
+
+	private Connection releasingOnClose(Connection connection) {
+		AtomicBoolean released = new AtomicBoolean();
+		return (Connection) Proxy.newProxyInstance(PermitLimitedDataSource.class.getClassLoader(),
+				new Class<?>[] {Connection.class}, (proxy, method, args) -> {
+					if ("equals".equals(method.getName()) && method.getParameterCount() == 1) {
+						return proxy == args[0];
+					}
+					if ("hashCode".equals(method.getName()) && method.getParameterCount() == 0) {
+						return System.identityHashCode(proxy);
+					}
+					if ("close".equals(method.getName()) && method.getParameterCount() == 0) {
+						try {
+							connection.close();
+						} finally {
+							if (released.compareAndSet(false, true)) {
+								permits.release();
+							}
+						}
+						return null;
+					}
+					try {
+						return method.invoke(connection, args);
+					} catch (InvocationTargetException ex) {
+						throw ex.getTargetException();
+					}
+				});
+	}
+}
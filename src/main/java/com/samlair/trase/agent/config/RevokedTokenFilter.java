@@ -1,6 +1,7 @@
 package com.samlair.trase.agent.config;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.samlair.trase.agent.service.AuthService;
 import com.samlair.trase.agent.service.TokenRevocationService;
 import com.samlair.trase.agent.web.dto.ApiErrorDto;
 import jakarta.servlet.FilterChain;
@@ -22,7 +23,8 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 /**
- * Rejects requests using revoked JWTs.
+ * Rejects requests using revoked JWTs. Short-lived tokens tied to a refresh-token session are not checked; they are
+ * invalidated by ending the session and letting them expire.
  */
 @Component
 @RequiredArgsConstructor
@@ -40,7 +42,7 @@ public class RevokedTokenFilter extends OncePerRequestFilter {
 		if (authentication instanceof JwtAuthenticationToken token) {
 			Jwt jwt = token.getToken();
 			String jti = jwt.getId();
-			if (jti != null && tokenRevocationService.isRevoked(jti)) {
+			if (jti != null && !jwt.hasClaim(AuthService.SESSION_CLAIM) && tokenRevocationService.isRevoked(jti)) {
 				log.info("Rejected revoked token for {} {}", request.getMethod(), request.getRequestURI());
 				writeUnauthorized(response, request.getRequestURI());
 				return;
@@ -28,11 +28,12 @@ public class SecurityConfig {
 				.csrf(csrf -> csrf.disable())
 				.sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
 				.authorizeHttpRequests(auth -> auth
-						.requestMatchers("/auth/login").permitAll()
+						.requestMatchers("/auth/login", "/auth/refresh", "/.well-known/jwks.json").permitAll()
 						.requestMatchers("/swagger-ui.html", "/swagger-ui/**", "/swagger-ui-extra/**", "/v3/api-docs/**")
 						.permitAll()
 						.requestMatchers("/actuator/health", "/actuator/health/**", "/actuator/info", "/healthz")
 								.permitAll()
+						.requestMatchers("/actuator/**").hasRole("ADMIN")
 						.requestMatchers(HttpMethod.GET, "/audits/**").hasRole("ADMIN")
 						.requestMatchers(HttpMethod.GET, "/agents/**", "/tasks/**", "/task/**", "/task-runs/**")
 								.hasAnyRole("ADMIN", "OPERATOR", "RUNNER", "READER")
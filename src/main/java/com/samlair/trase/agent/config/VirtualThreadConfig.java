@@ -0,0 +1,36 @@
+package com.samlair.trase.agent.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Extra wiring for {@code spring.threads.virtual.enabled=true}.
+ *
+ * <p>Spring Boot already runs Tomcat requests, {@code @Scheduled} jobs and the application task executor on virtual
+ * threads in that mode. This adds the guard virtual threads need in front of the Hikari pool: connection checkouts
+ * are capped at {@code spring.datasource.hikari.maximum-pool-size} by a {@link PermitLimitedDataSource}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadConfig {
+
+	@Bean
+	static BeanPostProcessor connectionPermitPostProcessor(ObjectProvider<MeterRegistry> meterRegistry) {
+		return new BeanPostProcessor() {
+			@Override
+			public Object postProcessAfterInitialization(Object bean, String beanName) {
+				if (bean instanceof HikariDataSource hikari) {
+					return new PermitLimitedDataSource(hikari, hikari.getMaximumPoolSize(),
+							Duration.ofMillis(hikari.getConnectionTimeout()), meterRegistry.getObject());
+				}
+				return bean;
+			}
+		};
+	}
+}
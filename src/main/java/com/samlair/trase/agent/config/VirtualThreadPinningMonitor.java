@@ -0,0 +1,108 @@
+package com.samlair.trase.agent.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedMethod;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reports virtual threads that pin their carrier thread, e.g. by blocking on JDBC inside a {@code synchronized}
+ * block.
+ *
+ * <p>Listens to the JFR {@code jdk.VirtualThreadPinned} event in-process for pins longer than
+ * {@code threads.virtual.pinning.threshold}. Each pin is timed as {@code threads.virtual.pinned{site}}, where the
+ * site is the innermost application frame. The first pin at a site is logged with its stack trace.
+ */
+@Component
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadPinningMonitor {
+
+	private static final Logger log = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+	private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+	private static final String APPLICATION_PACKAGE = "com.samlair.";
+	private static final int MAX_SITES = 100;
+	private static final int LOGGED_FRAMES = 32;
+
+	private final MeterRegistry meterRegistry;
+	private final Duration threshold;
+	private final Set<String> sites = ConcurrentHashMap.newKeySet();
+	private RecordingStream stream;
+
+	public VirtualThreadPinningMonitor(
+			MeterRegistry meterRegistry,
+			@Value("${threads.virtual.pinning.threshold:20ms}") Duration threshold) {
+		this.meterRegistry = meterRegistry;
+		this.threshold = threshold;
+	}
+
+	@PostConstruct
+	void start() {
+		try {
+			stream = new RecordingStream();
+			stream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+			stream.onEvent(PINNED_EVENT, this::onPinned);
+			stream.startAsync();
+			log.info("Watching for virtual threads pinned longer than {} ms", threshold.toMillis());
+		} catch (RuntimeException ex) {
+			log.warn("Virtual thread pinning is not monitored; JFR is unavailable", ex);
+			stream = null;
+		}
+	}
+
+	@PreDestroy
+	void stop() {
+		if (stream != null) {
+			stream.close();
+		}
+	}
+
+	/**
+	 * Records one pin. {@code frames} are innermost first, formatted as {@code Class.method:line}.
+	 */
+	void recordPinned(Duration duration, List<String> frames) {
+		String site = frames.stream()
+				.filter(frame -> frame.startsWith(APPLICATION_PACKAGE))
+				.findFirst()
+				.orElse(frames.isEmpty() ? "unknown" : frames.getFirst());
+		boolean firstAtSite = !sites.contains(site) && sites.size() < MAX_SITES && sites.add(site);
+		Timer.builder("threads.virtual.pinned")
+				.description("Time virtual threads kept their carrier thread pinned")
+				.tag("site", sites.contains(site) ? site : "other")
+				.register(meterRegistry)
+				.record(duration);
+		if (firstAtSite) {
+			log.warn("Virtual thread pinned its carrier for {} ms at {}\n\tat {}", duration.toMillis(), site,
+					String.join("\n\tat ", frames.subList(0, Math.min(frames.size(), LOGGED_FRAMES))));
+		}
+	}
+
+	private void onPinned(RecordedEvent event) {
+		RecordedStackTrace stackTrace = event.getStackTrace();
+		List<String> frames = stackTrace == null ? List.of() : stackTrace.getFrames().stream()
+				.map(VirtualThreadPinningMonitor::describe)
+				.toList();
+		recordPinned(event.getDuration(), frames);
+	}
+
+	private static String describe(RecordedFrame frame) {
+		RecordedMethod method = frame.getMethod();
+		if (method == null) {
+			return "unknown";
+		}
+		return method.getType().getName() + "." + method.getName() + ":" + frame.getLineNumber();
+	}
+}
@@ -0,0 +1,10 @@
+package com.samlair.trase.agent.domain.enumeration;
+
+/**
+ * Audited resource types, one per audit table.
+ */
+public enum AuditKind {
+	AGENT,
+	TASK,
+	TASK_RUN
+}
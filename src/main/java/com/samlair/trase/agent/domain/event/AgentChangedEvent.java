@@ -0,0 +1,9 @@
+package com.samlair.trase.agent.domain.event;
+
+/**
+ * Published when an agent is created or updated.
+ *
+ * @param agentId changed agent id.
+ */
+public record AgentChangedEvent(long agentId) {
+}
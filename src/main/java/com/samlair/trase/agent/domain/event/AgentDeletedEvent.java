@@ -0,0 +1,9 @@
+package com.samlair.trase.agent.domain.event;
+
+/**
+ * Published when an agent is soft deleted.
+ *
+ * @param agentId deleted agent id.
+ */
+public record AgentDeletedEvent(long agentId) {
+}
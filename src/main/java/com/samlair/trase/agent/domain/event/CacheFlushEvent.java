@@ -0,0 +1,7 @@
+package com.samlair.trase.agent.domain.event;
+
+/**
+ * Published when node-local caches may have missed invalidations and must drop every entry.
+ */
+public record CacheFlushEvent() {
+}
@@ -0,0 +1,9 @@
+package com.samlair.trase.agent.domain.event;
+
+/**
+ * Published when a task is created, updated, or deleted.
+ *
+ * @param taskId changed task id.
+ */
+public record TaskChangedEvent(long taskId) {
+}
@@ -0,0 +1,12 @@
+package com.samlair.trase.agent.domain.event;
+
+import java.time.Instant;
+
+/**
+ * Published when an access token is revoked.
+ *
+ * @param jti revoked token id.
+ * @param expiresAt token expiry; the revocation is irrelevant afterwards.
+ */
+public record TokenRevokedEvent(String jti, Instant expiresAt) {
+}
@@ -0,0 +1,20 @@
+package com.samlair.trase.agent.domain.exception;
+
+import java.time.Duration;
+
+/**
+ * Thrown when the server is temporarily out of capacity. Clients should retry after {@link #getRetryAfter()}.
+ */
+public class ServiceUnavailableException extends TraseAgentException {
+
+	private final Duration retryAfter;
+
+	public ServiceUnavailableException(String message, Duration retryAfter) {
+		super(message);
+		this.retryAfter = retryAfter;
+	}
+
+	public Duration getRetryAfter() {
+		return retryAfter;
+	}
+}
@@ -0,0 +1,77 @@
+package com.samlair.trase.agent.domain.model;
+
+import com.samlair.trase.agent.domain.exception.BadRequestException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Keyset position in an audit listing, exchanged with clients as an opaque token.
+ *
+ * @param direction whether the next page holds older ({@code BEFORE}) or newer ({@code AFTER}) ids.
+ * @param id id the next page starts after, exclusive.
+ */
+public record AuditCursor(Direction direction, long id) {
+
+	/**
+	 * Keyset scan direction.
+	 */
+	public enum Direction {
+		BEFORE,
+		AFTER
+	}
+
+	/**
+	 * Returns a cursor for rows with {@code id < beforeId}, newest first.
+	 *
+	 * @param id exclusive upper bound.
+	 * @return cursor.
+	 */
+	public static AuditCursor before(long id) {
+		return new AuditCursor(Direction.BEFORE, id);
+	}
+
+	/**
+	 * Returns a cursor for rows with {@code id > afterId}, oldest first.
+	 *
+	 * @param id exclusive lower bound.
+	 * @return cursor.
+	 */
+	public static AuditCursor after(long id) {
+		return new AuditCursor(Direction.AFTER, id);
+	}
+
+	/**
+	 * Encodes the cursor as a URL-safe token.
+	 *
+	 * @return opaque token.
+	 */
+	public String encode() {
+		String raw = (direction == Direction.BEFORE ? "b:" : "a:") + id;
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Decodes a token produced by {@link #encode()}.
+	 *
+	 * @param token opaque token.
+	 * @return cursor.
+	 * @throws BadRequestException when the token is malformed.
+	 */
+	public static AuditCursor decode(String token) {
+		String raw;
+		long id;
+		try {
+			raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+			id = Long.parseLong(raw.substring(2));
+		} catch (IllegalArgumentException | IndexOutOfBoundsException ex) {
+			throw new BadRequestException("Invalid cursor");
+		}
+		if (raw.startsWith("b:")) {
+			return before(id);
+		}
+		if (raw.startsWith("a:")) {
+			return after(id);
+		}
+		throw new BadRequestException("Invalid cursor");
+	}
+}
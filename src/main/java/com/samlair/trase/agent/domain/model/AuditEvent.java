@@ -0,0 +1,29 @@
+package com.samlair.trase.agent.domain.model;
+
+import com.samlair.trase.agent.domain.enumeration.AuditAction;
+import com.samlair.trase.agent.domain.enumeration.AuditKind;
+import java.time.Instant;
+
+/**
+ * Audit event captured on the request thread, independent of the table it is written to.
+ *
+ * @param kind audited resource type.
+ * @param entityId audited resource id.
+ * @param action audit action.
+ * @param status task run status, only set for task run events.
+ * @param actorUserId authenticated user id, if any.
+ * @param actorUsername authenticated username, if any.
+ * @param requestId request correlation id, if any.
+ * @param occurredAt time the action happened.
+ */
+public record AuditEvent(
+		AuditKind kind,
+		long entityId,
+		AuditAction action,
+		String status,
+		Long actorUserId,
+		String actorUsername,
+		String requestId,
+		Instant occurredAt
+) {
+}
@@ -0,0 +1,39 @@
+package com.samlair.trase.agent.domain.model;
+
+import com.samlair.trase.agent.domain.enumeration.AuditAction;
+import java.time.Instant;
+
+/**
+ * Optional predicates for audit listings. {@code null} components are not applied.
+ *
+ * @param entityId audited agent, task, or task run id.
+ * @param actorUserId authenticated user id.
+ * @param requestId request correlation id.
+ * @param action audit action.
+ * @param occurredFrom inclusive lower bound of {@code occurred_at}.
+ * @param occurredTo exclusive upper bound of {@code occurred_at}.
+ */
+public record AuditFilter(
+		Long entityId,
+		Long actorUserId,
+		String requestId,
+		AuditAction action,
+		Instant occurredFrom,
+		Instant occurredTo
+) {
+
+	/**
+	 * Filter that matches every row.
+	 */
+	public static final AuditFilter NONE = new AuditFilter(null, null, null, null, null, null);
+
+	/**
+	 * Returns whether no predicate is set.
+	 *
+	 * @return {@code true} when the filter matches every row.
+	 */
+	public boolean isEmpty() {
+		return entityId == null && actorUserId == null && requestId == null && action == null
+				&& occurredFrom == null && occurredTo == null;
+	}
+}
@@ -0,0 +1,13 @@
+package com.samlair.trase.agent.domain.model;
+
+import java.util.List;
+
+/**
+ * One page of a keyset listing.
+ *
+ * @param items page content.
+ * @param nextCursor cursor for the following page, or {@code null} when this is the last page.
+ * @param <T> item type.
+ */
+public record CursorPage<T>(List<T> items, AuditCursor nextCursor) {
+}
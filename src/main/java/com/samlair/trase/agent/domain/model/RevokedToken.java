@@ -0,0 +1,12 @@
+package com.samlair.trase.agent.domain.model;
+
+import java.time.Instant;
+
+/**
+ * Revoked token id and the time after which the revocation no longer matters.
+ *
+ * @param jti revoked token id.
+ * @param expiresAt token expiry.
+ */
+public record RevokedToken(String jti, Instant expiresAt) {
+}
@@ -0,0 +1,14 @@
+package com.samlair.trase.agent.domain.model;
+
+import java.util.List;
+
+/**
+ * Detached snapshot of an enabled user's login data.
+ *
+ * @param id user id.
+ * @param username username.
+ * @param passwordHash encoded password.
+ * @param roles sorted role names.
+ */
+public record UserCredentials(long id, String username, String passwordHash, List<String> roles) {
+}
@@ -0,0 +1,13 @@
+package com.samlair.trase.agent.domain.model;
+
+import java.time.Instant;
+
+/**
+ * A response body together with the {@code updated_at} of the row it was built from.
+ *
+ * @param body response body.
+ * @param updatedAt last modification time of the row when the body was loaded.
+ * @param <T> body type.
+ */
+public record Versioned<T>(T body, Instant updatedAt) {
+}
@@ -1,10 +1,32 @@
 package com.samlair.trase.agent.rdbms.dao;
 
 import com.samlair.trase.agent.rdbms.entity.AgentAuditEntity;
+import com.samlair.trase.agent.web.dto.AgentAuditResponseDto;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 /**
  * Data access layer for agent audit records.
  */
-public interface AgentAuditDao extends JpaRepository<AgentAuditEntity, Long> {
+public interface AgentAuditDao extends JpaRepository<AgentAuditEntity, Long>, AgentAuditDaoCustom {
+
+	/**
+	 * Selects listing columns straight into the response record.
+	 */
+	String RESPONSE_SELECT = "select new com.samlair.trase.agent.web.dto.AgentAuditResponseDto("
+			+ "a.id, a.agentId, a.action, a.actorUserId, a.actorUsername, a.requestId, a.occurredAt) "
+			+ "from AgentAuditEntity a";
+
+	@Query(RESPONSE_SELECT)
+	Slice<AgentAuditResponseDto> findResponses(Pageable pageable);
+
+	@Query(RESPONSE_SELECT + " where a.id < :id order by a.id desc")
+	List<AgentAuditResponseDto> findResponsesBefore(@Param("id") Long id, Pageable pageable);
+
+	@Query(RESPONSE_SELECT + " where a.id > :id order by a.id")
+	List<AgentAuditResponseDto> findResponsesAfter(@Param("id") Long id, Pageable pageable);
 }
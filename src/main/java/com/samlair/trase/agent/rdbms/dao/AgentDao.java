@@ -1,26 +1,41 @@
 package com.samlair.trase.agent.rdbms.dao;
 
 import com.samlair.trase.agent.rdbms.entity.AgentEntity;
+import com.samlair.trase.agent.web.dto.AgentResponseDto;
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 /**
  * Data access layer for agents.
  */
-public interface AgentDao extends JpaRepository<AgentEntity, Long> {
+public interface AgentDao extends JpaRepository<AgentEntity, Long>, AgentDaoCustom {
+
+	/**
+	 * JPQL constructor projection for the agent listing; rows are never attached to the persistence context.
+	 */
+	String RESPONSE_SELECT = "select new com.samlair.trase.agent.web.dto.AgentResponseDto(a.id, a.name, a.description)"
+			+ " from AgentEntity a";
 
 	List<AgentEntity> findAllByDeletedAtIsNull();
 
-	Slice<AgentEntity> findAllByDeletedAtIsNull(Pageable pageable);
+	@Query(RESPONSE_SELECT + " where a.deletedAt is null")
+	Slice<AgentResponseDto> findActiveResponses(Pageable pageable);
 
-	List<AgentEntity> findAllByDeletedAtIsNullAndIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+	@Query(RESPONSE_SELECT + " where a.deletedAt is null and a.id > :id order by a.id")
+	List<AgentResponseDto> findActiveResponsesAfterId(@Param("id") Long id, Pageable pageable);
 
 	Optional<AgentEntity> findByIdAndDeletedAtIsNull(Long id);
 
+	@Query("select a.updatedAt from AgentEntity a where a.id = :id and a.deletedAt is null")
+	Optional<Instant> findActiveUpdatedAt(@Param("id") long id);
+
 	List<AgentEntity> findAllByIdInAndDeletedAtIsNull(Set<Long> ids);
 
 	boolean existsByNameAndDeletedAtIsNull(String name);
@@ -0,0 +1,49 @@
+package com.samlair.trase.agent.rdbms.dao;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Hand-written agent queries that do not fit Spring Data derived queries.
+ */
+public interface AgentDaoCustom {
+
+	/**
+	 * Resolves which of the given ids belong to active agents in a single round trip.
+	 *
+	 * @param ids candidate agent ids.
+	 * @return subset of {@code ids} that exist and are not soft deleted.
+	 */
+	Set<Long> findActiveIds(Collection<Long> ids);
+
+	/**
+	 * Returns which of the given names are already used by active agents, probing
+	 * {@code idx_agents_name_active_unique} in a single round trip.
+	 *
+	 * @param names candidate names.
+	 * @return subset of {@code names} held by active agents.
+	 */
+	Set<String> findActiveNames(Collection<String> names);
+
+	/**
+	 * Inserts agents in one {@code INSERT ... ON CONFLICT DO NOTHING RETURNING} statement. Rows whose name is taken by
+	 * an active agent, including one committed concurrently, are skipped instead of failing the statement.
+	 *
+	 * @param agents agent values with distinct names.
+	 * @param now timestamp applied to {@code created_at} and {@code updated_at}.
+	 * @return generated id by name for the rows that were inserted.
+	 */
+	Map<String, Long> insertIgnoringDuplicateNames(List<AgentValues> agents, Instant now);
+
+	/**
+	 * Agent column values written by bulk statements.
+	 *
+	 * @param name agent name.
+	 * @param description agent description.
+	 */
+	record AgentValues(String name, String description) {
+	}
+}
@@ -0,0 +1,38 @@
+package com.samlair.trase.agent.rdbms.dao;
+
+import com.samlair.trase.agent.domain.enumeration.AuditAction;
+import com.samlair.trase.agent.domain.model.AuditFilter;
+import java.time.Instant;
+import java.util.function.Consumer;
+
+/**
+ * Bulk export reads for an audit table.
+ */
+public interface AuditExportDaoCustom {
+
+	/**
+	 * Streams matching audit rows in ascending id order through a forward-only server-side cursor. Must run inside a
+	 * transaction so the driver honours the fetch size instead of buffering the full result.
+	 *
+	 * @param filter predicates to apply.
+	 * @param fetchSize rows fetched per round trip.
+	 * @param action callback invoked once per row.
+	 */
+	void streamAudits(AuditFilter filter, int fetchSize, Consumer<AuditRow> action);
+
+	/**
+	 * Flat audit row read without entity materialization.
+	 *
+	 * @param id audit identifier.
+	 * @param entityId audited agent, task, or task run id.
+	 * @param action audit action.
+	 * @param status task run status, or {@code null} for other audit tables.
+	 * @param actorUserId authenticated user id.
+	 * @param actorUsername authenticated username.
+	 * @param requestId request correlation id.
+	 * @param occurredAt timestamp of the action.
+	 */
+	record AuditRow(long id, long entityId, AuditAction action, String status, Long actorUserId, String actorUsername,
+			String requestId, Instant occurredAt) {
+	}
+}
@@ -0,0 +1,10 @@
+package com.samlair.trase.agent.rdbms.dao;
+
+import com.samlair.trase.agent.rdbms.entity.AuditOutboxEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+/**
+ * Data access layer for the audit outbox.
+ */
+public interface AuditOutboxDao extends JpaRepository<AuditOutboxEntity, Long>, AuditOutboxDaoCustom {
+}
@@ -0,0 +1,35 @@
+package com.samlair.trase.agent.rdbms.dao;
+
+import com.samlair.trase.agent.domain.model.AuditEvent;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Hand-written audit outbox statements.
+ */
+public interface AuditOutboxDaoCustom {
+
+	/**
+	 * Appends events to the outbox using JDBC batching.
+	 *
+	 * @param events events to append.
+	 */
+	void insertAll(List<AuditEvent> events);
+
+	/**
+	 * Deletes and returns up to {@code limit} of the oldest events. Rows locked by a concurrent relay are skipped,
+	 * so the deletion only becomes final when the caller's transaction commits.
+	 *
+	 * @param limit maximum number of events to claim.
+	 * @return claimed events in outbox order.
+	 */
+	List<AuditEvent> claimBatch(int limit);
+
+	/**
+	 * Returns the occurrence time of the oldest pending event.
+	 *
+	 * @return oldest pending occurrence time, empty when the outbox is empty.
+	 */
+	Optional<Instant> findOldestOccurredAt();
+}
@@ -0,0 +1,32 @@
+package com.samlair.trase.agent.rdbms.dao;
+
+import java.time.YearMonth;
+import java.util.List;
+
+/**
+ * Monthly partition management for a range-partitioned audit table. Months are UTC calendar months.
+ */
+public interface AuditPartitionDaoCustom {
+
+	/**
+	 * Lists the attached monthly partitions. The default partition is not included.
+	 *
+	 * @return partition months in ascending order.
+	 */
+	List<YearMonth> findMonthlyPartitions();
+
+	/**
+	 * Creates the partition for a month if it does not exist yet.
+	 *
+	 * @param month partition month.
+	 */
+	void createMonthlyPartition(YearMonth month);
+
+	/**
+	 * Detaches the partition for a month and optionally drops it.
+	 *
+	 * @param month partition month.
+	 * @param drop whether to drop the detached table.
+	 */
+	void detachMonthlyPartition(YearMonth month, boolean drop);
+}
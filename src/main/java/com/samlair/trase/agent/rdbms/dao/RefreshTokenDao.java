@@ -0,0 +1,35 @@
+package com.samlair.trase.agent.rdbms.dao;
+
+import com.samlair.trase.agent.rdbms.entity.RefreshTokenEntity;
+import java.time.Instant;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+/**
+ * Data access layer for refresh-token sessions.
+ */
+public interface RefreshTokenDao extends JpaRepository<RefreshTokenEntity, Long> {
+
+	Optional<RefreshTokenEntity> findByTokenHash(String tokenHash);
+
+	/**
+	 * Replaces the token hash of a live session, but only if the caller presented the current hash. Concurrent
+	 * refreshes with the same token therefore succeed at most once.
+	 *
+	 * @return number of rows updated (0 or 1).
+	 */
+	@Modifying
+	@Query("update RefreshTokenEntity r set r.tokenHash = :next where r.id = :id and r.tokenHash = :current"
+			+ " and r.revokedAt is null and r.expiresAt > :now")
+	int rotate(@Param("id") long id, @Param("current") String current, @Param("next") String next,
+			@Param("now") Instant now);
+
+	@Modifying
+	@Query("update RefreshTokenEntity r set r.revokedAt = :now where r.id = :id and r.revokedAt is null")
+	int revoke(@Param("id") long id, @Param("now") Instant now);
+
+	int deleteByExpiresAtBefore(Instant cutoff);
+}
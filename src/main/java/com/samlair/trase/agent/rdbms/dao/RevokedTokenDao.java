@@ -1,15 +1,31 @@
 package com.samlair.trase.agent.rdbms.dao;
 
+import com.samlair.trase.agent.domain.model.RevokedToken;
 import com.samlair.trase.agent.rdbms.entity.RevokedTokenEntity;
 import java.time.Instant;
+import java.util.List;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 /**
  * Data access layer for revoked tokens.
  */
 public interface RevokedTokenDao extends JpaRepository<RevokedTokenEntity, Long> {
 
+	/**
+	 * JPQL constructor projection for loading the in-memory revocation set.
+	 */
+	String ROW_SELECT = "select new com.samlair.trase.agent.domain.model.RevokedToken(r.jti, r.expiresAt)"
+			+ " from RevokedTokenEntity r";
+
 	boolean existsByJti(String jti);
 
 	int deleteByExpiresAtBefore(Instant cutoff);
+
+	@Query(ROW_SELECT + " where r.expiresAt > :now")
+	List<RevokedToken> findUnexpired(@Param("now") Instant now);
+
+	@Query(ROW_SELECT + " where r.revokedAt > :since and r.expiresAt > :now")
+	List<RevokedToken> findUnexpiredRevokedAfter(@Param("since") Instant since, @Param("now") Instant now);
 }
@@ -1,10 +1,32 @@
 package com.samlair.trase.agent.rdbms.dao;
 
 import com.samlair.trase.agent.rdbms.entity.TaskAuditEntity;
+import com.samlair.trase.agent.web.dto.TaskAuditResponseDto;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 /**
  * Data access layer for task audit records.
  */
-public interface TaskAuditDao extends JpaRepository<TaskAuditEntity, Long> {
+public interface TaskAuditDao extends JpaRepository<TaskAuditEntity, Long>, TaskAuditDaoCustom {
+
+	/**
+	 * Selects listing columns straight into the response record.
+	 */
+	String RESPONSE_SELECT = "select new com.samlair.trase.agent.web.dto.TaskAuditResponseDto("
+			+ "a.id, a.taskId, a.action, a.actorUserId, a.actorUsername, a.requestId, a.occurredAt) "
+			+ "from TaskAuditEntity a";
+
+	@Query(RESPONSE_SELECT)
+	Slice<TaskAuditResponseDto> findResponses(Pageable pageable);
+
+	@Query(RESPONSE_SELECT + " where a.id < :id order by a.id desc")
+	List<TaskAuditResponseDto> findResponsesBefore(@Param("id") Long id, Pageable pageable);
+
+	@Query(RESPONSE_SELECT + " where a.id > :id order by a.id")
+	List<TaskAuditResponseDto> findResponsesAfter(@Param("id") Long id, Pageable pageable);
 }
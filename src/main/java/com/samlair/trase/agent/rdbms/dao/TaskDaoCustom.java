@@ -0,0 +1,108 @@
+package com.samlair.trase.agent.rdbms.dao;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import org.springframework.data.domain.Pageable;
+
+/**
+ * Hand-written task queries that do not fit Spring Data derived queries.
+ */
+public interface TaskDaoCustom {
+
+	/**
+	 * Resolves task/agent eligibility for many pairs in a single round trip.
+	 *
+	 * @param pairs distinct task/agent pairs to check.
+	 * @return one eligibility row per requested pair.
+	 */
+	List<TaskAgentEligibility> findTaskAgentEligibility(Collection<TaskAgentPair> pairs);
+
+	/**
+	 * Lists active tasks with their supported agent ids aggregated into an array, in a single round trip and without
+	 * loading agent entities.
+	 *
+	 * @param pageable offset page and sort; sort properties are limited to {@code id}, {@code title},
+	 * {@code description}, {@code createdAt} and {@code updatedAt}. Ignored except for the page size when
+	 * {@code afterId} is set.
+	 * @param afterId optional exclusive keyset bound; rows are then ordered by id.
+	 * @return task rows in page order.
+	 */
+	List<TaskListRow> findActiveTaskRows(Pageable pageable, Long afterId);
+
+	/**
+	 * Resolves which of the given ids belong to active tasks in a single round trip.
+	 *
+	 * @param ids candidate task ids.
+	 * @return subset of {@code ids} that exist and are not soft deleted.
+	 */
+	Set<Long> findActiveIds(Collection<Long> ids);
+
+	/**
+	 * Inserts tasks using JDBC batching. {@link TaskValues#id()} is ignored.
+	 *
+	 * @param tasks task values to insert.
+	 * @param now timestamp applied to {@code created_at} and {@code updated_at}.
+	 * @return generated task ids in the same order as {@code tasks}.
+	 */
+	List<Long> insertAll(List<TaskValues> tasks, Instant now);
+
+	/**
+	 * Updates title and description of active tasks using JDBC batching.
+	 *
+	 * @param tasks task values keyed by {@link TaskValues#id()}.
+	 * @param now timestamp applied to {@code updated_at}.
+	 * @return ids of the tasks that were updated; tasks soft deleted in the meantime are left out.
+	 */
+	Set<Long> updateAll(List<TaskValues> tasks, Instant now);
+
+	/**
+	 * Replaces the supported agent links of the given tasks with one delete and a batched insert.
+	 *
+	 * @param taskIds tasks whose existing links are removed.
+	 * @param links task/agent links to insert.
+	 */
+	void replaceSupportedAgents(Collection<Long> taskIds, List<TaskAgentPair> links);
+
+	/**
+	 * Task/agent identifier pair.
+	 *
+	 * @param taskId task identifier.
+	 * @param agentId agent identifier.
+	 */
+	record TaskAgentPair(long taskId, long agentId) {
+	}
+
+	/**
+	 * Eligibility of a task/agent pair for starting a run.
+	 *
+	 * @param pair task/agent pair.
+	 * @param taskActive whether the task exists and is not soft deleted.
+	 * @param agentActive whether the agent exists and is not soft deleted.
+	 * @param supported whether the agent is linked to the task in {@code task_supported_agents}.
+	 */
+	record TaskAgentEligibility(TaskAgentPair pair, boolean taskActive, boolean agentActive, boolean supported) {
+	}
+
+	/**
+	 * Flat task row with its supported agent ids.
+	 *
+	 * @param id task identifier.
+	 * @param title task title.
+	 * @param description task description.
+	 * @param supportedAgentIds ids linked through {@code task_supported_agents}.
+	 */
+	record TaskListRow(long id, String title, String description, Set<Long> supportedAgentIds) {
+	}
+
+	/**
+	 * Task column values written by bulk statements.
+	 *
+	 * @param id task identifier, or {@code null} for inserts.
+	 * @param title task title.
+	 * @param description task description.
+	 */
+	record TaskValues(Long id, String title, String description) {
+	}
+}
@@ -1,10 +1,32 @@
 package com.samlair.trase.agent.rdbms.dao;
 
 import com.samlair.trase.agent.rdbms.entity.TaskRunAuditEntity;
+import com.samlair.trase.agent.web.dto.TaskRunAuditResponseDto;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 /**
  * Data access layer for task run audit records.
  */
-public interface TaskRunAuditDao extends JpaRepository<TaskRunAuditEntity, Long> {
+public interface TaskRunAuditDao extends JpaRepository<TaskRunAuditEntity, Long>, TaskRunAuditDaoCustom {
+
+	/**
+	 * Selects listing columns straight into the response record.
+	 */
+	String RESPONSE_SELECT = "select new com.samlair.trase.agent.web.dto.TaskRunAuditResponseDto("
+			+ "a.id, a.taskRunId, a.action, a.status, a.actorUserId, a.actorUsername, a.requestId, a.occurredAt) "
+			+ "from TaskRunAuditEntity a";
+
+	@Query(RESPONSE_SELECT)
+	Slice<TaskRunAuditResponseDto> findResponses(Pageable pageable);
+
+	@Query(RESPONSE_SELECT + " where a.id < :id order by a.id desc")
+	List<TaskRunAuditResponseDto> findResponsesBefore(@Param("id") Long id, Pageable pageable);
+
+	@Query(RESPONSE_SELECT + " where a.id > :id order by a.id")
+	List<TaskRunAuditResponseDto> findResponsesAfter(@Param("id") Long id, Pageable pageable);
 }
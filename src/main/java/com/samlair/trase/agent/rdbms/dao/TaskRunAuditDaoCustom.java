@@ -0,0 +1,31 @@
+package com.samlair.trase.agent.rdbms.dao;
+
+import com.samlair.trase.agent.rdbms.entity.TaskRunAuditEntity;
+import com.samlair.trase.agent.web.dto.TaskRunAuditResponseDto;
+import com.samlair.trase.agent.domain.model.AuditCursor;
+import com.samlair.trase.agent.domain.model.AuditFilter;
+import java.util.List;
+
+/**
+ * Hand-written task run audit statements that bypass entity persistence.
+ */
+public interface TaskRunAuditDaoCustom extends AuditPartitionDaoCustom, AuditExportDaoCustom {
+
+	/**
+	 * Inserts audit rows using JDBC batching. Generated ids are not read back.
+	 *
+	 * @param audits audit rows to insert.
+	 */
+	void insertAll(List<TaskRunAuditEntity> audits);
+
+	/**
+	 * Lists audit rows matching a filter in id order, starting after an exclusive keyset bound.
+	 *
+	 * @param filter predicates to apply.
+	 * @param direction {@code BEFORE} for newest first, {@code AFTER} for oldest first.
+	 * @param fromId exclusive id bound, or {@code null} to start at the newest/oldest row.
+	 * @param limit maximum number of rows.
+	 * @return matching rows.
+	 */
+	List<TaskRunAuditResponseDto> findFiltered(AuditFilter filter, AuditCursor.Direction direction, Long fromId, int limit);
+}
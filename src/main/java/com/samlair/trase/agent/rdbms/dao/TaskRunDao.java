@@ -2,22 +2,37 @@ package com.samlair.trase.agent.rdbms.dao;
 
 import com.samlair.trase.agent.domain.enumeration.TaskRunStatus;
 import com.samlair.trase.agent.rdbms.entity.TaskRunEntity;
+import com.samlair.trase.agent.web.dto.TaskRunResponseDto;
 import java.util.List;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 /**
  * Data access layer for task runs.
  */
-public interface TaskRunDao extends JpaRepository<TaskRunEntity, Long> {
+public interface TaskRunDao extends JpaRepository<TaskRunEntity, Long>, TaskRunDaoCustom {
+
+	/**
+	 * Constructor projection for read-only listings; reads the task and agent foreign keys without joining.
+	 */
+	String RESPONSE_SELECT = "select new com.samlair.trase.agent.web.dto.TaskRunResponseDto("
+			+ "r.id, r.task.id, r.agent.id, r.status, r.startedAt, r.completedAt) from TaskRunEntity r";
+
 	List<TaskRunEntity> findByStatus(TaskRunStatus status);
 
-	Slice<TaskRunEntity> findByStatus(TaskRunStatus status, Pageable pageable);
+	@Query(RESPONSE_SELECT)
+	Slice<TaskRunResponseDto> findResponses(Pageable pageable);
 
-	Slice<TaskRunEntity> findAllBy(Pageable pageable);
+	@Query(RESPONSE_SELECT + " where r.status = :status")
+	Slice<TaskRunResponseDto> findResponsesByStatus(@Param("status") TaskRunStatus status, Pageable pageable);
 
-	List<TaskRunEntity> findAllByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+	@Query(RESPONSE_SELECT + " where r.id > :id order by r.id")
+	List<TaskRunResponseDto> findResponsesAfterId(@Param("id") Long id, Pageable pageable);
 
-	List<TaskRunEntity> findByStatusAndIdGreaterThanOrderByIdAsc(TaskRunStatus status, Long id, Pageable pageable);
+	@Query(RESPONSE_SELECT + " where r.status = :status and r.id > :id order by r.id")
+	List<TaskRunResponseDto> findResponsesByStatusAfterId(@Param("status") TaskRunStatus status, @Param("id") Long id,
+			Pageable pageable);
 }
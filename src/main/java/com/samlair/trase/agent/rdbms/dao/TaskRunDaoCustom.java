@@ -0,0 +1,47 @@
+package com.samlair.trase.agent.rdbms.dao;
+
+import com.samlair.trase.agent.domain.enumeration.TaskRunStatus;
+import com.samlair.trase.agent.rdbms.dao.TaskDaoCustom.TaskAgentPair;
+import java.time.Instant;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Hand-written task run statements that bypass entity persistence.
+ */
+public interface TaskRunDaoCustom {
+
+	/**
+	 * Inserts {@code RUNNING} task runs using JDBC batching.
+	 *
+	 * @param pairs task/agent pairs to start, one run per entry.
+	 * @param startedAt start timestamp applied to every run.
+	 * @return generated run ids in the same order as {@code pairs}.
+	 */
+	List<Long> insertRunning(List<TaskAgentPair> pairs, Instant startedAt);
+
+	/**
+	 * Streams task runs in id order through a forward-only server-side cursor. Must run inside a transaction so the
+	 * driver honours the fetch size instead of buffering the full result.
+	 *
+	 * @param status optional status filter.
+	 * @param afterId optional exclusive lower id bound.
+	 * @param fetchSize rows fetched per round trip.
+	 * @param action callback invoked once per row.
+	 */
+	void streamTaskRuns(TaskRunStatus status, Long afterId, int fetchSize, Consumer<TaskRunRow> action);
+
+	/**
+	 * Flat task run row read without entity materialization.
+	 *
+	 * @param id task run identifier.
+	 * @param taskId task identifier.
+	 * @param agentId agent identifier.
+	 * @param status run status.
+	 * @param startedAt start timestamp.
+	 * @param completedAt completion timestamp, or {@code null}.
+	 */
+	record TaskRunRow(long id, long taskId, long agentId, TaskRunStatus status, Instant startedAt,
+			Instant completedAt) {
+	}
+}
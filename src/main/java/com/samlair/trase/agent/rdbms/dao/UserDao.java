@@ -3,6 +3,10 @@ package com.samlair.trase.agent.rdbms.dao;
 import com.samlair.trase.agent.rdbms.entity.UserEntity;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 /**
  * Data access layer for users.
@@ -12,4 +16,9 @@ public interface UserDao extends JpaRepository<UserEntity, Long> {
 	Optional<UserEntity> findByUsername(String username);
 
 	Optional<UserEntity> findByUsernameAndEnabledTrue(String username);
+
+	@Transactional
+	@Modifying
+	@Query("update UserEntity u set u.passwordHash = :passwordHash where u.id = :id")
+	int updatePasswordHash(@Param("id") long id, @Param("passwordHash") String passwordHash);
 }
@@ -0,0 +1,81 @@
+package com.samlair.trase.agent.rdbms.dao.impl;
+
+import com.samlair.trase.agent.domain.enumeration.AuditAction;
+import com.samlair.trase.agent.domain.model.AuditCursor;
+import com.samlair.trase.agent.domain.model.AuditFilter;
+import com.samlair.trase.agent.rdbms.dao.AgentAuditDaoCustom;
+import com.samlair.trase.agent.rdbms.entity.AgentAuditEntity;
+import com.samlair.trase.agent.web.dto.AgentAuditResponseDto;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.function.Consumer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+/**
+ * JDBC implementation of {@link AgentAuditDaoCustom}.
+ */
+@RequiredArgsConstructor
+public class AgentAuditDaoCustomImpl implements AgentAuditDaoCustom {
+
+	private static final String INSERT_SQL = "INSERT INTO agents_audit "
+			+ "(agent_id, action, actor_user_id, actor_username, request_id, occurred_at) "
+			+ "VALUES (?, ?, ?, ?, ?, ?)";
+
+	private static final RowMapper<AgentAuditResponseDto> ROW_MAPPER = (rs, rowNum) -> new AgentAuditResponseDto(
+			rs.getLong("id"),
+			rs.getLong("agent_id"),
+			AuditAction.valueOf(rs.getString("action")),
+			rs.getObject("actor_user_id", Long.class),
+			rs.getString("actor_username"),
+			rs.getString("request_id"),
+			rs.getTimestamp("occurred_at").toInstant());
+
+	private final JdbcTemplate jdbcTemplate;
+
+	@Override
+	public void insertAll(List<AgentAuditEntity> audits) {
+		if (audits.isEmpty()) {
+			return;
+		}
+		jdbcTemplate.batchUpdate(INSERT_SQL, audits, audits.size(), (ps, audit) -> {
+			Instant occurredAt = audit.getOccurredAt() == null ? Instant.now() : audit.getOccurredAt();
+			ps.setLong(1, audit.getAgentId());
+			ps.setString(2, audit.getAction().name());
+			ps.setObject(3, audit.getActorUserId(), Types.BIGINT);
+			ps.setString(4, audit.getActorUsername());
+			ps.setString(5, audit.getRequestId());
+			ps.setTimestamp(6, Timestamp.from(occurredAt));
+		});
+	}
+
+	@Override
+	public List<AgentAuditResponseDto> findFiltered(AuditFilter filter, AuditCursor.Direction direction, Long fromId,
+			int limit) {
+		return AuditFilterSql.find(jdbcTemplate, "agents_audit", "agent_id", filter, direction, fromId, limit, ROW_MAPPER);
+	}
+
+	@Override
+	public void streamAudits(AuditFilter filter, int fetchSize, Consumer<AuditRow> action) {
+		AuditFilterSql.stream(jdbcTemplate, "agents_audit", "agent_id", false, filter, fetchSize, action);
+	}
+
+	@Override
+	public List<YearMonth> findMonthlyPartitions() {
+		return AuditPartitionSql.findMonthlyPartitions(jdbcTemplate, "agents_audit");
+	}
+
+	@Override
+	public void createMonthlyPartition(YearMonth month) {
+		AuditPartitionSql.createMonthlyPartition(jdbcTemplate, "agents_audit", month);
+	}
+
+	@Override
+	public void detachMonthlyPartition(YearMonth month, boolean drop) {
+		AuditPartitionSql.detachMonthlyPartition(jdbcTemplate, "agents_audit", month, drop);
+	}
+}
@@ -0,0 +1,88 @@
+package com.samlair.trase.agent.rdbms.dao.impl;
+
+import com.samlair.trase.agent.rdbms.dao.AgentDaoCustom;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+/**
+ * JDBC implementation of {@link AgentDaoCustom}.
+ */
+@RequiredArgsConstructor
+public class AgentDaoCustomImpl implements AgentDaoCustom {
+
+	private static final String ACTIVE_IDS_SQL =
+			"SELECT id FROM agents WHERE id = ANY(?::bigint[]) AND deleted_at IS NULL";
+
+	private static final String ACTIVE_NAMES_SQL =
+			"SELECT name FROM agents WHERE name = ANY(?::varchar[]) AND deleted_at IS NULL";
+
+	private static final String INSERT_IGNORING_DUPLICATES_SQL = """
+			INSERT INTO agents (name, description, created_at, updated_at)
+			SELECT v.name, v.description, ?, ?
+			FROM unnest(?::varchar[], ?::text[]) AS v(name, description)
+			ON CONFLICT (name) WHERE deleted_at IS NULL DO NOTHING
+			RETURNING id, name
+			""";
+
+	private final JdbcTemplate jdbcTemplate;
+
+	@Override
+	public Set<Long> findActiveIds(Collection<Long> ids) {
+		if (ids.isEmpty()) {
+			return Set.of();
+		}
+		Long[] candidates = ids.toArray(Long[]::new);
+		Set<Long> active = new HashSet<>();
+		jdbcTemplate.query(connection -> {
+			PreparedStatement statement = connection.prepareStatement(ACTIVE_IDS_SQL);
+			statement.setArray(1, connection.createArrayOf("bigint", candidates));
+			return statement;
+		}, (RowCallbackHandler) rs -> active.add(rs.getLong("id")));
+		return active;
+	}
+
+	@Override
+	public Set<String> findActiveNames(Collection<String> names) {
+		if (names.isEmpty()) {
+			return Set.of();
+		}
+		String[] candidates = names.toArray(String[]::new);
+		Set<String> taken = new HashSet<>();
+		jdbcTemplate.query(connection -> {
+			PreparedStatement statement = connection.prepareStatement(ACTIVE_NAMES_SQL);
+			statement.setArray(1, connection.createArrayOf("varchar", candidates));
+			return statement;
+		}, (RowCallbackHandler) rs -> taken.add(rs.getString("name")));
+		return taken;
+	}
+
+	@Override
+	public Map<String, Long> insertIgnoringDuplicateNames(List<AgentValues> agents, Instant now) {
+		if (agents.isEmpty()) {
+			return Map.of();
+		}
+		Timestamp timestamp = Timestamp.from(now);
+		String[] names = agents.stream().map(AgentValues::name).toArray(String[]::new);
+		String[] descriptions = agents.stream().map(AgentValues::description).toArray(String[]::new);
+		Map<String, Long> inserted = new HashMap<>();
+		jdbcTemplate.query(connection -> {
+			PreparedStatement statement = connection.prepareStatement(INSERT_IGNORING_DUPLICATES_SQL);
+			statement.setTimestamp(1, timestamp);
+			statement.setTimestamp(2, timestamp);
+			statement.setArray(3, connection.createArrayOf("varchar", names));
+			statement.setArray(4, connection.createArrayOf("text", descriptions));
+			return statement;
+		}, (RowCallbackHandler) rs -> inserted.put(rs.getString("name"), rs.getLong("id")));
+		return inserted;
+	}
+}
@@ -0,0 +1,100 @@
+package com.samlair.trase.agent.rdbms.dao.impl;
+
+import com.samlair.trase.agent.domain.enumeration.AuditAction;
+import com.samlair.trase.agent.domain.model.AuditCursor;
+import com.samlair.trase.agent.domain.model.AuditFilter;
+import com.samlair.trase.agent.rdbms.dao.AuditExportDaoCustom.AuditRow;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+
+/**
+ * Builds keyset queries over one audit table from an {@link AuditFilter}. Only set predicates are rendered so the
+ * planner can pick the matching {@code (column, id)} index.
+ */
+final class AuditFilterSql {
+
+	private AuditFilterSql() {
+	}
+
+	static <E> List<E> find(
+			JdbcTemplate jdbcTemplate,
+			String table,
+			String entityIdColumn,
+			AuditFilter filter,
+			AuditCursor.Direction direction,
+			Long fromId,
+			int limit,
+			RowMapper<E> rowMapper) {
+		StringBuilder sql = new StringBuilder("SELECT * FROM ").append(table).append(" WHERE TRUE");
+		List<Object> args = new ArrayList<>();
+		appendFilter(sql, args, entityIdColumn, filter);
+		boolean newestFirst = direction == AuditCursor.Direction.BEFORE;
+		append(sql, args, newestFirst ? " AND id < ?" : " AND id > ?", fromId, value -> value);
+		sql.append(newestFirst ? " ORDER BY id DESC" : " ORDER BY id ASC").append(" LIMIT ?");
+		args.add(limit);
+		return jdbcTemplate.query(sql.toString(), rowMapper, args.toArray());
+	}
+
+	/**
+	 * Streams matching rows in ascending id order through a forward-only cursor. The caller must hold a transaction
+	 * for the fetch size to take effect.
+	 */
+	static void stream(
+			JdbcTemplate jdbcTemplate,
+			String table,
+			String entityIdColumn,
+			boolean hasStatus,
+			AuditFilter filter,
+			int fetchSize,
+			Consumer<AuditRow> action) {
+		StringBuilder sql = new StringBuilder("SELECT id, ").append(entityIdColumn)
+				.append(", action, ").append(hasStatus ? "status" : "NULL AS status")
+				.append(", actor_user_id, actor_username, request_id, occurred_at FROM ").append(table)
+				.append(" WHERE TRUE");
+		List<Object> args = new ArrayList<>();
+		appendFilter(sql, args, entityIdColumn, filter);
+		sql.append(" ORDER BY id");
+		jdbcTemplate.query(connection -> {
+			PreparedStatement ps = connection.prepareStatement(sql.toString(), ResultSet.TYPE_FORWARD_ONLY,
+					ResultSet.CONCUR_READ_ONLY);
+			ps.setFetchSize(fetchSize);
+			for (int i = 0; i < args.size(); i++) {
+				ps.setObject(i + 1, args.get(i));
+			}
+			return ps;
+		}, (RowCallbackHandler) rs -> action.accept(new AuditRow(
+				rs.getLong(1),
+				rs.getLong(2),
+				AuditAction.valueOf(rs.getString(3)),
+				rs.getString(4),
+				rs.getObject(5, Long.class),
+				rs.getString(6),
+				rs.getString(7),
+				rs.getTimestamp(8).toInstant())));
+	}
+
+	private static void appendFilter(StringBuilder sql, List<Object> args, String entityIdColumn, AuditFilter filter) {
+		append(sql, args, " AND " + entityIdColumn + " = ?", filter.entityId(), value -> value);
+		append(sql, args, " AND actor_user_id = ?", filter.actorUserId(), value -> value);
+		append(sql, args, " AND request_id = ?", filter.requestId(), value -> value);
+		append(sql, args, " AND action = ?", filter.action(), Enum::name);
+		append(sql, args, " AND occurred_at >= ?", filter.occurredFrom(), Timestamp::from);
+		append(sql, args, " AND occurred_at < ?", filter.occurredTo(), Timestamp::from);
+	}
+
+	private static <T> void append(StringBuilder sql, List<Object> args, String predicate, T value,
+			Function<T, Object> converter) {
+		if (value != null) {
+			sql.append(predicate);
+			args.add(converter.apply(value));
+		}
+	}
+}
@@ -0,0 +1,81 @@
+package com.samlair.trase.agent.rdbms.dao.impl;
+
+import com.samlair.trase.agent.domain.enumeration.AuditAction;
+import com.samlair.trase.agent.domain.enumeration.AuditKind;
+import com.samlair.trase.agent.domain.model.AuditEvent;
+import com.samlair.trase.agent.rdbms.dao.AuditOutboxDaoCustom;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * JDBC implementation of {@link AuditOutboxDaoCustom}.
+ */
+@RequiredArgsConstructor
+public class AuditOutboxDaoCustomImpl implements AuditOutboxDaoCustom {
+
+	private static final String INSERT_SQL = "INSERT INTO audit_outbox "
+			+ "(kind, entity_id, action, status, actor_user_id, actor_username, request_id, occurred_at) "
+			+ "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+	private static final String CLAIM_SQL = """
+			WITH claimed AS (
+			    DELETE FROM audit_outbox
+			    WHERE id IN (SELECT id FROM audit_outbox ORDER BY id LIMIT ? FOR UPDATE SKIP LOCKED)
+			    RETURNING id, kind, entity_id, action, status, actor_user_id, actor_username, request_id, occurred_at
+			)
+			SELECT * FROM claimed ORDER BY id
+			""";
+
+	private static final String OLDEST_SQL = "SELECT occurred_at FROM audit_outbox ORDER BY id LIMIT 1";
+
+	private final JdbcTemplate jdbcTemplate;
+
+	@Override
+	public void insertAll(List<AuditEvent> events) {
+		if (events.isEmpty()) {
+			return;
+		}
+		jdbcTemplate.batchUpdate(INSERT_SQL, events, events.size(), (ps, event) -> {
+			ps.setString(1, event.kind().name());
+			ps.setLong(2, event.entityId());
+			ps.setString(3, event.action().name());
+			ps.setString(4, event.status());
+			ps.setObject(5, event.actorUserId(), Types.BIGINT);
+			ps.setString(6, event.actorUsername());
+			ps.setString(7, event.requestId());
+			ps.setTimestamp(8, Timestamp.from(event.occurredAt() == null ? Instant.now() : event.occurredAt()));
+		});
+	}
+
+	@Override
+	public List<AuditEvent> claimBatch(int limit) {
+		return jdbcTemplate.query(CLAIM_SQL, (rs, rowNum) -> toEvent(rs), limit);
+	}
+
+	@Override
+	public Optional<Instant> findOldestOccurredAt() {
+		return jdbcTemplate.query(OLDEST_SQL, (rs, rowNum) -> rs.getTimestamp("occurred_at").toInstant())
+				.stream()
+				.findFirst();
+	}
+
+	private AuditEvent toEvent(ResultSet rs) throws SQLException {
+		return new AuditEvent(
+				AuditKind.valueOf(rs.getString("kind")),
+				rs.getLong("entity_id"),
+				AuditAction.valueOf(rs.getString("action")),
+				rs.getString("status"),
+				rs.getObject("actor_user_id", Long.class),
+				rs.getString("actor_username"),
+				rs.getString("request_id"),
+				rs.getTimestamp("occurred_at").toInstant()
+		);
+	}
+}
@@ -0,0 +1,58 @@
+package com.samlair.trase.agent.rdbms.dao.impl;
+
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Objects;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Monthly partition DDL shared by the audit tables. Partitions are named {@code <table>_pYYYY_MM} and cover one UTC
+ * calendar month.
+ */
+final class AuditPartitionSql {
+
+	private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("'_p'yyyy_MM");
+	private static final String LIST_SQL = "SELECT c.relname FROM pg_inherits i "
+			+ "JOIN pg_class c ON c.oid = i.inhrelid "
+			+ "WHERE i.inhparent = ?::regclass";
+
+	private AuditPartitionSql() {
+	}
+
+	static List<YearMonth> findMonthlyPartitions(JdbcTemplate jdbcTemplate, String table) {
+		return jdbcTemplate.queryForList(LIST_SQL, String.class, table).stream()
+				.map(name -> parseMonth(table, name))
+				.filter(Objects::nonNull)
+				.sorted()
+				.toList();
+	}
+
+	static void createMonthlyPartition(JdbcTemplate jdbcTemplate, String table, YearMonth month) {
+		jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + partitionName(table, month)
+				+ " PARTITION OF " + table
+				+ " FOR VALUES FROM ('" + month.atDay(1) + " 00:00:00+00')"
+				+ " TO ('" + month.plusMonths(1).atDay(1) + " 00:00:00+00')");
+	}
+
+	static void detachMonthlyPartition(JdbcTemplate jdbcTemplate, String table, YearMonth month, boolean drop) {
+		String partition = partitionName(table, month);
+		jdbcTemplate.execute("ALTER TABLE " + table + " DETACH PARTITION " + partition);
+		if (drop) {
+			jdbcTemplate.execute("DROP TABLE " + partition);
+		}
+	}
+
+	private static String partitionName(String table, YearMonth month) {
+		return table + month.format(SUFFIX);
+	}
+
+	private static YearMonth parseMonth(String table, String partition) {
+		try {
+			return YearMonth.parse(partition.substring(table.length()), SUFFIX);
+		} catch (DateTimeParseException | IndexOutOfBoundsException ex) {
+			return null;
+		}
+	}
+}
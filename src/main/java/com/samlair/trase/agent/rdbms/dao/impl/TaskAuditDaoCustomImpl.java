@@ -0,0 +1,81 @@
+package com.samlair.trase.agent.rdbms.dao.impl;
+
+import com.samlair.trase.agent.domain.enumeration.AuditAction;
+import com.samlair.trase.agent.domain.model.AuditCursor;
+import com.samlair.trase.agent.domain.model.AuditFilter;
+import com.samlair.trase.agent.rdbms.dao.TaskAuditDaoCustom;
+import com.samlair.trase.agent.rdbms.entity.TaskAuditEntity;
+import com.samlair.trase.agent.web.dto.TaskAuditResponseDto;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.function.Consumer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+/**
+ * JDBC implementation of {@link TaskAuditDaoCustom}.
+ */
+@RequiredArgsConstructor
+public class TaskAuditDaoCustomImpl implements TaskAuditDaoCustom {
+
+	private static final String INSERT_SQL = "INSERT INTO tasks_audit "
+			+ "(task_id, action, actor_user_id, actor_username, request_id, occurred_at) "
+			+ "VALUES (?, ?, ?, ?, ?, ?)";
+
+	private static final RowMapper<TaskAuditResponseDto> ROW_MAPPER = (rs, rowNum) -> new TaskAuditResponseDto(
+			rs.getLong("id"),
+			rs.getLong("task_id"),
+			AuditAction.valueOf(rs.getString("action")),
+			rs.getObject("actor_user_id", Long.class),
+			rs.getString("actor_username"),
+			rs.getString("request_id"),
+			rs.getTimestamp("occurred_at").toInstant());
+
+	private final JdbcTemplate jdbcTemplate;
+
+	@Override
+	public void insertAll(List<TaskAuditEntity> audits) {
+		if (audits.isEmpty()) {
+			return;
+		}
+		jdbcTemplate.batchUpdate(INSERT_SQL, audits, audits.size(), (ps, audit) -> {
+			Instant occurredAt = audit.getOccurredAt() == null ? Instant.now() : audit.getOccurredAt();
+			ps.setLong(1, audit.getTaskId());
+			ps.setString(2, audit.getAction().name());
+			ps.setObject(3, audit.getActorUserId(), Types.BIGINT);
+			ps.setString(4, audit.getActorUsername());
+			ps.setString(5, audit.getRequestId());
+			ps.setTimestamp(6, Timestamp.from(occurredAt));
+		});
+	}
+
+	@Override
+	public List<TaskAuditResponseDto> findFiltered(AuditFilter filter, AuditCursor.Direction direction, Long fromId,
+			int limit) {
+		return AuditFilterSql.find(jdbcTemplate, "tasks_audit", "task_id", filter, direction, fromId, limit, ROW_MAPPER);
+	}
+
+	@Override
+	public void streamAudits(AuditFilter filter, int fetchSize, Consumer<AuditRow> action) {
+		AuditFilterSql.stream(jdbcTemplate, "tasks_audit", "task_id", false, filter, fetchSize, action);
+	}
+
+	@Override
+	public List<YearMonth> findMonthlyPartitions() {
+		return AuditPartitionSql.findMonthlyPartitions(jdbcTemplate, "tasks_audit");
+	}
+
+	@Override
+	public void createMonthlyPartition(YearMonth month) {
+		AuditPartitionSql.createMonthlyPartition(jdbcTemplate, "tasks_audit", month);
+	}
+
+	@Override
+	public void detachMonthlyPartition(YearMonth month, boolean drop) {
+		AuditPartitionSql.detachMonthlyPartition(jdbcTemplate, "tasks_audit", month, drop);
+	}
+}
@@ -0,0 +1,231 @@
+package com.samlair.trase.agent.rdbms.dao.impl;
+
+import com.samlair.trase.agent.rdbms.dao.TaskDaoCustom;
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+
+/**
+ * JDBC implementation of {@link TaskDaoCustom}.
+ */
+@RequiredArgsConstructor
+public class TaskDaoCustomImpl implements TaskDaoCustom {
+
+	private static final String ELIGIBILITY_SQL = """
+			SELECT p.task_id,
+			       p.agent_id,
+			       EXISTS (SELECT 1 FROM tasks t WHERE t.id = p.task_id AND t.deleted_at IS NULL) AS task_active,
+			       EXISTS (SELECT 1 FROM agents a WHERE a.id = p.agent_id AND a.deleted_at IS NULL) AS agent_active,
+			       EXISTS (SELECT 1 FROM task_supported_agents tsa
+			               WHERE tsa.task_id = p.task_id AND tsa.agent_id = p.agent_id) AS supported
+			FROM unnest(?::bigint[], ?::bigint[]) AS p(task_id, agent_id)
+			""";
+
+	private static final String LIST_SQL = """
+			SELECT t.id,
+			       t.title,
+			       t.description,
+			       ARRAY(SELECT tsa.agent_id FROM task_supported_agents tsa
+			             WHERE tsa.task_id = t.id ORDER BY tsa.agent_id) AS supported_agent_ids
+			FROM tasks t
+			WHERE t.deleted_at IS NULL
+			""";
+
+	private static final String ACTIVE_IDS_SQL =
+			"SELECT id FROM tasks WHERE id = ANY(?::bigint[]) AND deleted_at IS NULL";
+
+	private static final String INSERT_SQL =
+			"INSERT INTO tasks (title, description, created_at, updated_at) VALUES (?, ?, ?, ?)";
+
+	private static final String UPDATE_SQL =
+			"UPDATE tasks SET title = ?, description = ?, updated_at = ? WHERE id = ? AND deleted_at IS NULL";
+
+	private static final String DELETE_LINKS_SQL = "DELETE FROM task_supported_agents WHERE task_id = ANY(?::bigint[])";
+
+	private static final String INSERT_LINK_SQL = "INSERT INTO task_supported_agents (task_id, agent_id) VALUES (?, ?)";
+
+	private static final Map<String, String> SORT_COLUMNS = Map.of(
+			"id", "t.id",
+			"title", "t.title",
+			"description", "t.description",
+			"createdAt", "t.created_at",
+			"updatedAt", "t.updated_at");
+
+	private static final RowMapper<TaskListRow> LIST_ROW_MAPPER = (rs, rowNum) -> {
+		Array array = rs.getArray("supported_agent_ids");
+		Set<Long> agentIds = new LinkedHashSet<>();
+		for (Object agentId : (Object[]) array.getArray()) {
+			agentIds.add(((Number) agentId).longValue());
+		}
+		array.free();
+		return new TaskListRow(rs.getLong("id"), rs.getString("title"), rs.getString("description"), agentIds);
+	};
+
+	private final JdbcTemplate jdbcTemplate;
+
+	@Override
+	public List<TaskAgentEligibility> findTaskAgentEligibility(Collection<TaskAgentPair> pairs) {
+		if (pairs.isEmpty()) {
+			return List.of();
+		}
+		Long[] taskIds = pairs.stream().map(TaskAgentPair::taskId).toArray(Long[]::new);
+		Long[] agentIds = pairs.stream().map(TaskAgentPair::agentId).toArray(Long[]::new);
+		return jdbcTemplate.query(connection -> {
+			PreparedStatement statement = connection.prepareStatement(ELIGIBILITY_SQL);
+			statement.setArray(1, connection.createArrayOf("bigint", taskIds));
+			statement.setArray(2, connection.createArrayOf("bigint", agentIds));
+			return statement;
+		}, (rs, rowNum) -> new TaskAgentEligibility(
+				new TaskAgentPair(rs.getLong("task_id"), rs.getLong("agent_id")),
+				rs.getBoolean("task_active"),
+				rs.getBoolean("agent_active"),
+				rs.getBoolean("supported")
+		));
+	}
+
+	@Override
+	public List<TaskListRow> findActiveTaskRows(Pageable pageable, Long afterId) {
+		StringBuilder sql = new StringBuilder(LIST_SQL);
+		List<Object> args = new ArrayList<>();
+		if (afterId != null) {
+			sql.append(" AND t.id > ? ORDER BY t.id");
+			args.add(afterId);
+		} else {
+			sql.append(orderBy(pageable.getSort()));
+		}
+		if (pageable.isPaged()) {
+			sql.append(" LIMIT ?");
+			args.add(pageable.getPageSize());
+			if (afterId == null) {
+				sql.append(" OFFSET ?");
+				args.add(pageable.getOffset());
+			}
+		}
+		return jdbcTemplate.query(sql.toString(), LIST_ROW_MAPPER, args.toArray());
+	}
+
+	@Override
+	public Set<Long> findActiveIds(Collection<Long> ids) {
+		if (ids.isEmpty()) {
+			return Set.of();
+		}
+		Long[] candidates = ids.toArray(Long[]::new);
+		Set<Long> active = new HashSet<>();
+		jdbcTemplate.query(connection -> {
+			PreparedStatement statement = connection.prepareStatement(ACTIVE_IDS_SQL);
+			statement.setArray(1, connection.createArrayOf("bigint", candidates));
+			return statement;
+		}, (RowCallbackHandler) rs -> active.add(rs.getLong("id")));
+		return active;
+	}
+
+	@Override
+	public List<Long> insertAll(List<TaskValues> tasks, Instant now) {
+		if (tasks.isEmpty()) {
+			return List.of();
+		}
+		Timestamp timestamp = Timestamp.from(now);
+		KeyHolder keyHolder = new GeneratedKeyHolder();
+		jdbcTemplate.batchUpdate(
+				connection -> connection.prepareStatement(INSERT_SQL, new String[] {"id"}),
+				new BatchPreparedStatementSetter() {
+					@Override
+					public void setValues(PreparedStatement ps, int i) throws SQLException {
+						TaskValues task = tasks.get(i);
+						ps.setString(1, task.title());
+						ps.setString(2, task.description());
+						ps.setTimestamp(3, timestamp);
+						ps.setTimestamp(4, timestamp);
+					}
+
+					@Override
+					public int getBatchSize() {
+						return tasks.size();
+					}
+				},
+				keyHolder);
+		return keyHolder.getKeyList().stream()
+				.map(keys -> ((Number) keys.get("id")).longValue())
+				.toList();
+	}
+
+	@Override
+	public Set<Long> updateAll(List<TaskValues> tasks, Instant now) {
+		if (tasks.isEmpty()) {
+			return Set.of();
+		}
+		Timestamp timestamp = Timestamp.from(now);
+		int[][] counts = jdbcTemplate.batchUpdate(UPDATE_SQL, tasks, tasks.size(), (ps, task) -> {
+			ps.setString(1, task.title());
+			ps.setString(2, task.description());
+			ps.setTimestamp(3, timestamp);
+			ps.setLong(4, task.id());
+		});
+		Set<Long> updated = new HashSet<>();
+		int index = 0;
+		for (int[] batch : counts) {
+			for (int count : batch) {
+				if (count != 0) {
+					updated.add(tasks.get(index).id());
+				}
+				index++;
+			}
+		}
+		return updated;
+	}
+
+	@Override
+	public void replaceSupportedAgents(Collection<Long> taskIds, List<TaskAgentPair> links) {
+		if (!taskIds.isEmpty()) {
+			Long[] ids = taskIds.toArray(Long[]::new);
+			jdbcTemplate.update(connection -> {
+				PreparedStatement statement = connection.prepareStatement(DELETE_LINKS_SQL);
+				statement.setArray(1, connection.createArrayOf("bigint", ids));
+				return statement;
+			});
+		}
+		if (links.isEmpty()) {
+			return;
+		}
+		jdbcTemplate.batchUpdate(INSERT_LINK_SQL, links, links.size(), (ps, link) -> {
+			ps.setLong(1, link.taskId());
+			ps.setLong(2, link.agentId());
+		});
+	}
+
+	private static String orderBy(Sort sort) {
+		List<String> clauses = new ArrayList<>();
+		boolean byId = false;
+		for (Sort.Order order : sort) {
+			String column = SORT_COLUMNS.get(order.getProperty());
+			if (column == null) {
+				throw new InvalidDataAccessApiUsageException("Unsupported task sort property: " + order.getProperty());
+			}
+			clauses.add(column + (order.isAscending() ? " ASC" : " DESC"));
+			byId |= "id".equals(order.getProperty());
+		}
+		if (!byId) {
+			clauses.add("t.id ASC");
+		}
+		return " ORDER BY " + String.join(", ", clauses);
+	}
+}
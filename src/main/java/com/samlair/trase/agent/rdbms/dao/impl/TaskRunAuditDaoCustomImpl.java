@@ -0,0 +1,84 @@
+package com.samlair.trase.agent.rdbms.dao.impl;
+
+import com.samlair.trase.agent.domain.enumeration.AuditAction;
+import com.samlair.trase.agent.domain.model.AuditCursor;
+import com.samlair.trase.agent.domain.model.AuditFilter;
+import com.samlair.trase.agent.rdbms.dao.TaskRunAuditDaoCustom;
+import com.samlair.trase.agent.rdbms.entity.TaskRunAuditEntity;
+import com.samlair.trase.agent.web.dto.TaskRunAuditResponseDto;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.function.Consumer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+/**
+ * JDBC implementation of {@link TaskRunAuditDaoCustom}.
+ */
+@RequiredArgsConstructor
+public class TaskRunAuditDaoCustomImpl implements TaskRunAuditDaoCustom {
+
+	private static final String INSERT_SQL = "INSERT INTO task_runs_audit "
+			+ "(task_run_id, action, status, actor_user_id, actor_username, request_id, occurred_at) "
+			+ "VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+	private static final RowMapper<TaskRunAuditResponseDto> ROW_MAPPER = (rs, rowNum) -> new TaskRunAuditResponseDto(
+			rs.getLong("id"),
+			rs.getLong("task_run_id"),
+			AuditAction.valueOf(rs.getString("action")),
+			rs.getString("status"),
+			rs.getObject("actor_user_id", Long.class),
+			rs.getString("actor_username"),
+			rs.getString("request_id"),
+			rs.getTimestamp("occurred_at").toInstant());
+
+	private final JdbcTemplate jdbcTemplate;
+
+	@Override
+	public void insertAll(List<TaskRunAuditEntity> audits) {
+		if (audits.isEmpty()) {
+			return;
+		}
+		jdbcTemplate.batchUpdate(INSERT_SQL, audits, audits.size(), (ps, audit) -> {
+			Instant occurredAt = audit.getOccurredAt() == null ? Instant.now() : audit.getOccurredAt();
+			ps.setLong(1, audit.getTaskRunId());
+			ps.setString(2, audit.getAction().name());
+			ps.setString(3, audit.getStatus());
+			ps.setObject(4, audit.getActorUserId(), Types.BIGINT);
+			ps.setString(5, audit.getActorUsername());
+			ps.setString(6, audit.getRequestId());
+			ps.setTimestamp(7, Timestamp.from(occurredAt));
+		});
+	}
+
+	@Override
+	public List<TaskRunAuditResponseDto> findFiltered(AuditFilter filter, AuditCursor.Direction direction, Long fromId,
+			int limit) {
+		return AuditFilterSql.find(jdbcTemplate, "task_runs_audit", "task_run_id", filter, direction, fromId, limit,
+				ROW_MAPPER);
+	}
+
+	@Override
+	public void streamAudits(AuditFilter filter, int fetchSize, Consumer<AuditRow> action) {
+		AuditFilterSql.stream(jdbcTemplate, "task_runs_audit", "task_run_id", true, filter, fetchSize, action);
+	}
+
+	@Override
+	public List<YearMonth> findMonthlyPartitions() {
+		return AuditPartitionSql.findMonthlyPartitions(jdbcTemplate, "task_runs_audit");
+	}
+
+	@Override
+	public void createMonthlyPartition(YearMonth month) {
+		AuditPartitionSql.createMonthlyPartition(jdbcTemplate, "task_runs_audit", month);
+	}
+
+	@Override
+	public void detachMonthlyPartition(YearMonth month, boolean drop) {
+		AuditPartitionSql.detachMonthlyPartition(jdbcTemplate, "task_runs_audit", month, drop);
+	}
+}
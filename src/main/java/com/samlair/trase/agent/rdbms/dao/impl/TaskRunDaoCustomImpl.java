@@ -0,0 +1,97 @@
+package com.samlair.trase.agent.rdbms.dao.impl;
+
+import com.samlair.trase.agent.domain.enumeration.TaskRunStatus;
+import com.samlair.trase.agent.rdbms.dao.TaskDaoCustom.TaskAgentPair;
+import com.samlair.trase.agent.rdbms.dao.TaskRunDaoCustom;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+
+/**
+ * JDBC implementation of {@link TaskRunDaoCustom}.
+ */
+@RequiredArgsConstructor
+public class TaskRunDaoCustomImpl implements TaskRunDaoCustom {
+
+	private static final String INSERT_SQL =
+			"INSERT INTO task_runs (task_id, agent_id, status, started_at) VALUES (?, ?, ?, ?)";
+
+	private static final String STREAM_SQL =
+			"SELECT id, task_id, agent_id, status, started_at, completed_at FROM task_runs WHERE TRUE";
+
+	private final JdbcTemplate jdbcTemplate;
+
+	@Override
+	public List<Long> insertRunning(List<TaskAgentPair> pairs, Instant startedAt) {
+		if (pairs.isEmpty()) {
+			return List.of();
+		}
+		Timestamp started = Timestamp.from(startedAt);
+		KeyHolder keyHolder = new GeneratedKeyHolder();
+		jdbcTemplate.batchUpdate(
+				connection -> connection.prepareStatement(INSERT_SQL, new String[] {"id"}),
+				new BatchPreparedStatementSetter() {
+					@Override
+					public void setValues(PreparedStatement ps, int i) throws SQLException {
+						TaskAgentPair pair = pairs.get(i);
+						ps.setLong(1, pair.taskId());
+						ps.setLong(2, pair.agentId());
+						ps.setString(3, TaskRunStatus.RUNNING.name());
+						ps.setTimestamp(4, started);
+					}
+
+					@Override
+					public int getBatchSize() {
+						return pairs.size();
+					}
+				},
+				keyHolder);
+		return keyHolder.getKeyList().stream()
+				.map(keys -> ((Number) keys.get("id")).longValue())
+				.toList();
+	}
+
+	@Override
+	public void streamTaskRuns(TaskRunStatus status, Long afterId, int fetchSize, Consumer<TaskRunRow> action) {
+		StringBuilder sql = new StringBuilder(STREAM_SQL);
+		List<Object> args = new ArrayList<>();
+		if (status != null) {
+			sql.append(" AND status = ?");
+			args.add(status.name());
+		}
+		if (afterId != null) {
+			sql.append(" AND id > ?");
+			args.add(afterId);
+		}
+		sql.append(" ORDER BY id");
+		jdbcTemplate.query(connection -> {
+			PreparedStatement ps = connection.prepareStatement(sql.toString(), ResultSet.TYPE_FORWARD_ONLY,
+					ResultSet.CONCUR_READ_ONLY);
+			ps.setFetchSize(fetchSize);
+			for (int i = 0; i < args.size(); i++) {
+				ps.setObject(i + 1, args.get(i));
+			}
+			return ps;
+		}, (RowCallbackHandler) rs -> {
+			Timestamp completedAt = rs.getTimestamp("completed_at");
+			action.accept(new TaskRunRow(
+					rs.getLong("id"),
+					rs.getLong("task_id"),
+					rs.getLong("agent_id"),
+					TaskRunStatus.valueOf(rs.getString("status")),
+					rs.getTimestamp("started_at").toInstant(),
+					completedAt == null ? null : completedAt.toInstant()));
+		});
+	}
+}
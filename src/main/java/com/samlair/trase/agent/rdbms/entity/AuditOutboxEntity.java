@@ -0,0 +1,57 @@
+package com.samlair.trase.agent.rdbms.entity;
+
+import com.samlair.trase.agent.domain.enumeration.AuditAction;
+import com.samlair.trase.agent.domain.enumeration.AuditKind;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.Instant;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Pending audit event waiting to be relayed into its audit table.
+ */
+@Entity
+@Table(name = "audit_outbox")
+@Getter
+@Setter
+@NoArgsConstructor
+public class AuditOutboxEntity {
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+
+	@Enumerated(EnumType.STRING)
+	@Column(name = "kind", nullable = false)
+	private AuditKind kind;
+
+	@Column(name = "entity_id", nullable = false)
+	private Long entityId;
+
+	@Enumerated(EnumType.STRING)
+	@Column(name = "action", nullable = false)
+	private AuditAction action;
+
+	@Column(name = "status")
+	private String status;
+
+	@Column(name = "actor_user_id")
+	private Long actorUserId;
+
+	@Column(name = "actor_username")
+	private String actorUsername;
+
+	@Column(name = "request_id")
+	private String requestId;
+
+	@Column(name = "occurred_at", nullable = false)
+	private Instant occurredAt;
+}
@@ -0,0 +1,29 @@
+package com.samlair.trase.agent.service;
+
+/**
+ * Caps concurrent API requests at a limit that adapts to database saturation.
+ */
+public interface AdmissionLimiter {
+
+	/**
+	 * Admits one request.
+	 *
+	 * @return permit that must be released once the request completes
+	 * @throws com.samlair.trase.agent.domain.exception.ServiceUnavailableException when the limit is reached
+	 */
+	Permit acquire();
+
+	/**
+	 * A request admitted by {@link #acquire()}.
+	 */
+	@FunctionalInterface
+	interface Permit {
+
+		/**
+		 * Ends the request and feeds its outcome back into the limit.
+		 *
+		 * @param connectionTimedOut whether the request failed waiting for a database connection
+		 */
+		void release(boolean connectionTimedOut);
+	}
+}
@@ -1,8 +1,11 @@
 package com.samlair.trase.agent.service;
 
+import com.samlair.trase.agent.domain.model.Versioned;
+import com.samlair.trase.agent.web.dto.BatchItemResultDto;
 import com.samlair.trase.agent.web.dto.CreateAgentRequestDto;
 import com.samlair.trase.agent.web.dto.UpdateAgentRequestDto;
 import com.samlair.trase.agent.web.dto.AgentResponseDto;
+import java.time.Instant;
 import java.util.List;
 import org.springframework.data.domain.Pageable;
 
@@ -28,13 +31,37 @@ public interface AgentService {
 	 */
 	AgentResponseDto createAgent(CreateAgentRequestDto request);
 
+	/**
+	 * Creates many agents with one batched name check and one conflict-tolerant insert.
+	 *
+	 * @param requests agents to create.
+	 * @return one result per item in request order.
+	 */
+	List<BatchItemResultDto<AgentResponseDto>> importAgents(List<CreateAgentRequestDto> requests);
+
 	/**
 	 * Fetches a single agent by ID.
 	 *
 	 * @param id agent identifier.
-	 * @return agent details.
+	 * @return agent details with the {@code updated_at} they were built from.
+	 */
+	Versioned<AgentResponseDto> getAgent(long id);
+
+	/**
+	 * Returns the last modification time of an active agent without loading it.
+	 *
+	 * @param id agent identifier.
+	 * @return value of {@code updated_at}.
+	 */
+	Instant getAgentVersion(long id);
+
+	/**
+	 * Fetches a single agent, reloading a cached copy that is older than the row's current {@code updated_at}.
+	 *
+	 * @param id agent identifier.
+	 * @return agent details matching the stored row.
 	 */
-	AgentResponseDto getAgent(long id);
+	Versioned<AgentResponseDto> getCurrentAgent(long id);
 
 	/**
 	 * Updates an existing agent.
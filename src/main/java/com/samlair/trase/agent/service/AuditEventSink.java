@@ -0,0 +1,17 @@
+package com.samlair.trase.agent.service;
+
+import com.samlair.trase.agent.domain.model.AuditEvent;
+import java.util.List;
+
+/**
+ * Destination for audit events when audit tables are not written inline.
+ */
+public interface AuditEventSink {
+
+	/**
+	 * Accepts audit events raised by the current operation.
+	 *
+	 * @param events audit events to record
+	 */
+	void submit(List<AuditEvent> events);
+}
@@ -0,0 +1,17 @@
+package com.samlair.trase.agent.service;
+
+import com.samlair.trase.agent.domain.model.AuditEvent;
+import java.util.Collection;
+
+/**
+ * Writes captured audit events to their audit tables in bulk.
+ */
+public interface AuditEventWriter {
+
+	/**
+	 * Groups events by kind and inserts each group with a single batched statement.
+	 *
+	 * @param events audit events to persist
+	 */
+	void write(Collection<AuditEvent> events);
+}
@@ -0,0 +1,14 @@
+package com.samlair.trase.agent.service;
+
+/**
+ * Moves audit events from the outbox into the audit tables.
+ */
+public interface AuditOutboxRelay {
+
+	/**
+	 * Relays pending outbox events in batches until the outbox is drained or the per-run limit is reached.
+	 *
+	 * @return number of events relayed
+	 */
+	int relayPending();
+}
@@ -0,0 +1,12 @@
+package com.samlair.trase.agent.service;
+
+/**
+ * Scheduled maintenance for audit table partitions.
+ */
+public interface AuditPartitionMaintenanceJob {
+
+	/**
+	 * Pre-creates future partitions and expires old ones.
+	 */
+	void maintainPartitions();
+}
@@ -0,0 +1,16 @@
+package com.samlair.trase.agent.service;
+
+import java.time.YearMonth;
+
+/**
+ * Keeps the monthly audit table partitions in line with the configured look-ahead and retention.
+ */
+public interface AuditPartitionService {
+
+	/**
+	 * Creates missing upcoming partitions and detaches (or drops) partitions past retention.
+	 *
+	 * @param currentMonth current UTC month.
+	 */
+	void maintainPartitions(YearMonth currentMonth);
+}
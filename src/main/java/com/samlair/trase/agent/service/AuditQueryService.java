@@ -1,9 +1,12 @@
 package com.samlair.trase.agent.service;
 
+import com.samlair.trase.agent.domain.model.AuditCursor;
+import com.samlair.trase.agent.domain.model.AuditFilter;
+import com.samlair.trase.agent.domain.model.CursorPage;
 import com.samlair.trase.agent.web.dto.AgentAuditResponseDto;
 import com.samlair.trase.agent.web.dto.TaskAuditResponseDto;
 import com.samlair.trase.agent.web.dto.TaskRunAuditResponseDto;
-import java.util.List;
+import java.util.function.Consumer;
 import org.springframework.data.domain.Pageable;
 
 /**
@@ -14,24 +17,57 @@ public interface AuditQueryService {
 	/**
 	 * Lists agent audit records.
 	 *
-	 * @param pageable paging parameters.
-	 * @return audit records.
+	 * @param filter optional predicates; filtered listings are keyset-only.
+	 * @param pageable paging parameters; only the page size is used when a cursor or filter is given.
+	 * @param cursor optional keyset position.
+	 * @return audit records and the cursor for the next page.
 	 */
-	List<AgentAuditResponseDto> listAgentAudits(Pageable pageable);
+	CursorPage<AgentAuditResponseDto> listAgentAudits(AuditFilter filter, Pageable pageable, AuditCursor cursor);
 
 	/**
 	 * Lists task audit records.
 	 *
-	 * @param pageable paging parameters.
-	 * @return audit records.
+	 * @param filter optional predicates; filtered listings are keyset-only.
+	 * @param pageable paging parameters; only the page size is used when a cursor or filter is given.
+	 * @param cursor optional keyset position.
+	 * @return audit records and the cursor for the next page.
 	 */
-	List<TaskAuditResponseDto> listTaskAudits(Pageable pageable);
+	CursorPage<TaskAuditResponseDto> listTaskAudits(AuditFilter filter, Pageable pageable, AuditCursor cursor);
 
 	/**
 	 * Lists task run audit records.
 	 *
-	 * @param pageable paging parameters.
-	 * @return audit records.
+	 * @param filter optional predicates; filtered listings are keyset-only.
+	 * @param pageable paging parameters; only the page size is used when a cursor or filter is given.
+	 * @param cursor optional keyset position.
+	 * @return audit records and the cursor for the next page.
 	 */
-	List<TaskRunAuditResponseDto> listTaskRunAudits(Pageable pageable);
+	CursorPage<TaskRunAuditResponseDto> listTaskRunAudits(AuditFilter filter, Pageable pageable, AuditCursor cursor);
+
+	/**
+	 * Streams every matching agent audit record in id order without buffering the result set.
+	 *
+	 * @param filter optional predicates.
+	 * @param consumer receives each record as it is read.
+	 * @return number of records streamed.
+	 */
+	long exportAgentAudits(AuditFilter filter, Consumer<AgentAuditResponseDto> consumer);
+
+	/**
+	 * Streams every matching task audit record in id order without buffering the result set.
+	 *
+	 * @param filter optional predicates.
+	 * @param consumer receives each record as it is read.
+	 * @return number of records streamed.
+	 */
+	long exportTaskAudits(AuditFilter filter, Consumer<TaskAuditResponseDto> consumer);
+
+	/**
+	 * Streams every matching task run audit record in id order without buffering the result set.
+	 *
+	 * @param filter optional predicates.
+	 * @param consumer receives each record as it is read.
+	 * @return number of records streamed.
+	 */
+	long exportTaskRunAudits(AuditFilter filter, Consumer<TaskRunAuditResponseDto> consumer);
 }
@@ -1,6 +1,7 @@
 package com.samlair.trase.agent.service;
 
 import com.samlair.trase.agent.domain.enumeration.AuditAction;
+import java.util.List;
 
 /**
  * Records audit events for mutating operations.
@@ -15,6 +16,14 @@ public interface AuditService {
 	 */
 	void recordAgentAction(Long agentId, AuditAction action);
 
+	/**
+	 * Records the same audit event for many agents using a single batched write.
+	 *
+	 * @param agentIds agent identifiers
+	 * @param action audit action
+	 */
+	void recordAgentActions(List<Long> agentIds, AuditAction action);
+
 	/**
 	 * Records an audit event for task changes.
 	 *
@@ -23,6 +32,14 @@ public interface AuditService {
 	 */
 	void recordTaskAction(Long taskId, AuditAction action);
 
+	/**
+	 * Records the same audit event for many tasks using a single batched write.
+	 *
+	 * @param taskIds task identifiers
+	 * @param action audit action
+	 */
+	void recordTaskActions(List<Long> taskIds, AuditAction action);
+
 	/**
 	 * Records an audit event for task run changes.
 	 *
@@ -31,4 +48,13 @@ public interface AuditService {
 	 * @param status task run status
 	 */
 	void recordTaskRunAction(Long taskRunId, AuditAction action, String status);
+
+	/**
+	 * Records the same audit event for many task runs using a single batched write.
+	 *
+	 * @param taskRunIds task run identifiers
+	 * @param action audit action
+	 * @param status task run status
+	 */
+	void recordTaskRunActions(List<Long> taskRunIds, AuditAction action, String status);
 }
@@ -2,12 +2,19 @@ package com.samlair.trase.agent.service;
 
 import com.samlair.trase.agent.web.dto.LoginRequestDto;
 import com.samlair.trase.agent.web.dto.LoginResponseDto;
+import java.time.Instant;
 
 /**
  * Authentication operations for issuing JWTs.
  */
 public interface AuthService {
 
+	/**
+	 * JWT claim carrying the refresh-token session id. Tokens with this claim are short-lived and are not checked
+	 * against the revocation list.
+	 */
+	String SESSION_CLAIM = "sid";
+
 	/**
 	 * Authenticates the user and returns an access token.
 	 *
@@ -15,4 +22,26 @@ public interface AuthService {
 	 * @return login response with JWT and roles
 	 */
 	LoginResponseDto login(LoginRequestDto request);
+
+	/**
+	 * Exchanges a refresh token for a new access token and a rotated refresh token.
+	 *
+	 * @param refreshToken opaque refresh token from a previous login or refresh
+	 * @return login response with the new token pair
+	 */
+	LoginResponseDto refresh(String refreshToken);
+
+	/**
+	 * Ends a refresh-token session. Access tokens already issued for it stay valid until they expire.
+	 *
+	 * @param sessionId session id from the {@link #SESSION_CLAIM} claim
+	 */
+	void endSession(long sessionId);
+
+	/**
+	 * Removes expired refresh-token sessions.
+	 *
+	 * @param cutoff expiration cutoff
+	 */
+	void cleanupExpiredSessions(Instant cutoff);
 }
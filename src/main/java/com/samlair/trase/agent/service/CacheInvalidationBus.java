@@ -0,0 +1,15 @@
+package com.samlair.trase.agent.service;
+
+/**
+ * Relays committed agent, task, and token changes to the other nodes sharing the database, and replays theirs as
+ * local events so node-local caches stay consistent.
+ */
+public interface CacheInvalidationBus {
+
+	/**
+	 * Returns whether this node is currently receiving invalidations from other nodes.
+	 *
+	 * @return true while the listener connection is open
+	 */
+	boolean isConnected();
+}
@@ -0,0 +1,27 @@
+package com.samlair.trase.agent.service;
+
+/**
+ * Checks passwords against stored hashes off the request thread.
+ */
+public interface CredentialVerifier {
+
+	/**
+	 * Verifies a raw password against its stored hash.
+	 *
+	 * @param rawPassword password supplied by the client
+	 * @param passwordHash stored encoded password
+	 * @return verification result, including a re-encoded hash when the stored one is outdated
+	 * @throws com.samlair.trase.agent.domain.exception.ServiceUnavailableException when no hashing capacity is left
+	 */
+	Verification verify(String rawPassword, String passwordHash);
+
+	/**
+	 * Outcome of a password check.
+	 *
+	 * @param matches whether the password matched.
+	 * @param upgradedHash new hash to store, or {@code null} when the stored hash is current or the password did not
+	 *                     match.
+	 */
+	record Verification(boolean matches, String upgradedHash) {
+	}
+}
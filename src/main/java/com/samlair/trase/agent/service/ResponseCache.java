@@ -0,0 +1,49 @@
+package com.samlair.trase.agent.service;
+
+import com.samlair.trase.agent.domain.model.Versioned;
+import com.samlair.trase.agent.web.dto.AgentResponseDto;
+import com.samlair.trase.agent.web.dto.TaskResponseDto;
+import java.util.function.Supplier;
+
+/**
+ * Node-local read-through cache of agent and task responses.
+ */
+public interface ResponseCache {
+
+	/**
+	 * Returns the cached agent, loading and caching it on a miss.
+	 *
+	 * @param id agent identifier
+	 * @param loader loads the agent from the database; exceptions propagate and nothing is cached
+	 * @return agent response with the {@code updated_at} it was loaded at
+	 */
+	Versioned<AgentResponseDto> getAgent(long id, Supplier<Versioned<AgentResponseDto>> loader);
+
+	/**
+	 * Returns the cached task, loading and caching it on a miss.
+	 *
+	 * @param id task identifier
+	 * @param loader loads the task from the database; exceptions propagate and nothing is cached
+	 * @return task response with the {@code updated_at} it was loaded at
+	 */
+	Versioned<TaskResponseDto> getTask(long id, Supplier<Versioned<TaskResponseDto>> loader);
+
+	/**
+	 * Drops the cached entry for an agent.
+	 *
+	 * @param id agent identifier
+	 */
+	void evictAgent(long id);
+
+	/**
+	 * Drops the cached entry for a task.
+	 *
+	 * @param id task identifier
+	 */
+	void evictTask(long id);
+
+	/**
+	 * Drops every cached entry.
+	 */
+	void evictAll();
+}
@@ -0,0 +1,35 @@
+package com.samlair.trase.agent.service;
+
+/**
+ * Node-local lookup of which agents may run which tasks.
+ */
+public interface TaskAgentEligibilityIndex {
+
+	/**
+	 * Returns whether the agent is in the task's supported agent set.
+	 *
+	 * @param taskId task identifier
+	 * @param agentId agent identifier
+	 * @return true if the agent is supported for the task
+	 */
+	boolean isAgentSupported(long taskId, long agentId);
+
+	/**
+	 * Drops the cached entry for a task so the next lookup reloads it.
+	 *
+	 * @param taskId task identifier
+	 */
+	void evictTask(long taskId);
+
+	/**
+	 * Removes an agent from every cached task entry.
+	 *
+	 * @param agentId agent identifier
+	 */
+	void evictAgent(long agentId);
+
+	/**
+	 * Drops every cached entry.
+	 */
+	void evictAll();
+}
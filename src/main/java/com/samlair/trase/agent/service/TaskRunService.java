@@ -1,9 +1,11 @@
 package com.samlair.trase.agent.service;
 
 import com.samlair.trase.agent.domain.enumeration.TaskRunStatus;
+import com.samlair.trase.agent.web.dto.BatchItemResultDto;
 import com.samlair.trase.agent.web.dto.CreateTaskRunRequestDto;
 import com.samlair.trase.agent.web.dto.TaskRunResponseDto;
 import java.util.List;
+import java.util.function.Consumer;
 import org.springframework.data.domain.Pageable;
 
 /**
@@ -20,6 +22,15 @@ public interface TaskRunService {
 	 */
 	TaskRunResponseDto startTaskRun(CreateTaskRunRequestDto request, String idempotencyKey);
 
+	/**
+	 * Starts many task runs with set-based validation and batched inserts.
+	 * Invalid items are reported individually and do not prevent the valid items from starting.
+	 *
+	 * @param requests payloads describing the task runs.
+	 * @return one result per request, in request order.
+	 */
+	List<BatchItemResultDto<TaskRunResponseDto>> startTaskRuns(List<CreateTaskRunRequestDto> requests);
+
 	/**
 	 * Lists task runs, optionally filtered by status.
 	 *
@@ -30,6 +41,16 @@ public interface TaskRunService {
 	 */
 	List<TaskRunResponseDto> listTaskRuns(TaskRunStatus status, Pageable pageable, Long afterId);
 
+	/**
+	 * Streams every matching task run in id order without buffering the result set.
+	 *
+	 * @param status optional status filter.
+	 * @param afterId optional keyset start (id > afterId).
+	 * @param consumer receives each task run as it is read.
+	 * @return number of task runs streamed.
+	 */
+	long exportTaskRuns(TaskRunStatus status, Long afterId, Consumer<TaskRunResponseDto> consumer);
+
 	/**
 	 * Updates the status of an existing task run.
 	 *
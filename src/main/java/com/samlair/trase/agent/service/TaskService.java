@@ -1,8 +1,12 @@
 package com.samlair.trase.agent.service;
 
+import com.samlair.trase.agent.domain.model.Versioned;
+import com.samlair.trase.agent.web.dto.BatchItemResultDto;
 import com.samlair.trase.agent.web.dto.CreateTaskRequestDto;
 import com.samlair.trase.agent.web.dto.UpdateTaskRequestDto;
 import com.samlair.trase.agent.web.dto.TaskResponseDto;
+import com.samlair.trase.agent.web.dto.UpsertTaskRequestDto;
+import java.time.Instant;
 import java.util.List;
 import org.springframework.data.domain.Pageable;
 
@@ -28,13 +32,37 @@ public interface TaskService {
 	 */
 	TaskResponseDto createTask(CreateTaskRequestDto request);
 
+	/**
+	 * Creates or updates many tasks with set-based validation and batched writes.
+	 *
+	 * @param requests task items; items with an id replace that task, the others are created.
+	 * @return one result per item in request order.
+	 */
+	List<BatchItemResultDto<TaskResponseDto>> upsertTasks(List<UpsertTaskRequestDto> requests);
+
 	/**
 	 * Fetches a single task by ID.
 	 *
 	 * @param id task identifier.
-	 * @return task details.
+	 * @return task details with the {@code updated_at} they were built from.
+	 */
+	Versioned<TaskResponseDto> getTask(long id);
+
+	/**
+	 * Returns the last modification time of an active task without loading it.
+	 *
+	 * @param id task identifier.
+	 * @return value of {@code updated_at}.
+	 */
+	Instant getTaskVersion(long id);
+
+	/**
+	 * Fetches a single task, reloading a cached copy that is older than the row's current {@code updated_at}.
+	 *
+	 * @param id task identifier.
+	 * @return task details matching the stored row.
 	 */
-	TaskResponseDto getTask(long id);
+	Versioned<TaskResponseDto> getCurrentTask(long id);
 
 	/**
 	 * Updates an existing task.
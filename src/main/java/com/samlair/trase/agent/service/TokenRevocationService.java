@@ -29,4 +29,9 @@ public interface TokenRevocationService {
 	 * @param cutoff expiration cutoff
 	 */
 	void cleanupExpired(Instant cutoff);
+
+	/**
+	 * Pulls revocations recorded by other nodes into the local set and drops expired entries.
+	 */
+	void refreshRevocations();
 }
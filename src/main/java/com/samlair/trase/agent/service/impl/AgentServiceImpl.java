@@ -3,21 +3,36 @@ package com.samlair.trase.agent.service.impl;
 import com.samlair.trase.agent.domain.exception.BadRequestException;
 import com.samlair.trase.agent.domain.exception.NotFoundException;
 import com.samlair.trase.agent.domain.enumeration.AuditAction;
+import com.samlair.trase.agent.domain.event.AgentChangedEvent;
+import com.samlair.trase.agent.domain.event.AgentDeletedEvent;
+import com.samlair.trase.agent.domain.model.Versioned;
 import com.samlair.trase.agent.rdbms.dao.AgentDao;
+import com.samlair.trase.agent.rdbms.dao.AgentDaoCustom.AgentValues;
 import com.samlair.trase.agent.rdbms.entity.AgentEntity;
 import com.samlair.trase.agent.service.AgentService;
 import com.samlair.trase.agent.service.AuditService;
+import com.samlair.trase.agent.service.ResponseCache;
+import com.samlair.trase.agent.web.dto.BatchItemResultDto;
 import com.samlair.trase.agent.web.dto.CreateAgentRequestDto;
 import com.samlair.trase.agent.web.dto.UpdateAgentRequestDto;
 import com.samlair.trase.agent.web.dto.AgentResponseDto;
+import jakarta.validation.Validator;
 import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -32,18 +47,21 @@ public class AgentServiceImpl implements AgentService {
 
 	private final AgentDao agentDao;
 	private final AuditService auditService;
+	private final ApplicationEventPublisher eventPublisher;
+	private final ResponseCache responseCache;
+	private final Validator validator;
+
+	@Value("${agents.batch.max-size:5000}")
+	private int maxBatchSize;
 
 	@Transactional(readOnly = true)
 	@Override
 	public List<AgentResponseDto> listAgents(Pageable pageable, Long afterId) {
-		List<AgentEntity> agents = afterId == null
-				? agentDao.findAllByDeletedAtIsNull(pageable).getContent()
-				: agentDao.findAllByDeletedAtIsNullAndIdGreaterThanOrderByIdAsc(
-						afterId, PageRequest.of(0, pageable.getPageSize(), Sort.by("id").ascending()));
+		List<AgentResponseDto> agents = afterId == null
+				? agentDao.findActiveResponses(pageable).getContent()
+				: agentDao.findActiveResponsesAfterId(afterId, PageRequest.of(0, pageable.getPageSize()));
 		log.debug("Listing agents count={}", agents.size());
-		return agents.stream()
-				.map(this::toResponse)
-				.toList();
+		return agents;
 	}
 
 	@Transactional
@@ -55,14 +73,96 @@ public class AgentServiceImpl implements AgentService {
 		agent.setDescription(request.description());
 		AgentEntity saved = agentDao.save(agent);
 		auditService.recordAgentAction(saved.getId(), AuditAction.CREATE);
+		eventPublisher.publishEvent(new AgentChangedEvent(saved.getId()));
 		log.info("Created agent id={}", saved.getId());
 		return toResponse(saved);
 	}
 
+	@Transactional
+	@Override
+	public List<BatchItemResultDto<AgentResponseDto>> importAgents(List<CreateAgentRequestDto> requests) {
+		if (requests == null || requests.isEmpty()) {
+			throw new BadRequestException("At least one agent is required");
+		}
+		if (requests.size() > maxBatchSize) {
+			throw new BadRequestException("Batch size exceeds limit of " + maxBatchSize);
+		}
+
+		List<BatchItemResultDto<AgentResponseDto>> results = new ArrayList<>(Collections.nCopies(requests.size(), null));
+		Set<String> names = new HashSet<>();
+		for (int i = 0; i < requests.size(); i++) {
+			CreateAgentRequestDto request = requests.get(i);
+			String invalid = BatchItemValidation.violations(validator, request, "agent request is required");
+			if (invalid == null && !names.add(request.name())) {
+				invalid = "Duplicate agent name in batch: " + request.name();
+			}
+			if (invalid != null) {
+				results.set(i, new BatchItemResultDto<>(i, HttpStatus.BAD_REQUEST.value(), null, invalid));
+			}
+		}
+
+		Set<String> takenNames = agentDao.findActiveNames(names);
+		List<Integer> acceptedIndexes = new ArrayList<>();
+		List<AgentValues> accepted = new ArrayList<>();
+		for (int i = 0; i < requests.size(); i++) {
+			if (results.get(i) != null) {
+				continue;
+			}
+			CreateAgentRequestDto request = requests.get(i);
+			if (takenNames.contains(request.name())) {
+				results.set(i, duplicateName(i, request.name()));
+			} else {
+				acceptedIndexes.add(i);
+				accepted.add(new AgentValues(request.name(), request.description()));
+			}
+		}
+
+		Map<String, Long> insertedIds = agentDao.insertIgnoringDuplicateNames(
+				accepted, Instant.now().truncatedTo(ChronoUnit.MICROS));
+		List<Long> createdIds = new ArrayList<>(insertedIds.size());
+		for (int j = 0; j < accepted.size(); j++) {
+			int index = acceptedIndexes.get(j);
+			AgentValues agent = accepted.get(j);
+			Long id = insertedIds.get(agent.name());
+			if (id == null) {
+				results.set(index, duplicateName(index, agent.name()));
+				continue;
+			}
+			createdIds.add(id);
+			results.set(index, new BatchItemResultDto<>(index, HttpStatus.CREATED.value(),
+					new AgentResponseDto(id, agent.name(), agent.description()), null));
+		}
+		auditService.recordAgentActions(createdIds, AuditAction.CREATE);
+		createdIds.forEach(id -> eventPublisher.publishEvent(new AgentChangedEvent(id)));
+		log.info("Imported batch agents requested={} created={}", requests.size(), createdIds.size());
+		return results;
+	}
+
+	@Override
+	public Versioned<AgentResponseDto> getAgent(long id) {
+		return responseCache.getAgent(id, () -> {
+			AgentEntity agent = findAgent(id);
+			return new Versioned<>(toResponse(agent), agent.getUpdatedAt());
+		});
+	}
+
 	@Transactional(readOnly = true)
 	@Override
-	public AgentResponseDto getAgent(long id) {
-		return toResponse(findAgent(id));
+	public Instant getAgentVersion(long id) {
+		return agentDao.findActiveUpdatedAt(id)
+				.orElseThrow(() -> new NotFoundException("Agent not found: " + id));
+	}
+
+	@Override
+	public Versioned<AgentResponseDto> getCurrentAgent(long id) {
+		Instant updatedAt = getAgentVersion(id);
+		Versioned<AgentResponseDto> agent = getAgent(id);
+		if (agent.updatedAt().equals(updatedAt)) {
+			return agent;
+		}
+		log.debug("Reloading stale cached agent id={}", id);
+		responseCache.evictAgent(id);
+		return getAgent(id);
 	}
 
 	@Transactional
@@ -73,6 +173,7 @@ public class AgentServiceImpl implements AgentService {
 		agent.setName(request.name());
 		agent.setDescription(request.description());
 		auditService.recordAgentAction(agent.getId(), AuditAction.UPDATE);
+		eventPublisher.publishEvent(new AgentChangedEvent(agent.getId()));
 		log.info("Updated agent id={}", agent.getId());
 		return toResponse(agent);
 	}
@@ -88,6 +189,7 @@ public class AgentServiceImpl implements AgentService {
 		agent.setDeletedAt(Instant.now());
 		agentDao.save(agent);
 		auditService.recordAgentAction(agent.getId(), AuditAction.DELETE);
+		eventPublisher.publishEvent(new AgentDeletedEvent(agent.getId()));
 		log.info("Soft deleted agent id={}", agent.getId());
 	}
 
@@ -100,6 +202,10 @@ public class AgentServiceImpl implements AgentService {
 		return new AgentResponseDto(agent.getId(), agent.getName(), agent.getDescription());
 	}
 
+	private BatchItemResultDto<AgentResponseDto> duplicateName(int index, String name) {
+		return new BatchItemResultDto<>(index, HttpStatus.BAD_REQUEST.value(), null, "Agent name already exists: " + name);
+	}
+
 	private void assertUniqueName(String name, Long existingId) {
 		boolean exists = existingId == null
 				? agentDao.existsByNameAndDeletedAtIsNull(name)
@@ -0,0 +1,158 @@
+package com.samlair.trase.agent.service.impl;
+
+import com.samlair.trase.agent.config.PermitLimitedDataSource;
+import com.samlair.trase.agent.domain.exception.ServiceUnavailableException;
+import com.samlair.trase.agent.service.AdmissionLimiter;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntSupplier;
+import java.util.function.LongSupplier;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * {@link AdmissionLimiter} whose in-flight limit follows additive-increase/multiplicative-decrease (AIMD).
+ *
+ * <p>The limit starts at {@code admission.max-limit}, so requests are only shed once the database has pushed it
+ * down. A completed request counts as a saturation signal when threads are queued for a pool connection, it took
+ * longer than {@code admission.latency-threshold}, or it failed waiting for a connection. On that signal the limit is
+ * multiplied by {@code admission.backoff-ratio}, at most once per round of requests admitted under the current limit,
+ * and never below {@code admission.min-limit}. Any other completion adds one to the limit while at least half of it
+ * is in use. Requests beyond the limit get a {@link ServiceUnavailableException} with {@code admission.retry-after}.
+ */
+@Service
+public class AimdAdmissionLimiter implements AdmissionLimiter {
+
+	private static final Logger log = LoggerFactory.getLogger(AimdAdmissionLimiter.class);
+
+	private final IntSupplier connectionWaiters;
+	private final LongSupplier nanoClock;
+	private final int minLimit;
+	private final int maxLimit;
+	private final double backoffRatio;
+	private final long latencyThresholdNanos;
+	private final Duration retryAfter;
+	private final AtomicInteger inFlight = new AtomicInteger();
+	private final Counter rejected;
+	private final Counter increases;
+	private final Counter decreases;
+	private volatile double limit;
+	private long generation;
+
+	public AimdAdmissionLimiter(
+			DataSource dataSource,
+			MeterRegistry meterRegistry,
+			@Value("${admission.min-limit:10}") int minLimit,
+			@Value("${admission.max-limit:1000}") int maxLimit,
+			@Value("${admission.backoff-ratio:0.9}") double backoffRatio,
+			@Value("${admission.latency-threshold:2s}") Duration latencyThreshold,
+			@Value("${admission.retry-after:1s}") Duration retryAfter) {
+		this(connectionWaiters(dataSource), System::nanoTime, meterRegistry, minLimit, maxLimit, backoffRatio,
+				latencyThreshold, retryAfter);
+	}
+
+	AimdAdmissionLimiter(
+			IntSupplier connectionWaiters,
+			LongSupplier nanoClock,
+			MeterRegistry meterRegistry,
+			int minLimit,
+			int maxLimit,
+			double backoffRatio,
+			Duration latencyThreshold,
+			Duration retryAfter) {
+		this.connectionWaiters = connectionWaiters;
+		this.nanoClock = nanoClock;
+		this.minLimit = minLimit;
+		this.maxLimit = maxLimit;
+		this.backoffRatio = backoffRatio;
+		this.latencyThresholdNanos = latencyThreshold.toNanos();
+		this.retryAfter = retryAfter;
+		this.limit = maxLimit;
+		this.rejected = Counter.builder("admission.rejected")
+				.description("Requests shed because the concurrency limit was reached")
+				.register(meterRegistry);
+		this.increases = Counter.builder("admission.limit.changes")
+				.description("Adjustments of the adaptive concurrency limit")
+				.tag("direction", "increase")
+				.register(meterRegistry);
+		this.decreases = Counter.builder("admission.limit.changes")
+				.description("Adjustments of the adaptive concurrency limit")
+				.tag("direction", "decrease")
+				.register(meterRegistry);
+		Gauge.builder("admission.limit", this, AimdAdmissionLimiter::limit)
+				.description("Current adaptive concurrency limit")
+				.register(meterRegistry);
+		Gauge.builder("admission.in_flight", inFlight, AtomicInteger::get)
+				.description("Requests currently admitted")
+				.register(meterRegistry);
+	}
+
+	@Override
+	public Permit acquire() {
+		int admitted = inFlight.incrementAndGet();
+		if (admitted > (int) limit) {
+			inFlight.decrementAndGet();
+			rejected.increment();
+			throw new ServiceUnavailableException("Server is busy, retry later", retryAfter);
+		}
+		long startedAt = nanoClock.getAsLong();
+		long admittedGeneration = currentGeneration();
+		return connectionTimedOut -> complete(admitted, startedAt, admittedGeneration, connectionTimedOut);
+	}
+
+	double limit() {
+		return limit;
+	}
+
+	private void complete(int admitted, long startedAt, long admittedGeneration, boolean connectionTimedOut) {
+		inFlight.decrementAndGet();
+		boolean saturated = connectionTimedOut
+				|| nanoClock.getAsLong() - startedAt > latencyThresholdNanos
+				|| connectionWaiters.getAsInt() > 0;
+		synchronized (this) {
+			if (saturated) {
+				if (admittedGeneration == generation && limit > minLimit) {
+					limit = Math.max(minLimit, limit * backoffRatio);
+					generation++;
+					decreases.increment();
+					log.debug("Database saturated; concurrency limit lowered to {}", (int) limit);
+				}
+			} else if (admitted * 2 >= limit && limit < maxLimit) {
+				limit = Math.min(maxLimit, limit + 1);
+				increases.increment();
+			}
+		}
+	}
+
+	private synchronized long currentGeneration() {
+		return generation;
+	}
+
+	private static IntSupplier connectionWaiters(DataSource dataSource) {
+		PermitLimitedDataSource permits = dataSource instanceof PermitLimitedDataSource limited ? limited : null;
+		HikariDataSource hikari = unwrapHikari(dataSource);
+		return () -> {
+			HikariPoolMXBean pool = hikari == null ? null : hikari.getHikariPoolMXBean();
+			int poolWaiters = pool == null ? 0 : pool.getThreadsAwaitingConnection();
+			return poolWaiters + (permits == null ? 0 : permits.waitingThreads());
+		};
+	}
+
+	private static HikariDataSource unwrapHikari(DataSource dataSource) {
+		try {
+			return dataSource.isWrapperFor(HikariDataSource.class) ? dataSource.unwrap(HikariDataSource.class) : null;
+		} catch (SQLException ex) {
+			log.warn("Admission control cannot read Hikari pool waits", ex);
+			return null;
+		}
+	}
+}
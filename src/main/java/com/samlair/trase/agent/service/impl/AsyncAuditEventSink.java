@@ -0,0 +1,240 @@
+package com.samlair.trase.agent.service.impl;
+
+import com.samlair.trase.agent.domain.model.AuditEvent;
+import com.samlair.trase.agent.service.AuditEventSink;
+import com.samlair.trase.agent.service.AuditEventWriter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Buffers audit events in a bounded queue and writes them in batches from a dedicated thread.
+ *
+ * <p>Events are enqueued only after the caller's transaction commits, so rolled-back work is never audited.
+ * A batch is flushed once {@code audit.async.flush-size} events are buffered or {@code audit.async.flush-interval}
+ * has passed since its first event. When the queue stays full for {@code audit.async.offer-timeout}, the
+ * overflowing events are written on the calling thread instead of being dropped. A failed batch write is retried
+ * up to {@code audit.async.write-attempts} times, starting after {@code audit.async.retry-backoff} and doubling the
+ * delay each time; only then is the batch counted as dropped. The queue is drained on shutdown, and events
+ * submitted once shutdown has begun are written on the calling thread. Events still buffered when the process dies
+ * are lost. The writer is a virtual thread when {@code spring.threads.virtual.enabled=true}.
+ */
+@Component
+@ConditionalOnProperty(name = "audit.write-mode", havingValue = "async")
+public class AsyncAuditEventSink implements AuditEventSink {
+
+	private static final Logger log = LoggerFactory.getLogger(AsyncAuditEventSink.class);
+	private static final long MAX_POLL_SLICE_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+	private static final String EVENTS_DESCRIPTION = "Audit events handled by the async audit sink, by result";
+
+	private final AuditEventWriter auditEventWriter;
+	private final TransactionTemplate callerTransaction;
+	private final BlockingQueue<AuditEvent> queue;
+	private final int flushSize;
+	private final long flushIntervalNanos;
+	private final long pollSliceNanos;
+	private final Duration offerTimeout;
+	private final Duration shutdownTimeout;
+	private final int writeAttempts;
+	private final Duration retryBackoff;
+	private final Counter written;
+	private final Counter callerWrites;
+	private final Counter dropped;
+	private final Thread worker;
+	private volatile boolean running = true;
+
+	public AsyncAuditEventSink(
+			AuditEventWriter auditEventWriter,
+			PlatformTransactionManager transactionManager,
+			MeterRegistry meterRegistry,
+			@Value("${audit.async.queue-capacity:10000}") int queueCapacity,
+			@Value("${audit.async.flush-size:500}") int flushSize,
+			@Value("${audit.async.flush-interval:200ms}") Duration flushInterval,
+			@Value("${audit.async.offer-timeout:50ms}") Duration offerTimeout,
+			@Value("${audit.async.shutdown-timeout:10s}") Duration shutdownTimeout,
+			@Value("${audit.async.write-attempts:3}") int writeAttempts,
+			@Value("${audit.async.retry-backoff:100ms}") Duration retryBackoff,
+			@Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+		this.auditEventWriter = auditEventWriter;
+		this.callerTransaction = new TransactionTemplate(transactionManager);
+		this.callerTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+		this.queue = new ArrayBlockingQueue<>(queueCapacity);
+		this.flushSize = flushSize;
+		this.flushIntervalNanos = flushInterval.toNanos();
+		this.pollSliceNanos = Math.min(flushIntervalNanos, MAX_POLL_SLICE_NANOS);
+		this.offerTimeout = offerTimeout;
+		this.shutdownTimeout = shutdownTimeout;
+		this.writeAttempts = Math.max(1, writeAttempts);
+		this.retryBackoff = retryBackoff;
+		this.written = Counter.builder("audit.async.events")
+				.description(EVENTS_DESCRIPTION)
+				.tag("result", "written")
+				.register(meterRegistry);
+		this.callerWrites = Counter.builder("audit.async.events")
+				.description(EVENTS_DESCRIPTION)
+				.tag("result", "caller_write")
+				.register(meterRegistry);
+		this.dropped = Counter.builder("audit.async.events")
+				.description(EVENTS_DESCRIPTION)
+				.tag("result", "dropped")
+				.register(meterRegistry);
+		Gauge.builder("audit.async.queue.size", queue, BlockingQueue::size)
+				.description("Audit events waiting to be written")
+				.register(meterRegistry);
+		Thread.Builder workerBuilder = virtualThreads ? Thread.ofVirtual() : Thread.ofPlatform().daemon();
+		this.worker = workerBuilder.name("audit-writer").unstarted(this::drainLoop);
+	}
+
+	@PostConstruct
+	void start() {
+		worker.start();
+	}
+
+	@PreDestroy
+	void stop() throws InterruptedException {
+		running = false;
+		worker.join(shutdownTimeout.toMillis());
+		List<AuditEvent> remaining = new ArrayList<>();
+		queue.drainTo(remaining);
+		if (!remaining.isEmpty()) {
+			log.info("Flushing {} buffered audit events on shutdown", remaining.size());
+			flush(remaining);
+		}
+	}
+
+	@Override
+	public void submit(List<AuditEvent> events) {
+		if (events.isEmpty()) {
+			return;
+		}
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					enqueue(events);
+				}
+			});
+		} else {
+			enqueue(events);
+		}
+	}
+
+	private void enqueue(List<AuditEvent> events) {
+		if (!running) {
+			writeOnCaller(events);
+			return;
+		}
+		for (int i = 0; i < events.size(); i++) {
+			boolean accepted;
+			try {
+				accepted = queue.offer(events.get(i), offerTimeout.toNanos(), TimeUnit.NANOSECONDS);
+			} catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+				accepted = false;
+			}
+			if (!accepted) {
+				writeOnCaller(events.subList(i, events.size()));
+				break;
+			}
+		}
+		if (!running) {
+			// stop() began while these events were offered, so its final drain may already have run.
+			List<AuditEvent> stranded = new ArrayList<>();
+			queue.drainTo(stranded);
+			if (!stranded.isEmpty()) {
+				writeOnCaller(stranded);
+			}
+		}
+	}
+
+	private void writeOnCaller(List<AuditEvent> events) {
+		// Runs from afterCommit, where the committed transaction is still bound; a new one is required.
+		log.warn("Audit queue unavailable, writing {} events on caller thread", events.size());
+		callerTransaction.executeWithoutResult(status -> auditEventWriter.write(events));
+		callerWrites.increment(events.size());
+	}
+
+	private void drainLoop() {
+		List<AuditEvent> batch = new ArrayList<>(flushSize);
+		while (running || !queue.isEmpty()) {
+			try {
+				fillBatch(batch);
+			} catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+			}
+			if (!batch.isEmpty()) {
+				flush(batch);
+				batch.clear();
+			}
+			if (Thread.currentThread().isInterrupted()) {
+				log.warn("Audit writer interrupted; remaining events are flushed on shutdown");
+				return;
+			}
+		}
+	}
+
+	private void fillBatch(List<AuditEvent> batch) throws InterruptedException {
+		AuditEvent first = queue.poll(pollSliceNanos, TimeUnit.NANOSECONDS);
+		if (first == null) {
+			return;
+		}
+		batch.add(first);
+		long deadline = System.nanoTime() + flushIntervalNanos;
+		queue.drainTo(batch, flushSize - batch.size());
+		while (running && batch.size() < flushSize) {
+			long remaining = deadline - System.nanoTime();
+			if (remaining <= 0) {
+				return;
+			}
+			AuditEvent next = queue.poll(Math.min(remaining, pollSliceNanos), TimeUnit.NANOSECONDS);
+			if (next != null) {
+				batch.add(next);
+				queue.drainTo(batch, flushSize - batch.size());
+			}
+		}
+	}
+
+	private void flush(List<AuditEvent> batch) {
+		long backoffMillis = retryBackoff.toMillis();
+		for (int attempt = 1; ; attempt++) {
+			try {
+				auditEventWriter.write(batch);
+				written.increment(batch.size());
+				return;
+			} catch (RuntimeException ex) {
+				if (attempt >= writeAttempts) {
+					dropped.increment(batch.size());
+					log.error("Failed to write {} audit events after {} attempts", batch.size(), attempt, ex);
+					return;
+				}
+				log.warn("Failed to write {} audit events (attempt {} of {}), retrying in {} ms",
+						batch.size(), attempt, writeAttempts, backoffMillis, ex);
+			}
+			try {
+				Thread.sleep(backoffMillis);
+			} catch (InterruptedException ex) {
+				// Keep the flag for drainLoop; the remaining attempts run without delay.
+				Thread.currentThread().interrupt();
+			}
+			backoffMillis *= 2;
+		}
+	}
+}
@@ -0,0 +1,41 @@
+package com.samlair.trase.agent.service.impl;
+
+import com.samlair.trase.agent.config.RequestIdFilter;
+import org.slf4j.MDC;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+
+/**
+ * Caller identity attached to audit records.
+ *
+ * @param userId authenticated user id, if any.
+ * @param username authenticated username, if any.
+ * @param requestId request correlation id, if any.
+ */
+record AuditActor(Long userId, String username, String requestId) {
+
+	/**
+	 * Resolves the actor from the current security context and MDC.
+	 *
+	 * @return current actor.
+	 */
+	static AuditActor current() {
+		Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+		if (authentication instanceof JwtAuthenticationToken token) {
+			Jwt jwt = token.getToken();
+			Object uid = jwt.getClaim("uid");
+			Long userId = null;
+			if (uid instanceof Number number) {
+				userId = number.longValue();
+			} else if (uid instanceof String value) {
+				userId = Long.parseLong(value);
+			}
+			String username = jwt.getSubject();
+			String requestId = MDC.get(RequestIdFilter.REQUEST_ID_MDC_KEY);
+			return new AuditActor(userId, username, requestId);
+		}
+		return new AuditActor(null, null, MDC.get(RequestIdFilter.REQUEST_ID_MDC_KEY));
+	}
+}
@@ -0,0 +1,80 @@
+package com.samlair.trase.agent.service.impl;
+
+import com.samlair.trase.agent.domain.model.AuditEvent;
+import com.samlair.trase.agent.rdbms.dao.AgentAuditDao;
+import com.samlair.trase.agent.rdbms.dao.TaskAuditDao;
+import com.samlair.trase.agent.rdbms.dao.TaskRunAuditDao;
+import com.samlair.trase.agent.rdbms.entity.AgentAuditEntity;
+import com.samlair.trase.agent.rdbms.entity.TaskAuditEntity;
+import com.samlair.trase.agent.rdbms.entity.TaskRunAuditEntity;
+import com.samlair.trase.agent.service.AuditEventWriter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * JDBC-batched writer for audit events.
+ */
+@Service
+@RequiredArgsConstructor
+public class AuditEventWriterImpl implements AuditEventWriter {
+
+	private final AgentAuditDao agentAuditDao;
+	private final TaskAuditDao taskAuditDao;
+	private final TaskRunAuditDao taskRunAuditDao;
+
+	@Transactional
+	@Override
+	public void write(Collection<AuditEvent> events) {
+		List<AgentAuditEntity> agentAudits = new ArrayList<>();
+		List<TaskAuditEntity> taskAudits = new ArrayList<>();
+		List<TaskRunAuditEntity> taskRunAudits = new ArrayList<>();
+		for (AuditEvent event : events) {
+			switch (event.kind()) {
+				case AGENT -> agentAudits.add(toAgentAudit(event));
+				case TASK -> taskAudits.add(toTaskAudit(event));
+				case TASK_RUN -> taskRunAudits.add(toTaskRunAudit(event));
+			}
+		}
+		agentAuditDao.insertAll(agentAudits);
+		taskAuditDao.insertAll(taskAudits);
+		taskRunAuditDao.insertAll(taskRunAudits);
+	}
+
+	private AgentAuditEntity toAgentAudit(AuditEvent event) {
+		AgentAuditEntity audit = new AgentAuditEntity();
+		audit.setAgentId(event.entityId());
+		audit.setAction(event.action());
+		audit.setActorUserId(event.actorUserId());
+		audit.setActorUsername(event.actorUsername());
+		audit.setRequestId(event.requestId());
+		audit.setOccurredAt(event.occurredAt());
+		return audit;
+	}
+
+	private TaskAuditEntity toTaskAudit(AuditEvent event) {
+		TaskAuditEntity audit = new TaskAuditEntity();
+		audit.setTaskId(event.entityId());
+		audit.setAction(event.action());
+		audit.setActorUserId(event.actorUserId());
+		audit.setActorUsername(event.actorUsername());
+		audit.setRequestId(event.requestId());
+		audit.setOccurredAt(event.occurredAt());
+		return audit;
+	}
+
+	private TaskRunAuditEntity toTaskRunAudit(AuditEvent event) {
+		TaskRunAuditEntity audit = new TaskRunAuditEntity();
+		audit.setTaskRunId(event.entityId());
+		audit.setAction(event.action());
+		audit.setStatus(event.status());
+		audit.setActorUserId(event.actorUserId());
+		audit.setActorUsername(event.actorUsername());
+		audit.setRequestId(event.requestId());
+		audit.setOccurredAt(event.occurredAt());
+		return audit;
+	}
+}
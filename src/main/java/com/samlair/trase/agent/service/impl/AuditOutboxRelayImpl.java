@@ -0,0 +1,99 @@
+package com.samlair.trase.agent.service.impl;
+
+import com.samlair.trase.agent.domain.model.AuditEvent;
+import com.samlair.trase.agent.rdbms.dao.AuditOutboxDao;
+import com.samlair.trase.agent.service.AuditEventWriter;
+import com.samlair.trase.agent.service.AuditOutboxRelay;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Periodically fans out {@code audit_outbox} rows into the per-kind audit tables.
+ *
+ * <p>Each batch is claimed with {@code FOR UPDATE SKIP LOCKED}, written, and deleted in one transaction, so
+ * several nodes can relay concurrently and a failed batch is retried on the next run.
+ */
+@Component
+@ConditionalOnProperty(name = "audit.write-mode", havingValue = "outbox")
+public class AuditOutboxRelayImpl implements AuditOutboxRelay {
+
+	private static final Logger log = LoggerFactory.getLogger(AuditOutboxRelayImpl.class);
+
+	private final AuditOutboxDao auditOutboxDao;
+	private final AuditEventWriter auditEventWriter;
+	private final TransactionTemplate transactionTemplate;
+	private final int batchSize;
+	private final int maxBatchesPerRun;
+	private final Counter relayed;
+	private final Timer batchTimer;
+	private final AtomicLong lagMillis = new AtomicLong();
+
+	public AuditOutboxRelayImpl(
+			AuditOutboxDao auditOutboxDao,
+			AuditEventWriter auditEventWriter,
+			PlatformTransactionManager transactionManager,
+			MeterRegistry meterRegistry,
+			@Value("${audit.outbox.batch-size:1000}") int batchSize,
+			@Value("${audit.outbox.max-batches-per-run:50}") int maxBatchesPerRun) {
+		this.auditOutboxDao = auditOutboxDao;
+		this.auditEventWriter = auditEventWriter;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.batchSize = batchSize;
+		this.maxBatchesPerRun = maxBatchesPerRun;
+		this.relayed = Counter.builder("audit.outbox.relayed")
+				.description("Audit events moved from the outbox into the audit tables")
+				.register(meterRegistry);
+		this.batchTimer = Timer.builder("audit.outbox.batch")
+				.description("Time to claim, write and delete one outbox batch")
+				.register(meterRegistry);
+		TimeGauge.builder("audit.outbox.lag", lagMillis, TimeUnit.MILLISECONDS, AtomicLong::doubleValue)
+				.description("Age of the oldest audit event still in the outbox after the last relay run")
+				.register(meterRegistry);
+	}
+
+	@Override
+	@Scheduled(fixedDelayString = "${audit.outbox.relay-delay-ms:500}")
+	public int relayPending() {
+		int total = 0;
+		for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+			Integer count = batchTimer.record(() -> transactionTemplate.execute(status -> relayBatch()));
+			int relayedCount = count == null ? 0 : count;
+			total += relayedCount;
+			if (relayedCount < batchSize) {
+				break;
+			}
+		}
+		lagMillis.set(auditOutboxDao.findOldestOccurredAt()
+				.map(oldest -> Math.max(0, Duration.between(oldest, Instant.now()).toMillis()))
+				.orElse(0L));
+		if (total > 0) {
+			log.debug("Relayed {} audit events from outbox", total);
+		}
+		return total;
+	}
+
+	private int relayBatch() {
+		List<AuditEvent> events = auditOutboxDao.claimBatch(batchSize);
+		if (events.isEmpty()) {
+			return 0;
+		}
+		auditEventWriter.write(events);
+		relayed.increment(events.size());
+		return events.size();
+	}
+}
@@ -0,0 +1,28 @@
+package com.samlair.trase.agent.service.impl;
+
+import com.samlair.trase.agent.service.AuditPartitionMaintenanceJob;
+import com.samlair.trase.agent.service.AuditPartitionService;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Periodically rolls audit table partitions forward.
+ */
+@Component
+@RequiredArgsConstructor
+public class AuditPartitionMaintenanceJobImpl implements AuditPartitionMaintenanceJob {
+
+	private final AuditPartitionService auditPartitionService;
+
+	/**
+	 * Pre-creates future partitions and expires old ones.
+	 */
+	@Override
+	@Scheduled(cron = "${audit.partitions.maintenance-cron:0 15 0 * * *}", zone = "UTC")
+	public void maintainPartitions() {
+		auditPartitionService.maintainPartitions(YearMonth.now(ZoneOffset.UTC));
+	}
+}
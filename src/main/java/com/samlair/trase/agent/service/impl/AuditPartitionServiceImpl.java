@@ -0,0 +1,80 @@
+package com.samlair.trase.agent.service.impl;
+
+import com.samlair.trase.agent.rdbms.dao.AgentAuditDao;
+import com.samlair.trase.agent.rdbms.dao.AuditPartitionDaoCustom;
+import com.samlair.trase.agent.rdbms.dao.TaskAuditDao;
+import com.samlair.trase.agent.rdbms.dao.TaskRunAuditDao;
+import com.samlair.trase.agent.service.AuditPartitionService;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+
+/**
+ * Maintains monthly partitions of {@code agents_audit}, {@code tasks_audit} and {@code task_runs_audit}.
+ *
+ * <p>Each table is handled independently so a failure on one (for example, rows for a new month already sitting in
+ * the default partition) does not block the others. A retention of zero keeps every partition.
+ */
+@Service
+public class AuditPartitionServiceImpl implements AuditPartitionService {
+
+	private static final Logger log = LoggerFactory.getLogger(AuditPartitionServiceImpl.class);
+
+	private final Map<String, AuditPartitionDaoCustom> tables;
+	private final int premakeMonths;
+	private final int retentionMonths;
+	private final boolean dropExpired;
+
+	public AuditPartitionServiceImpl(
+			AgentAuditDao agentAuditDao,
+			TaskAuditDao taskAuditDao,
+			TaskRunAuditDao taskRunAuditDao,
+			@Value("${audit.partitions.premake-months:3}") int premakeMonths,
+			@Value("${audit.partitions.retention-months:0}") int retentionMonths,
+			@Value("${audit.partitions.drop-expired:false}") boolean dropExpired) {
+		this.tables = Map.of(
+				"agents_audit", agentAuditDao,
+				"tasks_audit", taskAuditDao,
+				"task_runs_audit", taskRunAuditDao);
+		this.premakeMonths = premakeMonths;
+		this.retentionMonths = retentionMonths;
+		this.dropExpired = dropExpired;
+	}
+
+	@Override
+	public void maintainPartitions(YearMonth currentMonth) {
+		tables.forEach((table, dao) -> {
+			try {
+				maintainTable(table, dao, currentMonth);
+			} catch (DataAccessException ex) {
+				log.warn("Audit partition maintenance failed table={}", table, ex);
+			}
+		});
+	}
+
+	private void maintainTable(String table, AuditPartitionDaoCustom dao, YearMonth currentMonth) {
+		List<YearMonth> existing = dao.findMonthlyPartitions();
+		for (int offset = 0; offset <= premakeMonths; offset++) {
+			YearMonth month = currentMonth.plusMonths(offset);
+			if (!existing.contains(month)) {
+				dao.createMonthlyPartition(month);
+				log.info("Created audit partition table={} month={}", table, month);
+			}
+		}
+		if (retentionMonths <= 0) {
+			return;
+		}
+		YearMonth oldestKept = currentMonth.minusMonths(retentionMonths);
+		for (YearMonth month : existing) {
+			if (month.isBefore(oldestKept)) {
+				dao.detachMonthlyPartition(month, dropExpired);
+				log.info("Expired audit partition table={} month={} dropped={}", table, month, dropExpired);
+			}
+		}
+	}
+}
@@ -1,20 +1,29 @@
 package com.samlair.trase.agent.service.impl;
 
+import com.samlair.trase.agent.domain.model.AuditCursor;
+import com.samlair.trase.agent.domain.model.AuditFilter;
+import com.samlair.trase.agent.domain.model.CursorPage;
 import com.samlair.trase.agent.rdbms.dao.AgentAuditDao;
+import com.samlair.trase.agent.rdbms.dao.AuditExportDaoCustom;
+import com.samlair.trase.agent.rdbms.dao.AuditExportDaoCustom.AuditRow;
 import com.samlair.trase.agent.rdbms.dao.TaskAuditDao;
 import com.samlair.trase.agent.rdbms.dao.TaskRunAuditDao;
-import com.samlair.trase.agent.rdbms.entity.AgentAuditEntity;
-import com.samlair.trase.agent.rdbms.entity.TaskAuditEntity;
-import com.samlair.trase.agent.rdbms.entity.TaskRunAuditEntity;
 import com.samlair.trase.agent.service.AuditQueryService;
 import com.samlair.trase.agent.web.dto.AgentAuditResponseDto;
 import com.samlair.trase.agent.web.dto.TaskAuditResponseDto;
 import com.samlair.trase.agent.web.dto.TaskRunAuditResponseDto;
 import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -31,64 +40,163 @@ public class AuditQueryServiceImpl implements AuditQueryService {
 	private final TaskAuditDao taskAuditDao;
 	private final TaskRunAuditDao taskRunAuditDao;
 
+	@Value("${audit.export.fetch-size:1000}")
+	private int exportFetchSize;
+
+	@Transactional(readOnly = true)
+	@Override
+	public CursorPage<AgentAuditResponseDto> listAgentAudits(AuditFilter filter, Pageable pageable,
+			AuditCursor cursor) {
+		CursorPage<AgentAuditResponseDto> page = listPage(filter, pageable, cursor,
+				agentAuditDao::findResponses,
+				agentAuditDao::findResponsesBefore,
+				agentAuditDao::findResponsesAfter,
+				agentAuditDao::findFiltered,
+				AgentAuditResponseDto::id);
+		log.debug("Listing agent audits count={}", page.items().size());
+		return page;
+	}
+
 	@Transactional(readOnly = true)
 	@Override
-	public List<AgentAuditResponseDto> listAgentAudits(Pageable pageable) {
-		List<AgentAuditEntity> audits = agentAuditDao.findAll(pageable).getContent();
-		log.debug("Listing agent audits count={}", audits.size());
-		return audits.stream().map(this::toResponse).toList();
+	public CursorPage<TaskAuditResponseDto> listTaskAudits(AuditFilter filter, Pageable pageable,
+			AuditCursor cursor) {
+		CursorPage<TaskAuditResponseDto> page = listPage(filter, pageable, cursor,
+				taskAuditDao::findResponses,
+				taskAuditDao::findResponsesBefore,
+				taskAuditDao::findResponsesAfter,
+				taskAuditDao::findFiltered,
+				TaskAuditResponseDto::id);
+		log.debug("Listing task audits count={}", page.items().size());
+		return page;
 	}
 
 	@Transactional(readOnly = true)
 	@Override
-	public List<TaskAuditResponseDto> listTaskAudits(Pageable pageable) {
-		List<TaskAuditEntity> audits = taskAuditDao.findAll(pageable).getContent();
-		log.debug("Listing task audits count={}", audits.size());
-		return audits.stream().map(this::toResponse).toList();
+	public CursorPage<TaskRunAuditResponseDto> listTaskRunAudits(AuditFilter filter, Pageable pageable,
+			AuditCursor cursor) {
+		CursorPage<TaskRunAuditResponseDto> page = listPage(filter, pageable, cursor,
+				taskRunAuditDao::findResponses,
+				taskRunAuditDao::findResponsesBefore,
+				taskRunAuditDao::findResponsesAfter,
+				taskRunAuditDao::findFiltered,
+				TaskRunAuditResponseDto::id);
+		log.debug("Listing task run audits count={}", page.items().size());
+		return page;
 	}
 
 	@Transactional(readOnly = true)
 	@Override
-	public List<TaskRunAuditResponseDto> listTaskRunAudits(Pageable pageable) {
-		List<TaskRunAuditEntity> audits = taskRunAuditDao.findAll(pageable).getContent();
-		log.debug("Listing task run audits count={}", audits.size());
-		return audits.stream().map(this::toResponse).toList();
+	public long exportAgentAudits(AuditFilter filter, Consumer<AgentAuditResponseDto> consumer) {
+		return export("agent", agentAuditDao, filter, row -> consumer.accept(new AgentAuditResponseDto(
+				row.id(),
+				row.entityId(),
+				row.action(),
+				row.actorUserId(),
+				row.actorUsername(),
+				row.requestId(),
+				row.occurredAt())));
+	}
+
+	@Transactional(readOnly = true)
+	@Override
+	public long exportTaskAudits(AuditFilter filter, Consumer<TaskAuditResponseDto> consumer) {
+		return export("task", taskAuditDao, filter, row -> consumer.accept(new TaskAuditResponseDto(
+				row.id(),
+				row.entityId(),
+				row.action(),
+				row.actorUserId(),
+				row.actorUsername(),
+				row.requestId(),
+				row.occurredAt())));
+	}
+
+	@Transactional(readOnly = true)
+	@Override
+	public long exportTaskRunAudits(AuditFilter filter, Consumer<TaskRunAuditResponseDto> consumer) {
+		return export("task run", taskRunAuditDao, filter, row -> consumer.accept(new TaskRunAuditResponseDto(
+				row.id(),
+				row.entityId(),
+				row.action(),
+				row.status(),
+				row.actorUserId(),
+				row.actorUsername(),
+				row.requestId(),
+				row.occurredAt())));
+	}
+
+	private long export(String kind, AuditExportDaoCustom dao, AuditFilter filter, Consumer<AuditRow> action) {
+		long[] count = new long[1];
+		dao.streamAudits(filter, exportFetchSize, row -> {
+			action.accept(row);
+			count[0]++;
+		});
+		log.debug("Exported {} audits count={}", kind, count[0]);
+		return count[0];
 	}
 
-	private AgentAuditResponseDto toResponse(AgentAuditEntity audit) {
-		return new AgentAuditResponseDto(
-				audit.getId(),
-				audit.getAgentId(),
-				audit.getAction(),
-				audit.getActorUserId(),
-				audit.getActorUsername(),
-				audit.getRequestId(),
-				audit.getOccurredAt()
-		);
+	/**
+	 * Runs an offset (Slice, no count) or keyset query and derives the next cursor. Keyset queries fetch one extra
+	 * row to detect whether another page exists. Offset pages only yield a cursor when sorted by id alone. Filtered
+	 * listings always use the keyset query, newest first unless sorted by id ascending.
+	 */
+	private <D> CursorPage<D> listPage(
+			AuditFilter filter,
+			Pageable pageable,
+			AuditCursor cursor,
+			Function<Pageable, Slice<D>> offsetQuery,
+			BiFunction<Long, Pageable, List<D>> beforeQuery,
+			BiFunction<Long, Pageable, List<D>> afterQuery,
+			FilteredQuery<D> filteredQuery,
+			Function<D, Long> idOf) {
+		int size = pageable.getPageSize();
+		boolean filtered = filter != null && !filter.isEmpty();
+		List<D> items;
+		boolean hasNext;
+		AuditCursor.Direction direction;
+		if (cursor == null && !filtered) {
+			Slice<D> slice = offsetQuery.apply(pageable);
+			items = slice.getContent();
+			hasNext = slice.hasNext();
+			direction = idDirection(pageable.getSort());
+		} else {
+			if (cursor != null) {
+				direction = cursor.direction();
+			} else {
+				direction = idDirection(pageable.getSort()) == AuditCursor.Direction.AFTER
+						? AuditCursor.Direction.AFTER
+						: AuditCursor.Direction.BEFORE;
+			}
+			Long fromId = cursor == null ? null : cursor.id();
+			if (filtered) {
+				items = filteredQuery.find(filter, direction, fromId, size + 1);
+			} else {
+				PageRequest probe = PageRequest.of(0, size + 1);
+				items = direction == AuditCursor.Direction.BEFORE
+						? beforeQuery.apply(fromId, probe)
+						: afterQuery.apply(fromId, probe);
+			}
+			hasNext = items.size() > size;
+			items = hasNext ? items.subList(0, size) : items;
+		}
+		AuditCursor next = null;
+		if (hasNext && direction != null && !items.isEmpty()) {
+			long lastId = idOf.apply(items.get(items.size() - 1));
+			next = direction == AuditCursor.Direction.BEFORE ? AuditCursor.before(lastId) : AuditCursor.after(lastId);
+		}
+		return new CursorPage<>(items, next);
 	}
 
-	private TaskAuditResponseDto toResponse(TaskAuditEntity audit) {
-		return new TaskAuditResponseDto(
-				audit.getId(),
-				audit.getTaskId(),
-				audit.getAction(),
-				audit.getActorUserId(),
-				audit.getActorUsername(),
-				audit.getRequestId(),
-				audit.getOccurredAt()
-		);
+	private AuditCursor.Direction idDirection(Sort sort) {
+		List<Sort.Order> orders = sort.toList();
+		if (orders.size() != 1 || !"id".equals(orders.get(0).getProperty())) {
+			return null;
+		}
+		return orders.get(0).isDescending() ? AuditCursor.Direction.BEFORE : AuditCursor.Direction.AFTER;
 	}
 
-	private TaskRunAuditResponseDto toResponse(TaskRunAuditEntity audit) {
-		return new TaskRunAuditResponseDto(
-				audit.getId(),
-				audit.getTaskRunId(),
-				audit.getAction(),
-				audit.getStatus(),
-				audit.getActorUserId(),
-				audit.getActorUsername(),
-				audit.getRequestId(),
-				audit.getOccurredAt()
-		);
+	@FunctionalInterface
+	private interface FilteredQuery<D> {
+		List<D> find(AuditFilter filter, AuditCursor.Direction direction, Long fromId, int limit);
 	}
 }
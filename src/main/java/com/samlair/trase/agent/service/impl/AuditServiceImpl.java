@@ -1,6 +1,5 @@
 package com.samlair.trase.agent.service.impl;
 
-import com.samlair.trase.agent.config.RequestIdFilter;
 import com.samlair.trase.agent.domain.enumeration.AuditAction;
 import com.samlair.trase.agent.rdbms.dao.AgentAuditDao;
 import com.samlair.trase.agent.rdbms.dao.TaskAuditDao;
@@ -9,18 +8,20 @@ import com.samlair.trase.agent.rdbms.entity.AgentAuditEntity;
 import com.samlair.trase.agent.rdbms.entity.TaskAuditEntity;
 import com.samlair.trase.agent.rdbms.entity.TaskRunAuditEntity;
 import com.samlair.trase.agent.service.AuditService;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
 import lombok.RequiredArgsConstructor;
-import org.slf4j.MDC;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.oauth2.jwt.Jwt;
-import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
 
 /**
- * Records audit events for write operations.
+ * Records audit events for write operations inside the caller's transaction.
+ *
+ * <p>Active when {@code audit.write-mode=sync} (the default).
  */
 @Service
+@ConditionalOnProperty(name = "audit.write-mode", havingValue = "sync", matchIfMissing = true)
 @RequiredArgsConstructor
 public class AuditServiceImpl implements AuditService {
 
@@ -30,7 +31,7 @@ public class AuditServiceImpl implements AuditService {
 
 	@Override
 	public void recordAgentAction(Long agentId, AuditAction action) {
-		AuditActor actor = currentActor();
+		AuditActor actor = AuditActor.current();
 		AgentAuditEntity audit = new AgentAuditEntity();
 		audit.setAgentId(agentId);
 		audit.setAction(action);
@@ -40,9 +41,30 @@ public class AuditServiceImpl implements AuditService {
 		agentAuditDao.save(audit);
 	}
 
+	@Override
+	public void recordAgentActions(List<Long> agentIds, AuditAction action) {
+		if (agentIds.isEmpty()) {
+			return;
+		}
+		AuditActor actor = AuditActor.current();
+		Instant occurredAt = Instant.now();
+		List<AgentAuditEntity> audits = new ArrayList<>(agentIds.size());
+		for (Long agentId : agentIds) {
+			AgentAuditEntity audit = new AgentAuditEntity();
+			audit.setAgentId(agentId);
+			audit.setAction(action);
+			audit.setActorUserId(actor.userId());
+			audit.setActorUsername(actor.username());
+			audit.setRequestId(actor.requestId());
+			audit.setOccurredAt(occurredAt);
+			audits.add(audit);
+		}
+		agentAuditDao.insertAll(audits);
+	}
+
 	@Override
 	public void recordTaskAction(Long taskId, AuditAction action) {
-		AuditActor actor = currentActor();
+		AuditActor actor = AuditActor.current();
 		TaskAuditEntity audit = new TaskAuditEntity();
 		audit.setTaskId(taskId);
 		audit.setAction(action);
@@ -52,9 +74,30 @@ public class AuditServiceImpl implements AuditService {
 		taskAuditDao.save(audit);
 	}
 
+	@Override
+	public void recordTaskActions(List<Long> taskIds, AuditAction action) {
+		if (taskIds.isEmpty()) {
+			return;
+		}
+		AuditActor actor = AuditActor.current();
+		Instant occurredAt = Instant.now();
+		List<TaskAuditEntity> audits = new ArrayList<>(taskIds.size());
+		for (Long taskId : taskIds) {
+			TaskAuditEntity audit = new TaskAuditEntity();
+			audit.setTaskId(taskId);
+			audit.setAction(action);
+			audit.setActorUserId(actor.userId());
+			audit.setActorUsername(actor.username());
+			audit.setRequestId(actor.requestId());
+			audit.setOccurredAt(occurredAt);
+			audits.add(audit);
+		}
+		taskAuditDao.insertAll(audits);
+	}
+
 	@Override
 	public void recordTaskRunAction(Long taskRunId, AuditAction action, String status) {
-		AuditActor actor = currentActor();
+		AuditActor actor = AuditActor.current();
 		TaskRunAuditEntity audit = new TaskRunAuditEntity();
 		audit.setTaskRunId(taskRunId);
 		audit.setAction(action);
@@ -65,24 +108,25 @@ public class AuditServiceImpl implements AuditService {
 		taskRunAuditDao.save(audit);
 	}
 
-	private AuditActor currentActor() {
-		Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-		if (authentication instanceof JwtAuthenticationToken token) {
-			Jwt jwt = token.getToken();
-			Object uid = jwt.getClaim("uid");
-			Long userId = null;
-			if (uid instanceof Number number) {
-				userId = number.longValue();
-			} else if (uid instanceof String value) {
-				userId = Long.parseLong(value);
-			}
-			String username = jwt.getSubject();
-			String requestId = MDC.get(RequestIdFilter.REQUEST_ID_MDC_KEY);
-			return new AuditActor(userId, username, requestId);
+	@Override
+	public void recordTaskRunActions(List<Long> taskRunIds, AuditAction action, String status) {
+		if (taskRunIds.isEmpty()) {
+			return;
 		}
-		return new AuditActor(null, null, MDC.get(RequestIdFilter.REQUEST_ID_MDC_KEY));
-	}
-
-	private record AuditActor(Long userId, String username, String requestId) {
+		AuditActor actor = AuditActor.current();
+		Instant occurredAt = Instant.now();
+		List<TaskRunAuditEntity> audits = new ArrayList<>(taskRunIds.size());
+		for (Long taskRunId : taskRunIds) {
+			TaskRunAuditEntity audit = new TaskRunAuditEntity();
+			audit.setTaskRunId(taskRunId);
+			audit.setAction(action);
+			audit.setStatus(status);
+			audit.setActorUserId(actor.userId());
+			audit.setActorUsername(actor.username());
+			audit.setRequestId(actor.requestId());
+			audit.setOccurredAt(occurredAt);
+			audits.add(audit);
+		}
+		taskRunAuditDao.insertAll(audits);
 	}
 }
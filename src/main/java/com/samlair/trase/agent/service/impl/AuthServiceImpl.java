@@ -1,35 +1,68 @@
 package com.samlair.trase.agent.service.impl;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.samlair.trase.agent.config.JwtKeyRing;
+import com.samlair.trase.agent.domain.exception.BadRequestException;
 import com.samlair.trase.agent.domain.exception.UnauthorizedException;
+import com.samlair.trase.agent.domain.model.UserCredentials;
+import com.samlair.trase.agent.rdbms.dao.RefreshTokenDao;
 import com.samlair.trase.agent.rdbms.dao.UserDao;
+import com.samlair.trase.agent.rdbms.entity.RefreshTokenEntity;
 import com.samlair.trase.agent.rdbms.entity.RoleEntity;
 import com.samlair.trase.agent.rdbms.entity.UserEntity;
 import com.samlair.trase.agent.service.AuthService;
+import com.samlair.trase.agent.service.CredentialVerifier;
 import com.samlair.trase.agent.web.dto.LoginRequestDto;
 import com.samlair.trase.agent.web.dto.LoginResponseDto;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.Base64;
+import java.util.HexFormat;
 import java.util.List;
 import java.util.UUID;
-import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.oauth2.jwt.JwtClaimsSet;
 import org.springframework.security.oauth2.jwt.JwtEncoder;
 import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
 import org.springframework.security.oauth2.jwt.JwsHeader;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 /**
  * Issues JWTs for authenticated users.
+ *
+ * <p>Login data for enabled users is cached for {@code security.login.user-cache.ttl}, so a changed password or
+ * disabled account may keep working until the entry expires. Password checks run through {@link CredentialVerifier};
+ * when the stored hash uses an outdated encoding or strength, it is re-encoded and saved after a successful login.
+ * {@code auth.login.phase{phase=lookup|hash|sign}} times each step of the login path.
+ *
+ * <p>With {@code security.jwt.refresh.enabled=true}, login returns a short-lived access token carrying a session id
+ * plus an opaque refresh token whose hash is stored in {@code refresh_tokens}. Each refresh rotates the refresh token
+ * and checks the session once, instead of the revocation list being consulted on every request.
  */
 @Service
-@RequiredArgsConstructor
 public class AuthServiceImpl implements AuthService {
 
+	private static final int REFRESH_TOKEN_BYTES = 32;
+
 	private final UserDao userDao;
-	private final PasswordEncoder passwordEncoder;
+	private final CredentialVerifier credentialVerifier;
 	private final JwtEncoder jwtEncoder;
+	private final JwtKeyRing jwtKeyRing;
+	private final RefreshTokenDao refreshTokenDao;
+	private final Cache<String, UserCredentials> users;
+	private final Timer lookupTimer;
+	private final Timer hashTimer;
+	private final Timer signTimer;
+	private final SecureRandom secureRandom = new SecureRandom();
 
 	@Value("${security.jwt.issuer:trase}")
 	private String issuer;
@@ -37,34 +70,161 @@ public class AuthServiceImpl implements AuthService {
 	@Value("${security.jwt.token-ttl:1h}")
 	private Duration tokenTtl;
 
+	@Value("${security.jwt.refresh.enabled:false}")
+	private boolean refreshEnabled;
+
+	@Value("${security.jwt.refresh.access-token-ttl:2m}")
+	private Duration shortTokenTtl;
+
+	@Value("${security.jwt.refresh.token-ttl:7d}")
+	private Duration refreshTokenTtl;
+
+	public AuthServiceImpl(
+			UserDao userDao,
+			CredentialVerifier credentialVerifier,
+			JwtEncoder jwtEncoder,
+			JwtKeyRing jwtKeyRing,
+			RefreshTokenDao refreshTokenDao,
+			MeterRegistry meterRegistry,
+			@Value("${security.login.user-cache.max-size:1000}") long userCacheMaxSize,
+			@Value("${security.login.user-cache.ttl:30s}") Duration userCacheTtl) {
+		this.userDao = userDao;
+		this.credentialVerifier = credentialVerifier;
+		this.jwtEncoder = jwtEncoder;
+		this.jwtKeyRing = jwtKeyRing;
+		this.refreshTokenDao = refreshTokenDao;
+		this.users = Caffeine.newBuilder()
+				.maximumSize(userCacheMaxSize)
+				.expireAfterWrite(userCacheTtl)
+				.recordStats()
+				.build();
+		CaffeineCacheMetrics.monitor(meterRegistry, users, "login-users");
+		this.lookupTimer = phaseTimer(meterRegistry, "lookup");
+		this.hashTimer = phaseTimer(meterRegistry, "hash");
+		this.signTimer = phaseTimer(meterRegistry, "sign");
+	}
+
 	@Override
 	public LoginResponseDto login(LoginRequestDto request) {
-		UserEntity user = userDao.findByUsernameAndEnabledTrue(request.username())
-				.orElseThrow(() -> new UnauthorizedException("Invalid credentials"));
-		if (!passwordEncoder.matches(request.password(), user.getPasswordHash())) {
+		UserCredentials user = lookupTimer.record(() -> users.get(request.username(),
+				username -> userDao.findByUsernameAndEnabledTrue(username).map(AuthServiceImpl::toCredentials)
+						.orElse(null)));
+		if (user == null) {
+			throw new UnauthorizedException("Invalid credentials");
+		}
+		CredentialVerifier.Verification verification = hashTimer.record(
+				() -> credentialVerifier.verify(request.password(), user.passwordHash()));
+		if (!verification.matches()) {
 			throw new UnauthorizedException("Invalid credentials");
 		}
+		if (verification.upgradedHash() != null) {
+			userDao.updatePasswordHash(user.id(), verification.upgradedHash());
+			users.invalidate(user.username());
+		}
+		if (!refreshEnabled) {
+			return issue(user, null, null);
+		}
 
-		List<String> roles = user.getRoles().stream()
-				.map(RoleEntity::getName)
-				.sorted()
-				.toList();
+		String refreshToken = newRefreshToken();
+		RefreshTokenEntity session = new RefreshTokenEntity();
+		session.setUserId(user.id());
+		session.setTokenHash(hash(refreshToken));
+		session.setExpiresAt(Instant.now().plus(refreshTokenTtl));
+		refreshTokenDao.save(session);
+		return issue(user, session.getId(), refreshToken);
+	}
+
+	@Transactional
+	@Override
+	public LoginResponseDto refresh(String refreshToken) {
+		if (!refreshEnabled) {
+			throw new BadRequestException("Refresh tokens are disabled");
+		}
 		Instant now = Instant.now();
-		Instant expiresAt = now.plus(tokenTtl);
+		String currentHash = hash(refreshToken);
+		RefreshTokenEntity session = refreshTokenDao.findByTokenHash(currentHash)
+				.filter(found -> found.getRevokedAt() == null && found.getExpiresAt().isAfter(now))
+				.orElseThrow(() -> new UnauthorizedException("Invalid refresh token"));
+		UserCredentials user = userDao.findById(session.getUserId())
+				.filter(UserEntity::isEnabled)
+				.map(AuthServiceImpl::toCredentials)
+				.orElseThrow(() -> new UnauthorizedException("Invalid refresh token"));
+
+		String nextToken = newRefreshToken();
+		if (refreshTokenDao.rotate(session.getId(), currentHash, hash(nextToken), now) == 0) {
+			throw new UnauthorizedException("Invalid refresh token");
+		}
+		return issue(user, session.getId(), nextToken);
+	}
+
+	@Transactional
+	@Override
+	public void endSession(long sessionId) {
+		refreshTokenDao.revoke(sessionId, Instant.now());
+	}
+
+	@Transactional
+	@Override
+	public void cleanupExpiredSessions(Instant cutoff) {
+		if (cutoff == null) {
+			return;
+		}
+		refreshTokenDao.deleteByExpiresAtBefore(cutoff);
+	}
+
+	private LoginResponseDto issue(UserCredentials user, Long sessionId, String refreshToken) {
+		Instant now = Instant.now();
+		Instant expiresAt = now.plus(sessionId == null ? tokenTtl : shortTokenTtl);
 		String jti = UUID.randomUUID().toString();
 
-		JwtClaimsSet claims = JwtClaimsSet.builder()
+		JwtClaimsSet.Builder claims = JwtClaimsSet.builder()
 				.issuer(issuer)
 				.issuedAt(now)
 				.expiresAt(expiresAt)
-				.subject(user.getUsername())
+				.subject(user.username())
 				.id(jti)
-				.claim("uid", user.getId())
-				.claim("roles", roles)
+				.claim("uid", user.id())
+				.claim("roles", user.roles());
+		if (sessionId != null) {
+			claims.claim(SESSION_CLAIM, sessionId);
+		}
+
+		JwsHeader header = JwsHeader.with(() -> jwtKeyRing.algorithm().getName())
+				.keyId(jwtKeyRing.activeKeyId())
 				.build();
+		String token = signTimer.record(
+				() -> jwtEncoder.encode(JwtEncoderParameters.from(header, claims.build())).getTokenValue());
+		return new LoginResponseDto(token, "Bearer", expiresAt, user.id(), user.roles(), refreshToken);
+	}
 
-		JwsHeader header = JwsHeader.with(() -> "RS256").build();
-		String token = jwtEncoder.encode(JwtEncoderParameters.from(header, claims)).getTokenValue();
-		return new LoginResponseDto(token, "Bearer", expiresAt, user.getId(), roles);
+	private static UserCredentials toCredentials(UserEntity user) {
+		List<String> roles = user.getRoles().stream()
+				.map(RoleEntity::getName)
+				.sorted()
+				.toList();
+		return new UserCredentials(user.getId(), user.getUsername(), user.getPasswordHash(), roles);
+	}
+
+	private static Timer phaseTimer(MeterRegistry meterRegistry, String phase) {
+		return Timer.builder("auth.login.phase")
+				.description("Time spent in each phase of a login")
+				.tag("phase", phase)
+				.publishPercentileHistogram()
+				.register(meterRegistry);
+	}
+
+	private String newRefreshToken() {
+		byte[] bytes = new byte[REFRESH_TOKEN_BYTES];
+		secureRandom.nextBytes(bytes);
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+	}
+
+	private static String hash(String token) {
+		try {
+			byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+			return HexFormat.of().formatHex(digest);
+		} catch (NoSuchAlgorithmException ex) {
+			throw new IllegalStateException("SHA-256 is not available", ex);
+		}
 	}
 }
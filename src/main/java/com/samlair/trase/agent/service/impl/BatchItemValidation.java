@@ -0,0 +1,44 @@
+package com.samlair.trase.agent.service.impl;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.util.Comparator;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Applies the request DTOs' Bean Validation constraints to individual batch items, so a bad item is reported in its
+ * own result instead of failing the whole batch.
+ */
+final class BatchItemValidation {
+
+	private static final Comparator<ConstraintViolation<Object>> BY_PROPERTY = Comparator
+			.comparing((ConstraintViolation<Object> violation) -> violation.getPropertyPath().toString())
+			.thenComparing(ConstraintViolation::getMessage);
+
+	private BatchItemValidation() {
+	}
+
+	/**
+	 * Validates one batch item.
+	 *
+	 * @param validator Bean Validation validator.
+	 * @param item batch item, possibly {@code null}.
+	 * @param missingMessage message returned when the item itself is {@code null}.
+	 * @return violation messages ordered by property and joined with {@code "; "}, or {@code null} when the item is
+	 *         valid.
+	 */
+	static String violations(Validator validator, Object item, String missingMessage) {
+		if (item == null) {
+			return missingMessage;
+		}
+		Set<ConstraintViolation<Object>> violations = validator.validate(item);
+		if (violations.isEmpty()) {
+			return null;
+		}
+		return violations.stream()
+				.sorted(BY_PROPERTY)
+				.map(ConstraintViolation::getMessage)
+				.collect(Collectors.joining("; "));
+	}
+}
@@ -0,0 +1,98 @@
+package com.samlair.trase.agent.service.impl;
+
+import com.samlair.trase.agent.domain.exception.ServiceUnavailableException;
+import com.samlair.trase.agent.service.CredentialVerifier;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+/**
+ * Runs password hashing on a fixed pool of {@code security.login.hash-threads} threads with a queue of
+ * {@code security.login.hash-queue-capacity}.
+ *
+ * <p>Hashing is deliberately CPU-heavy, so a login burst would otherwise occupy every request thread. When the queue
+ * is full, or a queued check does not finish within {@code security.login.hash-timeout}, the login fails fast with
+ * {@link ServiceUnavailableException} instead of piling up more work.
+ */
+@Service
+public class CredentialVerifierImpl implements CredentialVerifier {
+
+	private static final Duration RETRY_AFTER = Duration.ofSeconds(1);
+
+	private final PasswordEncoder passwordEncoder;
+	private final Duration timeout;
+	private final ThreadPoolExecutor executor;
+	private final Counter rejected;
+
+	public CredentialVerifierImpl(
+			PasswordEncoder passwordEncoder,
+			MeterRegistry meterRegistry,
+			@Value("${security.login.hash-threads:2}") int threads,
+			@Value("${security.login.hash-queue-capacity:64}") int queueCapacity,
+			@Value("${security.login.hash-timeout:5s}") Duration timeout) {
+		this.passwordEncoder = passwordEncoder;
+		this.timeout = timeout;
+		this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<>(queueCapacity),
+				Thread.ofPlatform().name("credential-verifier-", 0).daemon().factory(),
+				new ThreadPoolExecutor.AbortPolicy());
+		this.rejected = Counter.builder("auth.login.rejected")
+				.description("Logins rejected because password hashing was saturated")
+				.register(meterRegistry);
+		Gauge.builder("auth.login.hash.queue.size", executor, pool -> pool.getQueue().size())
+				.description("Password checks waiting for a hashing thread")
+				.register(meterRegistry);
+	}
+
+	@PreDestroy
+	void stop() {
+		executor.shutdownNow();
+	}
+
+	@Override
+	public Verification verify(String rawPassword, String passwordHash) {
+		Future<Verification> future;
+		try {
+			future = executor.submit(() -> check(rawPassword, passwordHash));
+		} catch (RejectedExecutionException ex) {
+			rejected.increment();
+			throw new ServiceUnavailableException("Login capacity exhausted, retry later", RETRY_AFTER);
+		}
+		try {
+			return future.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+		} catch (TimeoutException ex) {
+			future.cancel(true);
+			rejected.increment();
+			throw new ServiceUnavailableException("Login capacity exhausted, retry later", RETRY_AFTER);
+		} catch (InterruptedException ex) {
+			future.cancel(true);
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while verifying credentials", ex);
+		} catch (ExecutionException ex) {
+			if (ex.getCause() instanceof RuntimeException runtime) {
+				throw runtime;
+			}
+			throw new IllegalStateException("Credential verification failed", ex.getCause());
+		}
+	}
+
+	private Verification check(String rawPassword, String passwordHash) {
+		if (!passwordEncoder.matches(rawPassword, passwordHash)) {
+			return new Verification(false, null);
+		}
+		String upgradedHash = passwordEncoder.upgradeEncoding(passwordHash) ? passwordEncoder.encode(rawPassword) : null;
+		return new Verification(true, upgradedHash);
+	}
+}
@@ -0,0 +1,96 @@
+package com.samlair.trase.agent.service.impl;
+
+import com.samlair.trase.agent.domain.enumeration.AuditAction;
+import com.samlair.trase.agent.domain.enumeration.AuditKind;
+import com.samlair.trase.agent.domain.model.AuditEvent;
+import com.samlair.trase.agent.service.AuditEventSink;
+import com.samlair.trase.agent.service.AuditService;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.stereotype.Service;
+
+/**
+ * Captures audit events on the request thread and hands them to an {@link AuditEventSink}
+ * instead of inserting into the audit tables inline.
+ *
+ * <p>Active when {@code audit.write-mode} is {@code async} or {@code outbox}.
+ */
+@Service
+@ConditionalOnExpression("'${audit.write-mode:sync}' == 'async' or '${audit.write-mode:sync}' == 'outbox'")
+@RequiredArgsConstructor
+public class DeferredAuditServiceImpl implements AuditService {
+
+	private final AuditEventSink auditEventSink;
+
+	@Override
+	public void recordAgentAction(Long agentId, AuditAction action) {
+		auditEventSink.submit(List.of(event(AuditActor.current(), AuditKind.AGENT, agentId, action, null, Instant.now())));
+	}
+
+	@Override
+	public void recordAgentActions(List<Long> agentIds, AuditAction action) {
+		if (agentIds.isEmpty()) {
+			return;
+		}
+		AuditActor actor = AuditActor.current();
+		Instant occurredAt = Instant.now();
+		List<AuditEvent> events = new ArrayList<>(agentIds.size());
+		for (Long agentId : agentIds) {
+			events.add(event(actor, AuditKind.AGENT, agentId, action, null, occurredAt));
+		}
+		auditEventSink.submit(events);
+	}
+
+	@Override
+	public void recordTaskAction(Long taskId, AuditAction action) {
+		auditEventSink.submit(List.of(event(AuditActor.current(), AuditKind.TASK, taskId, action, null, Instant.now())));
+	}
+
+	@Override
+	public void recordTaskActions(List<Long> taskIds, AuditAction action) {
+		if (taskIds.isEmpty()) {
+			return;
+		}
+		AuditActor actor = AuditActor.current();
+		Instant occurredAt = Instant.now();
+		List<AuditEvent> events = new ArrayList<>(taskIds.size());
+		for (Long taskId : taskIds) {
+			events.add(event(actor, AuditKind.TASK, taskId, action, null, occurredAt));
+		}
+		auditEventSink.submit(events);
+	}
+
+	@Override
+	public void recordTaskRunAction(Long taskRunId, AuditAction action, String status) {
+		auditEventSink.submit(List.of(
+				event(AuditActor.current(), AuditKind.TASK_RUN, taskRunId, action, status, Instant.now())));
+	}
+
+	@Override
+	public void recordTaskRunActions(List<Long> taskRunIds, AuditAction action, String status) {
+		if (taskRunIds.isEmpty()) {
+			return;
+		}
+		AuditActor actor = AuditActor.current();
+		Instant occurredAt = Instant.now();
+		List<AuditEvent> events = new ArrayList<>(taskRunIds.size());
+		for (Long taskRunId : taskRunIds) {
+			events.add(event(actor, AuditKind.TASK_RUN, taskRunId, action, status, occurredAt));
+		}
+		auditEventSink.submit(events);
+	}
+
+	private AuditEvent event(
+			AuditActor actor,
+			AuditKind kind,
+			long entityId,
+			AuditAction action,
+			String status,
+			Instant occurredAt) {
+		return new AuditEvent(kind, entityId, action, status, actor.userId(), actor.username(), actor.requestId(),
+				occurredAt);
+	}
+}
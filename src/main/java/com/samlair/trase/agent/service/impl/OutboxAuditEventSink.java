@@ -0,0 +1,28 @@
+package com.samlair.trase.agent.service.impl;
+
+import com.samlair.trase.agent.domain.model.AuditEvent;
+import com.samlair.trase.agent.rdbms.dao.AuditOutboxDao;
+import com.samlair.trase.agent.service.AuditEventSink;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Appends audit events to {@code audit_outbox} in the caller's transaction, leaving the fan-out into the
+ * audit tables to {@link AuditOutboxRelayImpl}.
+ */
+@Component
+@ConditionalOnProperty(name = "audit.write-mode", havingValue = "outbox")
+@RequiredArgsConstructor
+public class OutboxAuditEventSink implements AuditEventSink {
+
+	private final AuditOutboxDao auditOutboxDao;
+
+	@Transactional
+	@Override
+	public void submit(List<AuditEvent> events) {
+		auditOutboxDao.insertAll(events);
+	}
+}
@@ -0,0 +1,293 @@
+package com.samlair.trase.agent.service.impl;
+
+import com.samlair.trase.agent.domain.event.AgentChangedEvent;
+import com.samlair.trase.agent.domain.event.AgentDeletedEvent;
+import com.samlair.trase.agent.domain.event.CacheFlushEvent;
+import com.samlair.trase.agent.domain.event.TaskChangedEvent;
+import com.samlair.trase.agent.domain.event.TokenRevokedEvent;
+import com.samlair.trase.agent.service.CacheInvalidationBus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.regex.Pattern;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * {@link CacheInvalidationBus} over PostgreSQL {@code LISTEN}/{@code NOTIFY}.
+ *
+ * <p>Change events raised inside a transaction are collected and sent with one {@code pg_notify} statement just
+ * before commit on the same connection, so Postgres delivers them only if the write commits. A dedicated connection
+ * outside the pool listens on the channel and republishes other nodes' changes as local events, which the caches
+ * already handle. Events republished this way arrive outside a transaction and are not relayed again.
+ *
+ * <p>Notifications sent while the listener is disconnected are lost, so every (re)connect and disconnect publishes
+ * {@link CacheFlushEvent}. Entries loaded while disconnected can be stale until the next reconnect or their TTL.
+ */
+@Component
+@ConditionalOnProperty(name = "cache.invalidation.enabled", havingValue = "true", matchIfMissing = true)
+public class PgNotifyCacheInvalidationBus implements CacheInvalidationBus {
+
+	private static final Logger log = LoggerFactory.getLogger(PgNotifyCacheInvalidationBus.class);
+	private static final Pattern CHANNEL_PATTERN = Pattern.compile("[a-z_][a-z0-9_]*");
+	private static final String NOTIFY_SQL = "SELECT pg_notify(?, payload) FROM unnest(?::text[]) AS payload";
+
+	static final String AGENT = "agent";
+	static final String AGENT_DELETED = "agent-deleted";
+	static final String TASK = "task";
+	static final String TOKEN = "token";
+
+	private final JdbcTemplate jdbcTemplate;
+	private final ApplicationEventPublisher eventPublisher;
+	private final String url;
+	private final String username;
+	private final String password;
+	private final String channel;
+	private final Duration pollTimeout;
+	private final Duration reconnectDelay;
+	private final String nodeId = UUID.randomUUID().toString();
+	private final Counter sent;
+	private final Counter received;
+	private final Counter flushes;
+	private final Thread listener;
+	private volatile boolean running = true;
+	private volatile boolean connected;
+
+	public PgNotifyCacheInvalidationBus(
+			JdbcTemplate jdbcTemplate,
+			ApplicationEventPublisher eventPublisher,
+			MeterRegistry meterRegistry,
+			@Value("${spring.datasource.url}") String url,
+			@Value("${spring.datasource.username}") String username,
+			@Value("${spring.datasource.password}") String password,
+			@Value("${cache.invalidation.channel:cache_invalidation}") String channel,
+			@Value("${cache.invalidation.poll-timeout:10s}") Duration pollTimeout,
+			@Value("${cache.invalidation.reconnect-delay:5s}") Duration reconnectDelay) {
+		if (!CHANNEL_PATTERN.matcher(channel).matches()) {
+			throw new IllegalArgumentException("Invalid cache invalidation channel: " + channel);
+		}
+		this.jdbcTemplate = jdbcTemplate;
+		this.eventPublisher = eventPublisher;
+		this.url = url;
+		this.username = username;
+		this.password = password;
+		this.channel = channel;
+		this.pollTimeout = pollTimeout;
+		this.reconnectDelay = reconnectDelay;
+		this.sent = Counter.builder("cache.invalidation.notifications")
+				.description("Cache invalidation notifications exchanged with other nodes")
+				.tag("direction", "sent")
+				.register(meterRegistry);
+		this.received = Counter.builder("cache.invalidation.notifications")
+				.description("Cache invalidation notifications exchanged with other nodes")
+				.tag("direction", "received")
+				.register(meterRegistry);
+		this.flushes = Counter.builder("cache.invalidation.flushes")
+				.description("Full local cache flushes caused by listener reconnects")
+				.register(meterRegistry);
+		Gauge.builder("cache.invalidation.connected", this, bus -> bus.isConnected() ? 1 : 0)
+				.description("Whether the cache invalidation listener is connected")
+				.register(meterRegistry);
+		this.listener = Thread.ofPlatform().name("cache-invalidation-listener").daemon().unstarted(this::listenLoop);
+	}
+
+	@PostConstruct
+	void start() {
+		listener.start();
+	}
+
+	@PreDestroy
+	void stop() throws InterruptedException {
+		running = false;
+		listener.interrupt();
+		listener.join(pollTimeout.toMillis());
+	}
+
+	@Override
+	public boolean isConnected() {
+		return connected;
+	}
+
+	@EventListener
+	public void onAgentChanged(AgentChangedEvent event) {
+		enqueue(AGENT + ":" + event.agentId());
+	}
+
+	@EventListener
+	public void onAgentDeleted(AgentDeletedEvent event) {
+		enqueue(AGENT_DELETED + ":" + event.agentId());
+	}
+
+	@EventListener
+	public void onTaskChanged(TaskChangedEvent event) {
+		enqueue(TASK + ":" + event.taskId());
+	}
+
+	@EventListener
+	public void onTokenRevoked(TokenRevokedEvent event) {
+		enqueue(TOKEN + ":" + event.expiresAt().getEpochSecond() + ":" + event.jti());
+	}
+
+	/**
+	 * Applies a notification payload of the form {@code nodeId:kind:key}. Payloads sent by this node are ignored.
+	 *
+	 * @param payload notification payload
+	 */
+	void handle(String payload) {
+		String[] parts = payload.split(":", 3);
+		if (parts.length < 3) {
+			log.warn("Ignoring malformed cache invalidation payload={}", payload);
+			return;
+		}
+		if (nodeId.equals(parts[0])) {
+			return;
+		}
+		received.increment();
+		try {
+			switch (parts[1]) {
+				case AGENT -> eventPublisher.publishEvent(new AgentChangedEvent(Long.parseLong(parts[2])));
+				case AGENT_DELETED -> eventPublisher.publishEvent(new AgentDeletedEvent(Long.parseLong(parts[2])));
+				case TASK -> eventPublisher.publishEvent(new TaskChangedEvent(Long.parseLong(parts[2])));
+				case TOKEN -> {
+					String[] token = parts[2].split(":", 2);
+					eventPublisher.publishEvent(new TokenRevokedEvent(token[1],
+							Instant.ofEpochSecond(Long.parseLong(token[0]))));
+				}
+				default -> log.warn("Ignoring unknown cache invalidation payload={}", payload);
+			}
+		} catch (RuntimeException ex) {
+			log.warn("Ignoring malformed cache invalidation payload={}", payload, ex);
+		}
+	}
+
+	String nodeId() {
+		return nodeId;
+	}
+
+	private void enqueue(String message) {
+		if (!TransactionSynchronizationManager.isSynchronizationActive()
+				|| !TransactionSynchronizationManager.isActualTransactionActive()) {
+			return;
+		}
+		pendingNotifications().payloads.add(nodeId + ":" + message);
+	}
+
+	private PendingNotifications pendingNotifications() {
+		for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+			if (synchronization instanceof PendingNotifications pending && pending.owner() == this) {
+				return pending;
+			}
+		}
+		PendingNotifications pending = new PendingNotifications();
+		TransactionSynchronizationManager.registerSynchronization(pending);
+		return pending;
+	}
+
+	private void sendAll(Set<String> payloads) {
+		jdbcTemplate.query(connection -> {
+			PreparedStatement ps = connection.prepareStatement(NOTIFY_SQL);
+			ps.setString(1, channel);
+			ps.setArray(2, connection.createArrayOf("text", payloads.toArray()));
+			return ps;
+		}, (RowCallbackHandler) rs -> {
+		});
+		sent.increment(payloads.size());
+	}
+
+	private void listenLoop() {
+		while (running) {
+			try (Connection connection = DriverManager.getConnection(url, username, password)) {
+				PGConnection pgConnection = connection.unwrap(PGConnection.class);
+				try (Statement statement = connection.createStatement()) {
+					statement.execute("LISTEN " + channel);
+				}
+				connected = true;
+				log.info("Listening for cache invalidations channel={} nodeId={}", channel, nodeId);
+				flushLocalCaches();
+				while (running) {
+					PGNotification[] notifications = pgConnection.getNotifications((int) pollTimeout.toMillis());
+					if (notifications == null || notifications.length == 0) {
+						if (!connection.isValid((int) Math.max(1, pollTimeout.toSeconds()))) {
+							throw new SQLException("Cache invalidation listener connection is no longer valid");
+						}
+						continue;
+					}
+					for (PGNotification notification : notifications) {
+						handle(notification.getParameter());
+					}
+				}
+			} catch (SQLException ex) {
+				if (running) {
+					log.warn("Cache invalidation listener disconnected; retrying in {}", reconnectDelay, ex);
+				}
+			} finally {
+				if (connected) {
+					connected = false;
+					if (running) {
+						flushLocalCaches();
+					}
+				}
+			}
+			if (running && !sleepBeforeReconnect()) {
+				return;
+			}
+		}
+	}
+
+	private boolean sleepBeforeReconnect() {
+		try {
+			Thread.sleep(reconnectDelay);
+			return true;
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			return false;
+		}
+	}
+
+	private void flushLocalCaches() {
+		flushes.increment();
+		eventPublisher.publishEvent(new CacheFlushEvent());
+	}
+
+	/**
+	 * Payloads raised by one transaction, sent together before it commits.
+	 */
+	private final class PendingNotifications implements TransactionSynchronization {
+
+		private final Set<String> payloads = new LinkedHashSet<>();
+
+		private PgNotifyCacheInvalidationBus owner() {
+			return PgNotifyCacheInvalidationBus.this;
+		}
+
+		@Override
+		public void beforeCommit(boolean readOnly) {
+			if (!payloads.isEmpty()) {
+				sendAll(payloads);
+			}
+		}
+	}
+}
@@ -0,0 +1,109 @@
+package com.samlair.trase.agent.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.samlair.trase.agent.domain.event.AgentChangedEvent;
+import com.samlair.trase.agent.domain.event.AgentDeletedEvent;
+import com.samlair.trase.agent.domain.event.CacheFlushEvent;
+import com.samlair.trase.agent.domain.event.TaskChangedEvent;
+import com.samlair.trase.agent.domain.model.Versioned;
+import com.samlair.trase.agent.service.ResponseCache;
+import com.samlair.trase.agent.web.dto.AgentResponseDto;
+import com.samlair.trase.agent.web.dto.TaskResponseDto;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Caffeine-backed {@link ResponseCache} with size and TTL bounds.
+ *
+ * <p>Each entry keeps the {@code updated_at} it was loaded at, so validators derived from it always describe the cached
+ * body. Entries are evicted after agent or task writes commit. Loads run inside Caffeine's per-key compute, so an
+ * eviction that races a load waits for it and then removes whatever it stored.
+ */
+@Service
+public class ResponseCacheImpl implements ResponseCache {
+
+	private static final Logger log = LoggerFactory.getLogger(ResponseCacheImpl.class);
+
+	private final Cache<Long, Versioned<AgentResponseDto>> agents;
+	private final Cache<Long, Versioned<TaskResponseDto>> tasks;
+
+	public ResponseCacheImpl(
+			MeterRegistry meterRegistry,
+			@Value("${cache.agents.max-size:10000}") long agentMaxSize,
+			@Value("${cache.agents.ttl:5m}") Duration agentTtl,
+			@Value("${cache.tasks.max-size:10000}") long taskMaxSize,
+			@Value("${cache.tasks.ttl:5m}") Duration taskTtl) {
+		this.agents = build(agentMaxSize, agentTtl);
+		this.tasks = build(taskMaxSize, taskTtl);
+		CaffeineCacheMetrics.monitor(meterRegistry, agents, "agents");
+		CaffeineCacheMetrics.monitor(meterRegistry, tasks, "tasks");
+	}
+
+	@Override
+	public Versioned<AgentResponseDto> getAgent(long id, Supplier<Versioned<AgentResponseDto>> loader) {
+		return agents.get(id, key -> loader.get());
+	}
+
+	@Override
+	public Versioned<TaskResponseDto> getTask(long id, Supplier<Versioned<TaskResponseDto>> loader) {
+		return tasks.get(id, key -> loader.get());
+	}
+
+	@Override
+	public void evictAgent(long id) {
+		agents.invalidate(id);
+	}
+
+	@Override
+	public void evictTask(long id) {
+		tasks.invalidate(id);
+	}
+
+	@Override
+	public void evictAll() {
+		agents.invalidateAll();
+		tasks.invalidateAll();
+	}
+
+	@TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+	public void onAgentChanged(AgentChangedEvent event) {
+		log.debug("Evicting cached agent id={}", event.agentId());
+		evictAgent(event.agentId());
+	}
+
+	@TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+	public void onAgentDeleted(AgentDeletedEvent event) {
+		log.debug("Evicting cached agent id={}", event.agentId());
+		evictAgent(event.agentId());
+	}
+
+	@TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+	public void onTaskChanged(TaskChangedEvent event) {
+		log.debug("Evicting cached task id={}", event.taskId());
+		evictTask(event.taskId());
+	}
+
+	@EventListener
+	public void onCacheFlush(CacheFlushEvent event) {
+		log.debug("Flushing cached agents and tasks");
+		evictAll();
+	}
+
+	private static <V> Cache<Long, V> build(long maxSize, Duration ttl) {
+		return Caffeine.newBuilder()
+				.maximumSize(maxSize)
+				.expireAfterWrite(ttl)
+				.recordStats()
+				.build();
+	}
+}
@@ -0,0 +1,149 @@
+package com.samlair.trase.agent.service.impl;
+
+import com.samlair.trase.agent.domain.event.AgentDeletedEvent;
+import com.samlair.trase.agent.domain.event.CacheFlushEvent;
+import com.samlair.trase.agent.domain.event.TaskChangedEvent;
+import com.samlair.trase.agent.rdbms.dao.TaskDao;
+import com.samlair.trase.agent.service.TaskAgentEligibilityIndex;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Bounded LRU index of task id to sorted supported agent ids.
+ *
+ * <p>Entries are loaded on first lookup and evicted after task or agent writes commit. A generation counter
+ * guards against a slow load re-populating an entry that was invalidated while the load was in flight.
+ */
+@Service
+public class TaskAgentEligibilityIndexImpl implements TaskAgentEligibilityIndex {
+
+	private static final Logger log = LoggerFactory.getLogger(TaskAgentEligibilityIndexImpl.class);
+
+	private final TaskDao taskDao;
+	private final Map<Long, long[]> entries;
+	private final Counter hits;
+	private final Counter misses;
+	private long generation;
+
+	public TaskAgentEligibilityIndexImpl(
+			TaskDao taskDao,
+			MeterRegistry meterRegistry,
+			@Value("${task-runs.eligibility-index.max-tasks:10000}") int maxTasks) {
+		this.taskDao = taskDao;
+		this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Long, long[]> eldest) {
+				return size() > maxTasks;
+			}
+		};
+		this.hits = Counter.builder("task_agent_eligibility.lookups")
+				.description("Task/agent eligibility lookups served by the in-memory index")
+				.tag("result", "hit")
+				.register(meterRegistry);
+		this.misses = Counter.builder("task_agent_eligibility.lookups")
+				.description("Task/agent eligibility lookups served by the in-memory index")
+				.tag("result", "miss")
+				.register(meterRegistry);
+		Gauge.builder("task_agent_eligibility.tasks", this, TaskAgentEligibilityIndexImpl::size)
+				.description("Tasks currently held in the eligibility index")
+				.register(meterRegistry);
+	}
+
+	@Override
+	public boolean isAgentSupported(long taskId, long agentId) {
+		long[] agentIds;
+		long loadGeneration;
+		synchronized (entries) {
+			agentIds = entries.get(taskId);
+			loadGeneration = generation;
+		}
+		if (agentIds != null) {
+			hits.increment();
+			return Arrays.binarySearch(agentIds, agentId) >= 0;
+		}
+		misses.increment();
+		agentIds = load(taskId);
+		synchronized (entries) {
+			if (generation == loadGeneration) {
+				entries.put(taskId, agentIds);
+			}
+		}
+		return Arrays.binarySearch(agentIds, agentId) >= 0;
+	}
+
+	@Override
+	public void evictTask(long taskId) {
+		synchronized (entries) {
+			generation++;
+			entries.remove(taskId);
+		}
+	}
+
+	@Override
+	public void evictAgent(long agentId) {
+		synchronized (entries) {
+			generation++;
+			Iterator<long[]> iterator = entries.values().iterator();
+			while (iterator.hasNext()) {
+				if (Arrays.binarySearch(iterator.next(), agentId) >= 0) {
+					iterator.remove();
+				}
+			}
+		}
+	}
+
+	@Override
+	public void evictAll() {
+		synchronized (entries) {
+			generation++;
+			entries.clear();
+		}
+	}
+
+	@TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+	public void onTaskChanged(TaskChangedEvent event) {
+		log.debug("Evicting eligibility entry taskId={}", event.taskId());
+		evictTask(event.taskId());
+	}
+
+	@TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+	public void onAgentDeleted(AgentDeletedEvent event) {
+		log.debug("Evicting eligibility entries for agentId={}", event.agentId());
+		evictAgent(event.agentId());
+	}
+
+	@EventListener
+	public void onCacheFlush(CacheFlushEvent event) {
+		log.debug("Flushing eligibility index");
+		evictAll();
+	}
+
+	private long[] load(long taskId) {
+		List<Long> agentIds = taskDao.findSupportedAgentIds(taskId);
+		long[] sorted = new long[agentIds.size()];
+		for (int i = 0; i < sorted.length; i++) {
+			sorted[i] = agentIds.get(i);
+		}
+		Arrays.sort(sorted);
+		return sorted;
+	}
+
+	private int size() {
+		synchronized (entries) {
+			return entries.size();
+		}
+	}
+}
@@ -6,6 +6,8 @@ import com.samlair.trase.agent.domain.exception.NotFoundException;
 import com.samlair.trase.agent.domain.enumeration.AuditAction;
 import com.samlair.trase.agent.rdbms.dao.AgentDao;
 import com.samlair.trase.agent.rdbms.dao.TaskDao;
+import com.samlair.trase.agent.rdbms.dao.TaskDaoCustom.TaskAgentEligibility;
+import com.samlair.trase.agent.rdbms.dao.TaskDaoCustom.TaskAgentPair;
 import com.samlair.trase.agent.rdbms.dao.TaskRunDao;
 import com.samlair.trase.agent.rdbms.dao.TaskRunIdempotencyDao;
 import com.samlair.trase.agent.rdbms.entity.AgentEntity;
@@ -13,21 +15,34 @@ import com.samlair.trase.agent.rdbms.entity.TaskEntity;
 import com.samlair.trase.agent.rdbms.entity.TaskRunEntity;
 import com.samlair.trase.agent.rdbms.entity.TaskRunIdempotencyEntity;
 import com.samlair.trase.agent.service.AuditService;
+import com.samlair.trase.agent.service.TaskAgentEligibilityIndex;
 import com.samlair.trase.agent.service.TaskRunService;
+import com.samlair.trase.agent.web.dto.BatchItemResultDto;
 import com.samlair.trase.agent.web.dto.CreateTaskRunRequestDto;
 import com.samlair.trase.agent.web.dto.TaskRunResponseDto;
+import jakarta.validation.Validator;
 import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -45,6 +60,14 @@ public class TaskRunServiceImpl implements TaskRunService {
 	private final AgentDao agentDao;
 	private final TaskRunIdempotencyDao taskRunIdempotencyDao;
 	private final AuditService auditService;
+	private final TaskAgentEligibilityIndex eligibilityIndex;
+	private final Validator validator;
+
+	@Value("${task-runs.batch.max-size:500}")
+	private int maxBatchSize;
+
+	@Value("${task-runs.export.fetch-size:1000}")
+	private int exportFetchSize;
 
 	@Transactional
 	@Override
@@ -61,7 +84,7 @@ public class TaskRunServiceImpl implements TaskRunService {
 				.orElseThrow(() -> new NotFoundException("Task not found: " + request.taskId()));
 		AgentEntity agent = agentDao.findByIdAndDeletedAtIsNull(request.agentId())
 				.orElseThrow(() -> new NotFoundException("Agent not found: " + request.agentId()));
-		if (!taskDao.isAgentSupported(task.getId(), agent.getId())) {
+		if (!eligibilityIndex.isAgentSupported(task.getId(), agent.getId())) {
 			throw new BadRequestException("Agent " + agent.getId() + " is not supported for task " + task.getId());
 		}
 
@@ -81,22 +104,102 @@ public class TaskRunServiceImpl implements TaskRunService {
 		return toResponse(saved);
 	}
 
+	@Transactional
+	@Override
+	public List<BatchItemResultDto<TaskRunResponseDto>> startTaskRuns(List<CreateTaskRunRequestDto> requests) {
+		if (requests == null || requests.isEmpty()) {
+			throw new BadRequestException("At least one task run is required");
+		}
+		if (requests.size() > maxBatchSize) {
+			throw new BadRequestException("Batch size exceeds limit of " + maxBatchSize);
+		}
+
+		List<BatchItemResultDto<TaskRunResponseDto>> results = new ArrayList<>(Collections.nCopies(requests.size(), null));
+		Set<TaskAgentPair> pairs = new LinkedHashSet<>();
+		for (int i = 0; i < requests.size(); i++) {
+			String invalid = BatchItemValidation.violations(validator, requests.get(i), "task run request is required");
+			if (invalid != null) {
+				results.set(i, new BatchItemResultDto<>(i, HttpStatus.BAD_REQUEST.value(), null, invalid));
+			} else {
+				pairs.add(toPair(requests.get(i)));
+			}
+		}
+
+		Map<TaskAgentPair, TaskAgentEligibility> eligibility = taskDao.findTaskAgentEligibility(pairs).stream()
+				.collect(Collectors.toMap(TaskAgentEligibility::pair, Function.identity(), (a, b) -> a));
+		List<Integer> acceptedIndexes = new ArrayList<>();
+		List<TaskAgentPair> accepted = new ArrayList<>();
+		for (int i = 0; i < requests.size(); i++) {
+			if (results.get(i) != null) {
+				continue;
+			}
+			TaskAgentPair pair = toPair(requests.get(i));
+			TaskAgentEligibility check = eligibility.get(pair);
+			if (check == null || !check.taskActive()) {
+				results.set(i, new BatchItemResultDto<>(i, HttpStatus.NOT_FOUND.value(), null,
+						"Task not found: " + pair.taskId()));
+			} else if (!check.agentActive()) {
+				results.set(i, new BatchItemResultDto<>(i, HttpStatus.NOT_FOUND.value(), null,
+						"Agent not found: " + pair.agentId()));
+			} else if (!check.supported()) {
+				results.set(i, new BatchItemResultDto<>(i, HttpStatus.BAD_REQUEST.value(), null,
+						"Agent " + pair.agentId() + " is not supported for task " + pair.taskId()));
+			} else {
+				acceptedIndexes.add(i);
+				accepted.add(pair);
+			}
+		}
+
+		if (!accepted.isEmpty()) {
+			Instant startedAt = Instant.now().truncatedTo(ChronoUnit.MICROS);
+			List<Long> ids = taskRunDao.insertRunning(accepted, startedAt);
+			auditService.recordTaskRunActions(ids, AuditAction.START, TaskRunStatus.RUNNING.name());
+			for (int j = 0; j < accepted.size(); j++) {
+				TaskAgentPair pair = accepted.get(j);
+				int index = acceptedIndexes.get(j);
+				TaskRunResponseDto run = new TaskRunResponseDto(
+						ids.get(j), pair.taskId(), pair.agentId(), TaskRunStatus.RUNNING, startedAt, null);
+				results.set(index, new BatchItemResultDto<>(index, HttpStatus.CREATED.value(), run, null));
+			}
+		}
+		log.info("Started batch task runs requested={} started={}", requests.size(), accepted.size());
+		return results;
+	}
+
 	@Transactional(readOnly = true)
 	@Override
 	public List<TaskRunResponseDto> listTaskRuns(TaskRunStatus status, Pageable pageable, Long afterId) {
-		PageRequest keysetPageable = PageRequest.of(0, pageable.getPageSize(), Sort.by("id").ascending());
-		List<TaskRunEntity> runs;
+		List<TaskRunResponseDto> runs;
 		if (afterId == null) {
-				runs = status == null
-						? taskRunDao.findAllBy(pageable).getContent()
-						: taskRunDao.findByStatus(status, pageable).getContent();
+			runs = status == null
+					? taskRunDao.findResponses(pageable).getContent()
+					: taskRunDao.findResponsesByStatus(status, pageable).getContent();
 		} else {
+			PageRequest keysetPageable = PageRequest.of(0, pageable.getPageSize());
 			runs = status == null
-					? taskRunDao.findAllByIdGreaterThanOrderByIdAsc(afterId, keysetPageable)
-					: taskRunDao.findByStatusAndIdGreaterThanOrderByIdAsc(status, afterId, keysetPageable);
+					? taskRunDao.findResponsesAfterId(afterId, keysetPageable)
+					: taskRunDao.findResponsesByStatusAfterId(status, afterId, keysetPageable);
 		}
 		log.debug("Listing task runs status={} count={}", status, runs.size());
-		return runs.stream().map(this::toResponse).toList();
+		return runs;
+	}
+
+	@Transactional(readOnly = true)
+	@Override
+	public long exportTaskRuns(TaskRunStatus status, Long afterId, Consumer<TaskRunResponseDto> consumer) {
+		long[] count = new long[1];
+		taskRunDao.streamTaskRuns(status, afterId, exportFetchSize, row -> {
+			consumer.accept(new TaskRunResponseDto(
+					row.id(),
+					row.taskId(),
+					row.agentId(),
+					row.status(),
+					row.startedAt(),
+					row.completedAt()));
+			count[0]++;
+		});
+		log.debug("Exported task runs status={} afterId={} count={}", status, afterId, count[0]);
+		return count[0];
 	}
 
 	@Transactional
@@ -130,6 +233,10 @@ public class TaskRunServiceImpl implements TaskRunService {
 		);
 	}
 
+	private TaskAgentPair toPair(CreateTaskRunRequestDto request) {
+		return new TaskAgentPair(request.taskId(), request.agentId());
+	}
+
 	private TaskRunResponseDto maybeReturnIdempotentResponse(CreateTaskRunRequestDto request, String key) {
 		return taskRunIdempotencyDao.findByIdempotencyKey(key)
 				.map(existing -> {
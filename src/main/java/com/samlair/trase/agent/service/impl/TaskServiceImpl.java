@@ -3,27 +3,38 @@ package com.samlair.trase.agent.service.impl;
 import com.samlair.trase.agent.domain.exception.BadRequestException;
 import com.samlair.trase.agent.domain.exception.NotFoundException;
 import com.samlair.trase.agent.domain.enumeration.AuditAction;
+import com.samlair.trase.agent.domain.event.TaskChangedEvent;
+import com.samlair.trase.agent.domain.model.Versioned;
 import com.samlair.trase.agent.rdbms.dao.AgentDao;
 import com.samlair.trase.agent.rdbms.dao.TaskDao;
+import com.samlair.trase.agent.rdbms.dao.TaskDaoCustom.TaskAgentPair;
+import com.samlair.trase.agent.rdbms.dao.TaskDaoCustom.TaskValues;
 import com.samlair.trase.agent.rdbms.entity.AgentEntity;
 import com.samlair.trase.agent.rdbms.entity.TaskEntity;
 import com.samlair.trase.agent.service.AuditService;
+import com.samlair.trase.agent.service.ResponseCache;
 import com.samlair.trase.agent.service.TaskService;
+import com.samlair.trase.agent.web.dto.BatchItemResultDto;
 import com.samlair.trase.agent.web.dto.CreateTaskRequestDto;
 import com.samlair.trase.agent.web.dto.UpdateTaskRequestDto;
 import com.samlair.trase.agent.web.dto.TaskResponseDto;
+import com.samlair.trase.agent.web.dto.UpsertTaskRequestDto;
+import jakarta.validation.Validator;
 import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
-import java.util.Map;
 import java.util.Set;
-import java.util.function.Function;
+import java.util.TreeSet;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.data.domain.PageRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -39,31 +50,21 @@ public class TaskServiceImpl implements TaskService {
 	private final TaskDao taskDao;
 	private final AgentDao agentDao;
 	private final AuditService auditService;
+	private final ApplicationEventPublisher eventPublisher;
+	private final ResponseCache responseCache;
+	private final Validator validator;
+
+	@Value("${tasks.batch.max-size:10000}")
+	private int maxBatchSize;
 
 	@Transactional(readOnly = true)
 	@Override
 	public List<TaskResponseDto> listTasks(Pageable pageable, Long afterId) {
-		List<TaskEntity> pageTasks = afterId == null
-				? taskDao.findAllByDeletedAtIsNull(pageable).getContent()
-				: taskDao.findAllByDeletedAtIsNullAndIdGreaterThanOrderByIdAsc(
-						afterId, PageRequest.of(0, pageable.getPageSize(), Sort.by("id").ascending()));
-		log.debug("Listing tasks count={}", pageTasks.size());
-		if (pageTasks.isEmpty()) {
-			return List.of();
-		}
-		List<Long> ids = pageTasks.stream()
-				.map(TaskEntity::getId)
+		List<TaskResponseDto> tasks = taskDao.findActiveTaskRows(pageable, afterId).stream()
+				.map(row -> toResponse(row.id(), row.title(), row.description(), row.supportedAgentIds()))
 				.toList();
-		Map<Long, TaskEntity> tasksById = taskDao.findAllByIdInAndDeletedAtIsNull(ids).stream()
-				.collect(java.util.stream.Collectors.toMap(TaskEntity::getId, Function.identity(), (a, b) -> a));
-		List<TaskResponseDto> results = new java.util.ArrayList<>(ids.size());
-		for (Long id : ids) {
-			TaskEntity task = tasksById.get(id);
-			if (task != null) {
-				results.add(toResponse(task));
-			}
-		}
-		return results;
+		log.debug("Listing tasks count={}", tasks.size());
+		return tasks;
 	}
 
 	@Transactional
@@ -75,14 +76,128 @@ public class TaskServiceImpl implements TaskService {
 		task.setSupportedAgents(resolveAgents(collectAgentIds(request.supportedAgentIds(), request.supportedAgentId())));
 		TaskEntity saved = taskDao.save(task);
 		auditService.recordTaskAction(saved.getId(), AuditAction.CREATE);
+		eventPublisher.publishEvent(new TaskChangedEvent(saved.getId()));
 		log.info("Created task id={}", saved.getId());
 		return toResponse(saved);
 	}
 
+	@Transactional
+	@Override
+	public List<BatchItemResultDto<TaskResponseDto>> upsertTasks(List<UpsertTaskRequestDto> requests) {
+		if (requests == null || requests.isEmpty()) {
+			throw new BadRequestException("At least one task is required");
+		}
+		if (requests.size() > maxBatchSize) {
+			throw new BadRequestException("Batch size exceeds limit of " + maxBatchSize);
+		}
+
+		List<BatchItemResultDto<TaskResponseDto>> results = new ArrayList<>(Collections.nCopies(requests.size(), null));
+		List<Set<Long>> agentIdsByItem = new ArrayList<>(Collections.nCopies(requests.size(), null));
+		Set<Long> referencedAgentIds = new HashSet<>();
+		Set<Long> referencedTaskIds = new HashSet<>();
+		for (int i = 0; i < requests.size(); i++) {
+			UpsertTaskRequestDto request = requests.get(i);
+			String invalid = BatchItemValidation.violations(validator, request, "task request is required");
+			if (invalid == null && request.id() != null && !referencedTaskIds.add(request.id())) {
+				invalid = "Duplicate task id in batch: " + request.id();
+			}
+			if (invalid != null) {
+				results.set(i, new BatchItemResultDto<>(i, HttpStatus.BAD_REQUEST.value(), null, invalid));
+				continue;
+			}
+			Set<Long> agentIds = collectAgentIds(request.supportedAgentIds(), request.supportedAgentId());
+			agentIdsByItem.set(i, agentIds);
+			referencedAgentIds.addAll(agentIds);
+		}
+
+		Set<Long> activeAgentIds = agentDao.findActiveIds(referencedAgentIds);
+		Set<Long> activeTaskIds = taskDao.findActiveIds(referencedTaskIds);
+		List<Integer> createIndexes = new ArrayList<>();
+		List<TaskValues> creates = new ArrayList<>();
+		List<Integer> updateIndexes = new ArrayList<>();
+		List<TaskValues> updates = new ArrayList<>();
+		for (int i = 0; i < requests.size(); i++) {
+			if (results.get(i) != null) {
+				continue;
+			}
+			UpsertTaskRequestDto request = requests.get(i);
+			Set<Long> unknown = new TreeSet<>(agentIdsByItem.get(i));
+			unknown.removeAll(activeAgentIds);
+			if (!unknown.isEmpty()) {
+				results.set(i, new BatchItemResultDto<>(i, HttpStatus.BAD_REQUEST.value(), null,
+						"Unknown agent ids: " + unknown));
+			} else if (request.id() == null) {
+				createIndexes.add(i);
+				creates.add(new TaskValues(null, request.title(), request.description()));
+			} else if (!activeTaskIds.contains(request.id())) {
+				results.set(i, new BatchItemResultDto<>(i, HttpStatus.NOT_FOUND.value(), null,
+						"Task not found: " + request.id()));
+			} else {
+				updateIndexes.add(i);
+				updates.add(new TaskValues(request.id(), request.title(), request.description()));
+			}
+		}
+
+		Instant now = Instant.now().truncatedTo(ChronoUnit.MICROS);
+		List<Long> createdIds = taskDao.insertAll(creates, now);
+		Set<Long> updatedIds = taskDao.updateAll(updates, now);
+		List<Long> replacedIds = new ArrayList<>(updatedIds.size());
+		List<TaskAgentPair> links = new ArrayList<>();
+		for (int j = 0; j < creates.size(); j++) {
+			int index = createIndexes.get(j);
+			long id = createdIds.get(j);
+			addLinks(links, id, agentIdsByItem.get(index));
+			results.set(index, new BatchItemResultDto<>(index, HttpStatus.CREATED.value(),
+					toResponse(id, creates.get(j).title(), creates.get(j).description(), agentIdsByItem.get(index)), null));
+		}
+		for (int j = 0; j < updates.size(); j++) {
+			int index = updateIndexes.get(j);
+			long id = updates.get(j).id();
+			if (!updatedIds.contains(id)) {
+				results.set(index, new BatchItemResultDto<>(index, HttpStatus.NOT_FOUND.value(), null,
+						"Task not found: " + id));
+				continue;
+			}
+			replacedIds.add(id);
+			addLinks(links, id, agentIdsByItem.get(index));
+			results.set(index, new BatchItemResultDto<>(index, HttpStatus.OK.value(),
+					toResponse(id, updates.get(j).title(), updates.get(j).description(), agentIdsByItem.get(index)), null));
+		}
+		taskDao.replaceSupportedAgents(replacedIds, links);
+		auditService.recordTaskActions(createdIds, AuditAction.CREATE);
+		auditService.recordTaskActions(replacedIds, AuditAction.UPDATE);
+		createdIds.forEach(id -> eventPublisher.publishEvent(new TaskChangedEvent(id)));
+		replacedIds.forEach(id -> eventPublisher.publishEvent(new TaskChangedEvent(id)));
+		log.info("Upserted batch tasks requested={} created={} updated={}",
+				requests.size(), createdIds.size(), replacedIds.size());
+		return results;
+	}
+
+	@Override
+	public Versioned<TaskResponseDto> getTask(long id) {
+		return responseCache.getTask(id, () -> {
+			TaskEntity task = findTask(id);
+			return new Versioned<>(toResponse(task), task.getUpdatedAt());
+		});
+	}
+
 	@Transactional(readOnly = true)
 	@Override
-	public TaskResponseDto getTask(long id) {
-		return toResponse(findTask(id));
+	public Instant getTaskVersion(long id) {
+		return taskDao.findActiveUpdatedAt(id)
+				.orElseThrow(() -> new NotFoundException("Task not found: " + id));
+	}
+
+	@Override
+	public Versioned<TaskResponseDto> getCurrentTask(long id) {
+		Instant updatedAt = getTaskVersion(id);
+		Versioned<TaskResponseDto> task = getTask(id);
+		if (task.updatedAt().equals(updatedAt)) {
+			return task;
+		}
+		log.debug("Reloading stale cached task id={}", id);
+		responseCache.evictTask(id);
+		return getTask(id);
 	}
 
 	@Transactional
@@ -92,7 +207,10 @@ public class TaskServiceImpl implements TaskService {
 		task.setTitle(request.title());
 		task.setDescription(request.description());
 		task.setSupportedAgents(resolveAgents(collectAgentIds(request.supportedAgentIds(), request.supportedAgentId())));
+		// @PreUpdate does not fire for collection-only changes; bump explicitly so the ETag changes.
+		task.setUpdatedAt(Instant.now());
 		auditService.recordTaskAction(task.getId(), AuditAction.UPDATE);
+		eventPublisher.publishEvent(new TaskChangedEvent(task.getId()));
 		log.info("Updated task id={}", task.getId());
 		return toResponse(task);
 	}
@@ -108,6 +226,7 @@ public class TaskServiceImpl implements TaskService {
 		task.setDeletedAt(Instant.now());
 		taskDao.save(task);
 		auditService.recordTaskAction(task.getId(), AuditAction.DELETE);
+		eventPublisher.publishEvent(new TaskChangedEvent(task.getId()));
 		log.info("Soft deleted task id={}", task.getId());
 	}
 
@@ -127,6 +246,12 @@ public class TaskServiceImpl implements TaskService {
 		return new HashSet<>(agents);
 	}
 
+	private void addLinks(List<TaskAgentPair> links, long taskId, Set<Long> agentIds) {
+		for (Long agentId : agentIds) {
+			links.add(new TaskAgentPair(taskId, agentId));
+		}
+	}
+
 	private Set<Long> collectAgentIds(Set<Long> supportedAgentIds, Long supportedAgentId) {
 		Set<Long> ids = supportedAgentIds == null ? new HashSet<>() : new HashSet<>(supportedAgentIds);
 		if (supportedAgentId != null) {
@@ -139,7 +264,11 @@ public class TaskServiceImpl implements TaskService {
 		Set<Long> supportedAgentIds = task.getSupportedAgents().stream()
 				.map(AgentEntity::getId)
 				.collect(java.util.stream.Collectors.toSet());
+		return toResponse(task.getId(), task.getTitle(), task.getDescription(), supportedAgentIds);
+	}
+
+	private TaskResponseDto toResponse(Long id, String title, String description, Set<Long> supportedAgentIds) {
 		Long supportedAgentId = supportedAgentIds.size() == 1 ? supportedAgentIds.iterator().next() : null;
-		return new TaskResponseDto(task.getId(), task.getTitle(), task.getDescription(), supportedAgentIds, supportedAgentId);
+		return new TaskResponseDto(id, title, description, supportedAgentIds, supportedAgentId);
 	}
 }
@@ -1,5 +1,6 @@
 package com.samlair.trase.agent.service.impl;
 
+import com.samlair.trase.agent.service.AuthService;
 import com.samlair.trase.agent.service.TokenRevocationCleanupJob;
 import com.samlair.trase.agent.service.TokenRevocationService;
 import java.time.Instant;
@@ -8,20 +9,23 @@ import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
 /**
- * Periodically removes expired revoked tokens.
+ * Periodically removes expired revoked tokens and refresh-token sessions.
  */
 @Component
 @RequiredArgsConstructor
 public class TokenRevocationCleanupJobImpl implements TokenRevocationCleanupJob {
 
 	private final TokenRevocationService tokenRevocationService;
+	private final AuthService authService;
 
 	/**
-	 * Deletes revoked tokens that have already expired.
+	 * Deletes revoked tokens and refresh-token sessions that have already expired.
 	 */
 	@Override
 	@Scheduled(cron = "${security.jwt.revocation-cleanup-cron:0 0 * * * *}")
 	public void cleanupExpiredTokens() {
-		tokenRevocationService.cleanupExpired(Instant.now());
+		Instant now = Instant.now();
+		tokenRevocationService.cleanupExpired(now);
+		authService.cleanupExpiredSessions(now);
 	}
 }
@@ -1,41 +1,120 @@
 package com.samlair.trase.agent.service.impl;
 
+import com.samlair.trase.agent.domain.event.CacheFlushEvent;
+import com.samlair.trase.agent.domain.event.TokenRevokedEvent;
+import com.samlair.trase.agent.domain.model.RevokedToken;
 import com.samlair.trase.agent.rdbms.dao.RevokedTokenDao;
 import com.samlair.trase.agent.rdbms.entity.RevokedTokenEntity;
 import com.samlair.trase.agent.service.TokenRevocationService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
 import java.time.Instant;
-import lombok.RequiredArgsConstructor;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
 
 /**
  * Tracks revoked JWTs for immediate invalidation.
+ *
+ * <p>Lookups are served from a node-local set of unexpired revoked ids. The set is loaded in full on the first
+ * refresh and then topped up every {@code security.jwt.revocation-refresh-delay-ms} with rows whose
+ * {@code revoked_at} falls after the previous refresh minus {@code security.jwt.revocation-refresh-overlap}; the
+ * overlap absorbs commit lag and clock skew between nodes. Local revocations and those broadcast by other nodes are
+ * added as soon as they commit, so the refresh only bounds staleness when a broadcast is missed. Until the first
+ * load completes, lookups fall back to the database.
+ *
+ * <p>The exact set answers every lookup without false positives, so no probabilistic pre-check sits in front of it.
+ * {@code security.revoked_tokens.lookups{source=database}} shows how many checks still reach the database.
  */
 @Service
-@RequiredArgsConstructor
 public class TokenRevocationServiceImpl implements TokenRevocationService {
 
+	private static final Logger log = LoggerFactory.getLogger(TokenRevocationServiceImpl.class);
+
 	private final RevokedTokenDao revokedTokenDao;
+	private final ApplicationEventPublisher eventPublisher;
+	private final Duration refreshOverlap;
+	private final Map<String, Instant> revoked = new ConcurrentHashMap<>();
+	private final Counter memoryLookups;
+	private final Counter databaseLookups;
+	private final Timer fullRefreshes;
+	private final Timer incrementalRefreshes;
+	// Not a monitor: the refresh queries the database, which would pin a virtual thread's carrier on Java 21.
+	private final ReentrantLock refreshLock = new ReentrantLock();
+	private volatile boolean loaded;
+	private Instant lastRefreshAt;
+
+	public TokenRevocationServiceImpl(
+			RevokedTokenDao revokedTokenDao,
+			ApplicationEventPublisher eventPublisher,
+			MeterRegistry meterRegistry,
+			@Value("${security.jwt.revocation-refresh-overlap:30s}") Duration refreshOverlap) {
+		this.revokedTokenDao = revokedTokenDao;
+		this.eventPublisher = eventPublisher;
+		this.refreshOverlap = refreshOverlap;
+		Gauge.builder("security.revoked_tokens.cached", revoked, Map::size)
+				.description("Unexpired revoked token ids held in memory")
+				.register(meterRegistry);
+		this.memoryLookups = Counter.builder("security.revoked_tokens.lookups")
+				.description("Revocation checks by where they were answered")
+				.tag("source", "memory")
+				.register(meterRegistry);
+		this.databaseLookups = Counter.builder("security.revoked_tokens.lookups")
+				.description("Revocation checks by where they were answered")
+				.tag("source", "database")
+				.register(meterRegistry);
+		this.fullRefreshes = Timer.builder("security.revoked_tokens.refresh")
+				.description("Time spent reloading the in-memory revocation set")
+				.tag("type", "full")
+				.register(meterRegistry);
+		this.incrementalRefreshes = Timer.builder("security.revoked_tokens.refresh")
+				.description("Time spent reloading the in-memory revocation set")
+				.tag("type", "incremental")
+				.register(meterRegistry);
+	}
 
 	@Override
 	public boolean isRevoked(String jti) {
 		if (jti == null || jti.isBlank()) {
 			return false;
 		}
-		return revokedTokenDao.existsByJti(jti);
+		if (!loaded) {
+			databaseLookups.increment();
+			return revokedTokenDao.existsByJti(jti);
+		}
+		memoryLookups.increment();
+		return revoked.containsKey(jti);
 	}
 
+	@Transactional
 	@Override
 	public void revoke(String jti, Instant expiresAt) {
 		if (jti == null || jti.isBlank() || expiresAt == null) {
 			return;
 		}
-		if (revokedTokenDao.existsByJti(jti)) {
+		if (revoked.containsKey(jti) || revokedTokenDao.existsByJti(jti)) {
 			return;
 		}
 		RevokedTokenEntity entity = new RevokedTokenEntity();
 		entity.setJti(jti);
 		entity.setExpiresAt(expiresAt);
 		revokedTokenDao.save(entity);
+		eventPublisher.publishEvent(new TokenRevokedEvent(jti, expiresAt));
 	}
 
 	@Override
@@ -44,5 +123,50 @@ public class TokenRevocationServiceImpl implements TokenRevocationService {
 			return;
 		}
 		revokedTokenDao.deleteByExpiresAtBefore(cutoff);
+		revoked.values().removeIf(expiresAt -> expiresAt.isBefore(cutoff));
+	}
+
+	@Scheduled(fixedDelayString = "${security.jwt.revocation-refresh-delay-ms:5000}")
+	@Override
+	public void refreshRevocations() {
+		refreshLock.lock();
+		try {
+			long startedAt = System.nanoTime();
+			Instant now = Instant.now();
+			boolean full = lastRefreshAt == null;
+			List<RevokedToken> rows = full
+					? revokedTokenDao.findUnexpired(now)
+					: revokedTokenDao.findUnexpiredRevokedAfter(lastRefreshAt.minus(refreshOverlap), now);
+			for (RevokedToken row : rows) {
+				revoked.put(row.jti(), row.expiresAt());
+			}
+			revoked.values().removeIf(expiresAt -> !expiresAt.isAfter(now));
+			lastRefreshAt = now;
+			loaded = true;
+			long elapsed = System.nanoTime() - startedAt;
+			(full ? fullRefreshes : incrementalRefreshes).record(elapsed, TimeUnit.NANOSECONDS);
+			if (full) {
+				log.info("Loaded {} revoked tokens in {} ms", rows.size(), TimeUnit.NANOSECONDS.toMillis(elapsed));
+			}
+		} finally {
+			refreshLock.unlock();
+		}
+	}
+
+	@TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+	public void onTokenRevoked(TokenRevokedEvent event) {
+		revoked.put(event.jti(), event.expiresAt());
+	}
+
+	@EventListener
+	public void onCacheFlush(CacheFlushEvent event) {
+		// Revocations are never undone, so a full reload only adds entries; lookups keep using the current set.
+		refreshLock.lock();
+		try {
+			lastRefreshAt = null;
+		} finally {
+			refreshLock.unlock();
+		}
+		refreshRevocations();
 	}
 }
@@ -1,6 +1,8 @@
 package com.samlair.trase.agent.web.controller;
 
+import com.samlair.trase.agent.config.AdmissionControlled;
 import com.samlair.trase.agent.service.AgentService;
+import com.samlair.trase.agent.web.dto.BatchItemResultDto;
 import com.samlair.trase.agent.web.dto.CreateAgentRequestDto;
 import com.samlair.trase.agent.web.dto.UpdateAgentRequestDto;
 import com.samlair.trase.agent.web.dto.AgentResponseDto;
@@ -30,13 +32,13 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 /**
  * REST endpoints for CRUD operations on agents.
  */
 @RestController
 @RequestMapping("/agents")
-@RateLimiter(name = "api")
 @RequiredArgsConstructor
 public class AgentController {
 
@@ -45,6 +47,7 @@ public class AgentController {
 	private final AgentService agentService;
 
 	@GetMapping
+	@AdmissionControlled
 	@Operation(
 			summary = "List agents",
 			description = "Roles: ADMIN, OPERATOR, RUNNER, READER.",
@@ -75,6 +78,7 @@ public class AgentController {
 	}
 
 	@PostMapping
+	@AdmissionControlled
 	@Operation(
 			summary = "Create agent",
 			description = "Roles: ADMIN, OPERATOR.",
@@ -100,13 +104,52 @@ public class AgentController {
 		return ResponseEntity.status(HttpStatus.CREATED).body(agentService.createAgent(request));
 	}
 
+	@PostMapping("/batch")
+	@RateLimiter(name = "api")
+	@Operation(
+			summary = "Import agents in batch",
+			description = "Roles: ADMIN, OPERATOR. Names are checked against active agents with one query and rows "
+					+ "are inserted with a single INSERT ... ON CONFLICT DO NOTHING RETURNING statement. Each item gets "
+					+ "its own result in request order; duplicate names are reported per item and do not prevent the "
+					+ "others from being created.",
+			requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(
+					required = true,
+					content = @Content(
+							mediaType = "application/json",
+							examples = @ExampleObject(value = "[{\"name\":\"Agent A\",\"description\":\"Primary agent\"},"
+									+ "{\"name\":\"Agent B\",\"description\":\"Backup agent\"}]")
+					)
+			),
+			responses = @ApiResponse(
+					responseCode = "200",
+					content = @Content(
+							mediaType = "application/json",
+							examples = @ExampleObject(
+									value = "[{\"index\":0,\"status\":201,\"result\":{\"id\":1,\"name\":\"Agent A\","
+											+ "\"description\":\"Primary agent\"}},"
+											+ "{\"index\":1,\"status\":400,\"message\":\"Agent name already exists: Agent B\"}]"
+							)
+					)
+			)
+	)
+	public List<BatchItemResultDto<AgentResponseDto>> importAgents(@RequestBody List<CreateAgentRequestDto> requests) {
+		log.debug("Batch agent import request received count={}", requests.size());
+		return agentService.importAgents(requests);
+	}
+
 	@GetMapping("/{id}")
-	@Operation(summary = "Get agent", description = "Roles: ADMIN, OPERATOR, RUNNER, READER.")
-	public AgentResponseDto getAgent(@PathVariable long id) {
-		return agentService.getAgent(id);
+	@AdmissionControlled
+	@Operation(
+			summary = "Get agent",
+			description = "Roles: ADMIN, OPERATOR, RUNNER, READER. Supports If-None-Match/If-Modified-Since; "
+					+ "returns 304 without a body when the agent is unchanged."
+	)
+	public ResponseEntity<AgentResponseDto> getAgent(@PathVariable long id, WebRequest request) {
+		return ConditionalGet.respond(request, () -> agentService.getCurrentAgent(id), () -> agentService.getAgent(id));
 	}
 
 	@PutMapping("/{id}")
+	@AdmissionControlled
 	@Operation(summary = "Update agent", description = "Roles: ADMIN, OPERATOR.")
 	public AgentResponseDto updateAgent(@PathVariable long id, @Valid @RequestBody UpdateAgentRequestDto request) {
 		log.debug("Update agent request received id={}", id);
@@ -114,6 +157,7 @@ public class AgentController {
 	}
 
 	@DeleteMapping("/{id}")
+	@AdmissionControlled
 	@Operation(summary = "Delete agent", description = "Roles: ADMIN, OPERATOR.")
 	public ResponseEntity<Void> deleteAgent(@PathVariable long id) {
 		log.debug("Delete agent request received id={}", id);
@@ -1,21 +1,43 @@
 package com.samlair.trase.agent.web.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.samlair.trase.agent.domain.enumeration.AuditAction;
+import com.samlair.trase.agent.domain.exception.BadRequestException;
+import com.samlair.trase.agent.domain.exception.NotFoundException;
+import com.samlair.trase.agent.domain.model.AuditCursor;
+import com.samlair.trase.agent.domain.model.AuditFilter;
+import com.samlair.trase.agent.domain.model.CursorPage;
 import com.samlair.trase.agent.service.AuditQueryService;
 import com.samlair.trase.agent.web.dto.AgentAuditResponseDto;
 import com.samlair.trase.agent.web.dto.TaskAuditResponseDto;
 import com.samlair.trase.agent.web.dto.TaskRunAuditResponseDto;
 import io.github.resilience4j.ratelimiter.annotation.RateLimiter;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.Parameters;
+import io.swagger.v3.oas.annotations.enums.ParameterIn;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.ExampleObject;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.Instant;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.ToLongFunction;
 import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 /**
@@ -27,12 +49,17 @@ import org.springframework.web.bind.annotation.RestController;
 @RequiredArgsConstructor
 public class AuditController {
 
+	private static final Logger log = LoggerFactory.getLogger(AuditController.class);
+
+	private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
 	private final AuditQueryService auditQueryService;
+	private final ObjectMapper objectMapper;
 
 	@GetMapping("/agents")
 	@Operation(
 			summary = "List agent audits",
-			description = "Roles: ADMIN.",
+			description = "Roles: ADMIN. Responses carry X-Next-Cursor while more rows remain.",
 			responses = @ApiResponse(
 					responseCode = "200",
 					content = @Content(
@@ -45,15 +72,47 @@ public class AuditController {
 					)
 			)
 	)
-	public List<AgentAuditResponseDto> listAgentAudits(
+	@Parameters({
+			@Parameter(name = "agentId", in = ParameterIn.QUERY, example = "10",
+					description = "Only audits of this agent."),
+			@Parameter(name = "actorUserId", in = ParameterIn.QUERY, example = "1",
+					description = "Only audits recorded for this user."),
+			@Parameter(name = "requestId", in = ParameterIn.QUERY, example = "req-1",
+					description = "Only audits recorded for this request id."),
+			@Parameter(name = "action", in = ParameterIn.QUERY, example = "CREATE",
+					description = "Only audits with this action."),
+			@Parameter(name = "occurredFrom", in = ParameterIn.QUERY, example = "2026-01-31T00:00:00Z",
+					description = "Inclusive lower bound of occurredAt."),
+			@Parameter(name = "occurredTo", in = ParameterIn.QUERY, example = "2026-02-01T00:00:00Z",
+					description = "Exclusive upper bound of occurredAt."),
+			@Parameter(name = "beforeId", in = ParameterIn.QUERY, example = "100",
+					description = "Keyset cursor; return rows with id < beforeId, newest first."),
+			@Parameter(name = "afterId", in = ParameterIn.QUERY, example = "100",
+					description = "Keyset cursor; return rows with id > afterId, oldest first."),
+			@Parameter(name = "cursor", in = ParameterIn.QUERY,
+					description = "Opaque cursor from a previous X-Next-Cursor header."),
+			@Parameter(name = "size", in = ParameterIn.QUERY, example = "50",
+					description = "Page size.")
+	})
+	public ResponseEntity<List<AgentAuditResponseDto>> listAgentAudits(
+			@RequestParam(required = false) Long agentId,
+			@RequestParam(required = false) Long actorUserId,
+			@RequestParam(required = false) String requestId,
+			@RequestParam(required = false) AuditAction action,
+			@RequestParam(required = false) Instant occurredFrom,
+			@RequestParam(required = false) Instant occurredTo,
+			@RequestParam(required = false) Long beforeId,
+			@RequestParam(required = false) Long afterId,
+			@RequestParam(required = false) String cursor,
 			@PageableDefault(size = 50, sort = "id", direction = Sort.Direction.DESC) Pageable pageable) {
-		return auditQueryService.listAgentAudits(pageable);
+		AuditFilter filter = toFilter(agentId, actorUserId, requestId, action, occurredFrom, occurredTo);
+		return toResponse(auditQueryService.listAgentAudits(filter, pageable, resolveCursor(beforeId, afterId, cursor)));
 	}
 
 	@GetMapping("/tasks")
 	@Operation(
 			summary = "List task audits",
-			description = "Roles: ADMIN.",
+			description = "Roles: ADMIN. Responses carry X-Next-Cursor while more rows remain.",
 			responses = @ApiResponse(
 					responseCode = "200",
 					content = @Content(
@@ -66,15 +125,47 @@ public class AuditController {
 					)
 			)
 	)
-	public List<TaskAuditResponseDto> listTaskAudits(
+	@Parameters({
+			@Parameter(name = "taskId", in = ParameterIn.QUERY, example = "10",
+					description = "Only audits of this task."),
+			@Parameter(name = "actorUserId", in = ParameterIn.QUERY, example = "1",
+					description = "Only audits recorded for this user."),
+			@Parameter(name = "requestId", in = ParameterIn.QUERY, example = "req-1",
+					description = "Only audits recorded for this request id."),
+			@Parameter(name = "action", in = ParameterIn.QUERY, example = "CREATE",
+					description = "Only audits with this action."),
+			@Parameter(name = "occurredFrom", in = ParameterIn.QUERY, example = "2026-01-31T00:00:00Z",
+					description = "Inclusive lower bound of occurredAt."),
+			@Parameter(name = "occurredTo", in = ParameterIn.QUERY, example = "2026-02-01T00:00:00Z",
+					description = "Exclusive upper bound of occurredAt."),
+			@Parameter(name = "beforeId", in = ParameterIn.QUERY, example = "100",
+					description = "Keyset cursor; return rows with id < beforeId, newest first."),
+			@Parameter(name = "afterId", in = ParameterIn.QUERY, example = "100",
+					description = "Keyset cursor; return rows with id > afterId, oldest first."),
+			@Parameter(name = "cursor", in = ParameterIn.QUERY,
+					description = "Opaque cursor from a previous X-Next-Cursor header."),
+			@Parameter(name = "size", in = ParameterIn.QUERY, example = "50",
+					description = "Page size.")
+	})
+	public ResponseEntity<List<TaskAuditResponseDto>> listTaskAudits(
+			@RequestParam(required = false) Long taskId,
+			@RequestParam(required = false) Long actorUserId,
+			@RequestParam(required = false) String requestId,
+			@RequestParam(required = false) AuditAction action,
+			@RequestParam(required = false) Instant occurredFrom,
+			@RequestParam(required = false) Instant occurredTo,
+			@RequestParam(required = false) Long beforeId,
+			@RequestParam(required = false) Long afterId,
+			@RequestParam(required = false) String cursor,
 			@PageableDefault(size = 50, sort = "id", direction = Sort.Direction.DESC) Pageable pageable) {
-		return auditQueryService.listTaskAudits(pageable);
+		AuditFilter filter = toFilter(taskId, actorUserId, requestId, action, occurredFrom, occurredTo);
+		return toResponse(auditQueryService.listTaskAudits(filter, pageable, resolveCursor(beforeId, afterId, cursor)));
 	}
 
 	@GetMapping("/task-runs")
 	@Operation(
 			summary = "List task run audits",
-			description = "Roles: ADMIN.",
+			description = "Roles: ADMIN. Responses carry X-Next-Cursor while more rows remain.",
 			responses = @ApiResponse(
 					responseCode = "200",
 					content = @Content(
@@ -87,8 +178,148 @@ public class AuditController {
 					)
 			)
 	)
-	public List<TaskRunAuditResponseDto> listTaskRunAudits(
+	@Parameters({
+			@Parameter(name = "taskRunId", in = ParameterIn.QUERY, example = "10",
+					description = "Only audits of this task run."),
+			@Parameter(name = "actorUserId", in = ParameterIn.QUERY, example = "1",
+					description = "Only audits recorded for this user."),
+			@Parameter(name = "requestId", in = ParameterIn.QUERY, example = "req-1",
+					description = "Only audits recorded for this request id."),
+			@Parameter(name = "action", in = ParameterIn.QUERY, example = "CREATE",
+					description = "Only audits with this action."),
+			@Parameter(name = "occurredFrom", in = ParameterIn.QUERY, example = "2026-01-31T00:00:00Z",
+					description = "Inclusive lower bound of occurredAt."),
+			@Parameter(name = "occurredTo", in = ParameterIn.QUERY, example = "2026-02-01T00:00:00Z",
+					description = "Exclusive upper bound of occurredAt."),
+			@Parameter(name = "beforeId", in = ParameterIn.QUERY, example = "100",
+					description = "Keyset cursor; return rows with id < beforeId, newest first."),
+			@Parameter(name = "afterId", in = ParameterIn.QUERY, example = "100",
+					description = "Keyset cursor; return rows with id > afterId, oldest first."),
+			@Parameter(name = "cursor", in = ParameterIn.QUERY,
+					description = "Opaque cursor from a previous X-Next-Cursor header."),
+			@Parameter(name = "size", in = ParameterIn.QUERY, example = "50",
+					description = "Page size.")
+	})
+	public ResponseEntity<List<TaskRunAuditResponseDto>> listTaskRunAudits(
+			@RequestParam(required = false) Long taskRunId,
+			@RequestParam(required = false) Long actorUserId,
+			@RequestParam(required = false) String requestId,
+			@RequestParam(required = false) AuditAction action,
+			@RequestParam(required = false) Instant occurredFrom,
+			@RequestParam(required = false) Instant occurredTo,
+			@RequestParam(required = false) Long beforeId,
+			@RequestParam(required = false) Long afterId,
+			@RequestParam(required = false) String cursor,
 			@PageableDefault(size = 50, sort = "id", direction = Sort.Direction.DESC) Pageable pageable) {
-		return auditQueryService.listTaskRunAudits(pageable);
+		AuditFilter filter = toFilter(taskRunId, actorUserId, requestId, action, occurredFrom, occurredTo);
+		return toResponse(auditQueryService.listTaskRunAudits(filter, pageable, resolveCursor(beforeId, afterId, cursor)));
+	}
+
+	@GetMapping("/{kind}/export")
+	@Operation(
+			summary = "Export audits as NDJSON or CSV",
+			description = "Roles: ADMIN. Streams every matching audit record of one kind (agents, tasks, task-runs) in "
+					+ "id order. Example: /audits/task-runs/export?format=csv&occurredFrom=2026-01-01T00:00:00Z.",
+			responses = @ApiResponse(
+					responseCode = "200",
+					content = {
+							@Content(
+									mediaType = NdjsonResponseWriter.CONTENT_TYPE,
+									examples = @ExampleObject(
+											value = "{\"id\":1,\"agentId\":10,\"action\":\"CREATE\","
+													+ "\"actorUserId\":1,\"actorUsername\":\"admin\","
+													+ "\"requestId\":\"req-1\",\"occurredAt\":\"2026-01-31T00:00:00Z\"}\n"
+									)
+							),
+							@Content(
+									mediaType = CsvResponseWriter.CONTENT_TYPE,
+									examples = @ExampleObject(
+											value = "id,agentId,action,actorUserId,actorUsername,requestId,occurredAt\r\n"
+													+ "1,10,CREATE,1,admin,req-1,2026-01-31T00:00:00Z\r\n"
+									)
+							)
+					}
+			)
+	)
+	@Parameters({
+			@Parameter(name = "kind", in = ParameterIn.PATH, example = "agents",
+					description = "Audit kind: agents, tasks, or task-runs."),
+			@Parameter(name = "format", in = ParameterIn.QUERY, example = "csv",
+					description = "ndjson (default) or csv."),
+			@Parameter(name = "occurredFrom", in = ParameterIn.QUERY, example = "2026-01-01T00:00:00Z",
+					description = "Inclusive lower bound of occurredAt."),
+			@Parameter(name = "occurredTo", in = ParameterIn.QUERY, example = "2026-02-01T00:00:00Z",
+					description = "Exclusive upper bound of occurredAt.")
+	})
+	public void exportAudits(
+			@PathVariable String kind,
+			@RequestParam(defaultValue = "ndjson") String format,
+			@RequestParam(required = false) Instant occurredFrom,
+			@RequestParam(required = false) Instant occurredTo,
+			HttpServletResponse response) throws IOException {
+		AuditFilter filter = toFilter(null, null, null, null, occurredFrom, occurredTo);
+		boolean csv = switch (format) {
+			case "csv" -> true;
+			case "ndjson" -> false;
+			default -> throw new BadRequestException("Unsupported export format: " + format);
+		};
+		long count = switch (kind) {
+			case "agents" -> export(response, kind, csv, AgentAuditResponseDto.class,
+					consumer -> auditQueryService.exportAgentAudits(filter, consumer));
+			case "tasks" -> export(response, kind, csv, TaskAuditResponseDto.class,
+					consumer -> auditQueryService.exportTaskAudits(filter, consumer));
+			case "task-runs" -> export(response, kind, csv, TaskRunAuditResponseDto.class,
+					consumer -> auditQueryService.exportTaskRunAudits(filter, consumer));
+			default -> throw new NotFoundException("Unknown audit kind: " + kind);
+		};
+		log.debug("Audit export finished kind={} format={} count={}", kind, format, count);
+	}
+
+	private <T extends Record> long export(HttpServletResponse response, String kind, boolean csv, Class<T> type,
+			ToLongFunction<Consumer<T>> exporter) throws IOException {
+		response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+				.filename(kind + "-audits." + (csv ? "csv" : "ndjson"))
+				.build()
+				.toString());
+		if (csv) {
+			CsvResponseWriter<T> writer = new CsvResponseWriter<>(type, response);
+			long count = exporter.applyAsLong(writer::write);
+			writer.flush();
+			return count;
+		}
+		NdjsonResponseWriter writer = new NdjsonResponseWriter(objectMapper, response);
+		long count = exporter.applyAsLong(writer::write);
+		writer.flush();
+		return count;
+	}
+
+	private AuditFilter toFilter(Long entityId, Long actorUserId, String requestId, AuditAction action,
+			Instant occurredFrom, Instant occurredTo) {
+		if (occurredFrom != null && occurredTo != null && !occurredFrom.isBefore(occurredTo)) {
+			throw new BadRequestException("occurredFrom must be before occurredTo");
+		}
+		return new AuditFilter(entityId, actorUserId, requestId, action, occurredFrom, occurredTo);
+	}
+
+	private AuditCursor resolveCursor(Long beforeId, Long afterId, String cursor) {
+		int given = (beforeId == null ? 0 : 1) + (afterId == null ? 0 : 1) + (cursor == null ? 0 : 1);
+		if (given > 1) {
+			throw new BadRequestException("Only one of beforeId, afterId or cursor may be provided");
+		}
+		if (beforeId != null) {
+			return AuditCursor.before(beforeId);
+		}
+		if (afterId != null) {
+			return AuditCursor.after(afterId);
+		}
+		return cursor == null ? null : AuditCursor.decode(cursor);
+	}
+
+	private <T> ResponseEntity<List<T>> toResponse(CursorPage<T> page) {
+		ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+		if (page.nextCursor() != null) {
+			response.header(NEXT_CURSOR_HEADER, page.nextCursor().encode());
+		}
+		return response.body(page.items());
 	}
 }
@@ -4,6 +4,7 @@ import com.samlair.trase.agent.service.AuthService;
 import com.samlair.trase.agent.service.TokenRevocationService;
 import com.samlair.trase.agent.web.dto.LoginRequestDto;
 import com.samlair.trase.agent.web.dto.LoginResponseDto;
+import com.samlair.trase.agent.web.dto.RefreshTokenRequestDto;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -39,7 +40,18 @@ public class AuthController {
 	}
 
 	/**
-	 * Revokes the currently authenticated JWT.
+	 * Exchanges a refresh token for a new access token and a rotated refresh token.
+	 *
+	 * @param request refresh request
+	 * @return JWT response
+	 */
+	@PostMapping("/refresh")
+	public LoginResponseDto refresh(@Valid @RequestBody RefreshTokenRequestDto request) {
+		return authService.refresh(request.refreshToken());
+	}
+
+	/**
+	 * Revokes the currently authenticated JWT, or ends its refresh-token session.
 	 *
 	 * @return 204 when revoked (or if no token is present)
 	 */
@@ -48,7 +60,12 @@ public class AuthController {
 		Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
 		if (authentication instanceof JwtAuthenticationToken token) {
 			Jwt jwt = token.getToken();
-			tokenRevocationService.revoke(jwt.getId(), jwt.getExpiresAt());
+			Object sessionId = jwt.getClaim(AuthService.SESSION_CLAIM);
+			if (sessionId instanceof Number session) {
+				authService.endSession(session.longValue());
+			} else {
+				tokenRevocationService.revoke(jwt.getId(), jwt.getExpiresAt());
+			}
 		}
 		return ResponseEntity.noContent().build();
 	}
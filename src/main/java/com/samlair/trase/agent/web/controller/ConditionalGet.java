@@ -0,0 +1,49 @@
+package com.samlair.trase.agent.web.controller;
+
+import com.samlair.trase.agent.domain.model.Versioned;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.function.Supplier;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+/**
+ * Validators for conditional GETs derived from a row's {@code updated_at}. The ETag carries the full microsecond
+ * timestamp stored by Postgres; {@code Last-Modified} is limited to whole seconds by the HTTP date format.
+ */
+final class ConditionalGet {
+
+	private ConditionalGet() {
+	}
+
+	/**
+	 * Builds the response for a single-resource GET with {@code ETag} and {@code Last-Modified} taken from the same
+	 * snapshot as the body. Spring evaluates {@code If-None-Match}/{@code If-Modified-Since} against them and turns
+	 * the response into a 304 without a body when they match.
+	 *
+	 * @param request current request.
+	 * @param current loads a snapshot checked against the row's live {@code updated_at}; only used for conditional
+	 *        requests.
+	 * @param cached loads a snapshot, possibly from the response cache.
+	 * @param <T> body type.
+	 * @return response carrying the snapshot and its validators.
+	 */
+	static <T> ResponseEntity<T> respond(WebRequest request, Supplier<Versioned<T>> current,
+			Supplier<Versioned<T>> cached) {
+		Versioned<T> snapshot = isConditional(request) ? current.get() : cached.get();
+		return ResponseEntity.ok()
+				.eTag(etag(snapshot.updatedAt()))
+				.lastModified(snapshot.updatedAt())
+				.body(snapshot.body());
+	}
+
+	static String etag(Instant updatedAt) {
+		return "\"" + ChronoUnit.MICROS.between(Instant.EPOCH, updatedAt) + "\"";
+	}
+
+	private static boolean isConditional(WebRequest request) {
+		return request.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+				|| request.getHeader(HttpHeaders.IF_MODIFIED_SINCE) != null;
+	}
+}
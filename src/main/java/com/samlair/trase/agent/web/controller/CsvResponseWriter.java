@@ -0,0 +1,72 @@
+package com.samlair.trase.agent.web.controller;
+
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.RecordComponent;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writes records as RFC 4180 CSV straight to the servlet output stream. The header row uses the record component
+ * names; {@code null} values are written as empty fields.
+ *
+ * @param <T> record type.
+ */
+final class CsvResponseWriter<T extends Record> {
+
+	static final String CONTENT_TYPE = "text/csv";
+
+	private final Method[] accessors;
+	private final Writer out;
+
+	CsvResponseWriter(Class<T> type, HttpServletResponse response) throws IOException {
+		response.setContentType(CONTENT_TYPE);
+		response.setCharacterEncoding("UTF-8");
+		RecordComponent[] components = type.getRecordComponents();
+		this.accessors = new Method[components.length];
+		this.out = new BufferedWriter(new OutputStreamWriter(response.getOutputStream(), StandardCharsets.UTF_8));
+		for (int i = 0; i < components.length; i++) {
+			accessors[i] = components[i].getAccessor();
+			if (i > 0) {
+				out.write(',');
+			}
+			out.write(components[i].getName());
+		}
+		out.write("\r\n");
+	}
+
+	void write(T value) {
+		try {
+			for (int i = 0; i < accessors.length; i++) {
+				if (i > 0) {
+					out.write(',');
+				}
+				Object field = accessors[i].invoke(value);
+				if (field != null) {
+					out.write(escape(field.toString()));
+				}
+			}
+			out.write("\r\n");
+		} catch (IOException ex) {
+			throw new UncheckedIOException(ex);
+		} catch (IllegalAccessException | InvocationTargetException ex) {
+			throw new IllegalStateException("Cannot read record component", ex);
+		}
+	}
+
+	void flush() throws IOException {
+		out.flush();
+	}
+
+	private static String escape(String value) {
+		if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+			return value;
+		}
+		return '"' + value.replace("\"", "\"\"") + '"';
+	}
+}
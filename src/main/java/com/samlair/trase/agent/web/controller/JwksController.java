@@ -0,0 +1,36 @@
+package com.samlair.trase.agent.web.controller;
+
+import com.samlair.trase.agent.config.JwtKeyRing;
+import io.swagger.v3.oas.annotations.Operation;
+import java.time.Duration;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Publishes the JWT verification keys so other services can validate tokens locally.
+ */
+@RestController
+@RequiredArgsConstructor
+public class JwksController {
+
+	private static final Duration MAX_AGE = Duration.ofMinutes(5);
+
+	private final JwtKeyRing jwtKeyRing;
+
+	/**
+	 * Returns the public keys of every loaded {@code kid}, including keys kept only to verify older tokens.
+	 *
+	 * @return JWK set
+	 */
+	@GetMapping("/.well-known/jwks.json")
+	@Operation(summary = "JSON Web Key Set", description = "Public keys used to verify issued JWTs, by kid.")
+	public ResponseEntity<Map<String, Object>> jwks() {
+		return ResponseEntity.ok()
+				.cacheControl(CacheControl.maxAge(MAX_AGE).cachePublic())
+				.body(jwtKeyRing.publicJwkSet());
+	}
+}
@@ -0,0 +1,41 @@
+package com.samlair.trase.agent.web.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * Writes one JSON document per line straight to the servlet output stream. Dates are written as ISO-8601 strings
+ * to match the regular JSON endpoints.
+ */
+final class NdjsonResponseWriter {
+
+	static final String CONTENT_TYPE = "application/x-ndjson";
+
+	private final ObjectWriter writer;
+	private final OutputStream out;
+
+	NdjsonResponseWriter(ObjectMapper objectMapper, HttpServletResponse response) throws IOException {
+		response.setContentType(CONTENT_TYPE);
+		response.setCharacterEncoding("UTF-8");
+		this.writer = objectMapper.writer().without(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+		this.out = response.getOutputStream();
+	}
+
+	void write(Object value) {
+		try {
+			out.write(writer.writeValueAsBytes(value));
+			out.write('\n');
+		} catch (IOException ex) {
+			throw new UncheckedIOException(ex);
+		}
+	}
+
+	void flush() throws IOException {
+		out.flush();
+	}
+}
@@ -2,6 +2,7 @@ package com.samlair.trase.agent.web.controller;
 
 import com.samlair.trase.agent.domain.exception.BadRequestException;
 import com.samlair.trase.agent.domain.exception.NotFoundException;
+import com.samlair.trase.agent.domain.exception.ServiceUnavailableException;
 import com.samlair.trase.agent.domain.exception.UnauthorizedException;
 import com.samlair.trase.agent.web.dto.ApiErrorDto;
 import io.github.resilience4j.ratelimiter.RequestNotPermitted;
@@ -52,6 +53,17 @@ public class RestExceptionHandler {
 		return buildError(HttpStatus.UNAUTHORIZED, ex.getMessage(), request, null);
 	}
 
+	@ExceptionHandler(ServiceUnavailableException.class)
+	public ResponseEntity<ApiErrorDto> handleServiceUnavailable(ServiceUnavailableException ex,
+			HttpServletRequest request) {
+		log.warn("Service unavailable: {} {}", request.getMethod(), request.getRequestURI());
+		ResponseEntity<ApiErrorDto> response = buildError(HttpStatus.SERVICE_UNAVAILABLE, ex.getMessage(), request, null);
+		long retryAfterSeconds = Math.max(1L, ex.getRetryAfter().toSeconds());
+		return ResponseEntity.status(response.getStatusCode())
+				.header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+				.body(response.getBody());
+	}
+
 	@ExceptionHandler(MethodArgumentNotValidException.class)
 	public ResponseEntity<ApiErrorDto> handleValidation(MethodArgumentNotValidException ex, HttpServletRequest request) {
 		Map<String, String> errors = new LinkedHashMap<>();
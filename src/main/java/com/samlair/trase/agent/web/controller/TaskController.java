@@ -1,9 +1,12 @@
 package com.samlair.trase.agent.web.controller;
 
+import com.samlair.trase.agent.config.AdmissionControlled;
 import com.samlair.trase.agent.service.TaskService;
+import com.samlair.trase.agent.web.dto.BatchItemResultDto;
 import com.samlair.trase.agent.web.dto.CreateTaskRequestDto;
 import com.samlair.trase.agent.web.dto.UpdateTaskRequestDto;
 import com.samlair.trase.agent.web.dto.TaskResponseDto;
+import com.samlair.trase.agent.web.dto.UpsertTaskRequestDto;
 import io.github.resilience4j.ratelimiter.annotation.RateLimiter;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -30,13 +33,13 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 /**
  * REST endpoints for CRUD operations on tasks.
  */
 @RestController
 @RequestMapping({"/tasks", "/task"})
-@RateLimiter(name = "api")
 @RequiredArgsConstructor
 public class TaskController {
 
@@ -45,6 +48,7 @@ public class TaskController {
 	private final TaskService taskService;
 
 	@GetMapping
+	@AdmissionControlled
 	@Operation(
 			summary = "List tasks",
 			description = "Roles: ADMIN, OPERATOR, RUNNER, READER.",
@@ -75,6 +79,7 @@ public class TaskController {
 	}
 
 	@PostMapping
+	@AdmissionControlled
 	@Operation(
 			summary = "Create task",
 			description = "Roles: ADMIN, OPERATOR.",
@@ -102,13 +107,53 @@ public class TaskController {
 		return ResponseEntity.status(HttpStatus.CREATED).body(taskService.createTask(request));
 	}
 
+	@PostMapping("/batch")
+	@RateLimiter(name = "api")
+	@Operation(
+			summary = "Create or update tasks in batch",
+			description = "Roles: ADMIN, OPERATOR. Items without an id are created, items with an id replace that "
+					+ "task. Agent and task ids are resolved with one query each, and tasks, agent links and audit "
+					+ "rows are written with JDBC batching. Each item gets its own result in request order; "
+					+ "failed items do not prevent the others from being written.",
+			requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(
+					required = true,
+					content = @Content(
+							mediaType = "application/json",
+							examples = @ExampleObject(value = "[{\"title\":\"Task A\",\"description\":\"Primary task\","
+									+ "\"supportedAgentIds\":[1,2]},{\"id\":7,\"title\":\"Task B\","
+									+ "\"description\":\"Renamed\",\"supportedAgentId\":3}]")
+					)
+			),
+			responses = @ApiResponse(
+					responseCode = "200",
+					content = @Content(
+							mediaType = "application/json",
+							examples = @ExampleObject(
+									value = "[{\"index\":0,\"status\":201,\"result\":{\"id\":12,\"title\":\"Task A\","
+											+ "\"description\":\"Primary task\",\"supportedAgentIds\":[1,2]}},"
+											+ "{\"index\":1,\"status\":404,\"message\":\"Task not found: 7\"}]"
+							)
+					)
+			)
+	)
+	public List<BatchItemResultDto<TaskResponseDto>> upsertTasks(@RequestBody List<UpsertTaskRequestDto> requests) {
+		log.debug("Batch upsert task request received count={}", requests.size());
+		return taskService.upsertTasks(requests);
+	}
+
 	@GetMapping("/{id}")
-	@Operation(summary = "Get task", description = "Roles: ADMIN, OPERATOR, RUNNER, READER.")
-	public TaskResponseDto getTask(@PathVariable long id) {
-		return taskService.getTask(id);
+	@AdmissionControlled
+	@Operation(
+			summary = "Get task",
+			description = "Roles: ADMIN, OPERATOR, RUNNER, READER. Supports If-None-Match/If-Modified-Since; "
+					+ "returns 304 without a body when the task is unchanged."
+	)
+	public ResponseEntity<TaskResponseDto> getTask(@PathVariable long id, WebRequest request) {
+		return ConditionalGet.respond(request, () -> taskService.getCurrentTask(id), () -> taskService.getTask(id));
 	}
 
 	@PutMapping("/{id}")
+	@AdmissionControlled
 	@Operation(summary = "Update task", description = "Roles: ADMIN, OPERATOR.")
 	public TaskResponseDto updateTask(@PathVariable long id, @Valid @RequestBody UpdateTaskRequestDto request) {
 		log.debug("Update task request received id={}", id);
@@ -116,6 +161,7 @@ public class TaskController {
 	}
 
 	@DeleteMapping("/{id}")
+	@AdmissionControlled
 	@Operation(summary = "Delete task", description = "Roles: ADMIN, OPERATOR.")
 	public ResponseEntity<Void> deleteTask(@PathVariable long id) {
 		log.debug("Delete task request received id={}", id);
@@ -1,7 +1,10 @@
 package com.samlair.trase.agent.web.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.samlair.trase.agent.config.AdmissionControlled;
 import com.samlair.trase.agent.domain.enumeration.TaskRunStatus;
 import com.samlair.trase.agent.service.TaskRunService;
+import com.samlair.trase.agent.web.dto.BatchItemResultDto;
 import com.samlair.trase.agent.web.dto.CreateTaskRunRequestDto;
 import com.samlair.trase.agent.web.dto.UpdateTaskRunStatusRequestDto;
 import com.samlair.trase.agent.web.dto.TaskRunResponseDto;
@@ -13,7 +16,9 @@ import io.swagger.v3.oas.annotations.enums.ParameterIn;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.ExampleObject;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import java.io.IOException;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
@@ -37,15 +42,16 @@ import org.springframework.web.bind.annotation.RestController;
  */
 @RestController
 @RequestMapping("/task-runs")
-@RateLimiter(name = "api")
 @RequiredArgsConstructor
 public class TaskRunController {
 
 	private static final Logger log = LoggerFactory.getLogger(TaskRunController.class);
 
 	private final TaskRunService taskRunService;
+	private final ObjectMapper objectMapper;
 
 	@PostMapping
+	@AdmissionControlled
 	@Operation(
 			summary = "Start task run",
 			description = "Roles: ADMIN, OPERATOR, RUNNER. Optional Idempotency-Key header supported.",
@@ -73,7 +79,42 @@ public class TaskRunController {
 		return ResponseEntity.status(HttpStatus.CREATED).body(taskRunService.startTaskRun(request, idempotencyKey));
 	}
 
+	@PostMapping("/batch")
+	@RateLimiter(name = "api")
+	@Operation(
+			summary = "Start task runs in batch",
+			description = "Roles: ADMIN, OPERATOR, RUNNER. Items are validated with one set-based query and "
+					+ "inserted with JDBC batching. Each item gets its own result in request order; "
+					+ "failed items do not prevent the others from starting.",
+			requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(
+					required = true,
+					content = @Content(
+							mediaType = "application/json",
+							examples = @ExampleObject(value = "[{\"taskId\":1,\"agentId\":2},{\"taskId\":1,\"agentId\":3}]")
+					)
+			),
+			responses = @ApiResponse(
+					responseCode = "200",
+					content = @Content(
+							mediaType = "application/json",
+							examples = @ExampleObject(
+									value = "[{\"index\":0,\"status\":201,\"result\":{\"id\":10,\"taskId\":1,"
+											+ "\"agentId\":2,\"status\":\"RUNNING\","
+											+ "\"startedAt\":\"2024-01-01T00:00:00Z\",\"completedAt\":null}},"
+											+ "{\"index\":1,\"status\":400,"
+											+ "\"message\":\"Agent 3 is not supported for task 1\"}]"
+							)
+					)
+			)
+	)
+	public List<BatchItemResultDto<TaskRunResponseDto>> startTaskRuns(
+			@RequestBody List<CreateTaskRunRequestDto> requests) {
+		log.debug("Batch start task run request received count={}", requests.size());
+		return taskRunService.startTaskRuns(requests);
+	}
+
 	@GetMapping
+	@AdmissionControlled
 	@Operation(
 			summary = "List task runs",
 			description = "Roles: ADMIN, OPERATOR, RUNNER, READER. Example: /task-runs?status=RUNNING&afterId=100.",
@@ -107,7 +148,42 @@ public class TaskRunController {
 		return taskRunService.listTaskRuns(status, pageable, afterId);
 	}
 
+	@GetMapping("/export")
+	@RateLimiter(name = "api")
+	@Operation(
+			summary = "Export task runs as NDJSON",
+			description = "Roles: ADMIN, OPERATOR, RUNNER, READER. Streams every matching run in id order, one JSON "
+					+ "object per line. Example: /task-runs/export?status=COMPLETED&afterId=100.",
+			responses = @ApiResponse(
+					responseCode = "200",
+					content = @Content(
+							mediaType = NdjsonResponseWriter.CONTENT_TYPE,
+							examples = @ExampleObject(
+									name = "taskRuns",
+									value = "{\"id\":101,\"taskId\":1,\"agentId\":2,\"status\":\"COMPLETED\","
+											+ "\"startedAt\":\"2024-01-01T00:00:00Z\","
+											+ "\"completedAt\":\"2024-01-01T00:05:00Z\"}\n"
+							)
+					)
+			)
+	)
+	@Parameters({
+			@Parameter(name = "status", in = ParameterIn.QUERY, example = "COMPLETED",
+					description = "Optional status filter."),
+			@Parameter(name = "afterId", in = ParameterIn.QUERY, example = "100",
+					description = "Start after this id; resume from the last exported id.")
+	})
+	public void exportTaskRuns(@RequestParam(required = false) TaskRunStatus status,
+			@RequestParam(required = false) Long afterId,
+			HttpServletResponse response) throws IOException {
+		NdjsonResponseWriter writer = new NdjsonResponseWriter(objectMapper, response);
+		long count = taskRunService.exportTaskRuns(status, afterId, writer::write);
+		writer.flush();
+		log.debug("Task run export finished status={} afterId={} count={}", status, afterId, count);
+	}
+
 	@PatchMapping("/{id}")
+	@AdmissionControlled
 	@Operation(summary = "Update task run status", description = "Roles: ADMIN, OPERATOR, RUNNER.")
 	public TaskRunResponseDto updateTaskRunStatus(@PathVariable long id,
 			@Valid @RequestBody UpdateTaskRunStatusRequestDto request) {
@@ -0,0 +1,21 @@
+package com.samlair.trase.agent.web.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Outcome of a single item in a batch request.
+ *
+ * @param index zero-based position of the item in the request.
+ * @param status HTTP status the item would have produced as a standalone request.
+ * @param result created or updated resource when the item succeeded.
+ * @param message error message when the item failed.
+ * @param <T> resource type.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record BatchItemResultDto<T>(
+		int index,
+		int status,
+		T result,
+		String message
+) {
+}
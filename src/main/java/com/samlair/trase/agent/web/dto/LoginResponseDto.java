@@ -1,16 +1,19 @@
 package com.samlair.trase.agent.web.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import java.time.Instant;
 import java.util.List;
 
 /**
- * Login response payload containing the JWT and metadata.
+ * Login response payload containing the JWT and metadata. {@code refreshToken} is only set, and only serialized, when
+ * refresh tokens are enabled.
  */
 public record LoginResponseDto(
 		String accessToken,
 		String tokenType,
 		Instant expiresAt,
 		Long userId,
-		List<String> roles
+		List<String> roles,
+		@JsonInclude(JsonInclude.Include.NON_NULL) String refreshToken
 ) {
 }
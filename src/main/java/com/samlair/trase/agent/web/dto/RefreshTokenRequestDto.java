@@ -0,0 +1,11 @@
+package com.samlair.trase.agent.web.dto;
+
+import jakarta.validation.constraints.NotBlank;
+
+/**
+ * Refresh request payload exchanging a refresh token for a new token pair.
+ */
+public record RefreshTokenRequestDto(
+		@NotBlank String refreshToken
+) {
+}
@@ -0,0 +1,14 @@
+--liquibase formatted sql
+--changeset slair:2026_10_17-01-create_audit_outbox_table
+
+CREATE TABLE audit_outbox (
+    id BIGSERIAL PRIMARY KEY,
+    kind VARCHAR(20) NOT NULL,
+    entity_id BIGINT NOT NULL,
+    action VARCHAR(30) NOT NULL,
+    status VARCHAR(30),
+    actor_user_id BIGINT,
+    actor_username VARCHAR(100),
+    request_id VARCHAR(100),
+    occurred_at TIMESTAMPTZ NOT NULL DEFAULT NOW()
+);
@@ -0,0 +1,26 @@
+--liquibase formatted sql
+--changeset slair:2026_10_17-02-add_audit_filter_indexes
+
+CREATE INDEX idx_agents_audit_agent_id_id ON agents_audit(agent_id, id);
+CREATE INDEX idx_agents_audit_actor_user_id_id ON agents_audit(actor_user_id, id);
+CREATE INDEX idx_agents_audit_request_id_id ON agents_audit(request_id, id);
+CREATE INDEX idx_agents_audit_action_id ON agents_audit(action, id);
+CREATE INDEX idx_agents_audit_occurred_at ON agents_audit(occurred_at);
+DROP INDEX agents_audit_agent_id_idx;
+DROP INDEX agents_audit_actor_user_id_idx;
+
+CREATE INDEX idx_tasks_audit_task_id_id ON tasks_audit(task_id, id);
+CREATE INDEX idx_tasks_audit_actor_user_id_id ON tasks_audit(actor_user_id, id);
+CREATE INDEX idx_tasks_audit_request_id_id ON tasks_audit(request_id, id);
+CREATE INDEX idx_tasks_audit_action_id ON tasks_audit(action, id);
+CREATE INDEX idx_tasks_audit_occurred_at ON tasks_audit(occurred_at);
+DROP INDEX tasks_audit_task_id_idx;
+DROP INDEX tasks_audit_actor_user_id_idx;
+
+CREATE INDEX idx_task_runs_audit_task_run_id_id ON task_runs_audit(task_run_id, id);
+CREATE INDEX idx_task_runs_audit_actor_user_id_id ON task_runs_audit(actor_user_id, id);
+CREATE INDEX idx_task_runs_audit_request_id_id ON task_runs_audit(request_id, id);
+CREATE INDEX idx_task_runs_audit_action_id ON task_runs_audit(action, id);
+CREATE INDEX idx_task_runs_audit_occurred_at ON task_runs_audit(occurred_at);
+DROP INDEX task_runs_audit_task_run_id_idx;
+DROP INDEX task_runs_audit_actor_user_id_idx;
@@ -0,0 +1,55 @@
+--liquibase formatted sql
+--changeset slair:2026_10_17-03-partition_audit_tables splitStatements:false
+
+DO $$
+DECLARE
+    audit_table TEXT;
+    legacy_table TEXT;
+    month_start TIMESTAMP;
+    last_month TIMESTAMP := date_trunc('month', now() AT TIME ZONE 'UTC') + INTERVAL '3 months';
+BEGIN
+    FOREACH audit_table IN ARRAY ARRAY['agents_audit', 'tasks_audit', 'task_runs_audit'] LOOP
+        legacy_table := audit_table || '_legacy';
+        EXECUTE format('ALTER TABLE %I RENAME TO %I', audit_table, legacy_table);
+        EXECUTE format('ALTER INDEX %I RENAME TO %I', audit_table || '_pkey', legacy_table || '_pkey');
+        EXECUTE format(
+                'CREATE TABLE %I (LIKE %I INCLUDING DEFAULTS, PRIMARY KEY (id, occurred_at)) '
+                        || 'PARTITION BY RANGE (occurred_at)',
+                audit_table, legacy_table);
+
+        EXECUTE format('SELECT date_trunc(''month'', COALESCE(min(occurred_at), now()) AT TIME ZONE ''UTC'') FROM %I',
+                legacy_table) INTO month_start;
+        WHILE month_start <= last_month LOOP
+            EXECUTE format('CREATE TABLE %I PARTITION OF %I FOR VALUES FROM (%L) TO (%L)',
+                    audit_table || '_p' || to_char(month_start, 'YYYY_MM'), audit_table,
+                    to_char(month_start, 'YYYY-MM-DD') || ' 00:00:00+00',
+                    to_char(month_start + INTERVAL '1 month', 'YYYY-MM-DD') || ' 00:00:00+00');
+            month_start := month_start + INTERVAL '1 month';
+        END LOOP;
+        EXECUTE format('CREATE TABLE %I PARTITION OF %I DEFAULT', audit_table || '_default', audit_table);
+
+        EXECUTE format('INSERT INTO %I SELECT * FROM %I', audit_table, legacy_table);
+        EXECUTE format('ALTER SEQUENCE %I OWNED BY %I.id', audit_table || '_id_seq', audit_table);
+        EXECUTE format('DROP TABLE %I', legacy_table);
+    END LOOP;
+END $$;
+
+--changeset slair:2026_10_17-03-add_partitioned_audit_indexes
+
+CREATE INDEX idx_agents_audit_agent_id_id ON agents_audit(agent_id, id);
+CREATE INDEX idx_agents_audit_actor_user_id_id ON agents_audit(actor_user_id, id);
+CREATE INDEX idx_agents_audit_request_id_id ON agents_audit(request_id, id);
+CREATE INDEX idx_agents_audit_action_id ON agents_audit(action, id);
+CREATE INDEX idx_agents_audit_occurred_at ON agents_audit(occurred_at);
+
+CREATE INDEX idx_tasks_audit_task_id_id ON tasks_audit(task_id, id);
+CREATE INDEX idx_tasks_audit_actor_user_id_id ON tasks_audit(actor_user_id, id);
+CREATE INDEX idx_tasks_audit_request_id_id ON tasks_audit(request_id, id);
+CREATE INDEX idx_tasks_audit_action_id ON tasks_audit(action, id);
+CREATE INDEX idx_tasks_audit_occurred_at ON tasks_audit(occurred_at);
+
+CREATE INDEX idx_task_runs_audit_task_run_id_id ON task_runs_audit(task_run_id, id);
+CREATE INDEX idx_task_runs_audit_actor_user_id_id ON task_runs_audit(actor_user_id, id);
+CREATE INDEX idx_task_runs_audit_request_id_id ON task_runs_audit(request_id, id);
+CREATE INDEX idx_task_runs_audit_action_id ON task_runs_audit(action, id);
+CREATE INDEX idx_task_runs_audit_occurred_at ON task_runs_audit(occurred_at);
@@ -0,0 +1,4 @@
+--liquibase formatted sql
+--changeset slair:2026_10_17-04-add_revoked_tokens_revoked_at_index
+
+CREATE INDEX idx_revoked_tokens_revoked_at ON revoked_tokens(revoked_at);
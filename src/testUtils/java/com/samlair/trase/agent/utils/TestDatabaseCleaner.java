@@ -19,7 +19,7 @@ public class TestDatabaseCleaner {
 			return;
 		}
 		jdbcTemplate.execute(
-				"TRUNCATE TABLE revoked_tokens, task_runs_audit, tasks_audit, agents_audit, "
+				"TRUNCATE TABLE refresh_tokens, revoked_tokens, audit_outbox, task_runs_audit, tasks_audit, agents_audit, "
 						+ "task_runs, task_supported_agents, tasks, agents RESTART IDENTITY CASCADE"
 		);
 	}
@@ -0,0 +1,74 @@
+package com.samlair.trase.agent.config;
+
+import com.samlair.trase.agent.domain.exception.NotFoundException;
+import com.samlair.trase.agent.domain.exception.ServiceUnavailableException;
+import com.samlair.trase.agent.service.AdmissionLimiter;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AdmissionControlAspectUnitTest {
+
+	@Mock
+	private AdmissionLimiter admissionLimiter;
+
+	@Mock
+	private AdmissionLimiter.Permit permit;
+
+	@Mock
+	private ProceedingJoinPoint joinPoint;
+
+	@Test
+	void releasesPermitAfterHandlerReturns() throws Throwable {
+		when(admissionLimiter.acquire()).thenReturn(permit);
+		when(joinPoint.proceed()).thenReturn("ok");
+
+		assertEquals("ok", new AdmissionControlAspect(admissionLimiter).admit(joinPoint));
+		verify(permit).release(false);
+	}
+
+	@Test
+	void reportsConnectionTimeouts() throws Throwable {
+		when(admissionLimiter.acquire()).thenReturn(permit);
+		when(joinPoint.proceed()).thenThrow(new CannotGetJdbcConnectionException("Failed to obtain JDBC Connection",
+				new SQLTransientConnectionException("Connection is not available")));
+
+		AdmissionControlAspect aspect = new AdmissionControlAspect(admissionLimiter);
+
+		assertThrows(CannotGetJdbcConnectionException.class, () -> aspect.admit(joinPoint));
+		verify(permit).release(true);
+	}
+
+	@Test
+	void otherFailuresAreNotConnectionTimeouts() throws Throwable {
+		when(admissionLimiter.acquire()).thenReturn(permit);
+		when(joinPoint.proceed()).thenThrow(new NotFoundException("Agent not found"));
+
+		AdmissionControlAspect aspect = new AdmissionControlAspect(admissionLimiter);
+
+		assertThrows(NotFoundException.class, () -> aspect.admit(joinPoint));
+		verify(permit).release(false);
+	}
+
+	@Test
+	void rejectedRequestsNeverReachHandler() {
+		when(admissionLimiter.acquire()).thenThrow(new ServiceUnavailableException("busy", Duration.ofSeconds(1)));
+
+		AdmissionControlAspect aspect = new AdmissionControlAspect(admissionLimiter);
+
+		assertThrows(ServiceUnavailableException.class, () -> aspect.admit(joinPoint));
+		verifyNoInteractions(joinPoint);
+	}
+}
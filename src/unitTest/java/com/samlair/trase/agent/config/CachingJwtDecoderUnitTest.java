@@ -0,0 +1,99 @@
+package com.samlair.trase.agent.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CachingJwtDecoderUnitTest {
+
+	private static final Instant NOW = Instant.parse("2026-10-17T12:00:00Z");
+
+	@Mock
+	private JwtDecoder delegate;
+
+	private MeterRegistry meterRegistry;
+
+	private CachingJwtDecoder decoder;
+
+	@BeforeEach
+	void setUp() {
+		meterRegistry = new SimpleMeterRegistry();
+		decoder = new CachingJwtDecoder(delegate, meterRegistry, 100, Duration.ofSeconds(5),
+				Clock.fixed(NOW, ZoneOffset.UTC));
+	}
+
+	@Test
+	void repeatedTokenIsVerifiedOnce() {
+		Jwt jwt = jwt(NOW.plusSeconds(3600));
+		when(delegate.decode("token")).thenReturn(jwt);
+
+		assertSame(jwt, decoder.decode("token"));
+		assertSame(jwt, decoder.decode("token"));
+
+		verify(delegate, times(1)).decode("token");
+		assertEquals(1, meterRegistry.get("security.jwt.decode").timer().count());
+		assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "jwt").tag("result", "hit")
+				.functionCounter().count());
+	}
+
+	@Test
+	void tokenCloseToExpiryIsNotCached() {
+		when(delegate.decode("token")).thenReturn(jwt(NOW.plusSeconds(3)));
+
+		decoder.decode("token");
+		decoder.decode("token");
+
+		verify(delegate, times(2)).decode("token");
+		assertEquals(0, decoder.size());
+	}
+
+	@Test
+	void failuresAreNotCached() {
+		when(delegate.decode("bad")).thenThrow(new BadJwtException("invalid"));
+
+		assertThrows(BadJwtException.class, () -> decoder.decode("bad"));
+		assertThrows(BadJwtException.class, () -> decoder.decode("bad"));
+
+		verify(delegate, times(2)).decode("bad");
+		assertEquals(2, meterRegistry.get("security.jwt.decode").timer().count());
+	}
+
+	@Test
+	void evictAllForcesReverification() {
+		when(delegate.decode("token")).thenReturn(jwt(NOW.plusSeconds(3600)));
+
+		decoder.decode("token");
+		decoder.evictAll();
+		decoder.decode("token");
+
+		verify(delegate, times(2)).decode("token");
+	}
+
+	private Jwt jwt(Instant expiresAt) {
+		return Jwt.withTokenValue("token")
+				.header("alg", "none")
+				.subject("user")
+				.issuedAt(NOW)
+				.expiresAt(expiresAt)
+				.build();
+	}
+}
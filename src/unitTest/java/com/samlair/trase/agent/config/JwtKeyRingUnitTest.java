@@ -0,0 +1,158 @@
+package com.samlair.trase.agent.config;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.JwsHeader;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class JwtKeyRingUnitTest {
+
+	@TempDir
+	Path keysDir;
+
+	@Test
+	void activeKeyIsLastKidWithPrivateKey() throws Exception {
+		writeKey("2026-01", true);
+		writeKey("2026-02", true);
+		writeKey("2026-03", false);
+
+		JwtKeyRing keyRing = keyRing(null);
+
+		assertEquals("2026-02", keyRing.activeKeyId());
+		assertNotNull(keyRing.signingKey("2026-01"));
+		assertNull(keyRing.signingKey("2026-03"));
+		assertNotNull(keyRing.verifier("2026-03", JWSAlgorithm.RS256));
+		assertSame(keyRing.verifier("2026-02", JWSAlgorithm.RS256), keyRing.verifier(null, JWSAlgorithm.RS256));
+	}
+
+	@Test
+	void configuredActiveKeyIdWins() throws Exception {
+		writeKey("2026-01", true);
+		writeKey("2026-02", true);
+
+		assertEquals("2026-01", keyRing("2026-01").activeKeyId());
+	}
+
+	@Test
+	void rejectsActiveKeyWithoutPrivateKey() throws Exception {
+		writeKey("2026-01", true);
+		writeKey("2026-02", false);
+
+		assertThrows(IllegalStateException.class, () -> keyRing("2026-02"));
+	}
+
+	@Test
+	void verifierIsNullForUnknownKidOrOtherAlgorithm() throws Exception {
+		writeKey("2026-01", true);
+		JwtKeyRing keyRing = keyRing(null);
+
+		assertNull(keyRing.verifier("unknown", JWSAlgorithm.RS256));
+		assertNull(keyRing.verifier("2026-01", JWSAlgorithm.ES256));
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void publishesOnlyPublicKeys() throws Exception {
+		writeKey("2026-01", true);
+		writeKey("2026-02", false);
+
+		List<Map<String, Object>> keys = (List<Map<String, Object>>) keyRing(null).publicJwkSet().get("keys");
+
+		assertEquals(List.of("2026-01", "2026-02"), keys.stream().map(key -> key.get("kid")).toList());
+		keys.forEach(key -> assertFalse(key.containsKey("d")));
+	}
+
+	@Test
+	void reloadRotatesKeysAndNotifiesOnRemoval() throws Exception {
+		writeKey("2026-01", true);
+		JwtKeyRing keyRing = keyRing(null);
+		AtomicInteger removals = new AtomicInteger();
+		keyRing.addRemovalListener(removals::incrementAndGet);
+		JwtDecoder decoder = JwtConfig.verifyingDecoder(keyRing);
+		String oldToken = sign(keyRing);
+
+		writeKey("2026-02", true);
+		keyRing.reload();
+
+		assertEquals("2026-02", keyRing.activeKeyId());
+		assertEquals("2026-01", decoder.decode(oldToken).getHeaders().get("kid"));
+		assertEquals("2026-02", decoder.decode(sign(keyRing)).getHeaders().get("kid"));
+		assertEquals(0, removals.get());
+
+		Files.delete(keysDir.resolve("2026-01-public.pem"));
+		Files.delete(keysDir.resolve("2026-01-private.pem"));
+		keyRing.reload();
+
+		assertEquals(1, removals.get());
+		assertThrows(BadJwtException.class, () -> decoder.decode(oldToken));
+	}
+
+	@Test
+	void reloadKeepsCurrentKeysWhenDirectoryHasNoSigningKey() throws Exception {
+		writeKey("2026-01", true);
+		JwtKeyRing keyRing = keyRing(null);
+
+		Files.delete(keysDir.resolve("2026-01-private.pem"));
+		keyRing.reload();
+
+		assertEquals("2026-01", keyRing.activeKeyId());
+		assertNotNull(keyRing.signingKey("2026-01"));
+	}
+
+	private JwtKeyRing keyRing(String activeKeyId) {
+		return new JwtKeyRing("RS256", null, null, keysDir, activeKeyId);
+	}
+
+	private String sign(JwtKeyRing keyRing) {
+		Instant now = Instant.now();
+		JwtClaimsSet claims = JwtClaimsSet.builder()
+				.issuer("test")
+				.issuedAt(now)
+				.expiresAt(now.plusSeconds(3600))
+				.subject("admin")
+				.build();
+		JwsHeader header = JwsHeader.with(() -> "RS256").keyId(keyRing.activeKeyId()).build();
+		return new NimbusJwtEncoder(keyRing).encode(JwtEncoderParameters.from(header, claims)).getTokenValue();
+	}
+
+	private void writeKey(String kid, boolean withPrivateKey) throws IOException, NoSuchAlgorithmException {
+		KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+		generator.initialize(2048);
+		KeyPair keyPair = generator.generateKeyPair();
+		writePem(kid + "-public.pem", "PUBLIC KEY", keyPair.getPublic().getEncoded());
+		if (withPrivateKey) {
+			writePem(kid + "-private.pem", "PRIVATE KEY", keyPair.getPrivate().getEncoded());
+		}
+	}
+
+	private void writePem(String fileName, String type, byte[] der) throws IOException {
+		String pem = "-----BEGIN " + type + "-----\n"
+				+ Base64.getMimeEncoder(64, "\n".getBytes(StandardCharsets.US_ASCII)).encodeToString(der)
+				+ "\n-----END " + type + "-----\n";
+		Files.writeString(keysDir.resolve(fileName), pem, StandardCharsets.US_ASCII);
+	}
+}
@@ -0,0 +1,84 @@
+package com.samlair.trase.agent.config;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.Ed25519Signer;
+import com.nimbusds.jose.jwk.OctetKeyPair;
+import com.nimbusds.jose.proc.BadJOSEException;
+import com.nimbusds.jose.proc.BadJWSException;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.PlainJWT;
+import com.nimbusds.jwt.SignedJWT;
+import java.time.Instant;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.security.oauth2.jwt.JwsHeader;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class KeyRingJwtProcessorUnitTest {
+
+	private final JwtKeyRing keyRing = new JwtKeyRing("EdDSA", new ClassPathResource("keys/dev-ed25519-public.pem"),
+			new ClassPathResource("keys/dev-ed25519-private.pem"), null, null);
+	private final KeyRingJwtProcessor processor = new KeyRingJwtProcessor(keyRing);
+
+	@Test
+	void verifiesEd25519TokensFromTheConfiguredEncoder() throws Exception {
+		JWTClaimsSet claims = processor.process(sign(keyRing.activeKeyId()), null);
+
+		assertEquals("admin", claims.getSubject());
+	}
+
+	@Test
+	void verifiesEd25519TokensWithoutKidAgainstActiveKey() throws Exception {
+		JWTClaimsSet claims = processor.process(signDirectly(null, "admin"), null);
+
+		assertEquals("admin", claims.getSubject());
+	}
+
+	@Test
+	void rejectsTamperedEd25519Token() {
+		String[] token = sign(keyRing.activeKeyId()).split("\\.");
+		String[] forged = signDirectly(keyRing.activeKeyId(), "root").split("\\.");
+		String tampered = token[0] + "." + forged[1] + "." + token[2];
+
+		assertThrows(BadJWSException.class, () -> processor.process(tampered, null));
+	}
+
+	@Test
+	void rejectsUnknownKidAndUnsignedTokens() {
+		String unknownKid = signDirectly("unknown", "admin");
+		String plain = new PlainJWT(new JWTClaimsSet.Builder().subject("admin").build()).serialize();
+
+		assertThrows(BadJOSEException.class, () -> processor.process(unknownKid, null));
+		assertThrows(BadJOSEException.class, () -> processor.process(plain, null));
+	}
+
+	private String sign(String kid) {
+		Instant now = Instant.now();
+		JwtClaimsSet claims = JwtClaimsSet.builder()
+				.issuer("test")
+				.issuedAt(now)
+				.expiresAt(now.plusSeconds(3600))
+				.subject("admin")
+				.build();
+		JwsHeader header = JwsHeader.with(() -> "EdDSA").keyId(kid).build();
+		return new Ed25519JwtEncoder(keyRing).encode(JwtEncoderParameters.from(header, claims)).getTokenValue();
+	}
+
+	private String signDirectly(String kid, String subject) {
+		OctetKeyPair key = (OctetKeyPair) keyRing.signingKey(keyRing.activeKeyId());
+		SignedJWT jwt = new SignedJWT(new JWSHeader.Builder(JWSAlgorithm.EdDSA).keyID(kid).build(),
+				new JWTClaimsSet.Builder().subject(subject).build());
+		try {
+			jwt.sign(new Ed25519Signer(key));
+		} catch (JOSEException ex) {
+			throw new IllegalStateException(ex);
+		}
+		return jwt.serialize();
+	}
+}
@@ -0,0 +1,82 @@
+package com.samlair.trase.agent.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PermitLimitedDataSourceUnitTest {
+
+	@Mock
+	private DataSource target;
+
+	private SimpleMeterRegistry meterRegistry;
+	private PermitLimitedDataSource dataSource;
+
+	@BeforeEach
+	void setUp() {
+		meterRegistry = new SimpleMeterRegistry();
+		dataSource = new PermitLimitedDataSource(target, 2, Duration.ofMillis(50), meterRegistry);
+	}
+
+	@Test
+	void closingConnectionReturnsPermitOnce() throws SQLException {
+		Connection raw = mock(Connection.class);
+		when(target.getConnection()).thenReturn(raw);
+
+		Connection connection = dataSource.getConnection();
+		assertEquals(1, dataSource.availablePermits());
+
+		connection.close();
+		connection.close();
+
+		assertEquals(2, dataSource.availablePermits());
+		verify(raw, times(2)).close();
+	}
+
+	@Test
+	void delegatesOtherCallsToTargetConnection() throws SQLException {
+		Connection raw = mock(Connection.class);
+		when(target.getConnection()).thenReturn(raw);
+		when(raw.getAutoCommit()).thenReturn(false);
+
+		try (Connection connection = dataSource.getConnection()) {
+			assertFalse(connection.getAutoCommit());
+			assertEquals(connection, connection);
+		}
+	}
+
+	@Test
+	void timesOutWhenAllPermitsAreCheckedOut() throws SQLException {
+		when(target.getConnection()).thenReturn(mock(Connection.class));
+		dataSource.getConnection();
+		dataSource.getConnection();
+
+		assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+		assertEquals(1.0, meterRegistry.get("jdbc.connections.permit.timeouts").counter().count());
+	}
+
+	@Test
+	void releasesPermitWhenTargetFails() throws SQLException {
+		when(target.getConnection()).thenThrow(new SQLException("pool exhausted"));
+
+		assertThrows(SQLException.class, dataSource::getConnection);
+		assertEquals(2, dataSource.availablePermits());
+	}
+}
@@ -86,6 +86,23 @@ class RevokedTokenFilterUnitTest {
 		verify(filterChain).doFilter(request, response);
 	}
 
+	@Test
+	void skipsRevocationCheckForSessionTokens() throws Exception {
+		Jwt jwt = Jwt.withTokenValue("token")
+				.header("alg", "none")
+				.subject("user")
+				.claim("jti", "jti-3")
+				.claim("sid", 7L)
+				.expiresAt(Instant.parse("2026-01-31T00:00:00Z"))
+				.build();
+		SecurityContextHolder.getContext().setAuthentication(new JwtAuthenticationToken(jwt));
+
+		filter.doFilterInternal(request, response, filterChain);
+
+		verify(filterChain).doFilter(request, response);
+		verify(tokenRevocationService, never()).isRevoked(org.mockito.ArgumentMatchers.any());
+	}
+
 	@Test
 	void rejectsWhenRevoked() throws Exception {
 		Jwt jwt = Jwt.withTokenValue("token")
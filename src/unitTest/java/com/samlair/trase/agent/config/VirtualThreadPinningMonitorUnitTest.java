@@ -0,0 +1,54 @@
+package com.samlair.trase.agent.config;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class VirtualThreadPinningMonitorUnitTest {
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private final VirtualThreadPinningMonitor monitor = new VirtualThreadPinningMonitor(meterRegistry,
+			Duration.ofMillis(20));
+
+	@Test
+	void tagsPinWithInnermostApplicationFrame() {
+		List<String> frames = List.of(
+				"java.lang.Object.wait0:-1",
+				"org.postgresql.core.v3.QueryExecutorImpl.execute:372",
+				"com.samlair.trase.agent.service.impl.ResponseCacheImpl.lambda$getAgent$0:52",
+				"com.samlair.trase.agent.web.controller.AgentController.get:80");
+
+		monitor.recordPinned(Duration.ofMillis(40), frames);
+		monitor.recordPinned(Duration.ofMillis(60), frames);
+
+		Timer timer = meterRegistry.get("threads.virtual.pinned")
+				.tag("site", "com.samlair.trase.agent.service.impl.ResponseCacheImpl.lambda$getAgent$0:52")
+				.timer();
+		assertEquals(2, timer.count());
+		assertEquals(100, timer.totalTime(TimeUnit.MILLISECONDS), 0.001);
+	}
+
+	@Test
+	void fallsBackToInnermostFrameOutsideApplication() {
+		monitor.recordPinned(Duration.ofMillis(25), List.of("org.hibernate.Session.flush:10"));
+		monitor.recordPinned(Duration.ofMillis(25), List.of());
+
+		assertEquals(1, meterRegistry.get("threads.virtual.pinned").tag("site", "org.hibernate.Session.flush:10")
+				.timer().count());
+		assertEquals(1, meterRegistry.get("threads.virtual.pinned").tag("site", "unknown").timer().count());
+	}
+
+	@Test
+	void capsDistinctSites() {
+		for (int i = 0; i < 105; i++) {
+			monitor.recordPinned(Duration.ofMillis(25), List.of("com.samlair.Site.method:" + i));
+		}
+
+		assertEquals(5, meterRegistry.get("threads.virtual.pinned").tag("site", "other").timer().count());
+	}
+}
@@ -1,21 +1,39 @@
 package com.samlair.trase.agent.service.impl;
 
+import com.samlair.trase.agent.domain.enumeration.AuditAction;
+import com.samlair.trase.agent.domain.event.AgentChangedEvent;
+import com.samlair.trase.agent.domain.event.AgentDeletedEvent;
 import com.samlair.trase.agent.domain.exception.BadRequestException;
 import com.samlair.trase.agent.domain.exception.NotFoundException;
+import com.samlair.trase.agent.domain.model.Versioned;
 import com.samlair.trase.agent.rdbms.dao.AgentDao;
+import com.samlair.trase.agent.rdbms.dao.AgentDaoCustom.AgentValues;
 import com.samlair.trase.agent.rdbms.entity.AgentEntity;
 import com.samlair.trase.agent.service.AuditService;
+import com.samlair.trase.agent.service.ResponseCache;
 import com.samlair.trase.agent.web.dto.AgentResponseDto;
+import com.samlair.trase.agent.web.dto.BatchItemResultDto;
 import com.samlair.trase.agent.web.dto.CreateAgentRequestDto;
 import com.samlair.trase.agent.web.dto.UpdateAgentRequestDto;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import java.lang.reflect.Field;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.SliceImpl;
 
@@ -23,7 +41,11 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.when;
 
@@ -36,12 +58,22 @@ class AgentServiceImplUnitTest {
 	@Mock
 	private AuditService auditService;
 
+	@Mock
+	private ApplicationEventPublisher eventPublisher;
+
+	@Mock
+	private ResponseCache responseCache;
+
+	@Spy
+	private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
 	@InjectMocks
 	private AgentServiceImpl agentService;
 
 	@Test
 	void getAgentThrowsWhenMissing() {
 		when(agentDao.findByIdAndDeletedAtIsNull(42L)).thenReturn(Optional.empty());
+		passThroughCache();
 		NotFoundException ex = assertThrows(NotFoundException.class, () -> agentService.getAgent(42L));
 		assertTrue(ex.getMessage().contains("Agent not found"));
 	}
@@ -55,6 +87,21 @@ class AgentServiceImplUnitTest {
 		assertTrue(ex.getMessage().contains("Agent not found"));
 	}
 
+	@Test
+	void updateAgentPublishesChangeEvent() {
+		AgentEntity agent = new AgentEntity();
+		agent.setId(8L);
+		agent.setName("Old");
+		agent.setDescription("Desc");
+		when(agentDao.findByIdAndDeletedAtIsNull(8L)).thenReturn(Optional.of(agent));
+		when(agentDao.existsByNameAndDeletedAtIsNullAndIdNot("New", 8L)).thenReturn(false);
+
+		AgentResponseDto response = agentService.updateAgent(8L, new UpdateAgentRequestDto("New", "Desc"));
+
+		assertEquals("New", response.name());
+		verify(eventPublisher).publishEvent(new AgentChangedEvent(8L));
+	}
+
 	@Test
 	void createAgentRejectsDuplicateName() {
 		when(agentDao.existsByNameAndDeletedAtIsNull("Agent")).thenReturn(true);
@@ -76,6 +123,7 @@ class AgentServiceImplUnitTest {
 
 		assertNotNull(agent.getDeletedAt());
 		verify(agentDao).save(agent);
+		verify(eventPublisher).publishEvent(new AgentDeletedEvent(5L));
 	}
 
 	@Test
@@ -100,24 +148,23 @@ class AgentServiceImplUnitTest {
 	}
 
 	@Test
-	void listAgentsMapsResponse() {
-		AgentEntity agent = new AgentEntity();
-		agent.setId(7L);
-		agent.setName("Agent");
-		agent.setDescription("Desc");
-		agent.setDeletedAt(null);
-		agent.setSupportedTasks(java.util.Set.of());
-		agent.setTaskRuns(java.util.Set.of());
-		agent.setCreatedAt(Instant.parse("2024-01-01T00:00:00Z"));
-		agent.setUpdatedAt(Instant.parse("2024-01-01T00:00:00Z"));
-		when(agentDao.findAllByDeletedAtIsNull(Pageable.unpaged())).thenReturn(new SliceImpl<>(List.of(agent)));
+	void listAgentsReturnsProjectedResponses() {
+		AgentResponseDto agent = new AgentResponseDto(7L, "Agent", "Desc");
+		when(agentDao.findActiveResponses(Pageable.unpaged())).thenReturn(new SliceImpl<>(List.of(agent)));
 
 		List<AgentResponseDto> response = agentService.listAgents(Pageable.unpaged(), null);
 
-		assertEquals(1, response.size());
-		assertEquals(7L, response.get(0).id());
-		assertEquals("Agent", response.get(0).name());
-		assertEquals("Desc", response.get(0).description());
+		assertEquals(List.of(agent), response);
+	}
+
+	@Test
+	void listAgentsUsesKeysetProjectionWithAfterId() {
+		AgentResponseDto agent = new AgentResponseDto(12L, "Agent", "Desc");
+		when(agentDao.findActiveResponsesAfterId(10L, PageRequest.of(0, 20))).thenReturn(List.of(agent));
+
+		List<AgentResponseDto> response = agentService.listAgents(PageRequest.of(0, 20), 10L);
+
+		assertEquals(List.of(agent), response);
 	}
 
 	@Test
@@ -126,12 +173,121 @@ class AgentServiceImplUnitTest {
 		agent.setId(3L);
 		agent.setName("Agent 3");
 		agent.setDescription("Desc 3");
+		agent.setUpdatedAt(Instant.parse("2026-10-17T10:15:30.123456Z"));
 		when(agentDao.findByIdAndDeletedAtIsNull(3L)).thenReturn(Optional.of(agent));
+		passThroughCache();
+
+		Versioned<AgentResponseDto> response = agentService.getAgent(3L);
+
+		assertEquals(3L, response.body().id());
+		assertEquals("Agent 3", response.body().name());
+		assertEquals("Desc 3", response.body().description());
+		assertEquals(agent.getUpdatedAt(), response.updatedAt());
+	}
+
+	@Test
+	void getAgentVersionReadsOnlyUpdatedAt() {
+		Instant updatedAt = Instant.parse("2026-10-17T10:15:30.123456Z");
+		when(agentDao.findActiveUpdatedAt(3L)).thenReturn(Optional.of(updatedAt));
+
+		assertEquals(updatedAt, agentService.getAgentVersion(3L));
+		verify(agentDao, never()).findByIdAndDeletedAtIsNull(anyLong());
+	}
+
+	@Test
+	void getAgentVersionThrowsWhenMissing() {
+		when(agentDao.findActiveUpdatedAt(4L)).thenReturn(Optional.empty());
+
+		assertThrows(NotFoundException.class, () -> agentService.getAgentVersion(4L));
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void getCurrentAgentServesCachedEntryMatchingRow() {
+		Instant updatedAt = Instant.parse("2026-10-17T10:15:30.123456Z");
+		Versioned<AgentResponseDto> cached = new Versioned<>(new AgentResponseDto(3L, "Agent 3", "Desc"), updatedAt);
+		when(agentDao.findActiveUpdatedAt(3L)).thenReturn(Optional.of(updatedAt));
+		when(responseCache.getAgent(eq(3L), any(Supplier.class))).thenReturn(cached);
+
+		assertEquals(cached, agentService.getCurrentAgent(3L));
+		verify(responseCache, never()).evictAgent(anyLong());
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void getCurrentAgentReloadsStaleCachedEntry() {
+		Instant updatedAt = Instant.parse("2026-10-17T10:15:30.123456Z");
+		Versioned<AgentResponseDto> stale = new Versioned<>(new AgentResponseDto(3L, "Old", "Desc"),
+				updatedAt.minusSeconds(1));
+		Versioned<AgentResponseDto> fresh = new Versioned<>(new AgentResponseDto(3L, "New", "Desc"), updatedAt);
+		when(agentDao.findActiveUpdatedAt(3L)).thenReturn(Optional.of(updatedAt));
+		when(responseCache.getAgent(eq(3L), any(Supplier.class))).thenReturn(stale, fresh);
+
+		assertEquals(fresh, agentService.getCurrentAgent(3L));
+		verify(responseCache).evictAgent(3L);
+	}
 
-		AgentResponseDto response = agentService.getAgent(3L);
+	@Test
+	void importAgentsRejectsOversizedBatch() {
+		setField(agentService, "maxBatchSize", 1);
+		List<CreateAgentRequestDto> requests = List.of(
+				new CreateAgentRequestDto("A", "Desc"),
+				new CreateAgentRequestDto("B", "Desc"));
+
+		BadRequestException ex = assertThrows(BadRequestException.class, () -> agentService.importAgents(requests));
+
+		assertTrue(ex.getMessage().contains("Batch size exceeds limit of 1"));
+		verifyNoInteractions(agentDao, auditService);
+	}
+
+	@Test
+	void importAgentsReportsDuplicatesPerItem() {
+		setField(agentService, "maxBatchSize", 10);
+		when(agentDao.findActiveNames(Set.of("A", "Taken", "Raced"))).thenReturn(Set.of("Taken"));
+		when(agentDao.insertIgnoringDuplicateNames(
+				eq(List.of(new AgentValues("A", "Desc"), new AgentValues("Raced", "Desc"))), any(Instant.class)))
+				.thenReturn(Map.of("A", 10L));
+
+		List<CreateAgentRequestDto> requests = new ArrayList<>(Arrays.asList(
+				new CreateAgentRequestDto("A", "Desc"),
+				new CreateAgentRequestDto("Taken", "Desc"),
+				new CreateAgentRequestDto("A", "Other"),
+				new CreateAgentRequestDto("Raced", "Desc"),
+				new CreateAgentRequestDto("", "Desc"),
+				new CreateAgentRequestDto(" ", null),
+				null));
+
+		List<BatchItemResultDto<AgentResponseDto>> results = agentService.importAgents(requests);
+
+		assertEquals(7, results.size());
+		assertEquals(201, results.get(0).status());
+		assertEquals(new AgentResponseDto(10L, "A", "Desc"), results.get(0).result());
+		assertEquals(400, results.get(1).status());
+		assertEquals("Agent name already exists: Taken", results.get(1).message());
+		assertEquals("Duplicate agent name in batch: A", results.get(2).message());
+		assertEquals("Agent name already exists: Raced", results.get(3).message());
+		assertEquals("name is required", results.get(4).message());
+		assertEquals("description is required; name is required", results.get(5).message());
+		assertEquals(400, results.get(6).status());
+		for (int i = 0; i < results.size(); i++) {
+			assertEquals(i, results.get(i).index());
+		}
+		verify(auditService).recordAgentActions(List.of(10L), AuditAction.CREATE);
+	}
+
+	@SuppressWarnings("unchecked")
+	private void passThroughCache() {
+		when(responseCache.getAgent(anyLong(), any(Supplier.class)))
+				.thenAnswer(invocation -> invocation.getArgument(1, Supplier.class).get());
+	}
 
-		assertEquals(3L, response.id());
-		assertEquals("Agent 3", response.name());
-		assertEquals("Desc 3", response.description());
+	private void setField(Object target, String fieldName, Object value) {
+		try {
+			Field field = target.getClass().getDeclaredField(fieldName);
+			field.setAccessible(true);
+			field.set(target, value);
+		} catch (Exception ex) {
+			throw new IllegalStateException("Unable to set field " + fieldName, ex);
+		}
 	}
 }
@@ -0,0 +1,100 @@
+package com.samlair.trase.agent.service.impl;
+
+import com.samlair.trase.agent.domain.exception.ServiceUnavailableException;
+import com.samlair.trase.agent.service.AdmissionLimiter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class AimdAdmissionLimiterUnitTest {
+
+	private final AtomicInteger connectionWaiters = new AtomicInteger();
+	private final AtomicLong nanos = new AtomicLong();
+	private SimpleMeterRegistry meterRegistry;
+	private AimdAdmissionLimiter limiter;
+
+	@BeforeEach
+	void setUp() {
+		meterRegistry = new SimpleMeterRegistry();
+		limiter = new AimdAdmissionLimiter(connectionWaiters::get, nanos::get, meterRegistry, 2, 10, 0.5,
+				Duration.ofSeconds(1), Duration.ofSeconds(1));
+	}
+
+	@Test
+	void admitsUpToMaxLimitWhileDatabaseKeepsUp() {
+		List<AdmissionLimiter.Permit> permits = acquire(10);
+
+		ServiceUnavailableException ex = assertThrows(ServiceUnavailableException.class, limiter::acquire);
+
+		assertEquals(Duration.ofSeconds(1), ex.getRetryAfter());
+		assertEquals(1.0, meterRegistry.get("admission.rejected").counter().count());
+		permits.forEach(permit -> permit.release(false));
+		assertEquals(10.0, limiter.limit());
+		assertEquals(0.0, meterRegistry.get("admission.in_flight").gauge().value());
+	}
+
+	@Test
+	void poolWaitersHalveLimitOncePerRound() {
+		List<AdmissionLimiter.Permit> permits = acquire(4);
+		connectionWaiters.set(3);
+
+		permits.forEach(permit -> permit.release(false));
+
+		assertEquals(5.0, limiter.limit());
+		assertEquals(1.0, meterRegistry.get("admission.limit.changes").tag("direction", "decrease").counter().count());
+
+		limiter.acquire().release(false);
+
+		assertEquals(2.5, limiter.limit());
+		assertEquals(2.5, meterRegistry.get("admission.limit").gauge().value());
+	}
+
+	@Test
+	void slowRequestsAndConnectionTimeoutsCountAsSaturation() {
+		AdmissionLimiter.Permit slow = limiter.acquire();
+		nanos.addAndGet(Duration.ofSeconds(2).toNanos());
+		slow.release(false);
+
+		assertEquals(5.0, limiter.limit());
+
+		limiter.acquire().release(true);
+
+		assertEquals(2.5, limiter.limit());
+
+		limiter.acquire().release(true);
+
+		assertEquals(2.0, limiter.limit());
+	}
+
+	@Test
+	void shedsRequestsBeyondLoweredLimitAndRecoversAdditively() {
+		connectionWaiters.set(1);
+		limiter.acquire().release(false);
+		limiter.acquire().release(false);
+		connectionWaiters.set(0);
+		assertEquals(2.5, limiter.limit());
+
+		List<AdmissionLimiter.Permit> permits = acquire(2);
+		assertThrows(ServiceUnavailableException.class, limiter::acquire);
+		permits.forEach(permit -> permit.release(false));
+
+		assertEquals(3.5, limiter.limit());
+		assertEquals(1.0, meterRegistry.get("admission.limit.changes").tag("direction", "increase").counter().count());
+	}
+
+	private List<AdmissionLimiter.Permit> acquire(int count) {
+		List<AdmissionLimiter.Permit> permits = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			permits.add(limiter.acquire());
+		}
+		return permits;
+	}
+}
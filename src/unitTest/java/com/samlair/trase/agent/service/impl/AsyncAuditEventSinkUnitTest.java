@@ -0,0 +1,201 @@
+package com.samlair.trase.agent.service.impl;
+
+import com.samlair.trase.agent.domain.enumeration.AuditAction;
+import com.samlair.trase.agent.domain.enumeration.AuditKind;
+import com.samlair.trase.agent.domain.model.AuditEvent;
+import com.samlair.trase.agent.service.AuditEventWriter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+class AsyncAuditEventSinkUnitTest {
+
+	private final RecordingWriter writer = new RecordingWriter();
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private AsyncAuditEventSink sink;
+
+	@AfterEach
+	void tearDown() throws InterruptedException {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+		if (sink != null) {
+			sink.stop();
+		}
+	}
+
+	@Test
+	void flushesFullBatchesFromWriterThread() throws InterruptedException {
+		sink = newSink(100, 2, Duration.ofSeconds(30));
+		writer.expect(1);
+		sink.start();
+
+		sink.submit(List.of(event(1L), event(2L)));
+
+		assertTrue(writer.await());
+		assertEquals(List.of(2), writer.batchSizes());
+		assertEquals("audit-writer", writer.threadNames().get(0));
+	}
+
+	@Test
+	void flushesPartialBatchAfterInterval() throws InterruptedException {
+		sink = newSink(100, 50, Duration.ofMillis(20));
+		writer.expect(1);
+		sink.start();
+
+		sink.submit(List.of(event(1L)));
+
+		assertTrue(writer.await());
+		assertEquals(List.of(1), writer.batchSizes());
+	}
+
+	@Test
+	void writesOnCallerWhenQueueIsFull() throws InterruptedException {
+		sink = newSink(1, 10, Duration.ofSeconds(30));
+
+		sink.submit(List.of(event(1L), event(2L), event(3L)));
+
+		assertEquals(List.of(2), writer.batchSizes());
+		assertEquals(Thread.currentThread().getName(), writer.threadNames().get(0));
+	}
+
+	@Test
+	void drainsQueueOnShutdown() throws InterruptedException {
+		sink = newSink(100, 10, Duration.ofSeconds(30));
+		sink.submit(List.of(event(1L), event(2L)));
+		assertTrue(writer.batchSizes().isEmpty());
+
+		sink.start();
+		sink.stop();
+
+		assertEquals(2, writer.batchSizes().stream().mapToInt(Integer::intValue).sum());
+	}
+
+	@Test
+	void defersEnqueueUntilCommit() throws InterruptedException {
+		sink = newSink(100, 10, Duration.ofSeconds(30));
+		TransactionSynchronizationManager.initSynchronization();
+
+		sink.submit(List.of(event(1L), event(2L)));
+
+		List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+		assertEquals(1, synchronizations.size());
+		synchronizations.get(0).afterCommit();
+		sink.stop();
+		assertEquals(List.of(2), writer.batchSizes());
+	}
+
+	@Test
+	void retriesFailedBatchBeforeCountingItWritten() throws InterruptedException {
+		sink = newSink(100, 2, Duration.ofSeconds(30));
+		writer.failNext(2);
+		writer.expect(3);
+		sink.start();
+
+		sink.submit(List.of(event(1L), event(2L)));
+
+		assertTrue(writer.await());
+		assertEquals(List.of(2, 2, 2), writer.batchSizes());
+		sink.stop();
+		assertEquals(2.0, eventCount("written"));
+		assertEquals(0.0, eventCount("dropped"));
+	}
+
+	@Test
+	void countsBatchAsDroppedAfterLastAttempt() throws InterruptedException {
+		sink = newSink(100, 2, Duration.ofSeconds(30));
+		writer.failNext(3);
+		writer.expect(3);
+		sink.start();
+
+		sink.submit(List.of(event(1L), event(2L)));
+
+		assertTrue(writer.await());
+		sink.stop();
+		assertEquals(List.of(2, 2, 2), writer.batchSizes());
+		assertEquals(2.0, eventCount("dropped"));
+	}
+
+	@Test
+	void writesOnCallerOnceShutdownHasBegun() throws InterruptedException {
+		sink = newSink(100, 10, Duration.ofSeconds(30));
+		TransactionSynchronizationManager.initSynchronization();
+		sink.submit(List.of(event(1L)));
+		sink.start();
+		sink.stop();
+
+		TransactionSynchronizationManager.getSynchronizations().get(0).afterCommit();
+
+		assertEquals(List.of(1), writer.batchSizes());
+		assertEquals(Thread.currentThread().getName(), writer.threadNames().get(0));
+		assertEquals(1.0, eventCount("caller_write"));
+	}
+
+	private AsyncAuditEventSink newSink(int capacity, int flushSize, Duration flushInterval) {
+		return new AsyncAuditEventSink(writer, mock(PlatformTransactionManager.class), meterRegistry,
+				capacity, flushSize, flushInterval, Duration.ofMillis(1), Duration.ofSeconds(5), 3,
+				Duration.ofMillis(1), false);
+	}
+
+	private double eventCount(String result) {
+		return meterRegistry.get("audit.async.events").tag("result", result).counter().count();
+	}
+
+	private AuditEvent event(long id) {
+		return new AuditEvent(AuditKind.AGENT, id, AuditAction.CREATE, null, null, null, null, Instant.now());
+	}
+
+	private static final class RecordingWriter implements AuditEventWriter {
+
+		private final List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+		private final List<String> threadNames = new CopyOnWriteArrayList<>();
+		private final AtomicInteger failuresLeft = new AtomicInteger();
+		private volatile CountDownLatch latch = new CountDownLatch(0);
+
+		@Override
+		public void write(Collection<AuditEvent> events) {
+			batchSizes.add(events.size());
+			threadNames.add(Thread.currentThread().getName());
+			latch.countDown();
+			if (failuresLeft.getAndUpdate(left -> Math.max(0, left - 1)) > 0) {
+				throw new IllegalStateException("audit write failed");
+			}
+		}
+
+		void failNext(int writes) {
+			failuresLeft.set(writes);
+		}
+
+		void expect(int batches) {
+			latch = new CountDownLatch(batches);
+		}
+
+		boolean await() throws InterruptedException {
+			return latch.await(5, TimeUnit.SECONDS);
+		}
+
+		List<Integer> batchSizes() {
+			return new ArrayList<>(batchSizes);
+		}
+
+		List<String> threadNames() {
+			return new ArrayList<>(threadNames);
+		}
+	}
+}
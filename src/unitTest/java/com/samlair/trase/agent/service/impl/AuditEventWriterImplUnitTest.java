@@ -0,0 +1,65 @@
+package com.samlair.trase.agent.service.impl;
+
+import com.samlair.trase.agent.domain.enumeration.AuditAction;
+import com.samlair.trase.agent.domain.enumeration.AuditKind;
+import com.samlair.trase.agent.domain.model.AuditEvent;
+import com.samlair.trase.agent.rdbms.dao.AgentAuditDao;
+import com.samlair.trase.agent.rdbms.dao.TaskAuditDao;
+import com.samlair.trase.agent.rdbms.dao.TaskRunAuditDao;
+import com.samlair.trase.agent.rdbms.entity.AgentAuditEntity;
+import com.samlair.trase.agent.rdbms.entity.TaskAuditEntity;
+import com.samlair.trase.agent.rdbms.entity.TaskRunAuditEntity;
+import java.time.Instant;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.verify;
+
+@SuppressWarnings("unchecked")
+@ExtendWith(MockitoExtension.class)
+class AuditEventWriterImplUnitTest {
+
+	@Mock
+	private AgentAuditDao agentAuditDao;
+
+	@Mock
+	private TaskAuditDao taskAuditDao;
+
+	@Mock
+	private TaskRunAuditDao taskRunAuditDao;
+
+	@InjectMocks
+	private AuditEventWriterImpl writer;
+
+	@Test
+	void writeGroupsEventsByKind() {
+		Instant occurredAt = Instant.parse("2024-01-01T00:00:00Z");
+		writer.write(List.of(
+				new AuditEvent(AuditKind.AGENT, 1L, AuditAction.CREATE, null, 9L, "ops", "req-1", occurredAt),
+				new AuditEvent(AuditKind.TASK_RUN, 3L, AuditAction.START, "RUNNING", 9L, "ops", "req-1", occurredAt),
+				new AuditEvent(AuditKind.AGENT, 2L, AuditAction.DELETE, null, null, null, null, occurredAt)));
+
+		ArgumentCaptor<List<AgentAuditEntity>> agents = ArgumentCaptor.forClass(List.class);
+		ArgumentCaptor<List<TaskAuditEntity>> tasks = ArgumentCaptor.forClass(List.class);
+		ArgumentCaptor<List<TaskRunAuditEntity>> runs = ArgumentCaptor.forClass(List.class);
+		verify(agentAuditDao).insertAll(agents.capture());
+		verify(taskAuditDao).insertAll(tasks.capture());
+		verify(taskRunAuditDao).insertAll(runs.capture());
+
+		assertEquals(2, agents.getValue().size());
+		assertEquals(1L, agents.getValue().get(0).getAgentId());
+		assertEquals("ops", agents.getValue().get(0).getActorUsername());
+		assertEquals(occurredAt, agents.getValue().get(0).getOccurredAt());
+		assertEquals(AuditAction.DELETE, agents.getValue().get(1).getAction());
+		assertTrue(tasks.getValue().isEmpty());
+		assertEquals(1, runs.getValue().size());
+		assertEquals("RUNNING", runs.getValue().get(0).getStatus());
+	}
+}
@@ -0,0 +1,93 @@
+package com.samlair.trase.agent.service.impl;
+
+import com.samlair.trase.agent.domain.enumeration.AuditAction;
+import com.samlair.trase.agent.domain.enumeration.AuditKind;
+import com.samlair.trase.agent.domain.model.AuditEvent;
+import com.samlair.trase.agent.rdbms.dao.AuditOutboxDao;
+import com.samlair.trase.agent.service.AuditEventWriter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AuditOutboxRelayImplUnitTest {
+
+	@Mock
+	private AuditOutboxDao auditOutboxDao;
+
+	@Mock
+	private AuditEventWriter auditEventWriter;
+
+	@Mock
+	private PlatformTransactionManager transactionManager;
+
+	private SimpleMeterRegistry meterRegistry;
+
+	private AuditOutboxRelayImpl relay;
+
+	@BeforeEach
+	void setUp() {
+		meterRegistry = new SimpleMeterRegistry();
+		relay = new AuditOutboxRelayImpl(auditOutboxDao, auditEventWriter, transactionManager, meterRegistry, 2, 10);
+	}
+
+	@Test
+	void relaysUntilBatchComesBackShort() {
+		List<AuditEvent> full = List.of(event(1L), event(2L));
+		List<AuditEvent> partial = List.of(event(3L));
+		when(auditOutboxDao.claimBatch(2)).thenReturn(full, partial);
+		when(auditOutboxDao.findOldestOccurredAt()).thenReturn(Optional.empty());
+
+		int relayed = relay.relayPending();
+
+		assertEquals(3, relayed);
+		verify(auditEventWriter).write(full);
+		verify(auditEventWriter).write(partial);
+		verify(auditOutboxDao, times(2)).claimBatch(2);
+		assertEquals(3.0, meterRegistry.get("audit.outbox.relayed").counter().count());
+		assertEquals(2L, meterRegistry.get("audit.outbox.batch").timer().count());
+		assertEquals(0.0, meterRegistry.get("audit.outbox.lag").timeGauge().value(TimeUnit.MILLISECONDS));
+	}
+
+	@Test
+	void stopsAfterMaxBatchesPerRun() {
+		relay = new AuditOutboxRelayImpl(auditOutboxDao, auditEventWriter, transactionManager, meterRegistry, 1, 3);
+		when(auditOutboxDao.claimBatch(1)).thenReturn(List.of(event(1L)));
+		when(auditOutboxDao.findOldestOccurredAt()).thenReturn(Optional.of(Instant.now().minusSeconds(5)));
+
+		int relayed = relay.relayPending();
+
+		assertEquals(3, relayed);
+		verify(auditOutboxDao, times(3)).claimBatch(1);
+		assertTrue(meterRegistry.get("audit.outbox.lag").timeGauge().value(TimeUnit.SECONDS) >= 5.0);
+	}
+
+	@Test
+	void skipsWriterWhenOutboxIsEmpty() {
+		when(auditOutboxDao.claimBatch(2)).thenReturn(List.of());
+		when(auditOutboxDao.findOldestOccurredAt()).thenReturn(Optional.empty());
+
+		assertEquals(0, relay.relayPending());
+		verify(auditEventWriter, never()).write(any());
+	}
+
+	private AuditEvent event(long id) {
+		return new AuditEvent(AuditKind.TASK, id, AuditAction.UPDATE, null, null, null, null, Instant.now());
+	}
+}
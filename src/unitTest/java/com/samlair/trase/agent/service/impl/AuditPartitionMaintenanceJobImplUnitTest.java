@@ -0,0 +1,28 @@
+package com.samlair.trase.agent.service.impl;
+
+import com.samlair.trase.agent.service.AuditPartitionService;
+import java.time.YearMonth;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class AuditPartitionMaintenanceJobImplUnitTest {
+
+	@Mock
+	private AuditPartitionService auditPartitionService;
+
+	@InjectMocks
+	private AuditPartitionMaintenanceJobImpl job;
+
+	@Test
+	void maintainPartitionsDelegatesToService() {
+		job.maintainPartitions();
+		verify(auditPartitionService).maintainPartitions(any(YearMonth.class));
+	}
+}
@@ -0,0 +1,81 @@
+package com.samlair.trase.agent.service.impl;
+
+import com.samlair.trase.agent.rdbms.dao.AgentAuditDao;
+import com.samlair.trase.agent.rdbms.dao.TaskAuditDao;
+import com.samlair.trase.agent.rdbms.dao.TaskRunAuditDao;
+import java.time.YearMonth;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AuditPartitionServiceImplUnitTest {
+
+	private static final YearMonth CURRENT = YearMonth.of(2026, 10);
+
+	@Mock
+	private AgentAuditDao agentAuditDao;
+
+	@Mock
+	private TaskAuditDao taskAuditDao;
+
+	@Mock
+	private TaskRunAuditDao taskRunAuditDao;
+
+	@Test
+	void maintainPartitionsCreatesMissingUpcomingMonths() {
+		when(agentAuditDao.findMonthlyPartitions()).thenReturn(List.of(CURRENT, CURRENT.plusMonths(1)));
+		when(taskAuditDao.findMonthlyPartitions()).thenReturn(List.of());
+		when(taskRunAuditDao.findMonthlyPartitions()).thenReturn(List.of());
+
+		service(2, 0, false).maintainPartitions(CURRENT);
+
+		verify(agentAuditDao, never()).createMonthlyPartition(CURRENT);
+		verify(agentAuditDao).createMonthlyPartition(CURRENT.plusMonths(2));
+		verify(taskAuditDao).createMonthlyPartition(CURRENT);
+		verify(taskRunAuditDao).createMonthlyPartition(CURRENT.plusMonths(2));
+		verify(agentAuditDao, never()).detachMonthlyPartition(any(), anyBoolean());
+	}
+
+	@Test
+	void maintainPartitionsExpiresMonthsPastRetention() {
+		List<YearMonth> existing = List.of(CURRENT.minusMonths(4), CURRENT.minusMonths(3), CURRENT.minusMonths(2),
+				CURRENT);
+		when(agentAuditDao.findMonthlyPartitions()).thenReturn(existing);
+		when(taskAuditDao.findMonthlyPartitions()).thenReturn(existing);
+		when(taskRunAuditDao.findMonthlyPartitions()).thenReturn(existing);
+
+		service(0, 3, true).maintainPartitions(CURRENT);
+
+		verify(agentAuditDao).detachMonthlyPartition(CURRENT.minusMonths(4), true);
+		verify(agentAuditDao, never()).detachMonthlyPartition(CURRENT.minusMonths(3), true);
+		verify(taskAuditDao).detachMonthlyPartition(CURRENT.minusMonths(4), true);
+		verify(taskRunAuditDao).detachMonthlyPartition(CURRENT.minusMonths(4), true);
+	}
+
+	@Test
+	void maintainPartitionsContinuesAfterTableFailure() {
+		when(agentAuditDao.findMonthlyPartitions()).thenThrow(new DataAccessResourceFailureException("down"));
+		when(taskAuditDao.findMonthlyPartitions()).thenReturn(List.of());
+		when(taskRunAuditDao.findMonthlyPartitions()).thenReturn(List.of());
+
+		service(0, 0, false).maintainPartitions(CURRENT);
+
+		verify(taskAuditDao).createMonthlyPartition(CURRENT);
+		verify(taskRunAuditDao).createMonthlyPartition(CURRENT);
+	}
+
+	private AuditPartitionServiceImpl service(int premakeMonths, int retentionMonths, boolean dropExpired) {
+		return new AuditPartitionServiceImpl(agentAuditDao, taskAuditDao, taskRunAuditDao, premakeMonths,
+				retentionMonths, dropExpired);
+	}
+}
@@ -0,0 +1,150 @@
+package com.samlair.trase.agent.service.impl;
+
+import com.samlair.trase.agent.domain.enumeration.AuditAction;
+import com.samlair.trase.agent.domain.model.AuditCursor;
+import com.samlair.trase.agent.domain.model.AuditFilter;
+import com.samlair.trase.agent.domain.model.CursorPage;
+import com.samlair.trase.agent.rdbms.dao.AgentAuditDao;
+import com.samlair.trase.agent.rdbms.dao.AuditExportDaoCustom.AuditRow;
+import com.samlair.trase.agent.rdbms.dao.TaskAuditDao;
+import com.samlair.trase.agent.rdbms.dao.TaskRunAuditDao;
+import com.samlair.trase.agent.web.dto.TaskAuditResponseDto;
+import com.samlair.trase.agent.web.dto.TaskRunAuditResponseDto;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AuditQueryServiceImplUnitTest {
+
+	@Mock
+	private AgentAuditDao agentAuditDao;
+
+	@Mock
+	private TaskAuditDao taskAuditDao;
+
+	@Mock
+	private TaskRunAuditDao taskRunAuditDao;
+
+	@InjectMocks
+	private AuditQueryServiceImpl service;
+
+	@Test
+	void listWithoutCursorUsesSliceAndReturnsBeforeCursor() {
+		Pageable pageable = PageRequest.of(0, 2, Sort.by(Sort.Direction.DESC, "id"));
+		when(taskAuditDao.findResponses(pageable)).thenReturn(new SliceImpl<>(audits(9L, 8L), pageable, true));
+
+		CursorPage<TaskAuditResponseDto> page = service.listTaskAudits(AuditFilter.NONE, pageable, null);
+
+		assertEquals(List.of(9L, 8L), ids(page));
+		assertEquals(AuditCursor.before(8L), page.nextCursor());
+	}
+
+	@Test
+	void listWithoutCursorOmitsCursorWhenSortIsNotById() {
+		Pageable pageable = PageRequest.of(0, 2, Sort.by("occurredAt"));
+		when(taskAuditDao.findResponses(pageable)).thenReturn(new SliceImpl<>(audits(1L, 2L), pageable, true));
+
+		CursorPage<TaskAuditResponseDto> page = service.listTaskAudits(AuditFilter.NONE, pageable, null);
+
+		assertNull(page.nextCursor());
+	}
+
+	@Test
+	void listBeforeCursorTrimsProbeRow() {
+		Pageable pageable = PageRequest.of(3, 2);
+		when(taskAuditDao.findResponsesBefore(10L, PageRequest.of(0, 3)))
+				.thenReturn(audits(9L, 8L, 7L));
+
+		CursorPage<TaskAuditResponseDto> page = service.listTaskAudits(AuditFilter.NONE, pageable, AuditCursor.before(10L));
+
+		assertEquals(List.of(9L, 8L), ids(page));
+		assertEquals(AuditCursor.before(8L), page.nextCursor());
+	}
+
+	@Test
+	void listAfterCursorReturnsNoCursorOnLastPage() {
+		Pageable pageable = PageRequest.of(0, 2);
+		when(taskAuditDao.findResponsesAfter(5L, PageRequest.of(0, 3)))
+				.thenReturn(audits(6L));
+
+		CursorPage<TaskAuditResponseDto> page = service.listTaskAudits(AuditFilter.NONE, pageable, AuditCursor.after(5L));
+
+		assertEquals(List.of(6L), ids(page));
+		assertNull(page.nextCursor());
+	}
+
+	@Test
+	void listWithFilterUsesKeysetQueryNewestFirst() {
+		AuditFilter filter = new AuditFilter(1L, null, "req-1", null, null, null);
+		Pageable pageable = PageRequest.of(0, 2, Sort.by(Sort.Direction.DESC, "id"));
+		when(taskAuditDao.findFiltered(filter, AuditCursor.Direction.BEFORE, null, 3))
+				.thenReturn(audits(9L, 4L, 2L));
+
+		CursorPage<TaskAuditResponseDto> page = service.listTaskAudits(filter, pageable, null);
+
+		assertEquals(List.of(9L, 4L), ids(page));
+		assertEquals(AuditCursor.before(4L), page.nextCursor());
+	}
+
+	@Test
+	void listWithFilterAndCursorContinuesFromCursor() {
+		AuditFilter filter = new AuditFilter(null, 7L, null, AuditAction.UPDATE, null, null);
+		when(taskAuditDao.findFiltered(filter, AuditCursor.Direction.AFTER, 4L, 3))
+				.thenReturn(audits(5L));
+
+		CursorPage<TaskAuditResponseDto> page = service.listTaskAudits(filter, PageRequest.of(0, 2),
+				AuditCursor.after(4L));
+
+		assertEquals(List.of(5L), ids(page));
+		assertNull(page.nextCursor());
+	}
+
+	@Test
+	void exportTaskRunAuditsMapsStreamedRows() {
+		Instant occurredAt = Instant.parse("2026-01-31T00:00:00Z");
+		AuditFilter filter = new AuditFilter(null, null, null, null, occurredAt, null);
+		doAnswer(invocation -> {
+			Consumer<AuditRow> action = invocation.getArgument(2);
+			action.accept(new AuditRow(3L, 99L, AuditAction.STATUS_UPDATE, "COMPLETED", 1L, "admin", "req-1",
+					occurredAt));
+			return null;
+		}).when(taskRunAuditDao).streamAudits(eq(filter), anyInt(), any());
+
+		List<TaskRunAuditResponseDto> exported = new ArrayList<>();
+		long count = service.exportTaskRunAudits(filter, exported::add);
+
+		assertEquals(1L, count);
+		assertEquals(new TaskRunAuditResponseDto(3L, 99L, AuditAction.STATUS_UPDATE, "COMPLETED", 1L, "admin",
+				"req-1", occurredAt), exported.get(0));
+	}
+
+	private List<TaskAuditResponseDto> audits(Long... ids) {
+		List<TaskAuditResponseDto> audits = new ArrayList<>();
+		for (Long id : ids) {
+			audits.add(new TaskAuditResponseDto(id, 1L, AuditAction.UPDATE, null, null, null, null));
+		}
+		return audits;
+	}
+	private List<Long> ids(CursorPage<TaskAuditResponseDto> page) {
+		return page.items().stream().map(TaskAuditResponseDto::id).toList();
+	}
+}
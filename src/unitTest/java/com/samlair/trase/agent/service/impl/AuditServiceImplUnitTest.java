@@ -24,6 +24,7 @@ import org.springframework.security.oauth2.server.resource.authentication.JwtAut
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 
 @ExtendWith(MockitoExtension.class)
@@ -118,4 +119,58 @@ class AuditServiceImplUnitTest {
 		assertNull(audit.getActorUserId());
 		assertNull(audit.getActorUsername());
 	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void recordTaskRunActionsBatchInsertsWithSharedActor() {
+		MDC.put(RequestIdFilter.REQUEST_ID_MDC_KEY, "req-7");
+
+		auditService.recordTaskRunActions(List.of(1L, 2L), AuditAction.START, "RUNNING");
+
+		ArgumentCaptor<List<TaskRunAuditEntity>> captor = ArgumentCaptor.forClass(List.class);
+		verify(taskRunAuditDao).insertAll(captor.capture());
+		List<TaskRunAuditEntity> audits = captor.getValue();
+		assertEquals(2, audits.size());
+		assertEquals(1L, audits.get(0).getTaskRunId());
+		assertEquals(2L, audits.get(1).getTaskRunId());
+		assertEquals("req-7", audits.get(1).getRequestId());
+		assertEquals(audits.get(0).getOccurredAt(), audits.get(1).getOccurredAt());
+	}
+
+	@Test
+	void recordTaskRunActionsSkipsEmptyBatch() {
+		auditService.recordTaskRunActions(List.of(), AuditAction.START, "RUNNING");
+
+		verify(taskRunAuditDao, never()).insertAll(org.mockito.ArgumentMatchers.anyList());
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void recordTaskActionsBatchInsertsWithSharedActor() {
+		MDC.put(RequestIdFilter.REQUEST_ID_MDC_KEY, "req-8");
+
+		auditService.recordTaskActions(List.of(3L, 4L), AuditAction.CREATE);
+
+		ArgumentCaptor<List<TaskAuditEntity>> captor = ArgumentCaptor.forClass(List.class);
+		verify(taskAuditDao).insertAll(captor.capture());
+		List<TaskAuditEntity> audits = captor.getValue();
+		assertEquals(2, audits.size());
+		assertEquals(3L, audits.get(0).getTaskId());
+		assertEquals(AuditAction.CREATE, audits.get(1).getAction());
+		assertEquals("req-8", audits.get(1).getRequestId());
+		assertEquals(audits.get(0).getOccurredAt(), audits.get(1).getOccurredAt());
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void recordAgentActionsBatchInsertsWithSharedActor() {
+		auditService.recordAgentActions(List.of(5L, 6L), AuditAction.CREATE);
+
+		ArgumentCaptor<List<AgentAuditEntity>> captor = ArgumentCaptor.forClass(List.class);
+		verify(agentAuditDao).insertAll(captor.capture());
+		List<AgentAuditEntity> audits = captor.getValue();
+		assertEquals(2, audits.size());
+		assertEquals(6L, audits.get(1).getAgentId());
+		assertEquals(audits.get(0).getOccurredAt(), audits.get(1).getOccurredAt());
+	}
 }
@@ -1,11 +1,18 @@
 package com.samlair.trase.agent.service.impl;
 
+import com.samlair.trase.agent.config.JwtKeyRing;
+import com.samlair.trase.agent.domain.exception.BadRequestException;
 import com.samlair.trase.agent.domain.exception.UnauthorizedException;
+import com.samlair.trase.agent.rdbms.dao.RefreshTokenDao;
 import com.samlair.trase.agent.rdbms.dao.UserDao;
+import com.samlair.trase.agent.rdbms.entity.RefreshTokenEntity;
 import com.samlair.trase.agent.rdbms.entity.RoleEntity;
 import com.samlair.trase.agent.rdbms.entity.UserEntity;
+import com.samlair.trase.agent.service.CredentialVerifier;
 import com.samlair.trase.agent.web.dto.LoginRequestDto;
 import com.samlair.trase.agent.web.dto.LoginResponseDto;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.lang.reflect.Field;
 import java.time.Duration;
 import java.time.Instant;
@@ -14,17 +21,26 @@ import java.util.Set;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.core.io.ClassPathResource;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.security.oauth2.jwt.JwtEncoder;
 import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -34,18 +50,31 @@ class AuthServiceImplUnitTest {
 	private UserDao userDao;
 
 	@Mock
-	private PasswordEncoder passwordEncoder;
+	private CredentialVerifier credentialVerifier;
 
 	@Mock
 	private JwtEncoder jwtEncoder;
 
-	@InjectMocks
+	@Mock
+	private RefreshTokenDao refreshTokenDao;
+
+	private MeterRegistry meterRegistry;
+
+	private JwtKeyRing keyRing;
+
 	private AuthServiceImpl authService;
 
 	@BeforeEach
 	void setUp() {
+		meterRegistry = new SimpleMeterRegistry();
+		keyRing = new JwtKeyRing("RS256", new ClassPathResource("keys/dev-public.pem"),
+				new ClassPathResource("keys/dev-private.pem"), null, null);
+		authService = new AuthServiceImpl(userDao, credentialVerifier, jwtEncoder, keyRing, refreshTokenDao,
+				meterRegistry, 100, Duration.ofSeconds(30));
 		setField(authService, "issuer", "test-issuer");
 		setField(authService, "tokenTtl", Duration.ofHours(1));
+		setField(authService, "shortTokenTtl", Duration.ofMinutes(2));
+		setField(authService, "refreshTokenTtl", Duration.ofDays(7));
 	}
 
 	@Test
@@ -61,7 +90,7 @@ class AuthServiceImplUnitTest {
 		user.getRoles().addAll(Set.of(operator, admin));
 
 		when(userDao.findByUsernameAndEnabledTrue("admin")).thenReturn(Optional.of(user));
-		when(passwordEncoder.matches("pw", "hash")).thenReturn(true);
+		when(credentialVerifier.verify("pw", "hash")).thenReturn(new CredentialVerifier.Verification(true, null));
 		when(jwtEncoder.encode(any(JwtEncoderParameters.class))).thenReturn(Jwt.withTokenValue("token")
 				.header("alg", "none")
 				.subject("admin")
@@ -75,16 +104,124 @@ class AuthServiceImplUnitTest {
 		assertEquals("token", response.accessToken());
 		assertEquals("Bearer", response.tokenType());
 		assertEquals(java.util.List.of("ADMIN", "OPERATOR"), response.roles());
+		assertNull(response.refreshToken());
+		verifyNoInteractions(refreshTokenDao);
+	}
+
+	@Test
+	void loginInRefreshModeStartsSessionAndIssuesShortLivedToken() {
+		setField(authService, "refreshEnabled", true);
+		UserEntity user = user();
+		when(userDao.findByUsernameAndEnabledTrue("admin")).thenReturn(Optional.of(user));
+		when(credentialVerifier.verify("pw", "hash")).thenReturn(new CredentialVerifier.Verification(true, null));
+		when(refreshTokenDao.save(any(RefreshTokenEntity.class))).thenAnswer(invocation -> {
+			RefreshTokenEntity saved = invocation.getArgument(0);
+			saved.setId(9L);
+			return saved;
+		});
+		ArgumentCaptor<JwtEncoderParameters> parameters = ArgumentCaptor.forClass(JwtEncoderParameters.class);
+		when(jwtEncoder.encode(parameters.capture())).thenReturn(jwt());
+
+		Instant before = Instant.now();
+		LoginResponseDto response = authService.login(new LoginRequestDto("admin", "pw"));
+
+		assertNotNull(response.refreshToken());
+		assertEquals(9L, ((Number) parameters.getValue().getClaims().getClaim("sid")).longValue());
+		assertEquals(keyRing.activeKeyId(), parameters.getValue().getJwsHeader().getKeyId());
+		assertFalse(response.expiresAt().isAfter(before.plus(Duration.ofMinutes(3))));
+		ArgumentCaptor<RefreshTokenEntity> session = ArgumentCaptor.forClass(RefreshTokenEntity.class);
+		verify(refreshTokenDao).save(session.capture());
+		assertEquals(64, session.getValue().getTokenHash().length());
+		assertNotEquals(response.refreshToken(), session.getValue().getTokenHash());
+	}
+
+	@Test
+	void refreshRotatesTokenAndKeepsSession() {
+		setField(authService, "refreshEnabled", true);
+		RefreshTokenEntity session = session();
+		when(refreshTokenDao.findByTokenHash(anyString())).thenReturn(Optional.of(session));
+		when(userDao.findById(1L)).thenReturn(Optional.of(user()));
+		when(refreshTokenDao.rotate(eq(9L), anyString(), anyString(), any(Instant.class))).thenReturn(1);
+		ArgumentCaptor<JwtEncoderParameters> parameters = ArgumentCaptor.forClass(JwtEncoderParameters.class);
+		when(jwtEncoder.encode(parameters.capture())).thenReturn(jwt());
+
+		LoginResponseDto response = authService.refresh("old-token");
+
+		assertNotNull(response.refreshToken());
+		assertNotEquals("old-token", response.refreshToken());
+		assertEquals(9L, ((Number) parameters.getValue().getClaims().getClaim("sid")).longValue());
+	}
+
+	@Test
+	void refreshRejectsTokenAlreadyRotatedConcurrently() {
+		setField(authService, "refreshEnabled", true);
+		when(refreshTokenDao.findByTokenHash(anyString())).thenReturn(Optional.of(session()));
+		when(userDao.findById(1L)).thenReturn(Optional.of(user()));
+		when(refreshTokenDao.rotate(eq(9L), anyString(), anyString(), any(Instant.class))).thenReturn(0);
+
+		assertThrows(UnauthorizedException.class, () -> authService.refresh("old-token"));
+		verifyNoInteractions(jwtEncoder);
+	}
+
+	@Test
+	void refreshRejectsRevokedSession() {
+		setField(authService, "refreshEnabled", true);
+		RefreshTokenEntity session = session();
+		session.setRevokedAt(Instant.now());
+		when(refreshTokenDao.findByTokenHash(anyString())).thenReturn(Optional.of(session));
+
+		assertThrows(UnauthorizedException.class, () -> authService.refresh("old-token"));
+	}
+
+	@Test
+	void refreshRejectsWhenDisabled() {
+		assertThrows(BadRequestException.class, () -> authService.refresh("token"));
+		verifyNoInteractions(refreshTokenDao);
+	}
+
+	@Test
+	void loginCachesUserLookupAndTimesPhases() {
+		UserEntity user = user();
+		when(userDao.findByUsernameAndEnabledTrue("admin")).thenReturn(Optional.of(user));
+		when(credentialVerifier.verify("pw", "hash")).thenReturn(new CredentialVerifier.Verification(true, null));
+		when(jwtEncoder.encode(any(JwtEncoderParameters.class))).thenReturn(jwt());
+
+		authService.login(new LoginRequestDto("admin", "pw"));
+		authService.login(new LoginRequestDto("admin", "pw"));
+
+		verify(userDao, times(1)).findByUsernameAndEnabledTrue("admin");
+		assertEquals(2, meterRegistry.get("auth.login.phase").tag("phase", "lookup").timer().count());
+		assertEquals(2, meterRegistry.get("auth.login.phase").tag("phase", "hash").timer().count());
+		assertEquals(2, meterRegistry.get("auth.login.phase").tag("phase", "sign").timer().count());
+	}
+
+	@Test
+	void loginStoresUpgradedHashAndDropsCachedUser() {
+		UserEntity user = user();
+		when(userDao.findByUsernameAndEnabledTrue("admin")).thenReturn(Optional.of(user));
+		when(credentialVerifier.verify("pw", "hash"))
+				.thenReturn(new CredentialVerifier.Verification(true, "{bcrypt}new"));
+		when(jwtEncoder.encode(any(JwtEncoderParameters.class))).thenReturn(jwt());
+
+		authService.login(new LoginRequestDto("admin", "pw"));
+
+		verify(userDao).updatePasswordHash(1L, "{bcrypt}new");
+		user.setPasswordHash("{bcrypt}new");
+		when(credentialVerifier.verify("pw", "{bcrypt}new"))
+				.thenReturn(new CredentialVerifier.Verification(true, null));
+		authService.login(new LoginRequestDto("admin", "pw"));
+		verify(userDao, times(2)).findByUsernameAndEnabledTrue("admin");
 	}
 
 	@Test
 	void loginRejectsInvalidPassword() {
 		UserEntity user = new UserEntity();
+		user.setId(1L);
 		user.setUsername("admin");
 		user.setPasswordHash("hash");
 
 		when(userDao.findByUsernameAndEnabledTrue("admin")).thenReturn(Optional.of(user));
-		when(passwordEncoder.matches("bad", "hash")).thenReturn(false);
+		when(credentialVerifier.verify("bad", "hash")).thenReturn(new CredentialVerifier.Verification(false, null));
 
 		assertThrows(UnauthorizedException.class, () -> authService.login(new LoginRequestDto("admin", "bad")));
 	}
@@ -96,6 +233,35 @@ class AuthServiceImplUnitTest {
 		assertThrows(UnauthorizedException.class, () -> authService.login(new LoginRequestDto("missing", "pw")));
 	}
 
+	private UserEntity user() {
+		UserEntity user = new UserEntity();
+		user.setId(1L);
+		user.setUsername("admin");
+		user.setPasswordHash("hash");
+		RoleEntity admin = new RoleEntity();
+		admin.setName("ADMIN");
+		user.getRoles().add(admin);
+		return user;
+	}
+
+	private RefreshTokenEntity session() {
+		RefreshTokenEntity session = new RefreshTokenEntity();
+		session.setId(9L);
+		session.setUserId(1L);
+		session.setTokenHash("hash");
+		session.setExpiresAt(Instant.now().plus(Duration.ofDays(1)));
+		return session;
+	}
+
+	private Jwt jwt() {
+		return Jwt.withTokenValue("token")
+				.header("alg", "none")
+				.subject("admin")
+				.issuedAt(Instant.now())
+				.expiresAt(Instant.now().plusSeconds(120))
+				.build();
+	}
+
 	private void setField(Object target, String fieldName, Object value) {
 		try {
 			Field field = target.getClass().getDeclaredField(fieldName);
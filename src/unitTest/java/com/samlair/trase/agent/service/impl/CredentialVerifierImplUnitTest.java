@@ -0,0 +1,103 @@
+package com.samlair.trase.agent.service.impl;
+
+import com.samlair.trase.agent.domain.exception.ServiceUnavailableException;
+import com.samlair.trase.agent.service.CredentialVerifier;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CredentialVerifierImplUnitTest {
+
+	private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private CredentialVerifierImpl verifier;
+
+	@AfterEach
+	void tearDown() {
+		if (verifier != null) {
+			verifier.stop();
+		}
+	}
+
+	@Test
+	void returnsUpgradedHashForOutdatedEncoding() {
+		verifier = new CredentialVerifierImpl(new FakeEncoder(null), meterRegistry, 1, 1, Duration.ofSeconds(5));
+
+		CredentialVerifier.Verification legacy = verifier.verify("pw", "legacy:pw");
+		CredentialVerifier.Verification current = verifier.verify("pw", "current:pw");
+		CredentialVerifier.Verification wrong = verifier.verify("bad", "legacy:pw");
+
+		assertTrue(legacy.matches());
+		assertEquals("current:pw", legacy.upgradedHash());
+		assertTrue(current.matches());
+		assertNull(current.upgradedHash());
+		assertFalse(wrong.matches());
+		assertNull(wrong.upgradedHash());
+	}
+
+	@Test
+	void rejectsWhenPoolAndQueueAreFull() throws InterruptedException {
+		CountDownLatch release = new CountDownLatch(1);
+		verifier = new CredentialVerifierImpl(new FakeEncoder(release), meterRegistry, 1, 1, Duration.ofSeconds(5));
+		Thread first = Thread.ofPlatform().start(() -> verifier.verify("pw", "current:pw"));
+		Thread second = Thread.ofPlatform().start(() -> verifier.verify("pw", "current:pw"));
+		while (meterRegistry.get("auth.login.hash.queue.size").gauge().value() < 1) {
+			Thread.sleep(10);
+		}
+
+		ServiceUnavailableException ex = assertThrows(ServiceUnavailableException.class,
+				() -> verifier.verify("pw", "current:pw"));
+
+		assertEquals(Duration.ofSeconds(1), ex.getRetryAfter());
+		assertEquals(1.0, meterRegistry.get("auth.login.rejected").counter().count());
+		release.countDown();
+		first.join();
+		second.join();
+	}
+
+	@Test
+	void rejectsWhenCheckTimesOut() {
+		verifier = new CredentialVerifierImpl(new FakeEncoder(new CountDownLatch(1)), meterRegistry, 1, 1,
+				Duration.ofMillis(50));
+
+		assertThrows(ServiceUnavailableException.class, () -> verifier.verify("pw", "current:pw"));
+	}
+
+	/**
+	 * Encodes as {@code current:<raw>}; hashes with any other prefix need an upgrade. Optionally blocks until released.
+	 */
+	private record FakeEncoder(CountDownLatch release) implements PasswordEncoder {
+
+		@Override
+		public String encode(CharSequence rawPassword) {
+			return "current:" + rawPassword;
+		}
+
+		@Override
+		public boolean matches(CharSequence rawPassword, String encodedPassword) {
+			if (release != null) {
+				try {
+					release.await();
+				} catch (InterruptedException ex) {
+					Thread.currentThread().interrupt();
+					return false;
+				}
+			}
+			return encodedPassword.endsWith(":" + rawPassword);
+		}
+
+		@Override
+		public boolean upgradeEncoding(String encodedPassword) {
+			return !encodedPassword.startsWith("current:");
+		}
+	}
+}
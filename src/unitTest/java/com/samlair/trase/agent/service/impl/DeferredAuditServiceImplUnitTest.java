@@ -0,0 +1,101 @@
+package com.samlair.trase.agent.service.impl;
+
+import com.samlair.trase.agent.config.RequestIdFilter;
+import com.samlair.trase.agent.domain.enumeration.AuditAction;
+import com.samlair.trase.agent.domain.enumeration.AuditKind;
+import com.samlair.trase.agent.domain.model.AuditEvent;
+import com.samlair.trase.agent.service.AuditEventSink;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.slf4j.MDC;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@SuppressWarnings("unchecked")
+@ExtendWith(MockitoExtension.class)
+class DeferredAuditServiceImplUnitTest {
+
+	@Mock
+	private AuditEventSink auditEventSink;
+
+	@InjectMocks
+	private DeferredAuditServiceImpl auditService;
+
+	@AfterEach
+	void tearDown() {
+		SecurityContextHolder.clearContext();
+		MDC.remove(RequestIdFilter.REQUEST_ID_MDC_KEY);
+	}
+
+	@Test
+	void recordTaskActionCapturesActorOnCallingThread() {
+		Jwt jwt = Jwt.withTokenValue("token")
+				.header("alg", "none")
+				.subject("ops")
+				.claim("uid", 9L)
+				.build();
+		SecurityContextHolder.getContext().setAuthentication(
+				new JwtAuthenticationToken(jwt, List.of(new SimpleGrantedAuthority("ROLE_OPERATOR")))
+		);
+		MDC.put(RequestIdFilter.REQUEST_ID_MDC_KEY, "req-1");
+
+		auditService.recordTaskAction(5L, AuditAction.UPDATE);
+
+		ArgumentCaptor<List<AuditEvent>> captor = ArgumentCaptor.forClass(List.class);
+		verify(auditEventSink).submit(captor.capture());
+		AuditEvent event = captor.getValue().get(0);
+		assertEquals(AuditKind.TASK, event.kind());
+		assertEquals(5L, event.entityId());
+		assertEquals(9L, event.actorUserId());
+		assertEquals("ops", event.actorUsername());
+		assertEquals("req-1", event.requestId());
+		assertNotNull(event.occurredAt());
+	}
+
+	@Test
+	void recordTaskRunActionsSubmitsOneEventPerRun() {
+		auditService.recordTaskRunActions(List.of(1L, 2L), AuditAction.START, "RUNNING");
+
+		ArgumentCaptor<List<AuditEvent>> captor = ArgumentCaptor.forClass(List.class);
+		verify(auditEventSink).submit(captor.capture());
+		List<AuditEvent> events = captor.getValue();
+		assertEquals(2, events.size());
+		assertEquals(AuditKind.TASK_RUN, events.get(1).kind());
+		assertEquals("RUNNING", events.get(1).status());
+		assertEquals(events.get(0).occurredAt(), events.get(1).occurredAt());
+	}
+
+	@Test
+	void recordTaskRunActionsSkipsEmptyBatch() {
+		auditService.recordTaskRunActions(List.of(), AuditAction.START, "RUNNING");
+
+		verify(auditEventSink, never()).submit(any());
+	}
+
+	@Test
+	void recordTaskActionsSubmitsOneEventPerTask() {
+		auditService.recordTaskActions(List.of(3L, 4L), AuditAction.UPDATE);
+
+		ArgumentCaptor<List<AuditEvent>> captor = ArgumentCaptor.forClass(List.class);
+		verify(auditEventSink).submit(captor.capture());
+		List<AuditEvent> events = captor.getValue();
+		assertEquals(2, events.size());
+		assertEquals(AuditKind.TASK, events.get(0).kind());
+		assertEquals(4L, events.get(1).entityId());
+		assertEquals(AuditAction.UPDATE, events.get(1).action());
+	}
+}
@@ -0,0 +1,123 @@
+package com.samlair.trase.agent.service.impl;
+
+import com.samlair.trase.agent.domain.event.AgentChangedEvent;
+import com.samlair.trase.agent.domain.event.AgentDeletedEvent;
+import com.samlair.trase.agent.domain.event.TaskChangedEvent;
+import com.samlair.trase.agent.domain.event.TokenRevokedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.Instant;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class PgNotifyCacheInvalidationBusUnitTest {
+
+	@Mock
+	private JdbcTemplate jdbcTemplate;
+
+	@Mock
+	private ApplicationEventPublisher eventPublisher;
+
+	private MeterRegistry meterRegistry;
+
+	private PgNotifyCacheInvalidationBus bus;
+
+	@BeforeEach
+	void setUp() {
+		meterRegistry = new SimpleMeterRegistry();
+		bus = newBus("cache_invalidation");
+	}
+
+	@AfterEach
+	void clearSynchronization() {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+		TransactionSynchronizationManager.setActualTransactionActive(false);
+	}
+
+	@Test
+	void handleRepublishesOtherNodesChangesAsLocalEvents() {
+		bus.handle("other:agent:5");
+		bus.handle("other:agent-deleted:6");
+		bus.handle("other:task:7");
+		bus.handle("other:token:1800000000:abc:def");
+
+		verify(eventPublisher).publishEvent(new AgentChangedEvent(5L));
+		verify(eventPublisher).publishEvent(new AgentDeletedEvent(6L));
+		verify(eventPublisher).publishEvent(new TaskChangedEvent(7L));
+		verify(eventPublisher).publishEvent(new TokenRevokedEvent("abc:def", Instant.ofEpochSecond(1800000000L)));
+		assertEquals(4.0, notifications("received"));
+	}
+
+	@Test
+	void handleIgnoresOwnAndMalformedPayloads() {
+		bus.handle(bus.nodeId() + ":agent:5");
+		bus.handle("garbage");
+		bus.handle("other:agent:not-a-number");
+		bus.handle("other:unknown:1");
+
+		verifyNoInteractions(eventPublisher);
+	}
+
+	@Test
+	void changesInsideTransactionAreSentOnceBeforeCommit() {
+		TransactionSynchronizationManager.initSynchronization();
+		TransactionSynchronizationManager.setActualTransactionActive(true);
+
+		bus.onAgentChanged(new AgentChangedEvent(1L));
+		bus.onAgentChanged(new AgentChangedEvent(1L));
+		bus.onTaskChanged(new TaskChangedEvent(2L));
+		verifyNoInteractions(jdbcTemplate);
+
+		for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+			synchronization.beforeCommit(false);
+		}
+
+		assertEquals(1, TransactionSynchronizationManager.getSynchronizations().size());
+		verify(jdbcTemplate, times(1)).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+		assertEquals(2.0, notifications("sent"));
+	}
+
+	@Test
+	void changesOutsideTransactionAreNotSent() {
+		bus.onTaskChanged(new TaskChangedEvent(2L));
+		bus.onTokenRevoked(new TokenRevokedEvent("jti", Instant.parse("2026-01-31T00:00:00Z")));
+
+		verifyNoInteractions(jdbcTemplate);
+	}
+
+	@Test
+	void rejectsChannelThatIsNotAnIdentifier() {
+		assertThrows(IllegalArgumentException.class, () -> newBus("cache; DROP TABLE agents"));
+	}
+
+	private PgNotifyCacheInvalidationBus newBus(String channel) {
+		return new PgNotifyCacheInvalidationBus(jdbcTemplate, eventPublisher, meterRegistry,
+				"jdbc:postgresql://localhost/none", "user", "password", channel, Duration.ofSeconds(1),
+				Duration.ofSeconds(1));
+	}
+
+	private double notifications(String direction) {
+		return meterRegistry.get("cache.invalidation.notifications").tag("direction", direction).counter().count();
+	}
+}
@@ -0,0 +1,109 @@
+package com.samlair.trase.agent.service.impl;
+
+import com.samlair.trase.agent.domain.event.AgentChangedEvent;
+import com.samlair.trase.agent.domain.event.AgentDeletedEvent;
+import com.samlair.trase.agent.domain.event.CacheFlushEvent;
+import com.samlair.trase.agent.domain.event.TaskChangedEvent;
+import com.samlair.trase.agent.domain.exception.NotFoundException;
+import com.samlair.trase.agent.domain.model.Versioned;
+import com.samlair.trase.agent.web.dto.AgentResponseDto;
+import com.samlair.trase.agent.web.dto.TaskResponseDto;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ResponseCacheImplUnitTest {
+
+	private static final Instant UPDATED_AT = Instant.parse("2026-10-17T10:15:30.123456Z");
+
+	private MeterRegistry meterRegistry;
+
+	private ResponseCacheImpl cache;
+
+	@BeforeEach
+	void setUp() {
+		meterRegistry = new SimpleMeterRegistry();
+		cache = new ResponseCacheImpl(meterRegistry, 100, Duration.ofMinutes(5), 100, Duration.ofMinutes(5));
+	}
+
+	@Test
+	void loadsOnceAndServesHitsFromMemory() {
+		AtomicInteger loads = new AtomicInteger();
+
+		for (int i = 0; i < 3; i++) {
+			Versioned<AgentResponseDto> agent = cache.getAgent(1L, () -> {
+				loads.incrementAndGet();
+				return versioned(new AgentResponseDto(1L, "Agent", "Desc"));
+			});
+			assertEquals("Agent", agent.body().name());
+			assertEquals(UPDATED_AT, agent.updatedAt());
+		}
+
+		assertEquals(1, loads.get());
+		assertEquals(1.0, gets("agents", "miss"));
+		assertEquals(2.0, gets("agents", "hit"));
+	}
+
+	@Test
+	void agentEventsEvictEntry() {
+		cache.getAgent(1L, () -> versioned(new AgentResponseDto(1L, "Old", "Desc")));
+		cache.onAgentChanged(new AgentChangedEvent(1L));
+		assertEquals("New", cache.getAgent(1L, () -> versioned(new AgentResponseDto(1L, "New", "Desc"))).body().name());
+
+		cache.onAgentDeleted(new AgentDeletedEvent(1L));
+		assertThrows(NotFoundException.class, () -> cache.getAgent(1L, () -> {
+			throw new NotFoundException("Agent not found: 1");
+		}));
+	}
+
+	@Test
+	void taskChangedEventEvictsOnlyThatTask() {
+		cache.getTask(1L, () -> versioned(new TaskResponseDto(1L, "Old", "Desc", Set.of(10L), 10L)));
+		cache.getTask(2L, () -> versioned(new TaskResponseDto(2L, "Other", "Desc", Set.of(10L), 10L)));
+
+		cache.onTaskChanged(new TaskChangedEvent(1L));
+
+		assertEquals("New", cache.getTask(1L, () -> versioned(new TaskResponseDto(1L, "New", "Desc", Set.of(), null)))
+				.body().title());
+		assertEquals("Other", cache.getTask(2L, () -> versioned(new TaskResponseDto(2L, "Reloaded", "Desc", Set.of(), null)))
+				.body().title());
+	}
+
+	@Test
+	void cacheFlushEventDropsAgentsAndTasks() {
+		cache.getAgent(1L, () -> versioned(new AgentResponseDto(1L, "Old", "Desc")));
+		cache.getTask(1L, () -> versioned(new TaskResponseDto(1L, "Old", "Desc", Set.of(), null)));
+
+		cache.onCacheFlush(new CacheFlushEvent());
+
+		assertEquals("New", cache.getAgent(1L, () -> versioned(new AgentResponseDto(1L, "New", "Desc"))).body().name());
+		assertEquals("New", cache.getTask(1L, () -> versioned(new TaskResponseDto(1L, "New", "Desc", Set.of(), null)))
+				.body().title());
+	}
+
+	@Test
+	void failedLoadIsNotCached() {
+		assertThrows(NotFoundException.class, () -> cache.getTask(5L, () -> {
+			throw new NotFoundException("Task not found: 5");
+		}));
+
+		assertEquals("Created", cache.getTask(5L, () -> versioned(new TaskResponseDto(5L, "Created", "Desc", Set.of(), null)))
+				.body().title());
+	}
+
+	private static <T> Versioned<T> versioned(T body) {
+		return new Versioned<>(body, UPDATED_AT);
+	}
+
+	private double gets(String cacheName, String result) {
+		return meterRegistry.get("cache.gets").tag("cache", cacheName).tag("result", result).functionCounter().count();
+	}
+}
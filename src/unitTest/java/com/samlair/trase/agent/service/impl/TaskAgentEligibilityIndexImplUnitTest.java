@@ -0,0 +1,114 @@
+package com.samlair.trase.agent.service.impl;
+
+import com.samlair.trase.agent.domain.event.AgentDeletedEvent;
+import com.samlair.trase.agent.domain.event.CacheFlushEvent;
+import com.samlair.trase.agent.domain.event.TaskChangedEvent;
+import com.samlair.trase.agent.rdbms.dao.TaskDao;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TaskAgentEligibilityIndexImplUnitTest {
+
+	@Mock
+	private TaskDao taskDao;
+
+	private MeterRegistry meterRegistry;
+
+	private TaskAgentEligibilityIndexImpl index;
+
+	@BeforeEach
+	void setUp() {
+		meterRegistry = new SimpleMeterRegistry();
+		index = new TaskAgentEligibilityIndexImpl(taskDao, meterRegistry, 2);
+	}
+
+	@Test
+	void loadsOnceAndServesHitsFromMemory() {
+		when(taskDao.findSupportedAgentIds(1L)).thenReturn(List.of(30L, 10L, 20L));
+
+		assertTrue(index.isAgentSupported(1L, 10L));
+		assertTrue(index.isAgentSupported(1L, 30L));
+		assertFalse(index.isAgentSupported(1L, 40L));
+
+		verify(taskDao, times(1)).findSupportedAgentIds(1L);
+		assertEquals(1.0, lookups("miss"));
+		assertEquals(2.0, lookups("hit"));
+	}
+
+	@Test
+	void taskChangedEventForcesReload() {
+		when(taskDao.findSupportedAgentIds(1L)).thenReturn(List.of(10L), List.of(20L));
+
+		assertTrue(index.isAgentSupported(1L, 10L));
+		index.onTaskChanged(new TaskChangedEvent(1L));
+
+		assertFalse(index.isAgentSupported(1L, 10L));
+		assertTrue(index.isAgentSupported(1L, 20L));
+		verify(taskDao, times(2)).findSupportedAgentIds(1L);
+	}
+
+	@Test
+	void agentDeletedEventEvictsTasksReferencingAgent() {
+		when(taskDao.findSupportedAgentIds(1L)).thenReturn(List.of(10L));
+		when(taskDao.findSupportedAgentIds(2L)).thenReturn(List.of(20L));
+
+		index.isAgentSupported(1L, 10L);
+		index.isAgentSupported(2L, 20L);
+		index.onAgentDeleted(new AgentDeletedEvent(10L));
+		index.isAgentSupported(1L, 10L);
+		index.isAgentSupported(2L, 20L);
+
+		verify(taskDao, times(2)).findSupportedAgentIds(1L);
+		verify(taskDao, times(1)).findSupportedAgentIds(2L);
+	}
+
+	@Test
+	void cacheFlushEventDropsEveryEntry() {
+		when(taskDao.findSupportedAgentIds(1L)).thenReturn(List.of(10L));
+		when(taskDao.findSupportedAgentIds(2L)).thenReturn(List.of(20L));
+
+		index.isAgentSupported(1L, 10L);
+		index.isAgentSupported(2L, 20L);
+		index.onCacheFlush(new CacheFlushEvent());
+
+		assertEquals(0.0, meterRegistry.get("task_agent_eligibility.tasks").gauge().value());
+		index.isAgentSupported(1L, 10L);
+		verify(taskDao, times(2)).findSupportedAgentIds(1L);
+	}
+
+	@Test
+	void evictsLeastRecentlyUsedTaskWhenFull() {
+		when(taskDao.findSupportedAgentIds(1L)).thenReturn(List.of(10L));
+		when(taskDao.findSupportedAgentIds(2L)).thenReturn(List.of(10L));
+		when(taskDao.findSupportedAgentIds(3L)).thenReturn(List.of(10L));
+
+		index.isAgentSupported(1L, 10L);
+		index.isAgentSupported(2L, 10L);
+		index.isAgentSupported(1L, 10L);
+		index.isAgentSupported(3L, 10L);
+		index.isAgentSupported(1L, 10L);
+		index.isAgentSupported(2L, 10L);
+
+		verify(taskDao, times(1)).findSupportedAgentIds(1L);
+		verify(taskDao, times(2)).findSupportedAgentIds(2L);
+		assertEquals(2.0, meterRegistry.get("task_agent_eligibility.tasks").gauge().value());
+	}
+
+	private double lookups(String result) {
+		return meterRegistry.get("task_agent_eligibility.lookups").tag("result", result).counter().count();
+	}
+}
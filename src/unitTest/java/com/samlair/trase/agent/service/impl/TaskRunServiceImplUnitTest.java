@@ -1,41 +1,62 @@
 package com.samlair.trase.agent.service.impl;
 
+import com.samlair.trase.agent.domain.enumeration.AuditAction;
 import com.samlair.trase.agent.domain.enumeration.TaskRunStatus;
 import com.samlair.trase.agent.domain.exception.BadRequestException;
 import com.samlair.trase.agent.domain.exception.NotFoundException;
 import com.samlair.trase.agent.rdbms.dao.AgentDao;
 import com.samlair.trase.agent.rdbms.dao.TaskDao;
+import com.samlair.trase.agent.rdbms.dao.TaskDaoCustom.TaskAgentEligibility;
+import com.samlair.trase.agent.rdbms.dao.TaskDaoCustom.TaskAgentPair;
 import com.samlair.trase.agent.rdbms.dao.TaskRunDao;
+import com.samlair.trase.agent.rdbms.dao.TaskRunDaoCustom.TaskRunRow;
 import com.samlair.trase.agent.rdbms.dao.TaskRunIdempotencyDao;
 import com.samlair.trase.agent.rdbms.entity.AgentEntity;
 import com.samlair.trase.agent.rdbms.entity.TaskEntity;
 import com.samlair.trase.agent.rdbms.entity.TaskRunEntity;
 import com.samlair.trase.agent.rdbms.entity.TaskRunIdempotencyEntity;
 import com.samlair.trase.agent.service.AuditService;
+import com.samlair.trase.agent.service.TaskAgentEligibilityIndex;
+import com.samlair.trase.agent.web.dto.BatchItemResultDto;
 import com.samlair.trase.agent.web.dto.CreateTaskRunRequestDto;
 import com.samlair.trase.agent.web.dto.TaskRunResponseDto;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
 import java.time.Instant;
 import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockedStatic;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.mockito.Mockito.mockStatic;
@@ -59,6 +80,12 @@ class TaskRunServiceImplUnitTest {
 	@Mock
 	private AuditService auditService;
 
+	@Mock
+	private TaskAgentEligibilityIndex eligibilityIndex;
+
+	@Spy
+	private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
 	@InjectMocks
 	private TaskRunServiceImpl taskRunService;
 
@@ -91,12 +118,12 @@ class TaskRunServiceImplUnitTest {
 
 		when(taskDao.findByIdAndDeletedAtIsNullBasic(10L)).thenReturn(Optional.of(task));
 		when(agentDao.findByIdAndDeletedAtIsNull(1L)).thenReturn(Optional.of(agent));
-		when(taskDao.isAgentSupported(10L, 1L)).thenReturn(false);
+		when(eligibilityIndex.isAgentSupported(10L, 1L)).thenReturn(false);
 
 		BadRequestException ex = assertThrows(BadRequestException.class,
 				() -> taskRunService.startTaskRun(new CreateTaskRunRequestDto(10L, 1L), null));
 		assertTrue(ex.getMessage().contains("not supported"));
-		verify(taskDao).isAgentSupported(10L, 1L);
+		verify(eligibilityIndex).isAgentSupported(10L, 1L);
 	}
 
 	@Test
@@ -108,7 +135,7 @@ class TaskRunServiceImplUnitTest {
 
 		when(taskDao.findByIdAndDeletedAtIsNullBasic(20L)).thenReturn(Optional.of(task));
 		when(agentDao.findByIdAndDeletedAtIsNull(2L)).thenReturn(Optional.of(agent));
-		when(taskDao.isAgentSupported(20L, 2L)).thenReturn(true);
+		when(eligibilityIndex.isAgentSupported(20L, 2L)).thenReturn(true);
 		when(taskRunDao.save(any(TaskRunEntity.class))).thenAnswer(invocation -> {
 			TaskRunEntity run = invocation.getArgument(0, TaskRunEntity.class);
 			if (run.getStartedAt() == null) {
@@ -125,7 +152,7 @@ class TaskRunServiceImplUnitTest {
 		assertEquals(2L, response.agentId());
 		assertEquals(TaskRunStatus.RUNNING, response.status());
 		assertNotNull(response.startedAt());
-		verify(taskDao).isAgentSupported(20L, 2L);
+		verify(eligibilityIndex).isAgentSupported(20L, 2L);
 	}
 
 	@Test
@@ -198,7 +225,7 @@ class TaskRunServiceImplUnitTest {
 
 		when(taskDao.findByIdAndDeletedAtIsNullBasic(20L)).thenReturn(Optional.of(task));
 		when(agentDao.findByIdAndDeletedAtIsNull(2L)).thenReturn(Optional.of(agent));
-		when(taskDao.isAgentSupported(20L, 2L)).thenReturn(true);
+		when(eligibilityIndex.isAgentSupported(20L, 2L)).thenReturn(true);
 		when(taskRunDao.save(any(TaskRunEntity.class))).thenReturn(savedRun);
 		when(taskRunIdempotencyDao.save(any(TaskRunIdempotencyEntity.class)))
 				.thenThrow(new DataIntegrityViolationException("duplicate"));
@@ -219,7 +246,7 @@ class TaskRunServiceImplUnitTest {
 
 		when(taskDao.findByIdAndDeletedAtIsNullBasic(20L)).thenReturn(Optional.of(task));
 		when(agentDao.findByIdAndDeletedAtIsNull(2L)).thenReturn(Optional.of(agent));
-		when(taskDao.isAgentSupported(20L, 2L)).thenReturn(true);
+		when(eligibilityIndex.isAgentSupported(20L, 2L)).thenReturn(true);
 		when(taskRunDao.save(any(TaskRunEntity.class))).thenAnswer(invocation -> {
 			TaskRunEntity run = invocation.getArgument(0, TaskRunEntity.class);
 			run.setId(88L);
@@ -243,7 +270,7 @@ class TaskRunServiceImplUnitTest {
 
 		when(taskDao.findByIdAndDeletedAtIsNullBasic(20L)).thenReturn(Optional.of(task));
 		when(agentDao.findByIdAndDeletedAtIsNull(2L)).thenReturn(Optional.of(agent));
-		when(taskDao.isAgentSupported(20L, 2L)).thenReturn(true);
+		when(eligibilityIndex.isAgentSupported(20L, 2L)).thenReturn(true);
 		when(taskRunDao.save(any(TaskRunEntity.class))).thenAnswer(invocation -> {
 			TaskRunEntity run = invocation.getArgument(0, TaskRunEntity.class);
 			run.setId(77L);
@@ -289,24 +316,43 @@ class TaskRunServiceImplUnitTest {
 	}
 
 	@Test
-	void listTaskRunsSupportsAfterIdKeyset() {
-		TaskRunEntity run = new TaskRunEntity();
-		run.setId(15L);
-		run.setStatus(TaskRunStatus.RUNNING);
-		run.setStartedAt(Instant.parse("2024-01-01T00:00:00Z"));
-		TaskEntity task = new TaskEntity();
-		task.setId(20L);
-		AgentEntity agent = new AgentEntity();
-		agent.setId(30L);
-		run.setTask(task);
-		run.setAgent(agent);
+	void exportTaskRunsStreamsRowsToConsumer() {
+		Instant startedAt = Instant.parse("2024-01-01T00:00:00Z");
+		doAnswer(invocation -> {
+			Consumer<TaskRunRow> action = invocation.getArgument(3);
+			action.accept(new TaskRunRow(11L, 20L, 30L, TaskRunStatus.COMPLETED, startedAt, startedAt));
+			action.accept(new TaskRunRow(12L, 20L, 31L, TaskRunStatus.COMPLETED, startedAt, null));
+			return null;
+		}).when(taskRunDao).streamTaskRuns(eq(TaskRunStatus.COMPLETED), eq(10L), anyInt(), any());
+
+		List<TaskRunResponseDto> exported = new ArrayList<>();
+		long count = taskRunService.exportTaskRuns(TaskRunStatus.COMPLETED, 10L, exported::add);
+
+		assertEquals(2L, count);
+		assertEquals(List.of(11L, 12L), exported.stream().map(TaskRunResponseDto::id).toList());
+		assertEquals(31L, exported.get(1).agentId());
+	}
 
-		when(taskRunDao.findAllByIdGreaterThanOrderByIdAsc(
-				org.mockito.ArgumentMatchers.eq(10L),
-				org.mockito.ArgumentMatchers.any(Pageable.class)))
-				.thenReturn(java.util.List.of(run));
+	@Test
+	void listTaskRunsReturnsProjectedPage() {
+		TaskRunResponseDto run = new TaskRunResponseDto(5L, 20L, 30L, TaskRunStatus.RUNNING,
+				Instant.parse("2024-01-01T00:00:00Z"), null);
+		when(taskRunDao.findResponsesByStatus(TaskRunStatus.RUNNING, PageRequest.of(0, 50)))
+				.thenReturn(new SliceImpl<>(List.of(run)));
+
+		List<TaskRunResponseDto> response = taskRunService.listTaskRuns(
+				TaskRunStatus.RUNNING, PageRequest.of(0, 50), null);
+
+		assertEquals(List.of(run), response);
+	}
+
+	@Test
+	void listTaskRunsSupportsAfterIdKeyset() {
+		TaskRunResponseDto run = new TaskRunResponseDto(15L, 20L, 30L, TaskRunStatus.RUNNING,
+				Instant.parse("2024-01-01T00:00:00Z"), null);
+		when(taskRunDao.findResponsesAfterId(10L, PageRequest.of(0, 50))).thenReturn(List.of(run));
 
-		java.util.List<TaskRunResponseDto> response = taskRunService.listTaskRuns(null, PageRequest.of(0, 50), 10L);
+		List<TaskRunResponseDto> response = taskRunService.listTaskRuns(null, PageRequest.of(0, 50), 10L);
 
 		assertEquals(1, response.size());
 		assertEquals(15L, response.get(0).id());
@@ -315,24 +361,12 @@ class TaskRunServiceImplUnitTest {
 
 	@Test
 	void listTaskRunsSupportsAfterIdKeysetWithStatus() {
-		TaskRunEntity run = new TaskRunEntity();
-		run.setId(25L);
-		run.setStatus(TaskRunStatus.COMPLETED);
-		TaskEntity task = new TaskEntity();
-		task.setId(21L);
-		AgentEntity agent = new AgentEntity();
-		agent.setId(31L);
-		run.setTask(task);
-		run.setAgent(agent);
-		run.setStartedAt(Instant.parse("2024-01-01T00:00:00Z"));
+		TaskRunResponseDto run = new TaskRunResponseDto(25L, 21L, 31L, TaskRunStatus.COMPLETED,
+				Instant.parse("2024-01-01T00:00:00Z"), null);
+		when(taskRunDao.findResponsesByStatusAfterId(TaskRunStatus.COMPLETED, 20L, PageRequest.of(0, 10)))
+				.thenReturn(List.of(run));
 
-		when(taskRunDao.findByStatusAndIdGreaterThanOrderByIdAsc(
-				org.mockito.ArgumentMatchers.eq(TaskRunStatus.COMPLETED),
-				org.mockito.ArgumentMatchers.eq(20L),
-				org.mockito.ArgumentMatchers.any(Pageable.class)))
-				.thenReturn(java.util.List.of(run));
-
-		java.util.List<TaskRunResponseDto> response = taskRunService.listTaskRuns(
+		List<TaskRunResponseDto> response = taskRunService.listTaskRuns(
 				TaskRunStatus.COMPLETED, PageRequest.of(0, 10), 20L);
 
 		assertEquals(1, response.size());
@@ -420,6 +454,88 @@ class TaskRunServiceImplUnitTest {
 		assertEquals(completedAt, response.completedAt());
 	}
 
+	@Test
+	void startTaskRunsRejectsEmptyBatch() {
+		BadRequestException ex = assertThrows(BadRequestException.class,
+				() -> taskRunService.startTaskRuns(List.of()));
+
+		assertTrue(ex.getMessage().contains("At least one task run"));
+		verifyNoInteractions(taskDao, taskRunDao, auditService);
+	}
+
+	@Test
+	void startTaskRunsRejectsOversizedBatch() {
+		setField(taskRunService, "maxBatchSize", 1);
+		List<CreateTaskRunRequestDto> requests = List.of(
+				new CreateTaskRunRequestDto(1L, 2L),
+				new CreateTaskRunRequestDto(1L, 3L));
+
+		BadRequestException ex = assertThrows(BadRequestException.class,
+				() -> taskRunService.startTaskRuns(requests));
+
+		assertTrue(ex.getMessage().contains("Batch size exceeds limit of 1"));
+		verifyNoInteractions(taskDao, taskRunDao, auditService);
+	}
+
+	@Test
+	void startTaskRunsReportsPerItemOutcome() {
+		setField(taskRunService, "maxBatchSize", 10);
+		TaskAgentPair ok = new TaskAgentPair(20L, 2L);
+		TaskAgentPair unsupported = new TaskAgentPair(20L, 3L);
+		TaskAgentPair missingTask = new TaskAgentPair(404L, 2L);
+		TaskAgentPair missingAgent = new TaskAgentPair(20L, 405L);
+		when(taskDao.findTaskAgentEligibility(anyCollection())).thenReturn(List.of(
+				new TaskAgentEligibility(ok, true, true, true),
+				new TaskAgentEligibility(unsupported, true, true, false),
+				new TaskAgentEligibility(missingTask, false, true, false),
+				new TaskAgentEligibility(missingAgent, true, false, false)));
+		when(taskRunDao.insertRunning(anyList(), any(Instant.class))).thenReturn(List.of(100L, 101L));
+
+		List<CreateTaskRunRequestDto> requests = new ArrayList<>(Arrays.asList(
+				new CreateTaskRunRequestDto(20L, 2L),
+				new CreateTaskRunRequestDto(20L, 3L),
+				new CreateTaskRunRequestDto(404L, 2L),
+				new CreateTaskRunRequestDto(20L, 405L),
+				new CreateTaskRunRequestDto(null, 2L),
+				null,
+				new CreateTaskRunRequestDto(20L, 2L)));
+
+		List<BatchItemResultDto<TaskRunResponseDto>> results = taskRunService.startTaskRuns(requests);
+
+		assertEquals(7, results.size());
+		assertEquals(201, results.get(0).status());
+		assertEquals(100L, results.get(0).result().id());
+		assertEquals(TaskRunStatus.RUNNING, results.get(0).result().status());
+		assertEquals(400, results.get(1).status());
+		assertTrue(results.get(1).message().contains("not supported"));
+		assertEquals(404, results.get(2).status());
+		assertTrue(results.get(2).message().contains("Task not found"));
+		assertEquals(404, results.get(3).status());
+		assertTrue(results.get(3).message().contains("Agent not found"));
+		assertEquals(400, results.get(4).status());
+		assertEquals("taskId is required", results.get(4).message());
+		assertEquals(400, results.get(5).status());
+		assertEquals(201, results.get(6).status());
+		assertEquals(101L, results.get(6).result().id());
+		for (int i = 0; i < results.size(); i++) {
+			assertEquals(i, results.get(i).index());
+		}
+		verify(taskRunDao).insertRunning(eq(List.of(ok, ok)), any(Instant.class));
+		verify(auditService).recordTaskRunActions(List.of(100L, 101L), AuditAction.START, "RUNNING");
+	}
+
+	@Test
+	void startTaskRunsSkipsInsertWhenNothingAccepted() {
+		setField(taskRunService, "maxBatchSize", 10);
+		when(taskDao.findTaskAgentEligibility(anyCollection())).thenReturn(List.of());
+
+		List<BatchItemResultDto<TaskRunResponseDto>> results = taskRunService.startTaskRuns(
+				List.of(new CreateTaskRunRequestDto(404L, 2L)));
+
+		assertEquals(404, results.get(0).status());
+		verifyNoInteractions(taskRunDao, auditService);
+	}
+
 	private static String hashRequest(long taskId, long agentId) {
 		String payload = taskId + ":" + agentId;
 		try {
@@ -434,4 +550,14 @@ class TaskRunServiceImplUnitTest {
 			throw new IllegalStateException(ex);
 		}
 	}
+
+	private void setField(Object target, String fieldName, Object value) {
+		try {
+			Field field = target.getClass().getDeclaredField(fieldName);
+			field.setAccessible(true);
+			field.set(target, value);
+		} catch (Exception ex) {
+			throw new IllegalStateException("Unable to set field " + fieldName, ex);
+		}
+	}
 }
@@ -1,35 +1,56 @@
 package com.samlair.trase.agent.service.impl;
 
+import com.samlair.trase.agent.domain.enumeration.AuditAction;
+import com.samlair.trase.agent.domain.event.TaskChangedEvent;
 import com.samlair.trase.agent.domain.exception.BadRequestException;
 import com.samlair.trase.agent.domain.exception.NotFoundException;
+import com.samlair.trase.agent.domain.model.Versioned;
 import com.samlair.trase.agent.rdbms.dao.AgentDao;
 import com.samlair.trase.agent.rdbms.dao.TaskDao;
+import com.samlair.trase.agent.rdbms.dao.TaskDaoCustom.TaskAgentPair;
+import com.samlair.trase.agent.rdbms.dao.TaskDaoCustom.TaskListRow;
+import com.samlair.trase.agent.rdbms.dao.TaskDaoCustom.TaskValues;
 import com.samlair.trase.agent.rdbms.entity.AgentEntity;
 import com.samlair.trase.agent.rdbms.entity.TaskEntity;
 import com.samlair.trase.agent.service.AuditService;
+import com.samlair.trase.agent.service.ResponseCache;
+import com.samlair.trase.agent.web.dto.BatchItemResultDto;
 import com.samlair.trase.agent.web.dto.CreateTaskRequestDto;
 import com.samlair.trase.agent.web.dto.TaskResponseDto;
 import com.samlair.trase.agent.web.dto.UpdateTaskRequestDto;
+import com.samlair.trase.agent.web.dto.UpsertTaskRequestDto;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import java.lang.reflect.Field;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Supplier;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.SliceImpl;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -44,6 +65,15 @@ class TaskServiceImplUnitTest {
 	@Mock
 	private AuditService auditService;
 
+	@Mock
+	private ApplicationEventPublisher eventPublisher;
+
+	@Mock
+	private ResponseCache responseCache;
+
+	@Spy
+	private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
 	@InjectMocks
 	private TaskServiceImpl taskService;
 
@@ -83,6 +113,7 @@ class TaskServiceImplUnitTest {
 
 		assertNotNull(task.getDeletedAt());
 		verify(taskDao).save(task);
+		verify(eventPublisher).publishEvent(new TaskChangedEvent(9L));
 	}
 
 	@Test
@@ -95,6 +126,7 @@ class TaskServiceImplUnitTest {
 		taskService.deleteTask(10L);
 
 		verify(taskDao, never()).save(task);
+		verify(eventPublisher, never()).publishEvent(new TaskChangedEvent(10L));
 	}
 
 	@Test
@@ -107,30 +139,10 @@ class TaskServiceImplUnitTest {
 	}
 
 	@Test
-	void listTasksMapsSupportedAgentIdsInPageOrder() {
-		AgentEntity agentA = new AgentEntity();
-		agentA.setId(11L);
-		AgentEntity agentB = new AgentEntity();
-		agentB.setId(12L);
-
-		TaskEntity taskA = new TaskEntity();
-		taskA.setId(21L);
-		taskA.setTitle("Task A");
-		taskA.setDescription("Desc A");
-		taskA.setSupportedAgents(Set.of(agentA));
-		taskA.setCreatedAt(Instant.parse("2024-01-01T00:00:00Z"));
-		taskA.setUpdatedAt(Instant.parse("2024-01-01T00:00:00Z"));
-
-		TaskEntity taskB = new TaskEntity();
-		taskB.setId(22L);
-		taskB.setTitle("Task B");
-		taskB.setDescription("Desc B");
-		taskB.setSupportedAgents(Set.of(agentB));
-		taskB.setCreatedAt(Instant.parse("2024-01-01T00:00:00Z"));
-		taskB.setUpdatedAt(Instant.parse("2024-01-01T00:00:00Z"));
-
-		when(taskDao.findAllByDeletedAtIsNull(Pageable.unpaged())).thenReturn(new SliceImpl<>(List.of(taskA, taskB)));
-		when(taskDao.findAllByIdInAndDeletedAtIsNull(List.of(21L, 22L))).thenReturn(List.of(taskB, taskA));
+	void listTasksMapsAggregatedRowsInPageOrder() {
+		when(taskDao.findActiveTaskRows(Pageable.unpaged(), null)).thenReturn(List.of(
+				new TaskListRow(21L, "Task A", "Desc A", Set.of(11L)),
+				new TaskListRow(22L, "Task B", "Desc B", Set.of(11L, 12L))));
 
 		List<TaskResponseDto> response = taskService.listTasks(Pageable.unpaged(), null);
 
@@ -138,92 +150,15 @@ class TaskServiceImplUnitTest {
 		assertEquals(21L, response.get(0).id());
 		assertEquals(22L, response.get(1).id());
 		assertEquals(Set.of(11L), response.get(0).supportedAgentIds());
-		assertEquals(Set.of(12L), response.get(1).supportedAgentIds());
+		assertEquals(Set.of(11L, 12L), response.get(1).supportedAgentIds());
 		assertEquals(11L, response.get(0).supportedAgentId());
-		assertEquals(12L, response.get(1).supportedAgentId());
-		verify(taskDao).findAllByIdInAndDeletedAtIsNull(List.of(21L, 22L));
-	}
-
-	@Test
-	void listTasksHandlesDuplicateEntitiesFromSecondaryQuery() {
-		AgentEntity agent = new AgentEntity();
-		agent.setId(11L);
-
-		TaskEntity taskA = new TaskEntity();
-		taskA.setId(21L);
-		taskA.setTitle("Task A");
-		taskA.setDescription("Desc A");
-		taskA.setSupportedAgents(Set.of(agent));
-		TaskEntity taskADuplicate = new TaskEntity();
-		taskADuplicate.setId(21L);
-		taskADuplicate.setTitle("Task A");
-		taskADuplicate.setDescription("Desc A");
-		taskADuplicate.setSupportedAgents(Set.of(agent));
-
-		TaskEntity taskB = new TaskEntity();
-		taskB.setId(22L);
-		taskB.setTitle("Task B");
-		taskB.setDescription("Desc B");
-		taskB.setSupportedAgents(Set.of(agent));
-
-		when(taskDao.findAllByDeletedAtIsNull(Pageable.unpaged()))
-				.thenReturn(new SliceImpl<>(List.of(taskA, taskB)));
-		when(taskDao.findAllByIdInAndDeletedAtIsNull(List.of(21L, 22L)))
-				.thenReturn(List.of(taskA, taskADuplicate, taskB));
-
-		List<TaskResponseDto> response = taskService.listTasks(Pageable.unpaged(), null);
-
-		assertEquals(2, response.size());
-		assertEquals(21L, response.get(0).id());
-		assertEquals(22L, response.get(1).id());
-	}
-
-	@Test
-	void listTasksSkipsMissingEntitiesFromSecondaryQuery() {
-		AgentEntity agent = new AgentEntity();
-		agent.setId(11L);
-
-		TaskEntity taskA = new TaskEntity();
-		taskA.setId(21L);
-		taskA.setTitle("Task A");
-		taskA.setDescription("Desc A");
-		taskA.setSupportedAgents(Set.of(agent));
-
-		TaskEntity taskB = new TaskEntity();
-		taskB.setId(22L);
-		taskB.setTitle("Task B");
-		taskB.setDescription("Desc B");
-		taskB.setSupportedAgents(Set.of(agent));
-
-		when(taskDao.findAllByDeletedAtIsNull(Pageable.unpaged()))
-				.thenReturn(new SliceImpl<>(List.of(taskA, taskB)));
-		when(taskDao.findAllByIdInAndDeletedAtIsNull(List.of(21L, 22L)))
-				.thenReturn(List.of(taskA));
-
-		List<TaskResponseDto> response = taskService.listTasks(Pageable.unpaged(), null);
-
-		assertEquals(1, response.size());
-		assertEquals(21L, response.get(0).id());
+		assertNull(response.get(1).supportedAgentId());
 	}
 
 	@Test
 	void listTasksSupportsAfterIdKeyset() {
-		AgentEntity agent = new AgentEntity();
-		agent.setId(31L);
-
-		TaskEntity task = new TaskEntity();
-		task.setId(41L);
-		task.setTitle("Task");
-		task.setDescription("Desc");
-		task.setSupportedAgents(Set.of(agent));
-		task.setCreatedAt(Instant.parse("2024-01-01T00:00:00Z"));
-		task.setUpdatedAt(Instant.parse("2024-01-01T00:00:00Z"));
-
-		when(taskDao.findAllByDeletedAtIsNullAndIdGreaterThanOrderByIdAsc(
-				org.mockito.ArgumentMatchers.eq(40L),
-				org.mockito.ArgumentMatchers.any(Pageable.class)))
-				.thenReturn(List.of(task));
-		when(taskDao.findAllByIdInAndDeletedAtIsNull(List.of(41L))).thenReturn(List.of(task));
+		when(taskDao.findActiveTaskRows(PageRequest.of(0, 50), 40L))
+				.thenReturn(List.of(new TaskListRow(41L, "Task", "Desc", Set.of(31L))));
 
 		List<TaskResponseDto> response = taskService.listTasks(PageRequest.of(0, 50), 40L);
 
@@ -231,7 +166,13 @@ class TaskServiceImplUnitTest {
 		assertEquals(41L, response.get(0).id());
 		assertEquals(Set.of(31L), response.get(0).supportedAgentIds());
 		assertEquals(31L, response.get(0).supportedAgentId());
-		verify(taskDao).findAllByIdInAndDeletedAtIsNull(List.of(41L));
+	}
+
+	@Test
+	void listTasksReturnsEmptyListWhenNoRows() {
+		when(taskDao.findActiveTaskRows(Pageable.unpaged(), null)).thenReturn(List.of());
+
+		assertEquals(List.of(), taskService.listTasks(Pageable.unpaged(), null));
 	}
 
 	@Test
@@ -241,15 +182,49 @@ class TaskServiceImplUnitTest {
 		task.setTitle("Title");
 		task.setDescription("Desc");
 		task.setSupportedAgents(Set.of());
+		task.setUpdatedAt(Instant.parse("2026-10-17T10:15:30.123456Z"));
 		when(taskDao.findByIdAndDeletedAtIsNull(44L)).thenReturn(Optional.of(task));
+		passThroughCache();
 
-		TaskResponseDto response = taskService.getTask(44L);
+		Versioned<TaskResponseDto> response = taskService.getTask(44L);
 
-		assertEquals(44L, response.id());
-		assertEquals("Title", response.title());
-		assertEquals("Desc", response.description());
-		assertEquals(Set.of(), response.supportedAgentIds());
-		assertNull(response.supportedAgentId());
+		assertEquals(44L, response.body().id());
+		assertEquals("Title", response.body().title());
+		assertEquals("Desc", response.body().description());
+		assertEquals(Set.of(), response.body().supportedAgentIds());
+		assertNull(response.body().supportedAgentId());
+		assertEquals(task.getUpdatedAt(), response.updatedAt());
+	}
+
+	@Test
+	void getTaskVersionReadsOnlyUpdatedAt() {
+		Instant updatedAt = Instant.parse("2026-10-17T10:15:30.123456Z");
+		when(taskDao.findActiveUpdatedAt(44L)).thenReturn(Optional.of(updatedAt));
+
+		assertEquals(updatedAt, taskService.getTaskVersion(44L));
+		verify(taskDao, never()).findByIdAndDeletedAtIsNull(anyLong());
+	}
+
+	@Test
+	void getTaskVersionThrowsWhenMissing() {
+		when(taskDao.findActiveUpdatedAt(45L)).thenReturn(Optional.empty());
+
+		assertThrows(NotFoundException.class, () -> taskService.getTaskVersion(45L));
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void getCurrentTaskReloadsStaleCachedEntry() {
+		Instant updatedAt = Instant.parse("2026-10-17T10:15:30.123456Z");
+		Versioned<TaskResponseDto> stale = new Versioned<>(new TaskResponseDto(44L, "Old", "Desc", Set.of(), null),
+				updatedAt.minusSeconds(1));
+		Versioned<TaskResponseDto> fresh = new Versioned<>(new TaskResponseDto(44L, "New", "Desc", Set.of(), null),
+				updatedAt);
+		when(taskDao.findActiveUpdatedAt(44L)).thenReturn(Optional.of(updatedAt));
+		when(responseCache.getTask(eq(44L), any(Supplier.class))).thenReturn(stale, fresh);
+
+		assertEquals(fresh, taskService.getCurrentTask(44L));
+		verify(responseCache).evictTask(44L);
 	}
 
 	@Test
@@ -270,11 +245,13 @@ class TaskServiceImplUnitTest {
 		assertEquals("New", task.getTitle());
 		assertEquals("New desc", task.getDescription());
 		assertEquals(Set.of(agent), task.getSupportedAgents());
+		assertNotNull(task.getUpdatedAt());
 		assertEquals(55L, response.id());
 		assertEquals("New", response.title());
 		assertEquals("New desc", response.description());
 		assertEquals(Set.of(99L), response.supportedAgentIds());
 		assertEquals(99L, response.supportedAgentId());
+		verify(eventPublisher).publishEvent(new TaskChangedEvent(55L));
 	}
 
 	@Test
@@ -301,4 +278,83 @@ class TaskServiceImplUnitTest {
 		assertEquals(Set.of(10L), response.supportedAgentIds());
 		assertEquals(10L, response.supportedAgentId());
 	}
+
+	@Test
+	void upsertTasksRejectsOversizedBatch() {
+		setField(taskService, "maxBatchSize", 1);
+		List<UpsertTaskRequestDto> requests = List.of(
+				new UpsertTaskRequestDto(null, "A", "Desc", Set.of(1L), null),
+				new UpsertTaskRequestDto(null, "B", "Desc", Set.of(1L), null));
+
+		BadRequestException ex = assertThrows(BadRequestException.class, () -> taskService.upsertTasks(requests));
+
+		assertTrue(ex.getMessage().contains("Batch size exceeds limit of 1"));
+		verifyNoInteractions(taskDao, agentDao, auditService, eventPublisher);
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void upsertTasksReportsPerItemOutcome() {
+		setField(taskService, "maxBatchSize", 10);
+		when(agentDao.findActiveIds(Set.of(1L, 2L, 3L, 9L))).thenReturn(Set.of(1L, 2L, 3L));
+		when(taskDao.findActiveIds(Set.of(7L, 8L, 10L))).thenReturn(Set.of(7L, 10L));
+		when(taskDao.insertAll(eq(List.of(new TaskValues(null, "A", "Desc"))), any(Instant.class)))
+				.thenReturn(List.of(100L));
+		when(taskDao.updateAll(eq(List.of(new TaskValues(7L, "B", "Desc"), new TaskValues(10L, "C", "Desc"))),
+				any(Instant.class))).thenReturn(Set.of(7L));
+
+		List<UpsertTaskRequestDto> requests = new ArrayList<>(Arrays.asList(
+				new UpsertTaskRequestDto(null, "A", "Desc", Set.of(1L, 2L), null),
+				new UpsertTaskRequestDto(7L, "B", "Desc", null, 2L),
+				new UpsertTaskRequestDto(8L, "Missing", "Desc", Set.of(3L), null),
+				new UpsertTaskRequestDto(null, "Unknown agent", "Desc", Set.of(9L), null),
+				new UpsertTaskRequestDto(null, " ", "Desc", Set.of(1L), null),
+				new UpsertTaskRequestDto(7L, "Duplicate", "Desc", Set.of(1L), null),
+				new UpsertTaskRequestDto(10L, "C", "Desc", Set.of(1L), null),
+				null));
+
+		List<BatchItemResultDto<TaskResponseDto>> results = taskService.upsertTasks(requests);
+
+		assertEquals(8, results.size());
+		assertEquals(201, results.get(0).status());
+		assertEquals(100L, results.get(0).result().id());
+		assertEquals(Set.of(1L, 2L), results.get(0).result().supportedAgentIds());
+		assertEquals(200, results.get(1).status());
+		assertEquals(2L, results.get(1).result().supportedAgentId());
+		assertEquals(404, results.get(2).status());
+		assertEquals("Task not found: 8", results.get(2).message());
+		assertEquals(400, results.get(3).status());
+		assertEquals("Unknown agent ids: [9]", results.get(3).message());
+		assertEquals("title is required", results.get(4).message());
+		assertEquals("Duplicate task id in batch: 7", results.get(5).message());
+		assertEquals(404, results.get(6).status());
+		assertEquals(400, results.get(7).status());
+		for (int i = 0; i < results.size(); i++) {
+			assertEquals(i, results.get(i).index());
+		}
+		ArgumentCaptor<List<TaskAgentPair>> links = ArgumentCaptor.forClass(List.class);
+		verify(taskDao).replaceSupportedAgents(eq(List.of(7L)), links.capture());
+		assertEquals(Set.of(new TaskAgentPair(100L, 1L), new TaskAgentPair(100L, 2L), new TaskAgentPair(7L, 2L)),
+				Set.copyOf(links.getValue()));
+		verify(auditService).recordTaskActions(List.of(100L), AuditAction.CREATE);
+		verify(auditService).recordTaskActions(List.of(7L), AuditAction.UPDATE);
+		verify(eventPublisher).publishEvent(new TaskChangedEvent(100L));
+		verify(eventPublisher).publishEvent(new TaskChangedEvent(7L));
+	}
+
+	@SuppressWarnings("unchecked")
+	private void passThroughCache() {
+		when(responseCache.getTask(anyLong(), any(Supplier.class)))
+				.thenAnswer(invocation -> invocation.getArgument(1, Supplier.class).get());
+	}
+
+	private void setField(Object target, String fieldName, Object value) {
+		try {
+			Field field = target.getClass().getDeclaredField(fieldName);
+			field.setAccessible(true);
+			field.set(target, value);
+		} catch (Exception ex) {
+			throw new IllegalStateException("Unable to set field " + fieldName, ex);
+		}
+	}
 }
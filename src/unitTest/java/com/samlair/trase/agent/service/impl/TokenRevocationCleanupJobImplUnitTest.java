@@ -1,5 +1,6 @@
 package com.samlair.trase.agent.service.impl;
 
+import com.samlair.trase.agent.service.AuthService;
 import com.samlair.trase.agent.service.TokenRevocationService;
 import java.time.Instant;
 import org.junit.jupiter.api.Test;
@@ -16,6 +17,9 @@ class TokenRevocationCleanupJobImplUnitTest {
 	@Mock
 	private TokenRevocationService tokenRevocationService;
 
+	@Mock
+	private AuthService authService;
+
 	@InjectMocks
 	private TokenRevocationCleanupJobImpl job;
 
@@ -23,5 +27,6 @@ class TokenRevocationCleanupJobImplUnitTest {
 	void cleanupExpiredTokensDelegatesToService() {
 		job.cleanupExpiredTokens();
 		verify(tokenRevocationService).cleanupExpired(org.mockito.ArgumentMatchers.any(Instant.class));
+		verify(authService).cleanupExpiredSessions(org.mockito.ArgumentMatchers.any(Instant.class));
 	}
 }
@@ -1,19 +1,31 @@
 package com.samlair.trase.agent.service.impl;
 
+import com.samlair.trase.agent.domain.event.CacheFlushEvent;
+import com.samlair.trase.agent.domain.event.TokenRevokedEvent;
+import com.samlair.trase.agent.domain.model.RevokedToken;
 import com.samlair.trase.agent.rdbms.dao.RevokedTokenDao;
 import com.samlair.trase.agent.rdbms.entity.RevokedTokenEntity;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
 import java.time.Instant;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -22,9 +34,19 @@ class TokenRevocationServiceImplUnitTest {
 	@Mock
 	private RevokedTokenDao revokedTokenDao;
 
-	@InjectMocks
+	@Mock
+	private ApplicationEventPublisher eventPublisher;
+
+	private MeterRegistry meterRegistry;
+
 	private TokenRevocationServiceImpl service;
 
+	@BeforeEach
+	void setUp() {
+		meterRegistry = new SimpleMeterRegistry();
+		service = new TokenRevocationServiceImpl(revokedTokenDao, eventPublisher, meterRegistry, Duration.ofSeconds(30));
+	}
+
 	@Test
 	void isRevokedReturnsFalseForBlank() {
 		assertFalse(service.isRevoked(""));
@@ -40,6 +62,7 @@ class TokenRevocationServiceImplUnitTest {
 		when(revokedTokenDao.existsByJti("jti")).thenReturn(true);
 		service.revoke("jti", Instant.parse("2026-01-31T00:00:00Z"));
 		verify(revokedTokenDao, never()).save(org.mockito.ArgumentMatchers.any());
+		verifyNoInteractions(eventPublisher);
 	}
 
 	@Test
@@ -61,6 +84,70 @@ class TokenRevocationServiceImplUnitTest {
 		RevokedTokenEntity entity = captor.getValue();
 		assertEquals("jti", entity.getJti());
 		assertEquals(expiresAt, entity.getExpiresAt());
+		verify(eventPublisher).publishEvent(new TokenRevokedEvent("jti", expiresAt));
+	}
+
+	@Test
+	void isRevokedQueriesDatabaseUntilFirstLoad() {
+		when(revokedTokenDao.existsByJti("jti")).thenReturn(true);
+
+		assertTrue(service.isRevoked("jti"));
+	}
+
+	@Test
+	void isRevokedServesLoadedSetFromMemory() {
+		Instant future = Instant.now().plusSeconds(600);
+		when(revokedTokenDao.findUnexpired(any())).thenReturn(List.of(new RevokedToken("revoked", future)));
+
+		service.refreshRevocations();
+
+		assertTrue(service.isRevoked("revoked"));
+		assertFalse(service.isRevoked("other"));
+		verify(revokedTokenDao, never()).existsByJti(any());
+	}
+
+	@Test
+	void laterRefreshesOnlyReadRecentRevocations() {
+		Instant future = Instant.now().plusSeconds(600);
+		when(revokedTokenDao.findUnexpired(any())).thenReturn(List.of());
+		when(revokedTokenDao.findUnexpiredRevokedAfter(any(), any()))
+				.thenReturn(List.of(new RevokedToken("remote", future)));
+
+		service.refreshRevocations();
+		service.refreshRevocations();
+
+		ArgumentCaptor<Instant> since = ArgumentCaptor.forClass(Instant.class);
+		ArgumentCaptor<Instant> now = ArgumentCaptor.forClass(Instant.class);
+		verify(revokedTokenDao).findUnexpiredRevokedAfter(since.capture(), now.capture());
+		assertTrue(since.getValue().isBefore(now.getValue().minusSeconds(29)));
+		verify(revokedTokenDao, times(1)).findUnexpired(any());
+		assertTrue(service.isRevoked("remote"));
+	}
+
+	@Test
+	void refreshDropsExpiredEntries() {
+		when(revokedTokenDao.findUnexpired(any())).thenReturn(List.of());
+		service.refreshRevocations();
+		service.onTokenRevoked(new TokenRevokedEvent("expired", Instant.now().minusSeconds(1)));
+		service.onTokenRevoked(new TokenRevokedEvent("live", Instant.now().plusSeconds(600)));
+		assertTrue(service.isRevoked("expired"));
+
+		service.refreshRevocations();
+
+		assertFalse(service.isRevoked("expired"));
+		assertTrue(service.isRevoked("live"));
+	}
+
+	@Test
+	void cacheFlushReloadsInFullWithoutDroppingEntries() {
+		when(revokedTokenDao.findUnexpired(any())).thenReturn(List.of());
+		service.refreshRevocations();
+		service.onTokenRevoked(new TokenRevokedEvent("live", Instant.now().plusSeconds(600)));
+
+		service.onCacheFlush(new CacheFlushEvent());
+
+		verify(revokedTokenDao, times(2)).findUnexpired(any());
+		assertTrue(service.isRevoked("live"));
 	}
 
 	@Test
@@ -70,6 +157,38 @@ class TokenRevocationServiceImplUnitTest {
 		verify(revokedTokenDao).deleteByExpiresAtBefore(cutoff);
 	}
 
+	@Test
+	void cleanupExpiredPrunesLocalSet() {
+		when(revokedTokenDao.findUnexpired(any())).thenReturn(List.of());
+		service.refreshRevocations();
+		Instant cutoff = Instant.now();
+		service.onTokenRevoked(new TokenRevokedEvent("old", cutoff.minusSeconds(1)));
+		service.onTokenRevoked(new TokenRevokedEvent("live", cutoff.plusSeconds(600)));
+
+		service.cleanupExpired(cutoff);
+
+		assertFalse(service.isRevoked("old"));
+		assertTrue(service.isRevoked("live"));
+	}
+
+	@Test
+	void recordsLookupSourceAndRefreshTime() {
+		when(revokedTokenDao.existsByJti("jti")).thenReturn(false);
+		when(revokedTokenDao.findUnexpired(any())).thenReturn(List.of());
+		when(revokedTokenDao.findUnexpiredRevokedAfter(any(), any())).thenReturn(List.of());
+
+		service.isRevoked("jti");
+		service.refreshRevocations();
+		service.refreshRevocations();
+		service.isRevoked("jti");
+		service.isRevoked("jti");
+
+		assertEquals(1.0, meterRegistry.get("security.revoked_tokens.lookups").tag("source", "database").counter().count());
+		assertEquals(2.0, meterRegistry.get("security.revoked_tokens.lookups").tag("source", "memory").counter().count());
+		assertEquals(1L, meterRegistry.get("security.revoked_tokens.refresh").tag("type", "full").timer().count());
+		assertEquals(1L, meterRegistry.get("security.revoked_tokens.refresh").tag("type", "incremental").timer().count());
+	}
+
 	@Test
 	void cleanupExpiredSkipsWhenNull() {
 		service.cleanupExpired(null);
@@ -4,6 +4,7 @@ import com.samlair.trase.agent.service.AuthService;
 import com.samlair.trase.agent.service.TokenRevocationService;
 import com.samlair.trase.agent.web.dto.LoginRequestDto;
 import com.samlair.trase.agent.web.dto.LoginResponseDto;
+import com.samlair.trase.agent.web.dto.RefreshTokenRequestDto;
 import java.time.Instant;
 import java.util.List;
 import org.junit.jupiter.api.AfterEach;
@@ -43,7 +44,7 @@ class AuthControllerUnitTest {
 	void loginDelegatesToService() {
 		LoginRequestDto request = new LoginRequestDto("user", "pass");
 		LoginResponseDto response = new LoginResponseDto("token", "Bearer",
-				Instant.parse("2026-01-31T00:00:00Z"), 1L, List.of("ADMIN"));
+				Instant.parse("2026-01-31T00:00:00Z"), 1L, List.of("ADMIN"), null);
 		when(authService.login(request)).thenReturn(response);
 
 		LoginResponseDto result = authController.login(request);
@@ -51,6 +52,35 @@ class AuthControllerUnitTest {
 		assertEquals(response, result);
 	}
 
+	@Test
+	void refreshDelegatesToService() {
+		LoginResponseDto response = new LoginResponseDto("token", "Bearer",
+				Instant.parse("2026-01-31T00:00:00Z"), 1L, List.of("ADMIN"), "next");
+		when(authService.refresh("current")).thenReturn(response);
+
+		LoginResponseDto result = authController.refresh(new RefreshTokenRequestDto("current"));
+
+		assertEquals(response, result);
+	}
+
+	@Test
+	void logoutEndsSessionWhenJwtHasSessionId() {
+		Jwt jwt = Jwt.withTokenValue("token")
+				.header("alg", "none")
+				.subject("user")
+				.claim("jti", "jti-1")
+				.claim("sid", 7L)
+				.expiresAt(Instant.parse("2026-01-31T00:00:00Z"))
+				.build();
+		SecurityContextHolder.getContext().setAuthentication(new JwtAuthenticationToken(jwt));
+
+		ResponseEntity<Void> response = authController.logout();
+
+		verify(authService).endSession(7L);
+		verify(tokenRevocationService, never()).revoke(org.mockito.ArgumentMatchers.any(), org.mockito.ArgumentMatchers.any());
+		assertEquals(204, response.getStatusCode().value());
+	}
+
 	@Test
 	void logoutRevokesWhenJwtPresent() {
 		Jwt jwt = Jwt.withTokenValue("token")
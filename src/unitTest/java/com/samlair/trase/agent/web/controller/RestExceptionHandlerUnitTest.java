@@ -2,13 +2,16 @@ package com.samlair.trase.agent.web.controller;
 
 import com.samlair.trase.agent.domain.exception.BadRequestException;
 import com.samlair.trase.agent.domain.exception.NotFoundException;
+import com.samlair.trase.agent.domain.exception.ServiceUnavailableException;
 import com.samlair.trase.agent.web.dto.ApiErrorDto;
 import io.github.resilience4j.ratelimiter.RateLimiter;
 import io.github.resilience4j.ratelimiter.RequestNotPermitted;
 import io.github.resilience4j.ratelimiter.RateLimiterRegistry;
 import jakarta.servlet.http.HttpServletRequest;
+import java.time.Duration;
 import java.util.Map;
 import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BeanPropertyBindingResult;
@@ -46,6 +49,17 @@ class RestExceptionHandlerUnitTest {
 		assertEquals("bad", response.getBody().message());
 	}
 
+	@Test
+	void handleServiceUnavailableReturns503WithRetryAfter() {
+		HttpServletRequest request = mockRequest("/auth/login", "POST");
+		ResponseEntity<ApiErrorDto> response = handler.handleServiceUnavailable(
+				new ServiceUnavailableException("busy", Duration.ofSeconds(3)), request);
+
+		assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+		assertEquals("3", response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+		assertEquals("busy", response.getBody().message());
+	}
+
 	@Test
 	void handleValidationReturnsFieldErrors() {
 		HttpServletRequest request = mockRequest("/tasks", "POST");